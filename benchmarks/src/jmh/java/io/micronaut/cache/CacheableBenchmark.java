@@ -0,0 +1,76 @@
+package io.micronaut.cache;
+
+import io.micronaut.cache.annotation.CacheConfig;
+import io.micronaut.cache.annotation.Cacheable;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.util.CollectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.inject.Singleton;
+
+/**
+ * Compares the latency of a {@link Cacheable} method that hits the cache with a plain method call.
+ */
+@State(Scope.Benchmark)
+public class CacheableBenchmark {
+
+    ApplicationContext applicationContext;
+    BookService bookService;
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run(CollectionUtils.mapOf(
+                "micronaut.caches.books.maximumSize", 100
+        ));
+        bookService = applicationContext.getBean(BookService.class);
+        bookService.cachedTitle("isbn-1");
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public String cacheHit() {
+        return bookService.cachedTitle("isbn-1");
+    }
+
+    @Benchmark
+    public String uncached() {
+        return bookService.title("isbn-1");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + CacheableBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Singleton
+    @CacheConfig("books")
+    static class BookService {
+
+        @Cacheable
+        public String cachedTitle(String isbn) {
+            return title(isbn);
+        }
+
+        public String title(String isbn) {
+            return "Title of " + isbn;
+        }
+    }
+}
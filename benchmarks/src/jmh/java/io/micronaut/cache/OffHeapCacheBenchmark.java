@@ -0,0 +1,100 @@
+package io.micronaut.cache;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the throughput and garbage collection cost of a large Caffeine cache on the heap with an off-heap cache
+ * holding the same entries. Run {@link #main(String[])} to execute the benchmarks with the GC profiler, which reports
+ * the number and total duration of collections per iteration as {@code gc.count} and {@code gc.time}.
+ */
+@State(Scope.Benchmark)
+public class OffHeapCacheBenchmark {
+
+    private static final int ENTRIES = 200_000;
+
+    @Param({"heap", "off-heap"})
+    String store;
+
+    ApplicationContext applicationContext;
+    SyncCache<?> cache;
+
+    @Setup
+    public void prepare() {
+        Map<String, Object> config = store.equals("heap") ? CollectionUtils.mapOf(
+                "micronaut.caches.products.maximumSize", ENTRIES
+        ) : CollectionUtils.mapOf(
+                "micronaut.off-heap-caches.products.maximum-memory", "1GB",
+                "micronaut.off-heap-caches.products.maximum-size", ENTRIES
+        );
+        applicationContext = ApplicationContext.run(config);
+        cache = applicationContext.getBean(SyncCache.class, Qualifiers.byName("products"));
+        for (int i = 0; i < ENTRIES; i++) {
+            cache.put(i, new Product(i));
+        }
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Product read() {
+        return cache.get(ThreadLocalRandom.current().nextInt(ENTRIES), Product.class).orElse(null);
+    }
+
+    @Benchmark
+    public void write() {
+        int id = ThreadLocalRandom.current().nextInt(ENTRIES);
+        cache.put(id, new Product(id));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + OffHeapCacheBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .threads(4)
+                .jvmArgs("-Xms2g", "-Xmx2g")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    static class Product implements Serializable {
+        final int id;
+        final String name;
+        final String description;
+        final long[] prices;
+
+        Product(int id) {
+            this.id = id;
+            this.name = "Product " + id;
+            char[] description = new char[512];
+            Arrays.fill(description, (char) ('a' + id % 26));
+            this.description = new String(description);
+            this.prices = new long[32];
+            Arrays.fill(prices, id);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.micronaut.context;
+
+import io.micronaut.context.annotation.Prototype;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.inject.Singleton;
+import java.util.Collection;
+
+/**
+ * Measures contended bean lookups. Run {@link #main(String[])} to execute the benchmarks with 1 to 32 threads.
+ */
+@State(Scope.Benchmark)
+public class BeanContextGetBeanBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    ApplicationContext applicationContext;
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run();
+        applicationContext.getBean(BookService.class);
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public BookService getSingleton() {
+        return applicationContext.getBean(BookService.class);
+    }
+
+    @Benchmark
+    public BookRequest getPrototype() {
+        return applicationContext.getBean(BookRequest.class);
+    }
+
+    @Benchmark
+    public Collection<BookRequest> getBeansOfTypePrototype() {
+        return applicationContext.getBeansOfType(BookRequest.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREAD_COUNTS) {
+            Options opt = new OptionsBuilder()
+                    .include(".*" + BeanContextGetBeanBenchmark.class.getSimpleName() + ".*")
+                    .warmupIterations(3)
+                    .measurementIterations(5)
+                    .forks(1)
+                    .threads(threads)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Singleton
+    static class BookService {
+    }
+
+    @Prototype
+    static class BookRequest {
+        final BookService bookService;
+
+        BookRequest(BookService bookService) {
+            this.bookService = bookService;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.micronaut.web.router;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Executable;
+import io.micronaut.http.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.inject.Singleton;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+public class DefaultRouterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int routeCount;
+
+    ApplicationContext applicationContext;
+    Router router;
+    String firstUri;
+    String lastUri;
+
+    @Setup
+    public void prepare() {
+        applicationContext = ApplicationContext.run();
+        BookController controller = applicationContext.getBean(BookController.class);
+        router = new DefaultRouter(new BenchmarkRouteBuilder(applicationContext, controller, routeCount));
+        firstUri = "/resource0/items/10";
+        lastUri = "/resource" + (routeCount - 1) + "/items/10";
+    }
+
+    @TearDown
+    public void cleanup() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Optional<UriRouteMatch<Object, Object>> routeFirst() {
+        return router.route(HttpMethod.GET, firstUri);
+    }
+
+    @Benchmark
+    public Optional<UriRouteMatch<Object, Object>> routeLast() {
+        return router.route(HttpMethod.GET, lastUri);
+    }
+
+    @Benchmark
+    public Object findLast() {
+        return router.find(HttpMethod.GET, lastUri).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object findMissing() {
+        return router.find(HttpMethod.GET, "/missing/items/10").collect(Collectors.toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + DefaultRouterBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    static class BenchmarkRouteBuilder extends DefaultRouteBuilder {
+        BenchmarkRouteBuilder(ApplicationContext applicationContext, BookController controller, int routeCount) {
+            super(applicationContext);
+            for (int i = 0; i < routeCount; i++) {
+                GET("/resource" + i + "/items/{id}", controller, "show", Long.class);
+            }
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class BookController {
+        String show(Long id) {
+            return "show " + id;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -46,7 +48,7 @@ public final class SoftServiceLoader<S> implements Iterable<ServiceDefinition<S>
     private final Class<S> serviceType;
     private final ClassLoader classLoader;
     private final Map<String, ServiceDefinition<S>> loadedServices = new LinkedHashMap<>();
-    private final Iterator<ServiceDefinition<S>> unloadedServices;
+    private final ServiceLoaderIterator unloadedServices;
     private final Predicate<String> condition;
 
     private SoftServiceLoader(Class<S> serviceType, ClassLoader classLoader) {
@@ -99,6 +101,34 @@ public final class SoftServiceLoader<S> implements Iterable<ServiceDefinition<S>
         return new SoftServiceLoader<>(service, loader, condition);
     }
 
+    /**
+     * Loads and instantiates all present services in parallel on the common {@link java.util.concurrent.ForkJoinPool},
+     * which reduces the time spent loading classes when there are many services. The services are added to the
+     * given collection in the order they were declared.
+     *
+     * @param values    The collection to add the services to
+     * @param predicate An optional predicate the instantiated services must match
+     * @since 1.3.0
+     */
+    public void collectAll(Collection<S> values, Predicate<S> predicate) {
+        List<String> names = new ArrayList<>();
+        while (unloadedServices.hasNext()) {
+            names.add(unloadedServices.nextName());
+        }
+        List<ServiceDefinition<S>> definitions = names.parallelStream()
+                .map(this::loadService)
+                .collect(Collectors.toList());
+        for (ServiceDefinition<S> definition : definitions) {
+            loadedServices.put(definition.getName(), definition);
+        }
+        List<S> services = loadedServices.values().parallelStream()
+                .filter(ServiceDefinition::isPresent)
+                .map(ServiceDefinition::load)
+                .filter(service -> predicate == null || predicate.test(service))
+                .collect(Collectors.toList());
+        values.addAll(services);
+    }
+
     /**
      * @return Return the first such instance
      */
@@ -177,6 +207,15 @@ public final class SoftServiceLoader<S> implements Iterable<ServiceDefinition<S>
         return new DefaultServiceDefinition(name, loadedClass);
     }
 
+    private ServiceDefinition<S> loadService(String name) {
+        try {
+            final Class<?> loadedClass = Class.forName(name, false, classLoader);
+            return newService(name, Optional.of(loadedClass));
+        } catch (NoClassDefFoundError | ClassNotFoundException e) {
+            return newService(name, Optional.empty());
+        }
+    }
+
     /**
      * A service loader iterator implementation.
      */
@@ -225,17 +264,17 @@ public final class SoftServiceLoader<S> implements Iterable<ServiceDefinition<S>
 
         @Override
         public ServiceDefinition<S> next() {
+            return loadService(nextName());
+        }
+
+        /**
+         * @return The name of the next service
+         */
+        String nextName() {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-
-            String nextName = unprocessed.next();
-            try {
-                final Class<?> loadedClass = Class.forName(nextName, false, classLoader);
-                return newService(nextName, Optional.of(loadedClass));
-            } catch (NoClassDefFoundError | ClassNotFoundException e) {
-                return newService(nextName, Optional.empty());
-            }
+            return unprocessed.next();
         }
     }
 }
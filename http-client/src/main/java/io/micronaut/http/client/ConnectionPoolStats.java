@@ -0,0 +1,249 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.scheduling.instrument.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The occupancy and counters of the connection pool of a {@link DefaultHttpClient} for a single host.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class ConnectionPoolStats {
+
+    private final String host;
+    private final int port;
+    private final boolean secure;
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger acquired = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final AtomicInteger evicting = new AtomicInteger();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder failedAcquires = new LongAdder();
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final AtomicBoolean warmingUp = new AtomicBoolean(false);
+
+    /**
+     * @param host   The host
+     * @param port   The port
+     * @param secure Whether connections use TLS
+     */
+    ConnectionPoolStats(String host, int port, boolean secure) {
+        this.host = host;
+        this.port = port;
+        this.secure = secure;
+    }
+
+    /**
+     * @return The host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return The port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return Whether connections use TLS
+     */
+    public boolean isSecure() {
+        return secure;
+    }
+
+    /**
+     * @return The number of open connections
+     */
+    public int getOpen() {
+        return open.get();
+    }
+
+    /**
+     * @return The number of connections currently acquired by requests
+     */
+    public int getAcquired() {
+        return acquired.get();
+    }
+
+    /**
+     * @return The number of open connections that are not acquired
+     */
+    public int getIdle() {
+        return Math.max(0, open.get() - acquired.get());
+    }
+
+    /**
+     * @return The number of requests waiting to acquire a connection
+     */
+    public int getPendingAcquires() {
+        return pendingAcquires.get();
+    }
+
+    /**
+     * @return The number of connections opened
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * @return The number of connections closed because they were idle for longer than the idle timeout
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /**
+     * @return The number of requests that failed to acquire a connection
+     */
+    public long getFailedAcquires() {
+        return failedAcquires.sum();
+    }
+
+    /**
+     * @return The time requests waited to acquire a connection
+     */
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    /**
+     * @return The stats as a map, latencies are expressed in milliseconds
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new LinkedHashMap<>(9);
+        data.put("open", getOpen());
+        data.put("acquired", getAcquired());
+        data.put("idle", getIdle());
+        data.put("pendingAcquires", getPendingAcquires());
+        data.put("created", getCreated());
+        data.put("evicted", getEvicted());
+        data.put("failedAcquires", getFailedAcquires());
+        data.put("acquireLatency", acquireLatency.toMap());
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return (secure ? "https://" : "http://") + host + ":" + port;
+    }
+
+    /**
+     * Records that a connection was opened.
+     */
+    void connectionCreated() {
+        created.increment();
+        open.incrementAndGet();
+    }
+
+    /**
+     * Records that a connection was closed.
+     */
+    void connectionClosed() {
+        open.decrementAndGet();
+    }
+
+    /**
+     * Reserves the eviction of an idle connection by the idle timeout. Connections that are being evicted no longer
+     * count as idle, so that concurrent evictions never close more connections than allowed.
+     *
+     * @param minIdle The minimum number of idle connections to keep
+     * @return True if the connection may be closed, in which case {@link #evictionCompleted()} must be called once closed
+     */
+    boolean reserveEviction(int minIdle) {
+        while (true) {
+            int current = evicting.get();
+            if (open.get() - acquired.get() - current <= minIdle) {
+                return false;
+            }
+            if (evicting.compareAndSet(current, current + 1)) {
+                evicted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records that a connection reserved with {@link #reserveEviction(int)} was closed.
+     */
+    void evictionCompleted() {
+        evicting.decrementAndGet();
+    }
+
+    /**
+     * Records that a connection was handed out by the pool.
+     */
+    void connectionAcquired() {
+        acquired.incrementAndGet();
+    }
+
+    /**
+     * Records that a connection was returned to the pool.
+     */
+    void connectionReleased() {
+        acquired.decrementAndGet();
+    }
+
+    /**
+     * Records that a request started waiting for a connection.
+     *
+     * @return The {@link System#nanoTime()} at which the request started waiting
+     */
+    long acquireStarted() {
+        pendingAcquires.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records that a request stopped waiting for a connection.
+     *
+     * @param start   The time returned by {@link #acquireStarted()}
+     * @param success Whether a connection was acquired
+     */
+    void acquireCompleted(long start, boolean success) {
+        pendingAcquires.decrementAndGet();
+        acquireLatency.record(System.nanoTime() - start);
+        if (!success) {
+            failedAcquires.increment();
+        }
+    }
+
+    /**
+     * @return True if no warm up was in progress and the caller should warm up the pool
+     */
+    boolean startWarmUp() {
+        return warmingUp.compareAndSet(false, true);
+    }
+
+    /**
+     * Records that the warm up of the pool completed.
+     */
+    void warmUpCompleted() {
+        warmingUp.set(false);
+    }
+}
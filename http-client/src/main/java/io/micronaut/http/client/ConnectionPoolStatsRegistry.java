@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the {@link DefaultHttpClient} instances with connection pooling enabled so that the stats of their
+ * connection pools can be reported. Clients are held weakly and removed once stopped.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+public class ConnectionPoolStatsRegistry {
+
+    private final Map<DefaultHttpClient, Boolean> clients = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Returns the stats of the connection pools of all clients by client name. The name of a client is its client
+     * identifiers, for example the service ID, or a generated name if it has none.
+     *
+     * @return The stats of the connection pools of each client
+     */
+    public Map<String, Collection<ConnectionPoolStats>> getConnectionPoolStats() {
+        Map<String, Collection<ConnectionPoolStats>> stats = new LinkedHashMap<>();
+        for (DefaultHttpClient client : getClients()) {
+            stats.merge(client.getConnectionPoolName(), new ArrayList<>(client.getConnectionPoolStats()), (existing, added) -> {
+                existing.addAll(added);
+                return existing;
+            });
+        }
+        return stats;
+    }
+
+    /**
+     * @param name The name of the client
+     * @return The stats of the connection pools of the clients with the given name
+     */
+    public Optional<Collection<ConnectionPoolStats>> findConnectionPoolStats(String name) {
+        return Optional.ofNullable(getConnectionPoolStats().get(name));
+    }
+
+    /**
+     * @param client The client to register
+     */
+    void register(DefaultHttpClient client) {
+        clients.put(client, Boolean.TRUE);
+    }
+
+    /**
+     * @param client The client to unregister
+     */
+    void unregister(DefaultHttpClient client) {
+        clients.remove(client);
+    }
+
+    private List<DefaultHttpClient> getClients() {
+        synchronized (clients) {
+            return new ArrayList<>(clients.keySet());
+        }
+    }
+}
@@ -37,13 +37,16 @@ import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.*;
 import io.micronaut.http.HttpResponseWrapper;
+import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.MutableHttpHeaders;
 import io.micronaut.http.MutableHttpRequest;
 import io.micronaut.http.annotation.Filter;
 import io.micronaut.http.bind.RequestBinderRegistry;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.client.exceptions.*;
+import io.micronaut.http.client.loadbalance.RequestTrackingLoadBalancer;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.sse.RxSseClient;
@@ -68,6 +71,9 @@ import io.micronaut.jackson.ObjectMapperFactory;
 import io.micronaut.jackson.codec.JsonMediaTypeCodec;
 import io.micronaut.jackson.codec.JsonStreamMediaTypeCodec;
 import io.micronaut.jackson.parser.JacksonProcessor;
+import io.micronaut.retry.budget.RetryBudget;
+import io.micronaut.retry.budget.RetryBudgetConfiguration;
+import io.micronaut.retry.budget.RetryBudgetRegistry;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.websocket.RxWebSocketClient;
 import io.micronaut.websocket.annotation.ClientWebSocket;
@@ -87,6 +93,7 @@ import io.netty.handler.codec.http.*;
 import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
 import io.netty.handler.proxy.HttpProxyHandler;
@@ -97,6 +104,7 @@ import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.util.AttributeKey;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.DefaultThreadFactory;
@@ -124,11 +132,14 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -165,6 +176,11 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     private static final int DEFAULT_HTTP_PORT = 80;
     private static final int DEFAULT_HTTPS_PORT = 443;
     private static final String HANDLER_HTTP_CLIENT_INIT = "handler-http-client-init";
+    private static final String ATTRIBUTE_SERVICE_INSTANCE = "micronaut.http.client.service-instance";
+    private static final String HANDLER_POOL_IDLE_STATE = "handler-pool-idle-state";
+    private static final String HANDLER_POOL_IDLE_EVICTION = "handler-pool-idle-eviction";
+    private static final int MAX_HEDGE_SELECTIONS = 3;
+    private static final AttributeKey<Boolean> POOL_CHANNEL_ACQUIRED = AttributeKey.valueOf("micronaut.http.client.pool.acquired");
 
     protected final Bootstrap bootstrap;
     protected EventLoopGroup group;
@@ -173,18 +189,32 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
     private final Scheduler scheduler;
     private final LoadBalancer loadBalancer;
+    private final @Nullable RequestTrackingLoadBalancer requestTracker;
     private final HttpClientConfiguration configuration;
     private final String contextPath;
     private final SslContext sslContext;
+    private final SslContext http2SslContext;
     private final AnnotationMetadataResolver annotationMetadataResolver;
     private final ThreadFactory threadFactory;
 
     private final List<HttpClientFilter> filters;
     private final Charset defaultCharset;
     private final ChannelPoolMap<RequestKey, ChannelPool> poolMap;
+    private final ChannelPoolMap<RequestKey, Http2ChannelPool> http2PoolMap;
     private final Logger log;
     private final @Nullable Long readTimeoutMillis;
     private final @Nullable Long connectionTimeAliveMillis;
+    private final @Nullable Long poolIdleTimeoutMillis;
+    private final int poolMinIdleConnections;
+    private final int poolMaxConnections;
+    private final Map<RequestKey, ConnectionPoolStats> poolStats = new ConcurrentHashMap<>();
+    private final Set<RequestKey> pendingWarmUps = ConcurrentHashMap.newKeySet();
+    private final @Nullable HedgingConfiguration hedgingConfiguration;
+    private final @Nullable String serviceId;
+    private final Map<Object, HedgingDelay> hedgingDelays = new ConcurrentHashMap<>();
+    private ConnectionPoolStatsRegistry poolStatsRegistry;
+    private RetryBudgetRegistry retryBudgetRegistry;
+    private volatile RetryBudget retryBudget;
 
     private Set<String> clientIdentifiers = Collections.emptySet();
     private WebSocketBeanRegistry webSocketRegistry = WebSocketBeanRegistry.EMPTY;
@@ -236,11 +266,13 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                              List<HttpClientFilter> filters) {
 
         this.loadBalancer = loadBalancer;
+        this.requestTracker = loadBalancer instanceof RequestTrackingLoadBalancer ? (RequestTrackingLoadBalancer) loadBalancer : null;
         this.defaultCharset = configuration.getDefaultCharset();
         this.contextPath = contextPath;
         this.bootstrap = new Bootstrap();
         this.configuration = configuration;
         this.sslContext = nettyClientSslBuilder.build(configuration.getSslConfiguration()).orElse(null);
+        this.http2SslContext = configuration.isHttp2() ? nettyClientSslBuilder.build(configuration.getSslConfiguration(), true).orElse(null) : null;
         this.group = createEventLoopGroup(configuration, threadFactory);
         this.scheduler = Schedulers.from(group);
         this.threadFactory = threadFactory;
@@ -255,6 +287,17 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         this.connectionTimeAliveMillis = connectTtl.map(duration -> !duration.isNegative() ? duration.toMillis() : null).orElse(null);
 
         HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration = configuration.getConnectionPoolConfiguration();
+        this.poolIdleTimeoutMillis = connectionPoolConfiguration.getIdleTimeout().map(duration -> !duration.isNegative() && !duration.isZero() ? duration.toMillis() : null).orElse(null);
+        this.poolMinIdleConnections = connectionPoolConfiguration.getMinIdleConnections();
+        this.poolMaxConnections = connectionPoolConfiguration.getMaxConnections();
+        if (configuration instanceof ServiceHttpClientConfiguration) {
+            ServiceHttpClientConfiguration serviceConfiguration = (ServiceHttpClientConfiguration) configuration;
+            this.serviceId = serviceConfiguration.getServiceId();
+            this.hedgingConfiguration = serviceConfiguration.getHedgingConfiguration().isEnabled() ? serviceConfiguration.getHedgingConfiguration() : null;
+        } else {
+            this.serviceId = null;
+            this.hedgingConfiguration = null;
+        }
         if (connectionPoolConfiguration.isEnabled()) {
             int maxConnections = connectionPoolConfiguration.getMaxConnections();
             if (maxConnections > -1) {
@@ -264,7 +307,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                         Bootstrap newBootstrap = bootstrap.clone(group);
                         newBootstrap.remoteAddress(key.getRemoteAddress());
 
-                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
+                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key, newPoolStats(key));
                         final Long acquireTimeoutMillis = connectionPoolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
                         return new FixedChannelPool(
                                 newBootstrap,
@@ -285,7 +328,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                         Bootstrap newBootstrap = bootstrap.clone(group);
                         newBootstrap.remoteAddress(key.getRemoteAddress());
 
-                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
+                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key, newPoolStats(key));
                         return new SimpleChannelPool(
                                 newBootstrap,
                                 channelPoolHandler
@@ -297,6 +340,26 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             this.poolMap = null;
         }
 
+        if (configuration.isHttp2()) {
+            http2PoolMap = new AbstractChannelPoolMap<RequestKey, Http2ChannelPool>() {
+                @Override
+                protected Http2ChannelPool newPool(RequestKey key) {
+                    Bootstrap newBootstrap = bootstrap.clone(group);
+                    newBootstrap.remoteAddress(key.getRemoteAddress());
+                    return new Http2ChannelPool(
+                            newBootstrap,
+                            key.isSecure() ? http2SslContext : null,
+                            key.getHost(),
+                            key.getPort(),
+                            configuration.getHttp2MaxConnections(),
+                            configuration.getHttp2MaxConcurrentStreams()
+                    );
+                }
+            };
+        } else {
+            this.http2PoolMap = null;
+        }
+
         Optional<Duration> connectTimeout = configuration.getConnectTimeout();
         connectTimeout.ifPresent(duration -> this.bootstrap.option(
                 ChannelOption.CONNECT_TIMEOUT_MILLIS,
@@ -430,6 +493,9 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     @PreDestroy
     public HttpClient stop() {
         if (isRunning()) {
+            if (poolStatsRegistry != null) {
+                poolStatsRegistry.unregister(this);
+            }
             if (poolMap instanceof Iterable) {
                 Iterable<Map.Entry<RequestKey, ChannelPool>> i = (Iterable) poolMap;
                 for (Map.Entry<RequestKey, ChannelPool> entry : i) {
@@ -442,6 +508,12 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
                 }
             }
+            if (http2PoolMap instanceof Iterable) {
+                Iterable<Map.Entry<RequestKey, Http2ChannelPool>> i = (Iterable) http2PoolMap;
+                for (Map.Entry<RequestKey, Http2ChannelPool> entry : i) {
+                    entry.getValue().close();
+                }
+            }
             Duration shutdownTimeout = configuration.getShutdownTimeout().orElse(Duration.ofMillis(100));
             Future<?> future = this.group.shutdownGracefully(
                     1,
@@ -679,21 +751,21 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     @Override
     public <I> Flowable<ByteBuffer<?>> dataStream(io.micronaut.http.HttpRequest<I> request) {
         return Flowable.fromPublisher(resolveRequestURI(request))
-                .flatMap(buildDataStreamPublisher(request));
+                .flatMap(trackRequest(request, buildDataStreamPublisher(request)));
 
     }
 
     @Override
     public <I> Flowable<io.micronaut.http.HttpResponse<ByteBuffer<?>>> exchangeStream(io.micronaut.http.HttpRequest<I> request) {
         return Flowable.fromPublisher(resolveRequestURI(request))
-                .flatMap(buildExchangeStreamPublisher(request));
+                .flatMap(trackRequest(request, buildExchangeStreamPublisher(request)));
     }
 
     @Override
     public <I, O> Flowable<O> jsonStream(io.micronaut.http.HttpRequest<I> request, io.micronaut.core.type.Argument<O> type) {
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         return Flowable.fromPublisher(resolveRequestURI(request))
-                .flatMap(buildJsonStreamPublisher(parentRequest, request, type));
+                .flatMap(trackRequest(request, buildJsonStreamPublisher(parentRequest, request, type)));
     }
 
     @SuppressWarnings("unchecked")
@@ -712,8 +784,20 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     public <I, O, E> Flowable<io.micronaut.http.HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType) {
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
         Publisher<URI> uriPublisher = resolveRequestURI(request);
+        HedgingConfiguration hedging = resolveHedgingConfiguration(request);
+        if (hedging != null) {
+            // copied before the first attempt rewrites the URI of the request and filters modify it
+            NettyClientHttpRequest<I> template = copyRequest(request);
+            return hedge(
+                    request,
+                    hedging,
+                    uriPublisher,
+                    () -> copyRequest(template),
+                    attempt -> trackRequest(attempt, buildExchangePublisher(parentRequest, attempt, bodyType, errorType))
+            );
+        }
         return Flowable.fromPublisher(uriPublisher)
-                .switchMap(buildExchangePublisher(parentRequest, request, bodyType, errorType));
+                .switchMap(trackRequest(request, buildExchangePublisher(parentRequest, request, bodyType, errorType)));
     }
 
     @Override
@@ -751,6 +835,13 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         if (beanContext != null) {
             this.webSocketRegistry = WebSocketBeanRegistry.forClient(beanContext);
             this.requestBinderRegistry = beanContext.findBean(RequestBinderRegistry.class).orElse(null);
+            this.retryBudgetRegistry = beanContext.findBean(RetryBudgetRegistry.class).orElse(null);
+            if (poolMap != null) {
+                this.poolStatsRegistry = beanContext.findBean(ConnectionPoolStatsRegistry.class).orElse(null);
+                if (poolStatsRegistry != null) {
+                    poolStatsRegistry.register(this);
+                }
+            }
         }
     }
 
@@ -965,31 +1056,43 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         AtomicReference<io.micronaut.http.HttpRequest> requestWrapper = new AtomicReference<>(request);
         Flowable<io.micronaut.http.HttpResponse<Object>> streamResponsePublisher = Flowable.create(emitter -> {
 
-            ChannelFuture channelFuture;
+            Http2ChannelPool http2Pool;
             try {
-                channelFuture = doConnect(request, requestURI, sslContext, true);
+                http2Pool = resolveHttp2Pool(requestURI);
             } catch (HttpClientException e) {
                 emitter.onError(e);
                 return;
             }
-
-            Disposable disposable = buildDisposableChannel(channelFuture);
-            emitter.setDisposable(disposable);
-            emitter.setCancellable(disposable::dispose);
-
-            channelFuture
-                    .addListener((ChannelFutureListener) f -> {
-                        if (f.isSuccess()) {
-                            Channel channel = f.channel();
-
+            if (http2Pool != null) {
+                AtomicReference<Channel> streamChannel = new AtomicReference<>();
+                emitter.setCancellable(() -> {
+                    Channel channel = streamChannel.get();
+                    if (channel != null && channel.isOpen()) {
+                        channel.close();
+                    }
+                });
+                http2Pool.acquire().addListener(future -> {
+                    if (future.isSuccess()) {
+                        Channel channel = (Channel) future.get();
+                        streamChannel.set(channel);
+                        try {
+                            initHttp2StreamChannel(channel, true, isAcceptEvents(request));
                             streamRequestThroughChannel(parentRequest, requestURI, requestWrapper, emitter, channel);
-                        } else {
-                            Throwable cause = f.cause();
-                            emitter.onError(
-                                    new HttpClientException("Connect error:" + cause.getMessage(), cause)
-                            );
+                        } catch (Exception e) {
+                            emitter.onError(e);
                         }
-                    });
+                    } else if (future.cause() instanceof Http2ChannelPool.Http2UnsupportedException) {
+                        streamRequestOverHttp1(parentRequest, request, requestURI, sslContext, requestWrapper, emitter);
+                    } else {
+                        Throwable cause = future.cause();
+                        emitter.onError(
+                                new HttpClientException("Connect error:" + cause.getMessage(), cause)
+                        );
+                    }
+                });
+            } else {
+                streamRequestOverHttp1(parentRequest, request, requestURI, sslContext, requestWrapper, emitter);
+            }
             }, BackpressureStrategy.BUFFER);
 
         // apply filters
@@ -1020,53 +1123,32 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             Flowable<io.micronaut.http.HttpResponse<O>> responsePublisher = Flowable.create(emitter -> {
 
                 boolean multipart = MediaType.MULTIPART_FORM_DATA_TYPE.equals(request.getContentType().orElse(null));
-                if (poolMap != null && !multipart) {
-                    try {
-                        ChannelPool channelPool = poolMap.get(new RequestKey(requestURI));
-                        Future<Channel> channelFuture = channelPool.acquire();
-                        channelFuture.addListener(future -> {
-                            if (future.isSuccess()) {
-                                Channel channel = (Channel) future.get();
-                                try {
-                                    sendRequestThroughChannel(
-                                            requestWrapper,
-                                            bodyType,
-                                            errorType,
-                                            emitter,
-                                            channel,
-                                            channelPool
-                                    );
-                                } catch (Exception e) {
-                                    emitter.onError(e);
-                                }
-
-                            } else {
-                                Throwable cause = future.cause();
-                                emitter.onError(
-                                        new HttpClientException("Connect Error: " + cause.getMessage(), cause)
-                                );
-                            }
-                        });
-                    } catch (HttpClientException e) {
-                        emitter.onError(e);
-                    }
-                } else {
-                    SslContext sslContext = buildSslContext(requestURI);
-                    ChannelFuture connectionFuture = doConnect(request, requestURI, sslContext, false);
-                    connectionFuture.addListener(future -> {
+                Http2ChannelPool http2Pool;
+                try {
+                    http2Pool = multipart ? null : resolveHttp2Pool(requestURI);
+                } catch (HttpClientException e) {
+                    emitter.onError(e);
+                    return;
+                }
+                if (http2Pool != null) {
+                    http2Pool.acquire().addListener(future -> {
                         if (future.isSuccess()) {
+                            Channel channel = (Channel) future.get();
                             try {
-                                Channel channel = connectionFuture.channel();
+                                initHttp2StreamChannel(channel, false, false);
                                 sendRequestThroughChannel(
                                         requestWrapper,
                                         bodyType,
                                         errorType,
                                         emitter,
                                         channel,
-                                        null);
+                                        http2Pool
+                                );
                             } catch (Exception e) {
                                 emitter.onError(e);
                             }
+                        } else if (future.cause() instanceof Http2ChannelPool.Http2UnsupportedException) {
+                            sendRequestOverHttp1(request, requestURI, requestWrapper, bodyType, errorType, emitter, false);
                         } else {
                             Throwable cause = future.cause();
                             emitter.onError(
@@ -1074,6 +1156,8 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                             );
                         }
                     });
+                } else {
+                    sendRequestOverHttp1(request, requestURI, requestWrapper, bodyType, errorType, emitter, multipart);
                 }
 
             }, BackpressureStrategy.ERROR);
@@ -1115,6 +1199,91 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     }
 
 
+    /**
+     * Sends a request over an HTTP/1.1 connection, which is pooled if connection pooling is enabled.
+     *
+     * @param request        The request
+     * @param requestURI     The request URI
+     * @param requestWrapper The request wrapper
+     * @param bodyType       The body type
+     * @param errorType      The error type
+     * @param emitter        The emitter
+     * @param multipart      Whether the request is a multipart request, which is never pooled
+     * @param <I>            The input type
+     * @param <O>            The output type
+     * @param <E>            The error type
+     */
+    private <I, O, E> void sendRequestOverHttp1(
+            io.micronaut.http.HttpRequest<I> request,
+            URI requestURI,
+            AtomicReference<io.micronaut.http.HttpRequest> requestWrapper,
+            Argument<O> bodyType,
+            Argument<E> errorType,
+            FlowableEmitter<io.micronaut.http.HttpResponse<O>> emitter,
+            boolean multipart) {
+        if (poolMap != null && !multipart) {
+            try {
+                RequestKey requestKey = new RequestKey(requestURI);
+                ChannelPool channelPool = getChannelPool(requestKey);
+                ConnectionPoolStats stats = poolStats.get(requestKey);
+                long acquireStart = stats != null ? stats.acquireStarted() : 0;
+                Future<Channel> channelFuture = channelPool.acquire();
+                channelFuture.addListener(future -> {
+                    if (stats != null) {
+                        stats.acquireCompleted(acquireStart, future.isSuccess());
+                    }
+                    if (future.isSuccess()) {
+                        Channel channel = (Channel) future.get();
+                        try {
+                            sendRequestThroughChannel(
+                                    requestWrapper,
+                                    bodyType,
+                                    errorType,
+                                    emitter,
+                                    channel,
+                                    channelPool
+                            );
+                        } catch (Exception e) {
+                            emitter.onError(e);
+                        }
+
+                    } else {
+                        Throwable cause = future.cause();
+                        emitter.onError(
+                                new HttpClientException("Connect Error: " + cause.getMessage(), cause)
+                        );
+                    }
+                });
+            } catch (HttpClientException e) {
+                emitter.onError(e);
+            }
+        } else {
+            SslContext sslContext = buildSslContext(requestURI);
+            ChannelFuture connectionFuture = doConnect(request, requestURI, sslContext, false);
+            connectionFuture.addListener(future -> {
+                if (future.isSuccess()) {
+                    try {
+                        Channel channel = connectionFuture.channel();
+                        sendRequestThroughChannel(
+                                requestWrapper,
+                                bodyType,
+                                errorType,
+                                emitter,
+                                channel,
+                                null);
+                    } catch (Exception e) {
+                        emitter.onError(e);
+                    }
+                } else {
+                    Throwable cause = future.cause();
+                    emitter.onError(
+                            new HttpClientException("Connect Error: " + cause.getMessage(), cause)
+                    );
+                }
+            });
+        }
+    }
+
     /**
      * @param channel The channel to close asynchronously
      */
@@ -1155,6 +1324,9 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         } else {
 
             return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server -> {
+                        if (requestTracker != null && requestTracker.isTrackingRequests()) {
+                            request.setAttribute(ATTRIBUTE_SERVICE_INSTANCE, server);
+                        }
                         Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
                         if (request instanceof MutableHttpRequest) {
                             if (authInfo.isPresent()) {
@@ -1189,6 +1361,218 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         return null;
     }
 
+    /**
+     * Wraps the function that executes a request such that the {@link ServiceInstance} selected for the request, if any,
+     * is reported to the {@link RequestTrackingLoadBalancer} when the execution starts and completes.
+     *
+     * @param request  The request
+     * @param function The function that executes the request against the resolved URI
+     * @param <T>      The emitted type
+     * @return The function
+     */
+    private <T> Function<URI, Flowable<T>> trackRequest(
+            io.micronaut.http.HttpRequest<?> request,
+            Function<URI, ? extends Publisher<? extends T>> function) {
+        return uri -> {
+            Flowable<T> execution = Flowable.fromPublisher(function.apply(uri));
+            if (requestTracker == null) {
+                return execution;
+            }
+            ServiceInstance instance = request.getAttribute(ATTRIBUTE_SERVICE_INSTANCE, ServiceInstance.class).orElse(null);
+            if (instance == null) {
+                return execution;
+            }
+            request.getAttributes().remove(ATTRIBUTE_SERVICE_INSTANCE);
+            return Flowable.defer(() -> {
+                TrackedRequest tracked = new TrackedRequest(requestTracker, instance);
+                return execution
+                        .doOnNext(item -> tracked.firstItem())
+                        .doOnError(tracked::completed)
+                        .doOnComplete(() -> tracked.completed(null))
+                        .doOnCancel(tracked::cancelled);
+            });
+        };
+    }
+
+    /**
+     * Resolves the hedging configuration of a request, which is either set as a request attribute, for example by a
+     * {@link io.micronaut.http.client.annotation.Hedged} method, or configured for the client. Only requests with
+     * idempotent methods that do not write a body are hedged.
+     *
+     * @param request The request
+     * @return The hedging configuration or null if the request is not hedged
+     */
+    private @Nullable HedgingConfiguration resolveHedgingConfiguration(io.micronaut.http.HttpRequest<?> request) {
+        switch (request.getMethod()) {
+            case GET:
+            case HEAD:
+            case OPTIONS:
+            case TRACE:
+                HedgingConfiguration hedging = request.getAttribute(HedgingConfiguration.ATTRIBUTE, HedgingConfiguration.class).orElse(hedgingConfiguration);
+                return hedging != null && hedging.isEnabled() ? hedging : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Resolves the budget hedged requests are drawn from, which is the budget named after the ID of the service.
+     *
+     * @param request The request
+     * @return The retry budget
+     */
+    private RetryBudget resolveRetryBudget(io.micronaut.http.HttpRequest<?> request) {
+        String budgetName = serviceId != null ? serviceId : request.getAttribute(HttpAttributes.SERVICE_ID, String.class).orElse(null);
+        if (retryBudgetRegistry != null && StringUtils.isNotEmpty(budgetName)) {
+            return retryBudgetRegistry.getRetryBudget(budgetName);
+        }
+        RetryBudget budget = retryBudget;
+        if (budget == null) {
+            synchronized (this) {
+                budget = retryBudget;
+                if (budget == null) {
+                    budget = new RetryBudget(budgetName != null ? budgetName : "default", RetryBudgetConfiguration.DEFAULT_RATIO, RetryBudgetConfiguration.DEFAULT_MAX_TOKENS);
+                    retryBudget = budget;
+                }
+            }
+        }
+        return budget;
+    }
+
+    /**
+     * Executes a request and, if it has not completed after the hedging delay, a second request against a different
+     * instance of the service. The first response received is emitted and the other request is cancelled. Errors of
+     * the second request are ignored so that the outcome of the request is the outcome of the first request unless the
+     * second request responds first. The second request is executed with its own copy of the request so that the
+     * attempts do not share the selected instance, the URI or modifications made by filters.
+     *
+     * <p>Only the latency of the first request is recorded for the hedging delay, measured from its start. If it loses
+     * to the second request its latency is unknown, but at least the time until it was cancelled, which is recorded
+     * instead. The latency of the second request is not recorded, since it is only sent for the slowest requests and
+     * would lower the delay.</p>
+     *
+     * @param request      The request
+     * @param hedging      The hedging configuration
+     * @param uriPublisher Resolves the URI of the request, selecting an instance of the service for every subscription
+     * @param copies       Supplies a copy of the request for the second request
+     * @param execution    Creates the function that executes the given request against the resolved URI
+     * @param <I>          The request body type
+     * @param <T>          The emitted type
+     * @return A flowable that emits the first response
+     */
+    private <I, T> Flowable<T> hedge(
+            io.micronaut.http.HttpRequest<I> request,
+            HedgingConfiguration hedging,
+            Publisher<URI> uriPublisher,
+            Supplier<io.micronaut.http.HttpRequest<I>> copies,
+            java.util.function.Function<io.micronaut.http.HttpRequest<I>, Function<URI, Flowable<T>>> execution) {
+        RetryBudget budget = resolveRetryBudget(request);
+        HedgingDelay hedgingDelay = resolveHedgingDelay(request, hedging);
+        Function<URI, Flowable<T>> primaryExecution = execution.apply(request);
+        return Flowable.defer(() -> {
+            budget.deposit();
+            AtomicReference<URI> primaryURI = new AtomicReference<>();
+            AtomicBoolean hedgeFired = new AtomicBoolean(false);
+            Flowable<T> primary = recordLatency(
+                    Flowable.fromPublisher(uriPublisher)
+                            .doOnNext(primaryURI::set)
+                            .switchMap(primaryExecution),
+                    hedgingDelay,
+                    hedgeFired
+            );
+            Flowable<T> hedged = Flowable.timer(hedgingDelay.getDelayNanos(hedging), TimeUnit.NANOSECONDS, scheduler)
+                    .flatMap(tick -> {
+                        hedgeFired.set(true);
+                        io.micronaut.http.HttpRequest<I> attempt = copies.get();
+                        Function<URI, Flowable<T>> hedgedExecution = execution.apply(attempt);
+                        return Flowable.fromPublisher(resolveRequestURI(attempt))
+                                .repeat(MAX_HEDGE_SELECTIONS)
+                                .filter(uri -> !uri.equals(primaryURI.get()))
+                                .take(1)
+                                .filter(uri -> budget.tryWithdraw())
+                                .switchMap(uri -> {
+                                    if (LOG.isDebugEnabled()) {
+                                        LOG.debug("Hedging request {} {} to {}", request.getMethod(), request.getUri(), uri);
+                                    }
+                                    return hedgedExecution.apply(uri);
+                                });
+                    })
+                    .onErrorResumeNext(Flowable.<T>never())
+                    .switchIfEmpty(Flowable.never());
+            return Flowable.ambArray(primary, hedged);
+        });
+    }
+
+    /**
+     * Copies a request for another attempt. The instance of the service selected for the request is not copied.
+     *
+     * @param request The request
+     * @param <I>     The request body type
+     * @return The copy
+     */
+    private static <I> NettyClientHttpRequest<I> copyRequest(io.micronaut.http.HttpRequest<I> request) {
+        NettyClientHttpRequest<I> copy = new NettyClientHttpRequest<>(request.getMethod(), request.getUri(), request.getMethodName());
+        request.getHeaders().forEach((name, values) -> {
+            for (String value : values) {
+                copy.getHeaders().add(name, value);
+            }
+        });
+        request.getParameters().forEach((name, values) -> copy.getParameters().add(name, new ArrayList<>(values)));
+        request.getAttributes().forEach((name, value) -> {
+            if (!ATTRIBUTE_SERVICE_INSTANCE.equals(name)) {
+                copy.getAttributes().put(name, value);
+            }
+        });
+        request.getBody().ifPresent(copy::body);
+        return copy;
+    }
+
+    /**
+     * Resolves the hedging delay of a request. Latencies differ between the endpoints of a service, so the delay is
+     * estimated separately for each URI template of a declarative client and otherwise for each hedging
+     * configuration, which is either that of a {@link io.micronaut.http.client.annotation.Hedged} method or that of
+     * the client.
+     *
+     * @param request The request
+     * @param hedging The hedging configuration of the request
+     * @return The hedging delay
+     */
+    private HedgingDelay resolveHedgingDelay(io.micronaut.http.HttpRequest<?> request, HedgingConfiguration hedging) {
+        Object key = request.getAttribute(HttpAttributes.URI_TEMPLATE, String.class)
+                .<Object>map(template -> request.getMethodName() + " " + template)
+                .orElse(hedging);
+        return hedgingDelays.computeIfAbsent(key, k -> new HedgingDelay());
+    }
+
+    /**
+     * Records the latency of the first request of a hedge, from its subscription until its first item. If it is
+     * cancelled after the second request was sent, the time until it was cancelled is recorded as lower bound of its
+     * latency.
+     *
+     * @param execution    The first request
+     * @param hedgingDelay The hedging delay to record the latency for
+     * @param hedgeFired   Whether the second request was sent
+     * @param <T>          The emitted type
+     * @return The flowable
+     */
+    private static <T> Flowable<T> recordLatency(Flowable<T> execution, HedgingDelay hedgingDelay, AtomicBoolean hedgeFired) {
+        return Flowable.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean(false);
+            return execution
+                    .doOnNext(item -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            hedgingDelay.record(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (hedgeFired.get() && recorded.compareAndSet(false, true)) {
+                            hedgingDelay.record(System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
 
     /**
      * Creates an initial connection to the given remote host.
@@ -1232,7 +1616,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                 host,
                 port,
                 isStream,
-                request.getHeaders().get(io.micronaut.http.HttpHeaders.ACCEPT, String.class).map(ct -> ct.equals(MediaType.TEXT_EVENT_STREAM)).orElse(false))
+                isAcceptEvents(request))
         );
         return doConnect(localBootstrap, host, port);
     }
@@ -1590,6 +1974,15 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             FlowableEmitter<io.micronaut.http.HttpResponse<O>> emitter,
             Channel channel,
             ChannelPool channelPool) throws HttpPostRequestEncoder.ErrorDataEncoderException {
+        if (emitter.isCancelled()) {
+            // the exchange was cancelled whilst the channel was acquired, for example the losing request of a hedge
+            if (channelPool != null) {
+                channelPool.release(channel);
+            } else {
+                channel.close();
+            }
+            return;
+        }
         io.micronaut.http.HttpRequest<I> finalRequest = requestWrapper.get();
         URI requestURI = finalRequest.getUri();
         MediaType requestContentType = finalRequest
@@ -1732,6 +2125,40 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         requestWriter.writeAndClose(channel, null, emitter);
     }
 
+    private void streamRequestOverHttp1(
+            io.micronaut.http.HttpRequest<?> parentRequest,
+            io.micronaut.http.HttpRequest<?> request,
+            URI requestURI,
+            SslContext sslContext,
+            AtomicReference<io.micronaut.http.HttpRequest> requestWrapper,
+            FlowableEmitter<io.micronaut.http.HttpResponse<Object>> emitter) {
+        ChannelFuture channelFuture;
+        try {
+            channelFuture = doConnect(request, requestURI, sslContext, true);
+        } catch (HttpClientException e) {
+            emitter.onError(e);
+            return;
+        }
+
+        Disposable disposable = buildDisposableChannel(channelFuture);
+        emitter.setDisposable(disposable);
+        emitter.setCancellable(disposable::dispose);
+
+        channelFuture
+                .addListener((ChannelFutureListener) f -> {
+                    if (f.isSuccess()) {
+                        Channel channel = f.channel();
+
+                        streamRequestThroughChannel(parentRequest, requestURI, requestWrapper, emitter, channel);
+                    } else {
+                        Throwable cause = f.cause();
+                        emitter.onError(
+                                new HttpClientException("Connect error:" + cause.getMessage(), cause)
+                        );
+                    }
+                });
+    }
+
     private ByteBuf charSequenceToByteBuf(CharSequence bodyValue, MediaType requestContentType) {
         CharSequence charSequence = bodyValue;
         return byteBufferFactory.copiedBuffer(
@@ -1793,9 +2220,9 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             FlowableEmitter<io.micronaut.http.HttpResponse<O>> emitter,
             Argument<O> bodyType, Argument<E> errorType) {
         ChannelPipeline pipeline = channel.pipeline();
+        AtomicBoolean complete = new AtomicBoolean(false);
         final SimpleChannelInboundHandler<FullHttpResponse> newHandler = new SimpleChannelInboundHandler<FullHttpResponse>(false) {
 
-            AtomicBoolean complete = new AtomicBoolean(false);
             boolean keepAlive = true;
 
             @Override
@@ -1827,11 +2254,13 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
                         // it is a redirect
                         if (statusCode > 300 && statusCode < 400 && configuration.isFollowRedirects() && headers.contains(HttpHeaderNames.LOCATION)) {
+                            complete.set(true);
                             String location = headers.get(HttpHeaderNames.LOCATION);
                             final MutableHttpRequest<Object> redirectRequest = io.micronaut.http.HttpRequest.GET(location);
                             setRedirectHeaders(request, redirectRequest);
                             Flowable<io.micronaut.http.HttpResponse<O>> redirectExchange = exchange(redirectRequest, bodyType);
-                            redirectExchange.first(io.micronaut.http.HttpResponse.notFound())
+                            // cancelling the exchange from now on cancels the redirected exchange
+                            emitter.setDisposable(redirectExchange.first(io.micronaut.http.HttpResponse.notFound())
                                     .subscribe((oHttpResponse, throwable) -> {
                                         if (throwable != null) {
                                             emitter.tryOnError(throwable);
@@ -1840,7 +2269,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                                             emitter.onNext(oHttpResponse);
                                             emitter.onComplete();
                                         }
-                                    });
+                                    }));
                             return;
                         }
                         if (statusCode == HttpStatus.NO_CONTENT.getCode()) {
@@ -2007,7 +2436,14 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             // reset read timeout
             pipeline.addBefore(HANDLER_HTTP_CLIENT_CODEC, HANDLER_READ_TIMEOUT, new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS));
         }
-
+        // a response that is no longer wanted, for example that of the losing request of a hedge, cannot be skipped on
+        // the connection, hence cancelling the exchange closes the connection or resets the HTTP/2 stream. The response
+        // handler is removed once the channel is closed, which releases the channel from the pool
+        emitter.setCancellable(() -> {
+            if (complete.compareAndSet(false, true)) {
+                channel.close();
+            }
+        });
     }
 
     private void setRedirectHeaders(@Nullable HttpRequest request, MutableHttpRequest<Object> redirectRequest) {
@@ -2183,10 +2619,266 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         };
     }
 
-    private AbstractChannelPoolHandler newPoolHandler(RequestKey key) {
+    /**
+     * Adds the handlers that process the decoded response content.
+     *
+     * @param p             The pipeline
+     * @param stream        Whether the response is streamed
+     * @param acceptsEvents Whether an event stream is accepted
+     */
+    private void addHttpContentHandlers(ChannelPipeline p, boolean stream, boolean acceptsEvents) {
+        p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
+
+        int maxContentLength = configuration.getMaxContentLength();
+
+        if (!stream) {
+            p.addLast(HANDLER_AGGREGATOR, new HttpObjectAggregator(maxContentLength) {
+                @Override
+                protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
+                    if (!HttpUtil.isContentLengthSet(aggregated)) {
+                        if (aggregated.content().readableBytes() > 0) {
+                            super.finishAggregation(aggregated);
+                        }
+                    }
+                }
+            });
+        }
+
+        // if the content type is a SSE event stream we add a decoder
+        // to delimit the content by lines
+        if (acceptsEvents) {
+            p.addLast(HANDLER_MICRONAUT_SSE_EVENT_STREAM, new SimpleChannelInboundHandler<HttpContent>() {
+
+                LineBasedFrameDecoder decoder = new LineBasedFrameDecoder(
+                        configuration.getMaxContentLength(),
+                        true,
+                        true
+                );
+
+                @Override
+                public boolean acceptInboundMessage(Object msg) {
+                    return msg instanceof HttpContent && !(msg instanceof LastHttpContent);
+                }
+
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, HttpContent msg) throws Exception {
+                    ByteBuf content = msg.content();
+                    decoder.channelRead(ctx, content);
+                }
+
+            });
+
+            p.addLast(HANDLER_MICRONAUT_SSE_CONTENT, new SimpleChannelInboundHandler<ByteBuf>(false) {
+
+                @Override
+                public boolean acceptInboundMessage(Object msg) {
+                    return msg instanceof ByteBuf;
+                }
+
+                @Override
+                protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
+                    ctx.fireChannelRead(new DefaultHttpContent(msg));
+                }
+            });
+        }
+    }
+
+    private HttpStreamsClientHandler newHttpStreamsClientHandler() {
+        return new HttpStreamsClientHandler() {
+            @Override
+            public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+                if (evt instanceof IdleStateEvent) {
+                    // close the connection if it is idle for too long
+                    ctx.close();
+                } else {
+                    super.userEventTriggered(ctx, evt);
+                }
+            }
+        };
+    }
+
+    private boolean isAcceptEvents(io.micronaut.http.HttpRequest<?> request) {
+        return request.getHeaders().get(io.micronaut.http.HttpHeaders.ACCEPT, String.class).map(ct -> ct.equals(MediaType.TEXT_EVENT_STREAM)).orElse(false);
+    }
+
+    /**
+     * Resolves the HTTP/2 connection pool for the given URI.
+     *
+     * @param requestURI The request URI
+     * @return The pool or null if the request should be sent over HTTP/1.1
+     */
+    private @Nullable Http2ChannelPool resolveHttp2Pool(URI requestURI) {
+        if (http2PoolMap == null) {
+            return null;
+        }
+        RequestKey requestKey = new RequestKey(requestURI);
+        if (requestKey.isSecure() && http2SslContext == null) {
+            return null;
+        }
+        if (!Proxy.NO_PROXY.equals(configuration.resolveProxy(requestKey.isSecure(), requestKey.getHost(), requestKey.getPort()))) {
+            // connections through a proxy are not multiplexed
+            return null;
+        }
+        Http2ChannelPool pool = http2PoolMap.get(requestKey);
+        return pool.isHttp2Supported() ? pool : null;
+    }
+
+    /**
+     * Initializes the pipeline of an HTTP/2 stream, which converts the stream frames into the same HTTP objects
+     * an HTTP/1.1 connection produces.
+     *
+     * @param ch            The stream channel
+     * @param stream        Whether the response is streamed
+     * @param acceptsEvents Whether an event stream is accepted
+     */
+    private void initHttp2StreamChannel(Channel ch, boolean stream, boolean acceptsEvents) {
+        ChannelPipeline p = ch.pipeline();
+        if (stream) {
+            ch.config().setAutoRead(false);
+            if (readTimeoutMillis == null) {
+                Optional<Duration> readIdleTime = configuration.getReadIdleTimeout();
+                if (readIdleTime.isPresent()) {
+                    Duration duration = readIdleTime.get();
+                    if (!duration.isNegative()) {
+                        p.addLast(HANDLER_IDLE_STATE, new IdleStateHandler(duration.toMillis(), duration.toMillis(), duration.toMillis(), TimeUnit.MILLISECONDS));
+                    }
+                }
+            }
+        }
+        p.addLast(HANDLER_HTTP_CLIENT_CODEC, new Http2StreamFrameToHttpObjectCodec(false));
+        addHttpContentHandlers(p, stream, acceptsEvents);
+        p.addLast(HANDLER_STREAM, newHttpStreamsClientHandler());
+    }
+
+    private ConnectionPoolStats newPoolStats(RequestKey key) {
+        // a pool created by a losing concurrent caller of the pool map is discarded, so it shares the stats of the winner
+        return poolStats.computeIfAbsent(key, k -> {
+            if (poolMinIdleConnections > 0) {
+                pendingWarmUps.add(k);
+            }
+            return new ConnectionPoolStats(k.getHost(), k.getPort(), k.isSecure());
+        });
+    }
+
+    /**
+     * Obtains the pool for the given key and schedules the warm up of a newly created pool once the pool has been
+     * added to the pool map, so that the warm up acquires connections from the same pool.
+     *
+     * @param key The request key
+     * @return The pool
+     */
+    private ChannelPool getChannelPool(RequestKey key) {
+        ChannelPool pool = poolMap.get(key);
+        if (pendingWarmUps.remove(key)) {
+            try {
+                group.execute(() -> warmUp(key));
+            } catch (RejectedExecutionException e) {
+                // the client is shutting down
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Opens connections to the host of the given URI in the background until the pool holds
+     * {@link HttpClientConfiguration.ConnectionPoolConfiguration#getMinIdleConnections()} connections, so that the first
+     * requests to the host do not pay the connection and TLS handshake latency. Has no effect unless connection pooling
+     * is enabled with a minimum number of idle connections.
+     *
+     * @param uri The URI of the host
+     * @since 1.3.0
+     */
+    public void warmUp(URI uri) {
+        if (poolMap == null || poolMinIdleConnections <= 0 || uri.getScheme() == null) {
+            return;
+        }
+        RequestKey key = new RequestKey(uri);
+        if (poolStats.containsKey(key)) {
+            warmUp(key);
+        } else {
+            // creating the pool triggers the warm up
+            getChannelPool(key);
+        }
+    }
+
+    /**
+     * @return The stats of the connection pool of each host, empty if connection pooling is disabled
+     * @since 1.3.0
+     */
+    public Collection<ConnectionPoolStats> getConnectionPoolStats() {
+        return Collections.unmodifiableCollection(poolStats.values());
+    }
+
+    /**
+     * @return The name of the client used to report its connection pool stats
+     */
+    String getConnectionPoolName() {
+        if (!clientIdentifiers.isEmpty()) {
+            return String.join(",", clientIdentifiers);
+        }
+        return "client@" + Integer.toHexString(System.identityHashCode(this));
+    }
+
+    private void warmUp(RequestKey key) {
+        ConnectionPoolStats stats = poolStats.get(key);
+        if (stats == null || !isRunning() || !stats.startWarmUp()) {
+            return;
+        }
+        int missing = poolMinIdleConnections - stats.getOpen();
+        if (poolMaxConnections > -1) {
+            missing = Math.min(missing, poolMaxConnections - stats.getOpen());
+        }
+        if (missing <= 0) {
+            stats.warmUpCompleted();
+            return;
+        }
+        ChannelPool pool = poolMap.get(key);
+        // hold every channel until all are acquired so that each acquisition opens a new connection
+        List<Channel> channels = new ArrayList<>(missing);
+        AtomicInteger remaining = new AtomicInteger(missing);
+        for (int i = 0; i < missing; i++) {
+            pool.acquire().addListener(future -> {
+                if (future.isSuccess()) {
+                    synchronized (channels) {
+                        channels.add((Channel) future.getNow());
+                    }
+                } else if (log.isDebugEnabled()) {
+                    log.debug("Error warming up connection pool for " + stats + ": " + future.cause().getMessage(), future.cause());
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    synchronized (channels) {
+                        for (Channel channel : channels) {
+                            pool.release(channel);
+                        }
+                    }
+                    stats.warmUpCompleted();
+                }
+            });
+        }
+    }
+
+    private AbstractChannelPoolHandler newPoolHandler(RequestKey key, ConnectionPoolStats stats) {
         return new AbstractChannelPoolHandler() {
             @Override
             public void channelCreated(Channel ch) {
+                stats.connectionCreated();
+                ch.closeFuture().addListener(future -> stats.connectionClosed());
+                if (poolIdleTimeoutMillis != null) {
+                    ch.pipeline().addLast(HANDLER_POOL_IDLE_STATE, new IdleStateHandler(0, 0, poolIdleTimeoutMillis, TimeUnit.MILLISECONDS));
+                    ch.pipeline().addLast(HANDLER_POOL_IDLE_EVICTION, new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+                            if (evt instanceof IdleStateEvent) {
+                                Channel channel = ctx.channel();
+                                if (!Boolean.TRUE.equals(channel.attr(POOL_CHANNEL_ACQUIRED).get()) && stats.reserveEviction(poolMinIdleConnections)) {
+                                    channel.close().addListener(future -> stats.evictionCompleted());
+                                }
+                            } else {
+                                super.userEventTriggered(ctx, evt);
+                            }
+                        }
+                    });
+                }
                 ch.pipeline().addLast(HANDLER_HTTP_CLIENT_INIT, new HttpClientInitializer(
                         key.isSecure() ? sslContext : null,
                         key.getHost(),
@@ -2206,8 +2898,17 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                 }
             }
 
+            @Override
+            public void channelAcquired(Channel ch) {
+                ch.attr(POOL_CHANNEL_ACQUIRED).set(true);
+                stats.connectionAcquired();
+            }
+
             @Override
             public void channelReleased(Channel ch) {
+                if (Boolean.TRUE.equals(ch.attr(POOL_CHANNEL_ACQUIRED).getAndSet(false))) {
+                    stats.connectionReleased();
+                }
                 if (connectionTimeAliveMillis != null) {
                     boolean shouldCloseOnRelease = Boolean.TRUE.equals(ch.attr(ConnectTTLHandler.RELEASE_CHANNEL).get());
 
@@ -2300,60 +3001,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             }
             p.addLast(HANDLER_HTTP_CLIENT_CODEC, new HttpClientCodec());
 
-            p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
-
-            int maxContentLength = configuration.getMaxContentLength();
-
-            if (!stream) {
-                p.addLast(HANDLER_AGGREGATOR, new HttpObjectAggregator(maxContentLength) {
-                    @Override
-                    protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
-                        if (!HttpUtil.isContentLengthSet(aggregated)) {
-                            if (aggregated.content().readableBytes() > 0) {
-                                super.finishAggregation(aggregated);
-                            }
-                        }
-                    }
-                });
-            }
-
-            // if the content type is a SSE event stream we add a decoder
-            // to delimit the content by lines
-            if (acceptsEventStream()) {
-                p.addLast(HANDLER_MICRONAUT_SSE_EVENT_STREAM, new SimpleChannelInboundHandler<HttpContent>() {
-
-                    LineBasedFrameDecoder decoder = new LineBasedFrameDecoder(
-                            configuration.getMaxContentLength(),
-                            true,
-                            true
-                    );
-
-                    @Override
-                    public boolean acceptInboundMessage(Object msg) {
-                        return msg instanceof HttpContent && !(msg instanceof LastHttpContent);
-                    }
-
-                    @Override
-                    protected void channelRead0(ChannelHandlerContext ctx, HttpContent msg) throws Exception {
-                        ByteBuf content = msg.content();
-                        decoder.channelRead(ctx, content);
-                    }
-
-                });
-
-                p.addLast(HANDLER_MICRONAUT_SSE_CONTENT, new SimpleChannelInboundHandler<ByteBuf>(false) {
-
-                    @Override
-                    public boolean acceptInboundMessage(Object msg) {
-                        return msg instanceof ByteBuf;
-                    }
-
-                    @Override
-                    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
-                        ctx.fireChannelRead(new DefaultHttpContent(msg));
-                    }
-                });
-            }
+            addHttpContentHandlers(p, stream, acceptsEventStream());
             addFinalHandler(p);
         }
 
@@ -2363,17 +3011,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
          * @param pipeline The pipeline
          */
         protected void addFinalHandler(ChannelPipeline pipeline) {
-            pipeline.addLast(HANDLER_STREAM, new HttpStreamsClientHandler() {
-                @Override
-                public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
-                    if (evt instanceof IdleStateEvent) {
-                        // close the connection if it is idle for too long
-                        ctx.close();
-                    } else {
-                        super.userEventTriggered(ctx, evt);
-                    }
-                }
-            });
+            pipeline.addLast(HANDLER_STREAM, newHttpStreamsClientHandler());
         }
 
         private boolean acceptsEventStream() {
@@ -2381,6 +3019,42 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         }
     }
 
+    /**
+     * Reports the execution of a request against a {@link ServiceInstance} to a {@link RequestTrackingLoadBalancer}.
+     * The latency is measured up to the first item emitted, or up to completion if nothing is emitted. Cancelled
+     * requests are reported without a latency or outcome.
+     */
+    private static final class TrackedRequest {
+        private final RequestTrackingLoadBalancer requestTracker;
+        private final ServiceInstance instance;
+        private final long start = System.nanoTime();
+        private final AtomicLong latency = new AtomicLong(-1);
+        private final AtomicBoolean completed = new AtomicBoolean(false);
+
+        TrackedRequest(RequestTrackingLoadBalancer requestTracker, ServiceInstance instance) {
+            this.requestTracker = requestTracker;
+            this.instance = instance;
+            requestTracker.requestStarted(instance);
+        }
+
+        void firstItem() {
+            latency.compareAndSet(-1, System.nanoTime() - start);
+        }
+
+        void completed(@Nullable Throwable error) {
+            if (completed.compareAndSet(false, true)) {
+                firstItem();
+                requestTracker.requestCompleted(instance, latency.get(), error);
+            }
+        }
+
+        void cancelled() {
+            if (completed.compareAndSet(false, true)) {
+                requestTracker.requestCancelled(instance);
+            }
+        }
+    }
+
     /**
      * Key used for connection pooling and determining host/port.
      */
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration for hedged requests. When a request with an idempotent method has not completed after a delay, a
+ * second request is sent to a different instance of the service and the first response received is used, whilst the
+ * other request is cancelled.
+ *
+ * <p>The delay is the configured percentile of the latencies observed by the client, so that only the slowest requests
+ * are hedged. Hedged requests are drawn from the {@link io.micronaut.retry.budget.RetryBudget} of the service, which
+ * limits them to a fraction of the requests.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class HedgingConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for configuration.
+     */
+    public static final String PREFIX = "hedging";
+
+    /**
+     * The request attribute that holds the hedging configuration of a request, which takes precedence over the
+     * configuration of the client.
+     */
+    public static final String ATTRIBUTE = "micronaut.http.client.hedging";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default percentile of the observed latencies used as delay.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_DELAYPERCENTILE = 95;
+
+    /**
+     * The default delay in milliseconds used until enough latencies have been observed.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_DELAY_MILLIS = 100;
+
+    /**
+     * The default number of latencies to observe before the percentile is used as delay.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MINSAMPLES = 100;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private double delayPercentile = DEFAULT_DELAYPERCENTILE;
+    private Duration delay = Duration.ofMillis(DEFAULT_DELAY_MILLIS);
+    private int minSamples = DEFAULT_MINSAMPLES;
+
+    /**
+     * Whether requests are hedged.
+     *
+     * @return True if requests are hedged
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether requests are hedged. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if requests are hedged
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The percentile of the latencies observed by the client after which a request is hedged.
+     *
+     * @return The delay percentile
+     */
+    public double getDelayPercentile() {
+        return delayPercentile;
+    }
+
+    /**
+     * Sets the percentile of the latencies observed by the client after which a request is hedged. Default value
+     * ({@value #DEFAULT_DELAYPERCENTILE}).
+     *
+     * @param delayPercentile The delay percentile
+     */
+    public void setDelayPercentile(double delayPercentile) {
+        this.delayPercentile = Math.min(100, Math.max(0, delayPercentile));
+    }
+
+    /**
+     * The delay after which a request is hedged until {@link #getMinSamples()} latencies have been observed.
+     *
+     * @return The initial delay
+     */
+    public Duration getDelay() {
+        return delay;
+    }
+
+    /**
+     * Sets the delay after which a request is hedged until enough latencies have been observed. Default value
+     * ({@value #DEFAULT_DELAY_MILLIS} milliseconds).
+     *
+     * @param delay The initial delay
+     */
+    public void setDelay(Duration delay) {
+        if (delay != null && !delay.isNegative()) {
+            this.delay = delay;
+        }
+    }
+
+    /**
+     * The number of latencies to observe before the percentile is used as delay.
+     *
+     * @return The minimum number of samples
+     */
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    /**
+     * Sets the number of latencies to observe before the percentile is used as delay. Default value
+     * ({@value #DEFAULT_MINSAMPLES}).
+     *
+     * @param minSamples The minimum number of samples
+     */
+    public void setMinSamples(int minSamples) {
+        this.minSamples = Math.max(1, minSamples);
+    }
+}
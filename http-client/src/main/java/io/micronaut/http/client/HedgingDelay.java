@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.scheduling.instrument.LatencyHistogram;
+
+/**
+ * Estimates the delay after which the requests of a {@link DefaultHttpClient} to an endpoint are hedged from the
+ * latencies of the first requests of earlier hedges to that endpoint.
+ *
+ * <p>The percentile is computed again after a number of responses rather than for every request, and the latencies
+ * are cleared periodically so that the delay follows changes in the latency of the service.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class HedgingDelay {
+
+    private static final long RECOMPUTE_INTERVAL = 64;
+    private static final long WINDOW = 10_000;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private volatile Estimate estimate;
+
+    /**
+     * Records the latency of a response.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    void record(long nanos) {
+        latencies.record(nanos);
+    }
+
+    /**
+     * @param configuration The hedging configuration
+     * @return The delay in nanoseconds after which a request is hedged
+     */
+    long getDelayNanos(HedgingConfiguration configuration) {
+        double percentile = configuration.getDelayPercentile();
+        long count = latencies.getCount();
+        Estimate current = estimate;
+        if (current != null && current.percentile != percentile) {
+            current = null;
+        }
+        if (current != null && count >= current.count && count - current.count < RECOMPUTE_INTERVAL) {
+            return current.delay;
+        }
+        if (count < configuration.getMinSamples()) {
+            return current != null ? current.delay : configuration.getDelay().toNanos();
+        }
+        long delay = Math.min(latencies.getPercentile(percentile), latencies.getMax());
+        if (count >= WINDOW) {
+            latencies.reset();
+            count = 0;
+        }
+        estimate = new Estimate(percentile, delay, count);
+        return delay;
+    }
+
+    /**
+     * The delay computed for a percentile.
+     */
+    private static final class Estimate {
+        final double percentile;
+        final long delay;
+        final long count;
+
+        Estimate(double percentile, long delay, long count) {
+            this.percentile = percentile;
+            this.delay = delay;
+            this.count = count;
+        }
+    }
+}
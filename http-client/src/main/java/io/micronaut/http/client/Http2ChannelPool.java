@@ -0,0 +1,351 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import javax.annotation.Nullable;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A {@link ChannelPool} that multiplexes requests to a single remote host as HTTP/2 streams over a bounded number of
+ * connections. Each acquired channel is a new {@link Http2StreamChannel} that carries exactly one exchange, the slot
+ * it occupies on the parent connection is freed once the stream is closed.
+ *
+ * <p>Streams are opened on the least loaded connection and a new connection is only opened once all existing
+ * connections have reached their maximum number of concurrent streams. Once the connection limit is reached further
+ * acquisitions wait for a stream to close.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class Http2ChannelPool implements ChannelPool {
+
+    private final Bootstrap bootstrap;
+    private final SslContext sslContext;
+    private final String host;
+    private final int port;
+    private final int maxConnections;
+    private final int maxConcurrentStreams;
+    private final List<Connection> connections = new ArrayList<>();
+    private final Deque<Promise<Channel>> pending = new ArrayDeque<>();
+    private volatile boolean http2Supported = true;
+    private boolean closed;
+
+    /**
+     * @param bootstrap            The bootstrap, configured with the remote address
+     * @param sslContext           The SSL context, if the connection is secure
+     * @param host                 The host
+     * @param port                 The port
+     * @param maxConnections       The maximum number of connections
+     * @param maxConcurrentStreams The maximum number of concurrent streams per connection
+     */
+    Http2ChannelPool(
+            Bootstrap bootstrap,
+            @Nullable SslContext sslContext,
+            String host,
+            int port,
+            int maxConnections,
+            int maxConcurrentStreams) {
+        this.bootstrap = bootstrap;
+        this.sslContext = sslContext;
+        this.host = host;
+        this.port = port;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.maxConcurrentStreams = Math.max(1, maxConcurrentStreams);
+    }
+
+    /**
+     * @return False if the server is known not to support HTTP/2, in which case HTTP/1.1 should be used
+     */
+    boolean isHttp2Supported() {
+        return http2Supported;
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(bootstrap.config().group().next().newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        Connection connection;
+        synchronized (this) {
+            if (closed) {
+                promise.tryFailure(new IllegalStateException("HTTP/2 connection pool has been closed"));
+                return promise;
+            }
+            if (!http2Supported) {
+                promise.tryFailure(new Http2UnsupportedException(host, port));
+                return promise;
+            }
+            connection = reserve();
+            if (connection == null) {
+                pending.add(promise);
+                return promise;
+            }
+        }
+        openStream(connection, promise);
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, GlobalEventExecutor.INSTANCE.newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        // a stream carries a single exchange, closing it frees the slot on the parent connection
+        if (channel.isOpen()) {
+            channel.close();
+        }
+        promise.trySuccess(null);
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        List<Connection> toClose;
+        List<Promise<Channel>> waiting;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(connections);
+            waiting = new ArrayList<>(pending);
+            connections.clear();
+            pending.clear();
+        }
+        for (Promise<Channel> promise : waiting) {
+            promise.tryFailure(new IllegalStateException("HTTP/2 connection pool has been closed"));
+        }
+        for (Connection connection : toClose) {
+            connection.channel.close();
+        }
+    }
+
+    /**
+     * Reserves a stream slot on the least loaded connection, opening a new connection if necessary.
+     * Must be called while holding the lock.
+     *
+     * @return The connection or null if the limits have been reached
+     */
+    private Connection reserve() {
+        Connection leastLoaded = null;
+        for (Connection connection : connections) {
+            if (connection.activeStreams < connection.maxStreams() &&
+                    (leastLoaded == null || connection.activeStreams < leastLoaded.activeStreams)) {
+                leastLoaded = connection;
+            }
+        }
+        if (leastLoaded == null && connections.size() < maxConnections) {
+            leastLoaded = connect();
+        }
+        if (leastLoaded != null) {
+            leastLoaded.activeStreams++;
+        }
+        return leastLoaded;
+    }
+
+    private void openStream(Connection connection, Promise<Channel> promise) {
+        connection.ready.addListener(ready -> {
+            if (!ready.isSuccess()) {
+                streamClosed(connection);
+                promise.tryFailure(ready.cause());
+                return;
+            }
+            new Http2StreamChannelBootstrap(connection.channel).open().addListener((Future<Http2StreamChannel> future) -> {
+                if (future.isSuccess()) {
+                    Http2StreamChannel stream = future.getNow();
+                    stream.closeFuture().addListener(f -> streamClosed(connection));
+                    if (!promise.trySuccess(stream)) {
+                        stream.close();
+                    }
+                } else {
+                    streamClosed(connection);
+                    promise.tryFailure(future.cause());
+                }
+            });
+        });
+    }
+
+    private void streamClosed(Connection connection) {
+        synchronized (this) {
+            connection.activeStreams--;
+        }
+        dispatchPending();
+    }
+
+    private void dispatchPending() {
+        while (true) {
+            Promise<Channel> promise;
+            Connection connection;
+            synchronized (this) {
+                promise = pending.poll();
+                if (promise == null) {
+                    return;
+                }
+                if (!http2Supported) {
+                    connection = null;
+                } else {
+                    connection = reserve();
+                    if (connection == null) {
+                        pending.addFirst(promise);
+                        return;
+                    }
+                }
+            }
+            if (connection == null) {
+                promise.tryFailure(new Http2UnsupportedException(host, port));
+            } else {
+                openStream(connection, promise);
+            }
+        }
+    }
+
+    /**
+     * Opens a new connection. Must be called while holding the lock.
+     *
+     * @return The connection
+     */
+    private Connection connect() {
+        Connection connection = new Connection(bootstrap.config().group().next().newPromise());
+        Bootstrap connectionBootstrap = bootstrap.clone().handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                if (sslContext != null) {
+                    pipeline.addLast(sslContext.newHandler(ch.alloc(), host, port));
+                    pipeline.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                        @Override
+                        protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                                connection.established(ctx.pipeline());
+                                connection.ready.trySuccess(ctx.channel());
+                            } else {
+                                http2Supported = false;
+                                connection.ready.tryFailure(new Http2UnsupportedException(host, port));
+                                ctx.close();
+                            }
+                        }
+
+                        @Override
+                        protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) {
+                            connection.ready.tryFailure(cause);
+                            ctx.close();
+                        }
+                    });
+                } else {
+                    // plain HTTP connections use prior knowledge
+                    connection.established(pipeline);
+                }
+            }
+        });
+
+        ChannelFuture connectFuture = connectionBootstrap.connect();
+        connection.channel = connectFuture.channel();
+        connections.add(connection);
+        connectFuture.addListener(future -> {
+            if (!future.isSuccess()) {
+                connection.ready.tryFailure(new HttpClientException("Connect Error: " + future.cause().getMessage(), future.cause()));
+            } else if (sslContext == null) {
+                connection.ready.trySuccess(connection.channel);
+            }
+        });
+        connection.channel.closeFuture().addListener(future -> {
+            connection.ready.tryFailure(new ClosedChannelException());
+            synchronized (this) {
+                connections.remove(connection);
+            }
+            dispatchPending();
+        });
+        return connection;
+    }
+
+    /**
+     * A connection and the number of streams it carries.
+     */
+    private final class Connection {
+        final Promise<Channel> ready;
+        Channel channel;
+        Http2MultiplexCodec codec;
+        int activeStreams;
+
+        Connection(Promise<Channel> ready) {
+            this.ready = ready;
+        }
+
+        /**
+         * Adds the HTTP/2 codec once the protocol has been established, which for plain HTTP connections is
+         * immediately since they use prior knowledge.
+         *
+         * @param pipeline The connection pipeline
+         */
+        void established(ChannelPipeline pipeline) {
+            codec = Http2MultiplexCodecBuilder.forClient(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    // server push is disabled, reject any stream the server opens
+                    ch.close();
+                }
+            }).initialSettings(Http2Settings.defaultSettings().pushEnabled(false)).build();
+            pipeline.addLast(codec);
+        }
+
+        /**
+         * @return The maximum number of streams, bounded by the limit advertised by the server
+         */
+        int maxStreams() {
+            Http2MultiplexCodec codec = this.codec;
+            if (codec != null && ready.isSuccess()) {
+                return Math.min(maxConcurrentStreams, codec.connection().local().maxActiveStreams());
+            }
+            return maxConcurrentStreams;
+        }
+    }
+
+    /**
+     * Thrown when the server did not negotiate HTTP/2.
+     */
+    static final class Http2UnsupportedException extends HttpClientException {
+        Http2UnsupportedException(String host, int port) {
+            super("Server " + host + ":" + port + " does not support HTTP/2");
+        }
+    }
+}
@@ -78,6 +78,24 @@ public abstract class HttpClientConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_EXCEPTION_ON_ERROR_STATUS = true;
 
+    /**
+     * The default HTTP/2 value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_HTTP2 = false;
+
+    /**
+     * The default maximum number of concurrent HTTP/2 streams per connection.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+
+    /**
+     * The default maximum number of HTTP/2 connections per remote host.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_HTTP2_MAX_CONNECTIONS = 1;
+
     private Map<ChannelOption, Object> channelOptions = Collections.emptyMap();
 
     private Integer numOfThreads = null;
@@ -119,6 +137,12 @@ public abstract class HttpClientConfiguration {
 
     private String loggerName;
 
+    private boolean http2 = DEFAULT_HTTP2;
+
+    private int http2MaxConcurrentStreams = DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS;
+
+    private int http2MaxConnections = DEFAULT_HTTP2_MAX_CONNECTIONS;
+
     /**
      * Default constructor.
      */
@@ -206,6 +230,58 @@ public abstract class HttpClientConfiguration {
         this.followRedirects = followRedirects;
     }
 
+    /**
+     * @return Whether requests are sent over HTTP/2
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Sets whether requests are sent over HTTP/2. HTTP/2 is negotiated with ALPN for HTTPS requests and falls back to
+     * HTTP/1.1 if the server does not support it, whilst plain HTTP requests assume the server supports HTTP/2 with
+     * prior knowledge (h2c). Default value ({@link io.micronaut.http.client.HttpClientConfiguration#DEFAULT_HTTP2}).
+     *
+     * @param http2 Whether to use HTTP/2
+     */
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    /**
+     * @return The maximum number of concurrent HTTP/2 streams per connection
+     */
+    public int getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /**
+     * Sets the maximum number of concurrent HTTP/2 streams the client opens on a single connection. The limit
+     * advertised by the server applies if it is lower. Default value ({@link io.micronaut.http.client.HttpClientConfiguration#DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS}).
+     *
+     * @param http2MaxConcurrentStreams The maximum number of concurrent streams
+     */
+    public void setHttp2MaxConcurrentStreams(int http2MaxConcurrentStreams) {
+        this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    }
+
+    /**
+     * @return The maximum number of HTTP/2 connections per remote host
+     */
+    public int getHttp2MaxConnections() {
+        return http2MaxConnections;
+    }
+
+    /**
+     * Sets the maximum number of HTTP/2 connections opened to each remote host. A new connection is only opened once
+     * the existing connections have reached their maximum number of concurrent streams. Default value ({@link io.micronaut.http.client.HttpClientConfiguration#DEFAULT_HTTP2_MAX_CONNECTIONS}).
+     *
+     * @param http2MaxConnections The maximum number of connections
+     */
+    public void setHttp2MaxConnections(int http2MaxConnections) {
+        this.http2MaxConnections = http2MaxConnections;
+    }
+
     /**
      * @return The default charset to use
      */
@@ -513,8 +589,18 @@ public abstract class HttpClientConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_MAXCONNECTIONS = -1;
 
+        /**
+         * The default minimum idle connections value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MINIDLECONNECTIONS = 0;
+
         private int maxConnections = DEFAULT_MAXCONNECTIONS;
 
+        private int minIdleConnections = DEFAULT_MINIDLECONNECTIONS;
+
+        private Duration idleTimeout;
+
         private int maxPendingAcquires = Integer.MAX_VALUE;
 
         private Duration acquireTimeout;
@@ -593,5 +679,47 @@ public abstract class HttpClientConfiguration {
         public void setAcquireTimeout(@Nullable Duration acquireTimeout) {
             this.acquireTimeout = acquireTimeout;
         }
+
+        /**
+         * The number of connections to open to each host in advance and to keep open when idle connections are
+         * evicted. Defaults to ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MINIDLECONNECTIONS}).
+         *
+         * @return The minimum number of idle connections
+         * @since 1.3.0
+         */
+        public int getMinIdleConnections() {
+            return minIdleConnections;
+        }
+
+        /**
+         * Sets the number of connections to open to each host in advance and to keep open when idle connections are
+         * evicted.
+         *
+         * @param minIdleConnections The minimum number of idle connections
+         * @since 1.3.0
+         */
+        public void setMinIdleConnections(int minIdleConnections) {
+            this.minIdleConnections = Math.max(0, minIdleConnections);
+        }
+
+        /**
+         * The time after which a connection that is idle in the pool is closed. Defaults to never.
+         *
+         * @return The idle timeout as a duration
+         * @since 1.3.0
+         */
+        public Optional<Duration> getIdleTimeout() {
+            return Optional.ofNullable(idleTimeout);
+        }
+
+        /**
+         * Sets the time after which a connection that is idle in the pool is closed.
+         *
+         * @param idleTimeout The idle timeout
+         * @since 1.3.0
+         */
+        public void setIdleTimeout(@Nullable Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
     }
 }
@@ -19,11 +19,15 @@ import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.client.loadbalance.LoadBalancerType;
+import io.micronaut.http.client.loadbalance.OutlierDetectionConfiguration;
+import io.micronaut.http.client.loadbalance.PeakEwmaLoadBalancer;
 import io.micronaut.http.context.ClientContextPathProvider;
 import io.micronaut.http.ssl.SslConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
 
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Collections;
@@ -64,13 +68,39 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     @SuppressWarnings("WeakerAccess")
     public static final long DEFAULT_HEALTHCHECKINTERVAL_SECONDS = 30;
 
+    /**
+     * The default load balancer.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final LoadBalancerType DEFAULT_LOADBALANCER = LoadBalancerType.ROUND_ROBIN;
+
     private final String serviceId;
     private final ServiceConnectionPoolConfiguration connectionPoolConfiguration;
+    private final OutlierDetectionConfiguration outlierDetectionConfiguration;
+    private final HedgingConfiguration hedgingConfiguration;
     private List<URI> urls = Collections.emptyList();
     private String healthCheckUri = DEFAULT_HEALTHCHECKURI;
     private boolean healthCheck = DEFAULT_HEALTHCHECK;
     private Duration healthCheckInterval = Duration.ofSeconds(DEFAULT_HEALTHCHECKINTERVAL_SECONDS);
     private String path;
+    private LoadBalancerType loadBalancer = DEFAULT_LOADBALANCER;
+    private Duration loadBalancerDecayTime = PeakEwmaLoadBalancer.DEFAULT_DECAY_TIME;
+
+    /**
+     * Creates a new client configuration for the given service ID.
+     *
+     * @param serviceId The service id
+     * @param connectionPoolConfiguration The connection pool configuration
+     * @param sslConfiguration The SSL configuration
+     * @param applicationConfiguration The application configuration
+     */
+    public ServiceHttpClientConfiguration(
+            @Parameter String serviceId,
+            @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
+            @Nullable ServiceSslClientConfiguration sslConfiguration,
+            ApplicationConfiguration applicationConfiguration) {
+        this(serviceId, connectionPoolConfiguration, sslConfiguration, null, null, applicationConfiguration);
+    }
 
     /**
      * Creates a new client configuration for the given service ID.
@@ -78,12 +108,18 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
      * @param serviceId The service id
      * @param connectionPoolConfiguration The connection pool configuration
      * @param sslConfiguration The SSL configuration
+     * @param outlierDetectionConfiguration The outlier detection configuration
+     * @param hedgingConfiguration The hedging configuration
      * @param applicationConfiguration The application configuration
+     * @since 1.3.0
      */
+    @Inject
     public ServiceHttpClientConfiguration(
             @Parameter String serviceId,
             @Nullable ServiceConnectionPoolConfiguration connectionPoolConfiguration,
             @Nullable ServiceSslClientConfiguration sslConfiguration,
+            @Nullable ServiceOutlierDetectionConfiguration outlierDetectionConfiguration,
+            @Nullable ServiceHedgingConfiguration hedgingConfiguration,
             ApplicationConfiguration applicationConfiguration) {
         super(applicationConfiguration);
         this.serviceId = serviceId;
@@ -95,6 +131,16 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
         } else {
             this.connectionPoolConfiguration = new ServiceConnectionPoolConfiguration();
         }
+        if (outlierDetectionConfiguration != null) {
+            this.outlierDetectionConfiguration = outlierDetectionConfiguration;
+        } else {
+            this.outlierDetectionConfiguration = new ServiceOutlierDetectionConfiguration();
+        }
+        if (hedgingConfiguration != null) {
+            this.hedgingConfiguration = hedgingConfiguration;
+        } else {
+            this.hedgingConfiguration = new ServiceHedgingConfiguration();
+        }
     }
 
     /**
@@ -215,11 +261,70 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
         }
     }
 
+    /**
+     * The strategy used to select an instance of the service.
+     *
+     * @return The load balancer type
+     */
+    public LoadBalancerType getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * Sets the strategy used to select an instance of the service. Default value (round-robin).
+     *
+     * @param loadBalancer The load balancer type
+     */
+    public void setLoadBalancer(LoadBalancerType loadBalancer) {
+        if (loadBalancer != null) {
+            this.loadBalancer = loadBalancer;
+        }
+    }
+
+    /**
+     * The time over which the latencies observed by the {@link LoadBalancerType#PEAK_EWMA} load balancer decay.
+     *
+     * @return The decay time
+     */
+    public Duration getLoadBalancerDecayTime() {
+        return loadBalancerDecayTime;
+    }
+
+    /**
+     * Sets the time over which the latencies observed by the {@link LoadBalancerType#PEAK_EWMA} load balancer decay.
+     * Default value (10 seconds).
+     *
+     * @param loadBalancerDecayTime The decay time
+     */
+    public void setLoadBalancerDecayTime(Duration loadBalancerDecayTime) {
+        if (loadBalancerDecayTime != null) {
+            this.loadBalancerDecayTime = loadBalancerDecayTime;
+        }
+    }
+
     @Override
     public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
         return connectionPoolConfiguration;
     }
 
+    /**
+     * The configuration of the passive outlier detection that ejects failing instances of the service.
+     *
+     * @return The outlier detection configuration
+     */
+    public OutlierDetectionConfiguration getOutlierDetectionConfiguration() {
+        return outlierDetectionConfiguration;
+    }
+
+    /**
+     * The configuration of the hedged requests sent to the service.
+     *
+     * @return The hedging configuration
+     */
+    public HedgingConfiguration getHedgingConfiguration() {
+        return hedgingConfiguration;
+    }
+
     /**
      * The default connection pool configuration.
      */
@@ -227,6 +332,20 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     public static class ServiceConnectionPoolConfiguration extends ConnectionPoolConfiguration {
     }
 
+    /**
+     * The default outlier detection configuration.
+     */
+    @ConfigurationProperties(OutlierDetectionConfiguration.PREFIX)
+    public static class ServiceOutlierDetectionConfiguration extends OutlierDetectionConfiguration {
+    }
+
+    /**
+     * The default hedging configuration.
+     */
+    @ConfigurationProperties(HedgingConfiguration.PREFIX)
+    public static class ServiceHedgingConfiguration extends HedgingConfiguration {
+    }
+
     /**
      * The default connection pool configuration.
      */
@@ -91,7 +91,7 @@ public class ServiceHttpClientFactory {
         boolean isHealthCheck = configuration.isHealthCheck();
 
         Optional<String> path = configuration.getPath();
-        LoadBalancer loadBalancer = loadBalancerFactory.create(instanceList);
+        LoadBalancer loadBalancer = loadBalancerFactory.create(instanceList, configuration);
         DefaultHttpClient httpClient;
         if (path.isPresent()) {
             httpClient = beanContext.createBean(DefaultHttpClient.class, loadBalancer, configuration, path.get());
@@ -100,6 +100,9 @@ public class ServiceHttpClientFactory {
         }
 
         httpClient.setClientIdentifiers(configuration.getServiceId());
+        if (configuration.getConnectionPoolConfiguration().getMinIdleConnections() > 0) {
+            originalURLs.forEach(httpClient::warmUp);
+        }
 
         if (isHealthCheck) {
             taskScheduler.scheduleWithFixedDelay(configuration.getHealthCheckInterval(), configuration.getHealthCheckInterval(), () -> Flowable.fromIterable(originalURLs).flatMap(originalURI -> {
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.annotation;
+
+import io.micronaut.http.client.HedgingConfiguration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Hedges the requests of a method of a {@link Client}. When the request has not completed after a delay a second
+ * request is sent to a different instance of the service and the first response received is used. Only methods with
+ * the idempotent HTTP methods GET, HEAD, OPTIONS and TRACE are hedged.
+ *
+ * @author agent
+ * @since 1.3.0
+ * @see HedgingConfiguration
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Hedged {
+
+    /**
+     * @return The percentile of the latencies observed by the client after which a request is hedged
+     */
+    double percentile() default HedgingConfiguration.DEFAULT_DELAYPERCENTILE;
+
+    /**
+     * @return The delay after which a request is hedged until enough latencies have been observed, for example "50ms"
+     */
+    String delay() default "";
+
+    /**
+     * @return The number of latencies to observe before the percentile is used as delay
+     */
+    int minSamples() default HedgingConfiguration.DEFAULT_MINSAMPLES;
+}
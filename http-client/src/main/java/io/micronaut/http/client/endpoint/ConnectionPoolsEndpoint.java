@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.endpoint;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.client.ConnectionPoolStats;
+import io.micronaut.http.client.ConnectionPoolStatsRegistry;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Selector;
+
+import javax.validation.constraints.NotBlank;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the occupancy, counters and acquire latency of the connection pool of each
+ * host for the HTTP clients that have connection pooling enabled.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Endpoint(ConnectionPoolsEndpoint.NAME)
+@Requires(classes = Endpoint.class)
+@Requires(beans = ConnectionPoolStatsRegistry.class)
+public class ConnectionPoolsEndpoint {
+
+    /**
+     * Endpoint name.
+     */
+    public static final String NAME = "connectionpools";
+
+    private final ConnectionPoolStatsRegistry registry;
+
+    /**
+     * @param registry The connection pool stats registry
+     */
+    public ConnectionPoolsEndpoint(ConnectionPoolStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return The stats of the connection pools of all clients by client name and host
+     */
+    @Read
+    public Map<String, Object> getConnectionPools() {
+        Map<String, Object> clients = new LinkedHashMap<>();
+        registry.getConnectionPoolStats().forEach((name, stats) -> clients.put(name, toMap(stats)));
+        return Collections.singletonMap(NAME, clients);
+    }
+
+    /**
+     * @param name The name of the client
+     * @return The stats of the connection pools of the client by host or null if it does not exist
+     */
+    @Read
+    public Map<String, Object> getConnectionPool(@NotBlank @Selector String name) {
+        return registry.findConnectionPoolStats(name).map(this::toMap).orElse(null);
+    }
+
+    private Map<String, Object> toMap(Collection<ConnectionPoolStats> stats) {
+        Map<String, Object> hosts = new LinkedHashMap<>(stats.size());
+        for (ConnectionPoolStats pool : stats) {
+            hosts.put(pool.toString(), pool.toMap());
+        }
+        return hosts;
+    }
+}
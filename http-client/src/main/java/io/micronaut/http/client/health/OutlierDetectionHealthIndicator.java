@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.health;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.loadbalance.OutlierDetector;
+import io.micronaut.http.client.loadbalance.OutlierDetectorRegistry;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+
+import javax.inject.Singleton;
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link HealthIndicator} that reports the instances of each service that the HTTP client currently ejects from load
+ * balancing due to outlier detection. Ejections do not affect the health of the application itself, so the status is
+ * always {@link HealthStatus#UP}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+@Requires(classes = HealthIndicator.class)
+@Requires(beans = OutlierDetectorRegistry.class)
+public class OutlierDetectionHealthIndicator implements HealthIndicator {
+
+    /**
+     * The name of the health result.
+     */
+    public static final String NAME = "outlierDetection";
+
+    private final OutlierDetectorRegistry registry;
+
+    /**
+     * @param registry The outlier detector registry
+     */
+    public OutlierDetectionHealthIndicator(OutlierDetectorRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Publisher<HealthResult> getResult() {
+        Collection<OutlierDetector> detectors = registry.getOutlierDetectors();
+        if (detectors.isEmpty()) {
+            return Flowable.empty();
+        }
+        Map<String, Object> services = new LinkedHashMap<>(detectors.size());
+        for (OutlierDetector detector : detectors) {
+            int ejected = 0;
+            Map<String, Object> instances = new LinkedHashMap<>();
+            for (Map.Entry<URI, OutlierDetector.InstanceState> entry : detector.getInstanceStates().entrySet()) {
+                OutlierDetector.InstanceState state = entry.getValue();
+                boolean isEjected = state.isEjected();
+                if (isEjected) {
+                    ejected++;
+                }
+                Map<String, Object> details = new LinkedHashMap<>(4);
+                details.put("ejected", isEjected);
+                details.put("consecutiveFailures", state.getConsecutiveFailures());
+                details.put("ejections", state.getEjections());
+                details.put("remainingEjectionTime", state.getRemainingEjectionTime().toMillis());
+                instances.put(entry.getKey().toString(), details);
+            }
+            Map<String, Object> service = new LinkedHashMap<>(2);
+            service.put("ejected", ejected);
+            service.put("instances", instances);
+            services.put(detector.getServiceId(), service);
+        }
+        return Flowable.just(HealthResult.builder(NAME, HealthStatus.UP)
+                .details(services)
+                .build());
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.interceptor;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.bind.annotation.Bindable;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionContext;
+import io.micronaut.core.convert.format.Format;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.core.version.annotation.Version;
+import io.micronaut.http.BasicAuth;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.CookieValue;
+import io.micronaut.http.annotation.CustomHttpMethod;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.HttpMethodMapping;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.annotation.RequestAttribute;
+import io.micronaut.http.client.HedgingConfiguration;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.annotation.Hedged;
+import io.micronaut.http.client.interceptor.configuration.ClientVersioningConfiguration;
+import io.micronaut.http.uri.UriMatchTemplate;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The request plan of a declarative client method, compiled once by {@link HttpClientIntroductionAdvice} so that the
+ * annotations of the method and its arguments are not resolved again on every call.
+ *
+ * <p>The plan holds the parsed URI template, the static headers, query parameters and attributes, the binding of each
+ * argument and the resolved {@link HttpClient}. A call only has to bind the argument values to a new request.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class ClientRequestPlan {
+
+    /**
+     * The default Accept-Types.
+     */
+    private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
+
+    final String clientKey;
+    final HttpClient httpClient;
+    final boolean mapped;
+    final HttpMethod httpMethod;
+    final String httpMethodName;
+    final UriMatchTemplate uriTemplate;
+    final List<String> uriVariables;
+    final String uriTemplateAttribute;
+    final String serviceId;
+    final Argument<?> errorType;
+    final Map<String, String> headers;
+    final Map<String, String> queryParams;
+    final Map<String, Object> attributes;
+    final HedgingConfiguration hedging;
+    final ArgumentBinding[] bindings;
+    final MediaType contentType;
+    final MediaType[] acceptTypes;
+    final ReturnType<?> returnType;
+    final Class<?> javaReturnType;
+    final boolean isFuture;
+    final boolean isReactive;
+    final boolean isSingle;
+    final Argument<?> publisherArgument;
+    final Class<?> argumentType;
+    final boolean isEventStream;
+    final boolean isJson;
+
+    /**
+     * @param context                 The invocation context of the method
+     * @param clientAnnotation        The client annotation
+     * @param clientKey               The key of the client
+     * @param httpClient              The resolved client, or null if the method is not handled by the advice
+     * @param versioningConfiguration Resolves the versioning configuration of the client
+     * @param isJsonMediaType         Whether the accept types are parsed as JSON
+     */
+    ClientRequestPlan(
+            MethodInvocationContext<Object, Object> context,
+            AnnotationValue<Client> clientAnnotation,
+            String clientKey,
+            HttpClient httpClient,
+            Function<AnnotationValue<Client>, ClientVersioningConfiguration> versioningConfiguration,
+            Predicate<MediaType[]> isJsonMediaType) {
+        this.clientKey = clientKey;
+        this.httpClient = httpClient;
+
+        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
+        this.mapped = context.hasStereotype(HttpMethodMapping.class) && httpClient != null;
+        if (!mapped) {
+            this.httpMethod = null;
+            this.httpMethodName = null;
+            this.uriTemplate = null;
+            this.uriVariables = Collections.emptyList();
+            this.uriTemplateAttribute = null;
+            this.serviceId = null;
+            this.errorType = null;
+            this.headers = Collections.emptyMap();
+            this.queryParams = Collections.emptyMap();
+            this.attributes = Collections.emptyMap();
+            this.hedging = null;
+            this.bindings = new ArgumentBinding[0];
+            this.contentType = null;
+            this.acceptTypes = DEFAULT_ACCEPT_TYPES;
+            this.returnType = null;
+            this.javaReturnType = null;
+            this.isFuture = false;
+            this.isReactive = false;
+            this.isSingle = false;
+            this.publisherArgument = null;
+            this.argumentType = null;
+            this.isEventStream = false;
+            this.isJson = false;
+            return;
+        }
+
+        AnnotationValue<HttpMethodMapping> mapping = context.getAnnotation(HttpMethodMapping.class);
+        String uri = mapping.getRequiredValue(String.class);
+        if (StringUtils.isEmpty(uri)) {
+            uri = "/" + context.getMethodName();
+        }
+
+        this.httpMethod = HttpMethod.parse(httpMethodMapping.get().getSimpleName().toUpperCase());
+        this.httpMethodName = context.stringValue(CustomHttpMethod.class, "method").orElse(httpMethod.name());
+
+        UriMatchTemplate template = UriMatchTemplate.of("");
+        if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
+            template = template.nest(uri);
+        }
+        this.uriTemplate = template;
+        this.uriVariables = template.getVariableNames();
+        // the URI template used to make the request for tracing purposes
+        this.uriTemplateAttribute = resolveTemplate(clientAnnotation, template.toString());
+        this.serviceId = clientAnnotation.stringValue().orElse(null);
+        this.errorType = clientAnnotation.classValue("errorType").map((Function<Class, Argument>) Argument::of).orElse(HttpClient.DEFAULT_ERROR_TYPE);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (AnnotationValue<Header> headerAnnotation : context.getAnnotationValuesByType(Header.class)) {
+            String headerName = headerAnnotation.stringValue("name").orElse(null);
+            String headerValue = headerAnnotation.stringValue().orElse(null);
+            if (StringUtils.isNotEmpty(headerName) && StringUtils.isNotEmpty(headerValue)) {
+                headers.putIfAbsent(headerName, headerValue);
+            }
+        }
+
+        Map<String, String> queryParams = new LinkedHashMap<>();
+        Optional<String> version = context.findAnnotation(Version.class)
+                .flatMap(AnnotationValue::stringValue)
+                .filter(StringUtils::isNotEmpty);
+        if (version.isPresent()) {
+            ClientVersioningConfiguration configuration = versioningConfiguration.apply(clientAnnotation);
+            configuration.getHeaders().forEach(header -> headers.put(header, version.get()));
+            configuration.getParameters().forEach(parameter -> queryParams.put(parameter, version.get()));
+        }
+        this.headers = Collections.unmodifiableMap(headers);
+        this.queryParams = Collections.unmodifiableMap(queryParams);
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (AnnotationValue<RequestAttribute> attributeAnnotation : context.getAnnotationValuesByType(RequestAttribute.class)) {
+            String attributeName = attributeAnnotation.stringValue("name").orElse(null);
+            Object attributeValue = attributeAnnotation.getValue(Object.class).orElse(null);
+            if (StringUtils.isNotEmpty(attributeName) && attributeValue != null) {
+                attributes.put(attributeName, attributeValue);
+            }
+        }
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.hedging = context.findAnnotation(Hedged.class).map(ClientRequestPlan::hedgingConfiguration).orElse(null);
+
+        Argument[] arguments = context.getArguments();
+        this.bindings = new ArgumentBinding[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            bindings[i] = new ArgumentBinding(arguments[i], uriVariables);
+        }
+
+        MediaType[] contentTypes = MediaType.of(context.stringValues(Produces.class));
+        this.contentType = ArrayUtils.isEmpty(contentTypes) ? DEFAULT_ACCEPT_TYPES[0] : contentTypes[0];
+        MediaType[] acceptTypes = MediaType.of(context.stringValues(Consumes.class));
+        this.acceptTypes = ArrayUtils.isEmpty(acceptTypes) ? DEFAULT_ACCEPT_TYPES : acceptTypes;
+
+        this.returnType = context.getReturnType();
+        this.javaReturnType = returnType.getType();
+        this.isFuture = CompletionStage.class.isAssignableFrom(javaReturnType);
+        this.isReactive = Publishers.isConvertibleToPublisher(javaReturnType) || isFuture;
+        this.publisherArgument = returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
+        this.argumentType = publisherArgument.getType();
+        this.isSingle = Publishers.isSingle(javaReturnType) || isFuture || context.isTrue(Consumes.class, "single") ||
+                HttpResponse.class.isAssignableFrom(argumentType) || HttpStatus.class.isAssignableFrom(argumentType);
+        this.isEventStream = Arrays.asList(this.acceptTypes).contains(MediaType.TEXT_EVENT_STREAM_TYPE);
+        this.isJson = isJsonMediaType.test(this.acceptTypes);
+    }
+
+    /**
+     * Creates the hedging configuration of a {@link Hedged} method, which takes precedence over the configuration of
+     * the client.
+     *
+     * @param hedged The annotation
+     * @return The hedging configuration
+     */
+    private static HedgingConfiguration hedgingConfiguration(AnnotationValue<Hedged> hedged) {
+        HedgingConfiguration configuration = new HedgingConfiguration();
+        configuration.setEnabled(true);
+        configuration.setDelayPercentile(hedged.get("percentile", Double.class).orElse(HedgingConfiguration.DEFAULT_DELAYPERCENTILE));
+        configuration.setMinSamples(hedged.get("minSamples", Integer.class).orElse(HedgingConfiguration.DEFAULT_MINSAMPLES));
+        hedged.stringValue("delay")
+                .filter(StringUtils::isNotEmpty)
+                .flatMap(delay -> hedged.get("delay", Duration.class))
+                .ifPresent(configuration::setDelay);
+        return configuration;
+    }
+
+    /**
+     * Resolve the template for the client annotation.
+     *
+     * @param clientAnnotation client annotation reference
+     * @param templateString   template to be applied
+     * @return resolved template contents
+     */
+    private static String resolveTemplate(AnnotationValue<Client> clientAnnotation, String templateString) {
+        String path = clientAnnotation.stringValue("path").orElse(null);
+        if (StringUtils.isNotEmpty(path)) {
+            return path + templateString;
+        } else {
+            String value = clientAnnotation.stringValue().orElse(null);
+            if (StringUtils.isNotEmpty(value)) {
+                if (value.startsWith("/")) {
+                    return value + templateString;
+                }
+            }
+            return templateString;
+        }
+    }
+
+    /**
+     * The way an argument is bound to the request.
+     */
+    enum BindingType {
+        BODY, HEADER, COOKIE, QUERY_VALUE, REQUEST_ATTRIBUTE, PATH_VARIABLE, BASIC_AUTH, BODY_PART, URI_VARIABLE
+    }
+
+    /**
+     * The binding of an argument, resolved from its annotations.
+     */
+    static final class ArgumentBinding {
+        final Argument argument;
+        final String argumentName;
+        final BindingType type;
+        final String name;
+        final boolean format;
+        final String defaultValue;
+        final boolean nullable;
+        final AnnotationMetadata annotationMetadata;
+
+        /**
+         * @param argument     The argument
+         * @param uriVariables The variables of the URI template
+         */
+        ArgumentBinding(Argument argument, List<String> uriVariables) {
+            this.argument = argument;
+            this.argumentName = argument.getName();
+            this.annotationMetadata = argument.getAnnotationMetadata();
+            this.format = annotationMetadata.hasStereotype(Format.class);
+            this.defaultValue = annotationMetadata.stringValue(Bindable.class, "defaultValue").orElse(null);
+            this.nullable = argument.isNullable();
+
+            if (annotationMetadata.isAnnotationPresent(Body.class)) {
+                this.type = BindingType.BODY;
+                this.name = argumentName;
+            } else if (annotationMetadata.isAnnotationPresent(Header.class)) {
+                this.type = BindingType.HEADER;
+                String headerName = annotationMetadata.stringValue(Header.class).orElse(null);
+                this.name = StringUtils.isEmpty(headerName) ? NameUtils.hyphenate(argumentName) : headerName;
+            } else if (annotationMetadata.isAnnotationPresent(CookieValue.class)) {
+                this.type = BindingType.COOKIE;
+                String cookieName = annotationMetadata.stringValue(CookieValue.class).orElse(null);
+                this.name = StringUtils.isEmpty(cookieName) ? argumentName : cookieName;
+            } else if (annotationMetadata.isAnnotationPresent(QueryValue.class)) {
+                this.type = BindingType.QUERY_VALUE;
+                this.name = annotationMetadata.stringValue(QueryValue.class).orElse(null);
+            } else if (annotationMetadata.isAnnotationPresent(RequestAttribute.class)) {
+                this.type = BindingType.REQUEST_ATTRIBUTE;
+                String attributeName = annotationMetadata.stringValue(RequestAttribute.class).orElse(null);
+                this.name = StringUtils.isEmpty(attributeName) ? NameUtils.hyphenate(argumentName) : attributeName;
+            } else if (annotationMetadata.isAnnotationPresent(PathVariable.class)) {
+                this.type = BindingType.PATH_VARIABLE;
+                this.name = annotationMetadata.stringValue(PathVariable.class).orElse(null);
+            } else if (argument.getType() == BasicAuth.class) {
+                this.type = BindingType.BASIC_AUTH;
+                this.name = argumentName;
+            } else if (!uriVariables.contains(argumentName)) {
+                this.type = BindingType.BODY_PART;
+                this.name = argumentName;
+            } else {
+                this.type = BindingType.URI_VARIABLE;
+                this.name = argumentName;
+            }
+        }
+
+        /**
+         * Conversion contexts record conversion errors, so a new context is created for each conversion.
+         *
+         * @return A context to convert the argument to a string with the format of the argument
+         */
+        ArgumentConversionContext<String> stringConversion() {
+            return ConversionContext.of(String.class).with(annotationMetadata);
+        }
+    }
+}
@@ -23,24 +23,16 @@ import io.micronaut.aop.MethodInvocationContext;
 import io.micronaut.context.BeanContext;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.exceptions.ConfigurationException;
-import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.Internal;
-import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
 import io.micronaut.core.beans.BeanMap;
-import io.micronaut.core.bind.annotation.Bindable;
-import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionService;
-import io.micronaut.core.convert.format.Format;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.naming.NameUtils;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.MutableArgumentValue;
 import io.micronaut.core.type.ReturnType;
-import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.StringUtils;
-import io.micronaut.core.version.annotation.Version;
 import io.micronaut.http.*;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.client.*;
@@ -58,6 +50,7 @@ import io.micronaut.http.netty.cookies.NettyCookie;
 import io.micronaut.http.sse.Event;
 import io.micronaut.http.uri.UriBuilder;
 import io.micronaut.http.uri.UriMatchTemplate;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.jackson.ObjectMapperFactory;
 import io.micronaut.jackson.annotation.JacksonFeatures;
@@ -74,13 +67,10 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.Closeable;
-import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -96,15 +86,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultHttpClient.class);
 
-    /**
-     * The default Accept-Types.
-     */
-    private static final MediaType[] DEFAULT_ACCEPT_TYPES = {MediaType.APPLICATION_JSON_TYPE};
-
-    private final int HEADERS_INITIAL_CAPACITY = 3;
-    private final int ATTRIBUTES_INITIAL_CAPACITY = 1;
     private final BeanContext beanContext;
     private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<ExecutableMethod<Object, Object>, ClientRequestPlan>> plans = new ConcurrentHashMap<>();
     private final Map<String, ClientVersioningConfiguration> versioningConfigurations = new ConcurrentHashMap<>();
     private final List<ReactiveClientResultTransformer> transformers;
     private final LoadBalancerResolver loadBalancerResolver;
@@ -154,181 +138,124 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
      */
     @Override
     public Object intercept(MethodInvocationContext<Object, Object> context) {
-        AnnotationValue<Client> clientAnnotation = context.findAnnotation(Client.class).orElseThrow(() ->
-                new IllegalStateException("Client advice called from type that is not annotated with @Client: " + context)
-        );
-
-        HttpClient httpClient = getClient(context, clientAnnotation);
-
         Class<?> declaringType = context.getDeclaringType();
         if (Closeable.class == declaringType || AutoCloseable.class == declaringType) {
+            AnnotationValue<Client> clientAnnotation = findClientAnnotation(context);
+            HttpClient httpClient = getClient(context, clientAnnotation);
             String clientId = clientAnnotation.stringValue().orElse(null);
             String path = clientAnnotation.stringValue("path").orElse(null);
             String clientKey = computeClientKey(clientId, path);
             clients.remove(clientKey);
+            // plans hold on to the client, so they are compiled again with a new client
+            for (Map<ExecutableMethod<Object, Object>, ClientRequestPlan> typePlans : plans.values()) {
+                typePlans.values().removeIf(plan -> Objects.equals(clientKey, plan.clientKey));
+            }
             httpClient.close();
             return null;
         }
 
-        Optional<Class<? extends Annotation>> httpMethodMapping = context.getAnnotationTypeByStereotype(HttpMethodMapping.class);
-        if (context.hasStereotype(HttpMethodMapping.class) && httpClient != null) {
-            AnnotationValue<HttpMethodMapping> mapping = context.getAnnotation(HttpMethodMapping.class);
-            String uri = mapping.getRequiredValue(String.class);
-            if (StringUtils.isEmpty(uri)) {
-                uri = "/" + context.getMethodName();
-            }
-
-            Class<? extends Annotation> annotationType = httpMethodMapping.get();
-
-            HttpMethod httpMethod = HttpMethod.parse(annotationType.getSimpleName().toUpperCase());
-            String httpMethodName = context.stringValue(CustomHttpMethod.class, "method").orElse(httpMethod.name());
-
-            ReturnType returnType = context.getReturnType();
-            Class<?> javaReturnType = returnType.getType();
-
-            UriMatchTemplate uriTemplate = UriMatchTemplate.of("");
-            if (!(uri.length() == 1 && uri.charAt(0) == '/')) {
-                uriTemplate = uriTemplate.nest(uri);
-            }
-
+        ClientRequestPlan plan = getPlan(context);
+        if (plan.mapped) {
+            HttpClient httpClient = plan.httpClient;
+            HttpMethod httpMethod = plan.httpMethod;
+            ReturnType returnType = plan.returnType;
+            Class<?> javaReturnType = plan.javaReturnType;
+            UriMatchTemplate uriTemplate = plan.uriTemplate;
+            List<String> uriVariables = plan.uriVariables;
+            MediaType[] acceptTypes = plan.acceptTypes;
+            Argument<?> errorType = plan.errorType;
+
+            Object[] parameterValues = context.getParameterValues();
             Map<String, Object> paramMap = context.getParameterValueMap();
-            Map<String, String> queryParams = new LinkedHashMap<>();
-            List<String> uriVariables = uriTemplate.getVariableNames();
+            Map<String, String> queryParams = new LinkedHashMap<>(plan.queryParams);
+            Map<String, String> headers = new LinkedHashMap<>(plan.headers);
+            Map<String, Object> attributes = new LinkedHashMap<>(plan.attributes);
 
             MutableHttpRequest<Object> request;
             Object body = null;
-            Map<String, MutableArgumentValue<?>> parameters = context.getParameters();
-            Argument[] arguments = context.getArguments();
-
-
-            Map<String, String> headers = new LinkedHashMap<>(HEADERS_INITIAL_CAPACITY);
-
-            List<AnnotationValue<Header>> headerAnnotations = context.getAnnotationValuesByType(Header.class);
-            for (AnnotationValue<Header> headerAnnotation : headerAnnotations) {
-                String headerName = headerAnnotation.stringValue("name").orElse(null);
-                String headerValue = headerAnnotation.stringValue().orElse(null);
-                if (StringUtils.isNotEmpty(headerName) && StringUtils.isNotEmpty(headerValue)) {
-                    headers.putIfAbsent(headerName, headerValue);
-                }
-            }
-
-            context.findAnnotation(Version.class)
-                    .flatMap(AnnotationValue::stringValue)
-                    .filter(StringUtils::isNotEmpty)
-                    .ifPresent(version -> {
-
-                        ClientVersioningConfiguration configuration = getVersioningConfiguration(clientAnnotation);
-
-                        configuration.getHeaders()
-                                .forEach(header -> headers.put(header, version));
-
-                        configuration.getParameters()
-                                .forEach(parameter -> queryParams.put(parameter, version));
-                    });
-          
-            Map<String, Object> attributes = new LinkedHashMap<>(ATTRIBUTES_INITIAL_CAPACITY);
-
-            List<AnnotationValue<RequestAttribute>> attributeAnnotations = context.getAnnotationValuesByType(RequestAttribute.class);
-            for (AnnotationValue<RequestAttribute> attributeAnnotation : attributeAnnotations) {
-                String attributeName = attributeAnnotation.stringValue("name").orElse(null);
-                Object attributeValue = attributeAnnotation.getValue(Object.class).orElse(null);
-                if (StringUtils.isNotEmpty(attributeName) && attributeValue != null) {
-                    attributes.put(attributeName, attributeValue);
-                }
-            }
-
-            List<NettyCookie> cookies = new ArrayList<>();
-            List<Argument> bodyArguments = new ArrayList<>();
+            Map<String, Object> bodyParts = null;
+            List<NettyCookie> cookies = null;
             ConversionService<?> conversionService = ConversionService.SHARED;
             BasicAuth basicAuth = null;
 
-            for (Argument argument : arguments) {
-                String argumentName = argument.getName();
-                AnnotationMetadata annotationMetadata = argument.getAnnotationMetadata();
-                MutableArgumentValue<?> value = parameters.get(argumentName);
-                Object definedValue = value.getValue();
-
-                if (paramMap.containsKey(argumentName)) {
-                    if (annotationMetadata.hasStereotype(Format.class)) {
-                        final Object v = paramMap.get(argumentName);
-                        if (v != null) {
-                            paramMap.put(argumentName, conversionService.convert(v, ConversionContext.of(String.class).with(argument.getAnnotationMetadata())));
-                        }
+            ClientRequestPlan.ArgumentBinding[] bindings = plan.bindings;
+            for (int i = 0; i < bindings.length; i++) {
+                ClientRequestPlan.ArgumentBinding binding = bindings[i];
+                String argumentName = binding.argumentName;
+                Object definedValue = parameterValues[i];
+
+                if (binding.format) {
+                    final Object v = paramMap.get(argumentName);
+                    if (v != null) {
+                        paramMap.put(argumentName, conversionService.convert(v, binding.stringConversion()));
                     }
                 }
                 if (definedValue == null) {
-                    definedValue = argument.getAnnotationMetadata().stringValue(Bindable.class, "defaultValue").orElse(null);
+                    definedValue = binding.defaultValue;
                 }
 
-                if (definedValue == null && !argument.isNullable()) {
+                if (definedValue == null && !binding.nullable) {
                     throw new IllegalArgumentException(
-                            String.format("Argument [%s] is null. Null values are not allowed to be passed to client methods (%s). Add a supported Nullable annotation type if that is the desired behavior", argument.getName(), context.getExecutableMethod().toString())
+                            String.format("Argument [%s] is null. Null values are not allowed to be passed to client methods (%s). Add a supported Nullable annotation type if that is the desired behavior", argumentName, context.getExecutableMethod().toString())
                     );
                 }
 
-                if (argument.isAnnotationPresent(Body.class)) {
-                    body = definedValue;
-                } else if (annotationMetadata.isAnnotationPresent(Header.class)) {
-
-                    String headerName = annotationMetadata.stringValue(Header.class).orElse(null);
-                    if (StringUtils.isEmpty(headerName)) {
-                        headerName = NameUtils.hyphenate(argumentName);
-                    }
-                    String finalHeaderName = headerName;
-                    conversionService.convert(definedValue, String.class)
-                        .ifPresent(o -> headers.put(finalHeaderName, o));
-                } else if (annotationMetadata.isAnnotationPresent(CookieValue.class)) {
-                    String cookieName = annotationMetadata.stringValue(CookieValue.class).orElse(null);
-                    if (StringUtils.isEmpty(cookieName)) {
-                        cookieName = argumentName;
-                    }
-                    String finalCookieName = cookieName;
-
-                    conversionService.convert(definedValue, String.class)
-                        .ifPresent(o -> cookies.add(new NettyCookie(finalCookieName, o)));
-
-                } else if (annotationMetadata.isAnnotationPresent(QueryValue.class)) {
-                    String parameterName = annotationMetadata.stringValue(QueryValue.class).orElse(null);
-                    conversionService.convert(definedValue, ConversionContext.of(String.class).with(annotationMetadata)).ifPresent(o -> {
-                        if (!StringUtils.isEmpty(parameterName)) {
-                            paramMap.put(parameterName, o);
-                            queryParams.put(parameterName, o);
-                        } else {
-                            queryParams.put(argumentName, o);
+                String name = binding.name;
+                switch (binding.type) {
+                    case BODY:
+                        body = definedValue;
+                        break;
+                    case HEADER:
+                        conversionService.convert(definedValue, String.class)
+                            .ifPresent(o -> headers.put(name, o));
+                        break;
+                    case COOKIE:
+                        Optional<String> cookieValue = conversionService.convert(definedValue, String.class);
+                        if (cookieValue.isPresent()) {
+                            if (cookies == null) {
+                                cookies = new ArrayList<>(2);
+                            }
+                            cookies.add(new NettyCookie(name, cookieValue.get()));
                         }
-                    });
-                } else if (annotationMetadata.isAnnotationPresent(RequestAttribute.class)) {
-                    String attributeName = annotationMetadata.stringValue(RequestAttribute.class).orElse(null);
-                    if (StringUtils.isEmpty(attributeName)) {
-                        attributeName = NameUtils.hyphenate(argumentName);
-                    }
-                    String finalAttributeName = attributeName;
-                    conversionService.convert(definedValue, Object.class)
-                        .ifPresent(o -> attributes.put(finalAttributeName, o));
-                } else if (annotationMetadata.isAnnotationPresent(PathVariable.class)) {
-                    String parameterName = annotationMetadata.stringValue(PathVariable.class).orElse(null);
-                    conversionService.convert(definedValue, ConversionContext.of(String.class).with(annotationMetadata)).ifPresent(o -> {
-                        if (!StringUtils.isEmpty(o)) {
-                            paramMap.put(parameterName, o);
+                        break;
+                    case QUERY_VALUE:
+                        conversionService.convert(definedValue, binding.stringConversion()).ifPresent(o -> {
+                            if (!StringUtils.isEmpty(name)) {
+                                paramMap.put(name, o);
+                                queryParams.put(name, o);
+                            } else {
+                                queryParams.put(argumentName, o);
+                            }
+                        });
+                        break;
+                    case REQUEST_ATTRIBUTE:
+                        conversionService.convert(definedValue, Object.class)
+                            .ifPresent(o -> attributes.put(name, o));
+                        break;
+                    case PATH_VARIABLE:
+                        conversionService.convert(definedValue, binding.stringConversion()).ifPresent(o -> {
+                            if (!StringUtils.isEmpty(o)) {
+                                paramMap.put(name, o);
+                            }
+                        });
+                        break;
+                    case BASIC_AUTH:
+                        basicAuth = (BasicAuth) paramMap.get(argumentName);
+                        break;
+                    case BODY_PART:
+                        if (bodyParts == null) {
+                            bodyParts = new LinkedHashMap<>();
                         }
-                    });
-                } else if (argument.getType() == BasicAuth.class) {
-                    basicAuth = (BasicAuth) paramMap.get(argument.getName());
-                } else if (!uriVariables.contains(argumentName)) {
-                    bodyArguments.add(argument);
+                        bodyParts.put(argumentName, parameterValues[i]);
+                        break;
+                    default:
+                        // bound to the URI template
                 }
             }
 
             if (HttpMethod.permitsRequestBody(httpMethod)) {
-                if (body == null && !bodyArguments.isEmpty()) {
-                    Map<String, Object> bodyMap = new LinkedHashMap<>();
-
-                    for (Argument bodyArgument : bodyArguments) {
-                        String argumentName = bodyArgument.getName();
-                        MutableArgumentValue<?> value = parameters.get(argumentName);
-                        bodyMap.put(argumentName, value.getValue());
-                    }
-                    body = bodyMap;
+                if (body == null && bodyParts != null) {
+                    body = bodyParts;
                 }
 
                 if (body != null) {
@@ -356,29 +283,23 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 }
             }
 
-            uri = uriTemplate.expand(paramMap);
+            String uri = uriTemplate.expand(paramMap);
             uriVariables.forEach(queryParams::remove);
 
-            request = HttpRequest.create(httpMethod, appendQuery(uri, queryParams), httpMethodName);
+            request = HttpRequest.create(httpMethod, appendQuery(uri, queryParams), plan.httpMethodName);
 
             if (body != null) {
                 request.body(body);
-
-                MediaType[] contentTypes = MediaType.of(context.stringValues(Produces.class));
-                if (ArrayUtils.isEmpty(contentTypes)) {
-                    contentTypes = DEFAULT_ACCEPT_TYPES;
-                }
-                if (ArrayUtils.isNotEmpty(contentTypes)) {
-                    request.contentType(contentTypes[0]);
-                }
+                request.contentType(plan.contentType);
             }
 
             request.setAttribute(HttpAttributes.INVOCATION_CONTEXT, context);
             // Set the URI template used to make the request for tracing purposes
-            request.setAttribute(HttpAttributes.URI_TEMPLATE, resolveTemplate(clientAnnotation, uriTemplate.toString()));
-            String serviceId = clientAnnotation.stringValue().orElse(null);
-            Argument<?> errorType = clientAnnotation.classValue("errorType").map((Function<Class, Argument>) Argument::of).orElse(HttpClient.DEFAULT_ERROR_TYPE);
-            request.setAttribute(HttpAttributes.SERVICE_ID, serviceId);
+            request.setAttribute(HttpAttributes.URI_TEMPLATE, plan.uriTemplateAttribute);
+            request.setAttribute(HttpAttributes.SERVICE_ID, plan.serviceId);
+            if (plan.hedging != null) {
+                request.setAttribute(HedgingConfiguration.ATTRIBUTE, plan.hedging);
+            }
 
 
             if (!headers.isEmpty()) {
@@ -387,7 +308,9 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 }
             }
 
-            cookies.forEach(request::cookie);
+            if (cookies != null) {
+                cookies.forEach(request::cookie);
+            }
 
             if (!attributes.isEmpty()) {
                 for (Map.Entry<String, Object> entry : attributes.entrySet()) {
@@ -395,31 +318,19 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                 }
             }
 
-            MediaType[] acceptTypes = MediaType.of(context.stringValues(Consumes.class));
-            if (ArrayUtils.isEmpty(acceptTypes)) {
-                acceptTypes = DEFAULT_ACCEPT_TYPES;
-            }
-
             if (basicAuth != null) {
                 request.basicAuth(basicAuth.getUsername(), basicAuth.getPassword());
             }
 
-            boolean isFuture = CompletionStage.class.isAssignableFrom(javaReturnType);
+            boolean isFuture = plan.isFuture;
             final Class<?> methodDeclaringType = declaringType;
-            if (Publishers.isConvertibleToPublisher(javaReturnType) || isFuture) {
-                boolean isSingle = Publishers.isSingle(javaReturnType) || isFuture || context.isTrue(Consumes.class, "single");
-                Argument<?> publisherArgument = returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
-
-
-                Class<?> argumentType = publisherArgument.getType();
-
-                if (HttpResponse.class.isAssignableFrom(argumentType) || HttpStatus.class.isAssignableFrom(argumentType)) {
-                    isSingle = true;
-                }
+            if (plan.isReactive) {
+                Argument<?> publisherArgument = plan.publisherArgument;
+                Class<?> argumentType = plan.argumentType;
 
                 Publisher<?> publisher;
 
-                if (!isSingle && httpClient instanceof StreamingHttpClient) {
+                if (!plan.isSingle && httpClient instanceof StreamingHttpClient) {
                     StreamingHttpClient streamingHttpClient = (StreamingHttpClient) httpClient;
 
                     if (!Void.class.isAssignableFrom(argumentType)) {
@@ -432,9 +343,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                 request
                         );
                     } else {
-                        boolean isEventStream = Arrays.asList(acceptTypes).contains(MediaType.TEXT_EVENT_STREAM_TYPE);
-
-                        if (isEventStream && streamingHttpClient instanceof SseClient) {
+                        if (plan.isEventStream && streamingHttpClient instanceof SseClient) {
                             SseClient sseClient = (SseClient) streamingHttpClient;
                             if (publisherArgument.getType() == Event.class) {
                                 publisher = sseClient.eventStream(
@@ -446,8 +355,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                                 )).map(Event::getData);
                             }
                         } else {
-                            boolean isJson = isJsonParsedMediaType(acceptTypes);
-                            if (isJson) {
+                            if (plan.isJson) {
                                 publisher = streamingHttpClient.jsonStream(
                                         request, publisherArgument
                                 );
@@ -567,6 +475,45 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         return context.proceed();
     }
 
+    /**
+     * Returns the request plan of the invoked method, compiling it on the first call. Plans are cached per client type
+     * since a method declared by an interface that is extended by several clients is the same executable method.
+     *
+     * @param context The invocation context
+     * @return The request plan
+     */
+    private ClientRequestPlan getPlan(MethodInvocationContext<Object, Object> context) {
+        Map<ExecutableMethod<Object, Object>, ClientRequestPlan> typePlans = plans.computeIfAbsent(
+                context.getTarget().getClass(), type -> new ConcurrentHashMap<>()
+        );
+        ExecutableMethod<Object, Object> method = context.getExecutableMethod();
+        ClientRequestPlan plan = typePlans.get(method);
+        if (plan == null) {
+            AnnotationValue<Client> clientAnnotation = findClientAnnotation(context);
+            HttpClient httpClient = getClient(context, clientAnnotation);
+            String clientKey = computeClientKey(clientAnnotation.stringValue().orElse(null), clientAnnotation.stringValue("path").orElse(null));
+            plan = new ClientRequestPlan(
+                    context,
+                    clientAnnotation,
+                    clientKey,
+                    httpClient,
+                    this::getVersioningConfiguration,
+                    this::isJsonParsedMediaType
+            );
+            ClientRequestPlan existing = typePlans.putIfAbsent(method, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    private AnnotationValue<Client> findClientAnnotation(MethodInvocationContext<Object, Object> context) {
+        return context.findAnnotation(Client.class).orElseThrow(() ->
+                new IllegalStateException("Client advice called from type that is not annotated with @Client: " + context)
+        );
+    }
+
     private Object handleBlockingCall(Class returnType, Supplier<Object> supplier) {
         try {
             if (void.class == returnType) {
@@ -607,28 +554,6 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         );
     }
 
-    /**
-     * Resolve the template for the client annotation.
-     *
-     * @param clientAnnotation client annotation reference
-     * @param templateString   template to be applied
-     * @return resolved template contents
-     */
-    private String resolveTemplate(AnnotationValue<Client> clientAnnotation, String templateString) {
-        String path = clientAnnotation.stringValue("path").orElse(null);
-        if (StringUtils.isNotEmpty(path)) {
-            return path + templateString;
-        } else {
-            String value = clientAnnotation.stringValue().orElse(null);
-            if (StringUtils.isNotEmpty(value)) {
-                if (value.startsWith("/")) {
-                    return value + templateString;
-                }
-            }
-            return templateString;
-        }
-    }
-
     /**
      * Gets the client registration for the http request.
      *
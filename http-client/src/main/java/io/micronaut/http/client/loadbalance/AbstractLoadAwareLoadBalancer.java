@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for load balancers that select instances based on the {@link InstanceLoad} observed through
+ * {@link RequestTrackingLoadBalancer}. Instances are either those of a {@link ServiceInstanceList} or those returned by
+ * a {@link DiscoveryClient}.
+ *
+ * <p>Selection does not allocate: the instances are scanned in place and the load of an instance is looked up by its
+ * URI, so that the load survives the instance list being refreshed.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public abstract class AbstractLoadAwareLoadBalancer implements RequestTrackingLoadBalancer {
+
+    private final String serviceID;
+    private final ServiceInstanceList serviceInstanceList;
+    private final DiscoveryClient discoveryClient;
+    private final Map<URI, InstanceLoad> loads = new ConcurrentHashMap<>();
+    private OutlierDetector outlierDetector;
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    protected AbstractLoadAwareLoadBalancer(ServiceInstanceList serviceInstanceList) {
+        this.serviceID = serviceInstanceList.getID();
+        this.serviceInstanceList = serviceInstanceList;
+        this.discoveryClient = null;
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    protected AbstractLoadAwareLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        this.serviceID = serviceID;
+        this.serviceInstanceList = null;
+        this.discoveryClient = discoveryClient;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        if (serviceInstanceList != null) {
+            return Publishers.just(getNextAvailable(serviceInstanceList.getInstances()));
+        }
+        return Publishers.map(discoveryClient.getInstances(serviceID), this::getNextAvailable);
+    }
+
+    @Override
+    public void requestStarted(ServiceInstance instance) {
+        getLoad(instance).started();
+    }
+
+    @Override
+    public void requestCompleted(ServiceInstance instance, long latencyNanos, @Nullable Throwable error) {
+        getLoad(instance).completed();
+        OutlierDetector outlierDetector = this.outlierDetector;
+        if (outlierDetector != null) {
+            outlierDetector.requestCompleted(instance, error);
+        }
+    }
+
+    @Override
+    public void requestCancelled(ServiceInstance instance) {
+        getLoad(instance).completed();
+    }
+
+    /**
+     * @return The outlier detector that ejects failing instances, if any
+     */
+    public @Nullable OutlierDetector getOutlierDetector() {
+        return outlierDetector;
+    }
+
+    /**
+     * Sets the outlier detector that ejects failing instances.
+     *
+     * @param outlierDetector The outlier detector
+     */
+    public void setOutlierDetector(@Nullable OutlierDetector outlierDetector) {
+        this.outlierDetector = outlierDetector;
+    }
+
+    /**
+     * @param instance The instance
+     * @return The load of the instance
+     */
+    public InstanceLoad getLoad(ServiceInstance instance) {
+        return loads.computeIfAbsent(instance.getURI(), uri -> new InstanceLoad());
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The next available instance or a {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
+        if (outlierDetector != null) {
+            outlierDetector.setInstanceCount(serviceInstances.size());
+        }
+        if (loads.size() > serviceInstances.size() * 2 + 16) {
+            prune(serviceInstances);
+        }
+        ServiceInstance instance = choose(serviceInstances);
+        if (instance == null) {
+            throw new NoAvailableServiceException(serviceID);
+        }
+        return instance;
+    }
+
+    /**
+     * Chooses an instance amongst the available instances.
+     *
+     * @param serviceInstances A list of service instances
+     * @return The chosen instance or null if none is available
+     */
+    protected abstract @Nullable ServiceInstance choose(List<ServiceInstance> serviceInstances);
+
+    /**
+     * The cost of sending a request to an instance, lower is better. Defaults to the number of outstanding requests.
+     *
+     * @param instance The instance
+     * @return The cost
+     */
+    protected double cost(ServiceInstance instance) {
+        return getLoad(instance).getOutstanding();
+    }
+
+    /**
+     * @param instance The instance
+     * @return Whether the instance can be selected
+     */
+    protected boolean isAvailable(ServiceInstance instance) {
+        return instance.getHealthStatus().equals(HealthStatus.UP) && (outlierDetector == null || !outlierDetector.isEjected(instance));
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The number of available instances
+     */
+    protected final int countAvailable(List<ServiceInstance> serviceInstances) {
+        int count = 0;
+        for (int i = 0, size = serviceInstances.size(); i < size; i++) {
+            if (isAvailable(serviceInstances.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @param n                The index amongst the available instances
+     * @return The n-th available instance or null if there are fewer available instances
+     */
+    protected final @Nullable ServiceInstance getAvailable(List<ServiceInstance> serviceInstances, int n) {
+        int count = 0;
+        for (int i = 0, size = serviceInstances.size(); i < size; i++) {
+            ServiceInstance instance = serviceInstances.get(i);
+            if (isAvailable(instance) && count++ == n) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    private void prune(List<ServiceInstance> serviceInstances) {
+        Set<URI> current = new HashSet<>(serviceInstances.size());
+        for (ServiceInstance instance : serviceInstances) {
+            current.add(instance.getURI());
+        }
+        loads.entrySet().removeIf(entry -> !current.contains(entry.getKey()) && entry.getValue().getOutstanding() == 0);
+    }
+}
@@ -18,20 +18,21 @@ package io.micronaut.http.client.loadbalance;
 import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.discovery.exceptions.NoAvailableServiceException;
 import io.micronaut.health.HealthStatus;
-import io.micronaut.http.client.LoadBalancer;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author graemerocher
  * @since 1.0
  */
-public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
+public abstract class AbstractRoundRobinLoadBalancer implements RequestTrackingLoadBalancer {
 
     protected final AtomicInteger index = new AtomicInteger(0);
 
+    private OutlierDetector outlierDetector;
+
     /**
      * @return The service ID
      */
@@ -42,18 +43,72 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
      * @return The next available instance or a {@link NoAvailableServiceException} if none
      */
     protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
-        List<ServiceInstance> availableServices = serviceInstances.stream()
-            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
-            .collect(Collectors.toList());
-        int len = availableServices.size();
+        if (outlierDetector != null) {
+            outlierDetector.setInstanceCount(serviceInstances.size());
+        }
+        int len = 0;
+        for (int i = 0, size = serviceInstances.size(); i < size; i++) {
+            if (isAvailable(serviceInstances.get(i))) {
+                len++;
+            }
+        }
         if (len == 0) {
             throw new NoAvailableServiceException(getServiceID());
         }
-        int i = index.getAndAccumulate(len, (cur, n) -> cur >= n - 1 ? 0 : cur + 1);
-        try {
-            return availableServices.get(i);
-        } catch (IndexOutOfBoundsException e) {
-            throw new NoAvailableServiceException(getServiceID());
+        int n = index.getAndAccumulate(len, (cur, l) -> cur >= l - 1 ? 0 : cur + 1);
+        if (n >= len) {
+            n = 0;
+        }
+        for (int i = 0, size = serviceInstances.size(); i < size; i++) {
+            ServiceInstance instance = serviceInstances.get(i);
+            if (isAvailable(instance) && n-- == 0) {
+                return instance;
+            }
+        }
+        throw new NoAvailableServiceException(getServiceID());
+    }
+
+    /**
+     * @param instance The instance
+     * @return Whether the instance can be selected
+     */
+    protected boolean isAvailable(ServiceInstance instance) {
+        return instance.getHealthStatus().equals(HealthStatus.UP) && (outlierDetector == null || !outlierDetector.isEjected(instance));
+    }
+
+    /**
+     * @return The outlier detector that ejects failing instances, if any
+     * @since 1.3.0
+     */
+    public @Nullable OutlierDetector getOutlierDetector() {
+        return outlierDetector;
+    }
+
+    /**
+     * Sets the outlier detector that ejects failing instances.
+     *
+     * @param outlierDetector The outlier detector
+     * @since 1.3.0
+     */
+    public void setOutlierDetector(@Nullable OutlierDetector outlierDetector) {
+        this.outlierDetector = outlierDetector;
+    }
+
+    @Override
+    public boolean isTrackingRequests() {
+        return outlierDetector != null;
+    }
+
+    @Override
+    public void requestStarted(ServiceInstance instance) {
+        // no-op
+    }
+
+    @Override
+    public void requestCompleted(ServiceInstance instance, long latencyNanos, @Nullable Throwable error) {
+        OutlierDetector outlierDetector = this.outlierDetector;
+        if (outlierDetector != null) {
+            outlierDetector.requestCompleted(instance, error);
         }
     }
 }
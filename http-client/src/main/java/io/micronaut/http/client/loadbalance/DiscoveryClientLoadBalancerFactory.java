@@ -15,9 +15,14 @@
  */
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.context.BeanContext;
 import io.micronaut.discovery.DiscoveryClient;
 import io.micronaut.http.client.LoadBalancer;
+import io.micronaut.http.client.ServiceHttpClientConfiguration;
+import io.micronaut.inject.qualifiers.Qualifiers;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -31,22 +36,67 @@ import javax.inject.Singleton;
 public class DiscoveryClientLoadBalancerFactory {
 
     private final DiscoveryClient discoveryClient;
+    private final BeanContext beanContext;
+    private final OutlierDetectorRegistry outlierDetectorRegistry;
 
     /**
      * @param discoveryClient The discover client
      */
     public DiscoveryClientLoadBalancerFactory(DiscoveryClient discoveryClient) {
+        this(discoveryClient, null, null);
+    }
+
+    /**
+     * @param discoveryClient         The discover client
+     * @param beanContext             The bean context used to look up the {@link ServiceHttpClientConfiguration} of a service
+     * @param outlierDetectorRegistry The registry of outlier detectors
+     * @since 1.3.0
+     */
+    @Inject
+    public DiscoveryClientLoadBalancerFactory(
+            DiscoveryClient discoveryClient,
+            @Nullable BeanContext beanContext,
+            @Nullable OutlierDetectorRegistry outlierDetectorRegistry) {
         this.discoveryClient = discoveryClient;
+        this.beanContext = beanContext;
+        this.outlierDetectorRegistry = outlierDetectorRegistry;
     }
 
     /**
-     * Creates a {@link LoadBalancer} for the given service ID.
+     * Creates a {@link LoadBalancer} for the given service ID. The type of load balancer is that of the
+     * {@link ServiceHttpClientConfiguration} for the service, if any.
      *
      * @param serviceID The service ID
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(String serviceID) {
-        return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+        ServiceHttpClientConfiguration configuration = beanContext != null ? beanContext.findBean(
+                ServiceHttpClientConfiguration.class,
+                Qualifiers.byName(serviceID)
+        ).orElse(null) : null;
+        LoadBalancerType type = configuration != null ? configuration.getLoadBalancer() : LoadBalancerType.ROUND_ROBIN;
+        OutlierDetector outlierDetector = null;
+        if (outlierDetectorRegistry != null && configuration != null && configuration.getOutlierDetectionConfiguration().isEnabled()) {
+            outlierDetector = outlierDetectorRegistry.getOutlierDetector(serviceID, configuration.getOutlierDetectionConfiguration());
+        }
+        switch (type) {
+            case LEAST_OUTSTANDING:
+                LeastOutstandingRequestsLoadBalancer leastOutstanding = new LeastOutstandingRequestsLoadBalancer(serviceID, discoveryClient);
+                leastOutstanding.setOutlierDetector(outlierDetector);
+                return leastOutstanding;
+            case POWER_OF_TWO_CHOICES:
+                PowerOfTwoChoicesLoadBalancer powerOfTwo = new PowerOfTwoChoicesLoadBalancer(serviceID, discoveryClient);
+                powerOfTwo.setOutlierDetector(outlierDetector);
+                return powerOfTwo;
+            case PEAK_EWMA:
+                PeakEwmaLoadBalancer peakEwma = new PeakEwmaLoadBalancer(serviceID, discoveryClient, configuration.getLoadBalancerDecayTime());
+                peakEwma.setOutlierDetector(outlierDetector);
+                return peakEwma;
+            default:
+                DiscoveryClientRoundRobinLoadBalancer roundRobin = new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
+                roundRobin.setOutlierDetector(outlierDetector);
+                return roundRobin;
+        }
     }
 
     /**
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The load of a service instance as observed by a {@link AbstractLoadAwareLoadBalancer}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class InstanceLoad {
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private double latencyEwma;
+    private long lastObserved;
+
+    /**
+     * @return The number of requests in flight to the instance
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Returns the peak exponentially weighted moving average of the latency. The average decays towards zero from the
+     * last observation so that instances that have not been selected for a while are tried again.
+     *
+     * @param now       The current {@link System#nanoTime()}
+     * @param decayTime The decay time in nanoseconds
+     * @return The latency average in nanoseconds, zero if no latency was observed
+     */
+    public synchronized double getLatencyEwma(long now, long decayTime) {
+        if (latencyEwma == 0) {
+            return 0;
+        }
+        return latencyEwma * Math.exp(-Math.max(0, now - lastObserved) / (double) decayTime);
+    }
+
+    /**
+     * Records the start of a request.
+     */
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of a request.
+     */
+    void completed() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Records the latency of a request. A latency above the average replaces it, so that the average reacts
+     * immediately to slow responses and recovers gradually.
+     *
+     * @param latency   The latency in nanoseconds
+     * @param now       The current {@link System#nanoTime()}
+     * @param decayTime The decay time in nanoseconds
+     * @param failed    Whether the request failed, in which case the latency cannot lower the average
+     */
+    synchronized void observe(long latency, long now, long decayTime, boolean failed) {
+        // the weight of the previous average decays with the time elapsed since it was last updated
+        double weight = Math.exp(-Math.max(0, now - lastObserved) / (double) decayTime);
+        if (latency > latencyEwma * weight) {
+            latencyEwma = latency;
+        } else if (!failed) {
+            latencyEwma = latencyEwma * weight + latency * (1 - weight);
+        } else {
+            latencyEwma = latencyEwma * weight;
+        }
+        lastObserved = now;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A load balancer that selects the available instance with the fewest outstanding requests. The scan starts at a
+ * rotating offset so that ties are broken in turn.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class LeastOutstandingRequestsLoadBalancer extends AbstractLoadAwareLoadBalancer {
+
+    private final AtomicInteger offset = new AtomicInteger();
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    public LeastOutstandingRequestsLoadBalancer(ServiceInstanceList serviceInstanceList) {
+        super(serviceInstanceList);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public LeastOutstandingRequestsLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        super(serviceID, discoveryClient);
+    }
+
+    @Override
+    protected @Nullable ServiceInstance choose(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = (offset.getAndIncrement() & Integer.MAX_VALUE) % size;
+        ServiceInstance selected = null;
+        double lowest = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance instance = serviceInstances.get((start + i) % size);
+            if (isAvailable(instance)) {
+                double cost = cost(instance);
+                if (selected == null || cost < lowest) {
+                    selected = instance;
+                    lowest = cost;
+                }
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+/**
+ * The load balancing strategies that can be configured for a service with
+ * {@link io.micronaut.http.client.ServiceHttpClientConfiguration#setLoadBalancer(LoadBalancerType)}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public enum LoadBalancerType {
+
+    /**
+     * Selects the available instances in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Selects the available instance with the fewest outstanding requests.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Selects two available instances at random and picks the one with the fewest outstanding requests.
+     */
+    POWER_OF_TWO_CHOICES,
+
+    /**
+     * Selects two available instances at random and picks the one with the lowest peak exponentially weighted moving
+     * average of latency, multiplied by the number of outstanding requests.
+     */
+    PEAK_EWMA
+}
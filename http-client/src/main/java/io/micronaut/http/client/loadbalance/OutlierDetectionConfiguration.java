@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the passive outlier detection of service instances. Instances that fail a number of consecutive
+ * requests are ejected from load balancing for an exponentially increasing time.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class OutlierDetectionConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for configuration.
+     */
+    public static final String PREFIX = "outlier-detection";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default number of consecutive failures before an instance is ejected.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CONSECUTIVEFAILURES = 5;
+
+    /**
+     * The default base ejection time in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_BASEEJECTIONTIME_SECONDS = 30;
+
+    /**
+     * The default maximum ejection time in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAXEJECTIONTIME_SECONDS = 300;
+
+    /**
+     * The default maximum percentage of instances that can be ejected.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAXEJECTIONPERCENT = 50;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private int consecutiveFailures = DEFAULT_CONSECUTIVEFAILURES;
+    private Duration baseEjectionTime = Duration.ofSeconds(DEFAULT_BASEEJECTIONTIME_SECONDS);
+    private Duration maxEjectionTime = Duration.ofSeconds(DEFAULT_MAXEJECTIONTIME_SECONDS);
+    private int maxEjectionPercent = DEFAULT_MAXEJECTIONPERCENT;
+
+    /**
+     * Whether outlier detection is enabled.
+     *
+     * @return True if outlier detection is enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether outlier detection is enabled. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if it is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The number of consecutive connect failures, 5xx responses or timeouts after which an instance is ejected.
+     *
+     * @return The number of consecutive failures
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Sets the number of consecutive failures after which an instance is ejected. Default value
+     * ({@value #DEFAULT_CONSECUTIVEFAILURES}).
+     *
+     * @param consecutiveFailures The number of consecutive failures
+     */
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = Math.max(1, consecutiveFailures);
+    }
+
+    /**
+     * The time an instance is ejected for the first time. The time doubles with each subsequent ejection.
+     *
+     * @return The base ejection time
+     */
+    public Duration getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    /**
+     * Sets the time an instance is ejected for the first time. Default value
+     * ({@value #DEFAULT_BASEEJECTIONTIME_SECONDS} seconds).
+     *
+     * @param baseEjectionTime The base ejection time
+     */
+    public void setBaseEjectionTime(Duration baseEjectionTime) {
+        if (baseEjectionTime != null) {
+            this.baseEjectionTime = baseEjectionTime;
+        }
+    }
+
+    /**
+     * The maximum time an instance is ejected for.
+     *
+     * @return The maximum ejection time
+     */
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    /**
+     * Sets the maximum time an instance is ejected for. Default value ({@value #DEFAULT_MAXEJECTIONTIME_SECONDS}
+     * seconds).
+     *
+     * @param maxEjectionTime The maximum ejection time
+     */
+    public void setMaxEjectionTime(Duration maxEjectionTime) {
+        if (maxEjectionTime != null) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+    }
+
+    /**
+     * The maximum percentage of the instances of a service that can be ejected at the same time.
+     *
+     * @return The maximum ejection percentage
+     */
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    /**
+     * Sets the maximum percentage of the instances of a service that can be ejected at the same time. Default value
+     * ({@value #DEFAULT_MAXEJECTIONPERCENT}).
+     *
+     * @param maxEjectionPercent The maximum ejection percentage
+     */
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = Math.min(100, Math.max(0, maxEjectionPercent));
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.http.client.exceptions.ReadTimeoutException;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Passively detects outlier instances of a service from the outcome of the requests sent to them. An instance that
+ * fails {@link OutlierDetectionConfiguration#getConsecutiveFailures()} consecutive requests with a connect error, a 5xx
+ * response or a timeout is ejected from load balancing. The ejection time doubles each time the instance is ejected
+ * again without having served a request successfully in between, up to
+ * {@link OutlierDetectionConfiguration#getMaxEjectionTime()}.
+ *
+ * <p>At most {@link OutlierDetectionConfiguration#getMaxEjectionPercent()} percent of the instances of a service are
+ * ejected at the same time, so that a service wide problem does not eject every instance.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class OutlierDetector {
+
+    private final String serviceId;
+    private final OutlierDetectionConfiguration configuration;
+    private final Map<URI, InstanceState> states = new ConcurrentHashMap<>();
+    private volatile int instanceCount;
+
+    /**
+     * @param serviceId     The service ID
+     * @param configuration The configuration
+     */
+    public OutlierDetector(String serviceId, OutlierDetectionConfiguration configuration) {
+        this.serviceId = serviceId;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    /**
+     * @return The configuration
+     */
+    public OutlierDetectionConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * @param instance The instance
+     * @return Whether the instance is currently ejected
+     */
+    public boolean isEjected(ServiceInstance instance) {
+        if (states.isEmpty()) {
+            return false;
+        }
+        InstanceState state = states.get(instance.getURI());
+        return state != null && state.isEjected(System.nanoTime());
+    }
+
+    /**
+     * @return The state of the instances that failed recently or were ejected, by URI
+     */
+    public Map<URI, InstanceState> getInstanceStates() {
+        return Collections.unmodifiableMap(states);
+    }
+
+    /**
+     * Records the number of instances of the service that the percentage of ejected instances is relative to.
+     *
+     * @param instanceCount The number of instances
+     */
+    public void setInstanceCount(int instanceCount) {
+        if (this.instanceCount != instanceCount) {
+            this.instanceCount = instanceCount;
+        }
+    }
+
+    /**
+     * Records the outcome of a request sent to the given instance.
+     *
+     * @param instance The instance
+     * @param error    The error the request failed with, if any
+     */
+    public void requestCompleted(ServiceInstance instance, @Nullable Throwable error) {
+        URI uri = instance.getURI();
+        if (isOutlierFailure(error)) {
+            failed(states.computeIfAbsent(uri, u -> new InstanceState()), System.nanoTime());
+        } else if (!states.isEmpty()) {
+            InstanceState state = states.get(uri);
+            if (state != null && state.succeeded(System.nanoTime())) {
+                states.remove(uri, state);
+            }
+        }
+    }
+
+    /**
+     * Whether the given error indicates that the instance is unhealthy: a connect error, a 5xx response or a timeout.
+     * Other errors, such as 4xx responses, show that the instance is responding.
+     *
+     * @param error The error
+     * @return True if the error counts towards ejecting the instance
+     */
+    public static boolean isOutlierFailure(@Nullable Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        if (error instanceof HttpClientResponseException) {
+            return ((HttpClientResponseException) error).getStatus().getCode() >= 500;
+        }
+        return error instanceof ReadTimeoutException ||
+                error instanceof TimeoutException ||
+                (error instanceof HttpClientException && error.getCause() instanceof IOException);
+    }
+
+    private void failed(InstanceState state, long now) {
+        boolean eject;
+        synchronized (state) {
+            eject = ++state.consecutiveFailures >= configuration.getConsecutiveFailures() && !state.isEjected(now);
+        }
+        if (states.size() > instanceCount * 2 + 16) {
+            states.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+        }
+        if (eject) {
+            synchronized (this) {
+                if (canEject(now)) {
+                    synchronized (state) {
+                        state.eject(now, ejectionTime(state.ejections));
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean canEject(long now) {
+        int ejected = 0;
+        for (InstanceState state : states.values()) {
+            if (state.isEjected(now)) {
+                ejected++;
+            }
+        }
+        int instances = Math.max(instanceCount, states.size());
+        return (ejected + 1) * 100 <= configuration.getMaxEjectionPercent() * instances;
+    }
+
+    private long ejectionTime(int ejections) {
+        long max = configuration.getMaxEjectionTime().toNanos();
+        long time = configuration.getBaseEjectionTime().toNanos();
+        for (int i = 0; i < ejections && time < max; i++) {
+            time <<= 1;
+        }
+        return Math.min(time, max);
+    }
+
+    /**
+     * The outlier state of an instance.
+     */
+    public static final class InstanceState {
+        private int consecutiveFailures;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean ejected;
+
+        /**
+         * @return The number of consecutive failures since the last success or ejection
+         */
+        public synchronized int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        /**
+         * @return The number of times the instance was ejected since it last served a request successfully
+         */
+        public synchronized int getEjections() {
+            return ejections;
+        }
+
+        /**
+         * @return The remaining ejection time, zero if the instance is not ejected
+         */
+        public synchronized Duration getRemainingEjectionTime() {
+            long remaining = ejected ? ejectedUntil - System.nanoTime() : 0;
+            return Duration.ofNanos(Math.max(0, remaining));
+        }
+
+        /**
+         * @return Whether the instance is currently ejected
+         */
+        public boolean isEjected() {
+            return isEjected(System.nanoTime());
+        }
+
+        synchronized boolean isEjected(long now) {
+            return ejected && now - ejectedUntil < 0;
+        }
+
+        synchronized boolean isIdle(long now) {
+            return consecutiveFailures == 0 && !isEjected(now);
+        }
+
+        synchronized void eject(long now, long ejectionTime) {
+            ejected = true;
+            ejectedUntil = now + ejectionTime;
+            ejections++;
+            consecutiveFailures = 0;
+        }
+
+        /**
+         * @param now The current time
+         * @return Whether the state no longer needs to be tracked
+         */
+        synchronized boolean succeeded(long now) {
+            consecutiveFailures = 0;
+            if (!isEjected(now)) {
+                ejected = false;
+                ejections = 0;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link OutlierDetector} of each service for which outlier detection is enabled, so that load balancers
+ * created for the same service share the state of its instances.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+@BootstrapContextCompatible
+public class OutlierDetectorRegistry {
+
+    private final Map<String, OutlierDetector> detectors = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the detector for the given service, creating it if necessary.
+     *
+     * @param serviceId     The service ID
+     * @param configuration The configuration to create the detector with
+     * @return The detector
+     */
+    public OutlierDetector getOutlierDetector(String serviceId, OutlierDetectionConfiguration configuration) {
+        return detectors.computeIfAbsent(serviceId, id -> new OutlierDetector(id, configuration));
+    }
+
+    /**
+     * @param serviceId The service ID
+     * @return The detector for the given service, if any
+     */
+    public Optional<OutlierDetector> findOutlierDetector(String serviceId) {
+        return Optional.ofNullable(detectors.get(serviceId));
+    }
+
+    /**
+     * @return The detectors
+     */
+    public Collection<OutlierDetector> getOutlierDetectors() {
+        return Collections.unmodifiableCollection(detectors.values());
+    }
+}
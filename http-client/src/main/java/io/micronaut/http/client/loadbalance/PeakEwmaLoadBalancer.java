@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * A power of two choices load balancer whose cost is the peak exponentially weighted moving average (EWMA) of the
+ * latency of an instance multiplied by the number of outstanding requests plus one. A slow response raises the average
+ * immediately whilst fast responses lower it gradually, so that instances that slow down, for example during garbage
+ * collection pauses or deployments, stop receiving traffic quickly.
+ *
+ * <p>Instances for which no latency has been observed yet are preferred while they have no outstanding requests and
+ * penalized otherwise, so that new instances are probed without being flooded.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class PeakEwmaLoadBalancer extends PowerOfTwoChoicesLoadBalancer {
+
+    /**
+     * The default time over which observed latencies decay.
+     */
+    public static final Duration DEFAULT_DECAY_TIME = Duration.ofSeconds(10);
+
+    private static final double UNKNOWN_LATENCY_PENALTY = Long.MAX_VALUE >> 16;
+
+    private final long decayTime;
+
+    /**
+     * @param serviceInstanceList The service instance list
+     * @param decayTime           The time over which observed latencies decay
+     */
+    public PeakEwmaLoadBalancer(ServiceInstanceList serviceInstanceList, Duration decayTime) {
+        super(serviceInstanceList);
+        this.decayTime = Math.max(1, decayTime.toNanos());
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     * @param decayTime       The time over which observed latencies decay
+     */
+    public PeakEwmaLoadBalancer(String serviceID, DiscoveryClient discoveryClient, Duration decayTime) {
+        super(serviceID, discoveryClient);
+        this.decayTime = Math.max(1, decayTime.toNanos());
+    }
+
+    @Override
+    public void requestCompleted(ServiceInstance instance, long latencyNanos, @Nullable Throwable error) {
+        getLoad(instance).observe(latencyNanos, System.nanoTime(), decayTime, error != null);
+        super.requestCompleted(instance, latencyNanos, error);
+    }
+
+    @Override
+    protected double cost(ServiceInstance instance) {
+        InstanceLoad load = getLoad(instance);
+        int outstanding = load.getOutstanding();
+        double latency = load.getLatencyEwma(System.nanoTime(), decayTime);
+        if (latency == 0) {
+            return outstanding == 0 ? 0 : UNKNOWN_LATENCY_PENALTY + outstanding;
+        }
+        return latency * (outstanding + 1);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.ServiceInstanceList;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A load balancer that selects two distinct available instances at random and picks the one with the lower
+ * {@link #cost(ServiceInstance)}, which avoids both the herding of always picking the least loaded instance and the
+ * cost of scanning every instance.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class PowerOfTwoChoicesLoadBalancer extends AbstractLoadAwareLoadBalancer {
+
+    /**
+     * @param serviceInstanceList The service instance list
+     */
+    public PowerOfTwoChoicesLoadBalancer(ServiceInstanceList serviceInstanceList) {
+        super(serviceInstanceList);
+    }
+
+    /**
+     * @param serviceID       The service ID
+     * @param discoveryClient The discovery client
+     */
+    public PowerOfTwoChoicesLoadBalancer(String serviceID, DiscoveryClient discoveryClient) {
+        super(serviceID, discoveryClient);
+    }
+
+    @Override
+    protected @Nullable ServiceInstance choose(List<ServiceInstance> serviceInstances) {
+        int available = countAvailable(serviceInstances);
+        if (available == 0) {
+            return null;
+        }
+        if (available == 1) {
+            return getAvailable(serviceInstances, 0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available);
+        int second = random.nextInt(available - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = getAvailable(serviceInstances, first);
+        ServiceInstance b = getAvailable(serviceInstances, second);
+        if (a == null || b == null) {
+            // the instances changed whilst selecting
+            return a != null ? a : b;
+        }
+        return cost(b) < cost(a) ? b : a;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.LoadBalancer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link LoadBalancer} that takes the load of each {@link ServiceInstance} into account. The
+ * {@link io.micronaut.http.client.DefaultHttpClient} notifies the load balancer of the start and completion of each
+ * request sent to a selected instance.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public interface RequestTrackingLoadBalancer extends LoadBalancer {
+
+    /**
+     * Whether requests should currently be reported to this load balancer.
+     *
+     * @return True if {@link #requestStarted(ServiceInstance)}, {@link #requestCompleted(ServiceInstance, long, Throwable)}
+     * and {@link #requestCancelled(ServiceInstance)} should be invoked
+     */
+    default boolean isTrackingRequests() {
+        return true;
+    }
+
+    /**
+     * Invoked when a request is sent to the given instance.
+     *
+     * @param instance The instance selected by this load balancer
+     */
+    void requestStarted(ServiceInstance instance);
+
+    /**
+     * Invoked when a started request completes or fails. Either this method or {@link #requestCancelled(ServiceInstance)}
+     * is invoked exactly once for each started request.
+     *
+     * @param instance     The instance the request was sent to
+     * @param latencyNanos The time until the first response was received, or until the request terminated if no
+     *                     response was received
+     * @param error        The error the request failed with or null if it succeeded
+     */
+    void requestCompleted(ServiceInstance instance, long latencyNanos, @Nullable Throwable error);
+
+    /**
+     * Invoked instead of {@link #requestCompleted(ServiceInstance, long, Throwable)} when a started request is
+     * cancelled before it completed. A cancelled request says nothing about the latency or health of the instance, so
+     * only the request itself should be released.
+     *
+     * @param instance The instance the request was sent to
+     */
+    default void requestCancelled(ServiceInstance instance) {
+    }
+}
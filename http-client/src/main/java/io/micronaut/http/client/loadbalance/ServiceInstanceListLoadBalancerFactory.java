@@ -15,10 +15,15 @@
  */
 package io.micronaut.http.client.loadbalance;
 
+import io.micronaut.context.BeanContext;
 import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.discovery.ServiceInstanceList;
 import io.micronaut.http.client.LoadBalancer;
+import io.micronaut.http.client.ServiceHttpClientConfiguration;
+import io.micronaut.inject.qualifiers.Qualifiers;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -32,13 +37,79 @@ import javax.inject.Singleton;
 @BootstrapContextCompatible
 public class ServiceInstanceListLoadBalancerFactory {
 
+    private final BeanContext beanContext;
+    private final OutlierDetectorRegistry outlierDetectorRegistry;
+
+    /**
+     * Default constructor.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(null, null);
+    }
+
+    /**
+     * @param beanContext             The bean context used to look up the {@link ServiceHttpClientConfiguration} of a service
+     * @param outlierDetectorRegistry The registry of outlier detectors
+     * @since 1.3.0
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(
+            @Nullable BeanContext beanContext,
+            @Nullable OutlierDetectorRegistry outlierDetectorRegistry) {
+        this.beanContext = beanContext;
+        this.outlierDetectorRegistry = outlierDetectorRegistry;
+    }
+
     /**
-     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
+     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}. The type of load balancer is that of
+     * the {@link ServiceHttpClientConfiguration} for the service, if any.
      *
      * @param serviceInstanceList The {@link ServiceInstanceList}
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
-        return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        ServiceHttpClientConfiguration configuration = beanContext != null ? beanContext.findBean(
+                ServiceHttpClientConfiguration.class,
+                Qualifiers.byName(serviceInstanceList.getID())
+        ).orElse(null) : null;
+        return create(serviceInstanceList, configuration);
+    }
+
+    /**
+     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList} and configuration.
+     *
+     * @param serviceInstanceList The {@link ServiceInstanceList}
+     * @param configuration       The configuration of the service
+     * @return The {@link LoadBalancer}
+     * @since 1.3.0
+     */
+    public LoadBalancer create(ServiceInstanceList serviceInstanceList, @Nullable ServiceHttpClientConfiguration configuration) {
+        LoadBalancerType type = configuration != null ? configuration.getLoadBalancer() : LoadBalancerType.ROUND_ROBIN;
+        OutlierDetector outlierDetector = findOutlierDetector(serviceInstanceList.getID(), configuration);
+        switch (type) {
+            case LEAST_OUTSTANDING:
+                LeastOutstandingRequestsLoadBalancer leastOutstanding = new LeastOutstandingRequestsLoadBalancer(serviceInstanceList);
+                leastOutstanding.setOutlierDetector(outlierDetector);
+                return leastOutstanding;
+            case POWER_OF_TWO_CHOICES:
+                PowerOfTwoChoicesLoadBalancer powerOfTwo = new PowerOfTwoChoicesLoadBalancer(serviceInstanceList);
+                powerOfTwo.setOutlierDetector(outlierDetector);
+                return powerOfTwo;
+            case PEAK_EWMA:
+                PeakEwmaLoadBalancer peakEwma = new PeakEwmaLoadBalancer(serviceInstanceList, configuration.getLoadBalancerDecayTime());
+                peakEwma.setOutlierDetector(outlierDetector);
+                return peakEwma;
+            default:
+                ServiceInstanceListRoundRobinLoadBalancer roundRobin = new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+                roundRobin.setOutlierDetector(outlierDetector);
+                return roundRobin;
+        }
+    }
+
+    private @Nullable OutlierDetector findOutlierDetector(String serviceId, @Nullable ServiceHttpClientConfiguration configuration) {
+        if (outlierDetectorRegistry != null && configuration != null && configuration.getOutlierDetectionConfiguration().isEnabled()) {
+            return outlierDetectorRegistry.getOutlierDetector(serviceId, configuration.getOutlierDetectionConfiguration());
+        }
+        return null;
     }
 }
@@ -19,9 +19,14 @@ import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.http.ssl.*;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 
 import javax.inject.Inject;
@@ -52,9 +57,20 @@ public class NettyClientSslBuilder extends SslBuilder<SslContext> {
         super(resourceResolver);
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public Optional<SslContext> build(SslConfiguration ssl) {
+        return build(ssl, false);
+    }
+
+    /**
+     * Builds the SSL context, optionally advertising HTTP/2 with ALPN.
+     *
+     * @param ssl   The SSL configuration
+     * @param http2 Whether HTTP/2 should be negotiated with ALPN
+     * @return The SSL context if SSL is enabled
+     */
+    @SuppressWarnings("Duplicates")
+    public Optional<SslContext> build(SslConfiguration ssl, boolean http2) {
         if (!ssl.isEnabled()) {
             return Optional.empty();
         }
@@ -77,6 +93,23 @@ public class NettyClientSslBuilder extends SslBuilder<SslContext> {
             }
         }
 
+        if (http2) {
+            SslProvider provider = SslProvider.isAlpnSupported(SslProvider.OPENSSL) ? SslProvider.OPENSSL : SslProvider.JDK;
+            if (SslProvider.isAlpnSupported(provider)) {
+                sslBuilder.sslProvider(provider);
+                if (!ssl.getCiphers().isPresent()) {
+                    sslBuilder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+                }
+                sslBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2,
+                        ApplicationProtocolNames.HTTP_1_1
+                ));
+            }
+        }
+
         try {
             return Optional.of(sslBuilder.build());
         } catch (SSLException ex) {
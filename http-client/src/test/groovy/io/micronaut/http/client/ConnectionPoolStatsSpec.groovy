@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.endpoint.ConnectionPoolsEndpoint
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Retry
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+@Retry
+class ConnectionPoolStatsSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'ConnectionPoolStatsSpec'])
+
+    void "test the pool is warmed up to the minimum idle connections"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.min-idle-connections': 3
+        )
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+
+        when:
+        httpClient.warmUp(embeddedServer.getURI())
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            httpClient.connectionPoolStats.size() == 1
+            httpClient.connectionPoolStats[0].open == 3
+            httpClient.connectionPoolStats[0].idle == 3
+            httpClient.connectionPoolStats[0].acquired == 0
+        }
+
+        when:"a request is sent"
+        String body = httpClient.toBlocking().retrieve(HttpRequest.GET('/pool-stats'))
+        ConnectionPoolStats stats = httpClient.connectionPoolStats[0]
+
+        then:"it reuses a warmed up connection"
+        body == 'ok'
+        stats.created == 3
+        stats.acquireLatency.count == 1
+        stats.pendingAcquires == 0
+        new PollingConditions(timeout: 5).eventually {
+            stats.acquired == 0
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    void "test idle connections are evicted down to the minimum idle connections"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.min-idle-connections': 1,
+                'micronaut.http.client.pool.idle-timeout': '200ms'
+        )
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+
+        when:"three requests are sent concurrently"
+        List<String> bodies = Flowable.merge((1..3).collect {
+            httpClient.retrieve(HttpRequest.GET('/pool-stats/slow'))
+        }).toList().blockingGet()
+        ConnectionPoolStats stats = httpClient.connectionPoolStats[0]
+
+        then:
+        bodies.every { it == 'ok' }
+        new PollingConditions(timeout: 5).eventually {
+            stats.open == 1
+            stats.evicted == stats.created - 1
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    void "test concurrent evictions never close more than the idle connections above the minimum"() {
+        given:
+        ConnectionPoolStats stats = new ConnectionPoolStats('localhost', 8080, false)
+        3.times { stats.connectionCreated() }
+
+        expect:"two of the three idle connections can be evicted whilst keeping one idle"
+        stats.reserveEviction(1)
+        stats.reserveEviction(1)
+        !stats.reserveEviction(1)
+        stats.evicted == 2
+
+        when:"the evicted connections are closed"
+        2.times {
+            stats.connectionClosed()
+            stats.evictionCompleted()
+        }
+
+        then:
+        stats.open == 1
+        !stats.reserveEviction(1)
+    }
+
+    void "test the connection pools endpoint reports the pools of each client"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true
+        )
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+        httpClient.toBlocking().retrieve(HttpRequest.GET('/pool-stats'))
+        ConnectionPoolsEndpoint endpoint = clientContext.getBean(ConnectionPoolsEndpoint)
+        String host = httpClient.connectionPoolStats[0].toString()
+
+        when:
+        Map<String, Object> pools = endpoint.connectionPools[ConnectionPoolsEndpoint.NAME]
+
+        then:
+        pools[httpClient.connectionPoolName][host].open == 1
+        pools[httpClient.connectionPoolName][host].acquireLatency.count == 1
+        endpoint.getConnectionPool(httpClient.connectionPoolName)[host].created == 1
+        endpoint.getConnectionPool("unknown") == null
+
+        when:"the client is stopped"
+        httpClient.close()
+
+        then:
+        !clientContext.getBean(ConnectionPoolStatsRegistry).connectionPoolStats.containsKey(httpClient.connectionPoolName)
+
+        cleanup:
+        clientContext.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'ConnectionPoolStatsSpec')
+    @Controller('/pool-stats')
+    static class PoolStatsController {
+
+        @Get(produces = 'text/plain')
+        String index() {
+            'ok'
+        }
+
+        @Get(uri = '/slow', produces = 'text/plain')
+        String slow() {
+            sleep(100)
+            'ok'
+        }
+    }
+}
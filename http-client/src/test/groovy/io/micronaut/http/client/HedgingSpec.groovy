@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MediaType
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.annotation.Hedged
+import io.micronaut.http.filter.ClientFilterChain
+import io.micronaut.http.filter.HttpClientFilter
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.retry.budget.RetryBudget
+import io.micronaut.retry.budget.RetryBudgetRegistry
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Single
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class HedgingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer slowServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'HedgingSpec', 'hedging.server': 'slow', 'hedging.server-delay': 1000])
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer fastServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'HedgingSpec', 'hedging.server': 'fast'])
+
+    void "test a slow request is hedged to a different instance"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.urls': [slowServer.getURI().toString(), fastServer.getURI().toString()],
+                'micronaut.http.services.foo.hedging.enabled': true,
+                'micronaut.http.services.foo.hedging.delay': '50ms'
+        )
+        RxHttpClient client = context.getBean(RxHttpClient, Qualifiers.byName("foo"))
+
+        when:"every request is first sent to the slow instance"
+        long start = System.currentTimeMillis()
+        List<String> results = (1..3).collect {
+            client.retrieve(HttpRequest.GET("/hedging/name")).blockingFirst()
+        }
+        RetryBudget budget = context.getBean(RetryBudgetRegistry).findRetryBudget("foo").get()
+
+        then:"the response of the fast instance is used"
+        results == ["fast", "fast", "fast"]
+        System.currentTimeMillis() - start < 1000
+        budget.calls == 3
+        budget.retries == 3
+
+        when:"the request is not idempotent"
+        String result = client.retrieve(HttpRequest.POST("/hedging/name", "")).blockingFirst()
+
+        then:"it is not hedged"
+        result == "slow"
+        budget.calls == 3
+
+        cleanup:
+        context.close()
+    }
+
+    void "test hedged requests are limited by the retry budget"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.urls': [slowServer.getURI().toString(), fastServer.getURI().toString()],
+                'micronaut.http.services.foo.hedging.enabled': true,
+                'micronaut.http.services.foo.hedging.delay': '50ms',
+                'micronaut.retry.budgets.foo.ratio': 0,
+                'micronaut.retry.budgets.foo.max-tokens': 1
+        )
+        RxHttpClient client = context.getBean(RxHttpClient, Qualifiers.byName("foo"))
+
+        when:
+        List<String> results = (1..2).collect {
+            client.retrieve(HttpRequest.GET("/hedging/name")).blockingFirst()
+        }
+        RetryBudget budget = context.getBean(RetryBudgetRegistry).findRetryBudget("foo").get()
+
+        then:"only the first request is hedged"
+        results == ["fast", "slow"]
+        budget.retries == 1
+        budget.rejected == 1
+
+        cleanup:
+        context.close()
+    }
+
+    void "test each attempt is filtered with its own request"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'hedging.filter': true,
+                'micronaut.http.services.foo.urls': [slowServer.getURI().toString(), fastServer.getURI().toString()],
+                'micronaut.http.services.foo.hedging.enabled': true,
+                'micronaut.http.services.foo.hedging.delay': '50ms'
+        )
+        RxHttpClient client = context.getBean(RxHttpClient, Qualifiers.byName("foo"))
+        HedgingFilter filter = context.getBean(HedgingFilter)
+
+        when:
+        String result = client.retrieve(HttpRequest.GET("/hedging/name")).blockingFirst()
+
+        then:
+        result == "fast"
+        filter.requests.size() == 2
+        !filter.requests[0].is(filter.requests[1])
+        filter.requests*.uri*.port as Set == [slowServer.port, fastServer.port] as Set
+        filter.requests.every { it.headers.getAll('X-Hedging-Filter') == ['true'] }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the losing request is cancelled and its connection released"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.urls': [slowServer.getURI().toString(), fastServer.getURI().toString()],
+                'micronaut.http.services.foo.pool.enabled': true,
+                'micronaut.http.services.foo.hedging.enabled': true,
+                'micronaut.http.services.foo.hedging.delay': '50ms'
+        )
+        DefaultHttpClient client = (DefaultHttpClient) context.getBean(RxHttpClient, Qualifiers.byName("foo"))
+
+        when:
+        String result = client.retrieve(HttpRequest.GET("/hedging/name")).blockingFirst()
+        ConnectionPoolStats slowPool = client.connectionPoolStats.find { it.port == slowServer.port }
+
+        then:"the connection of the slow instance is closed rather than held until its response arrives"
+        result == "fast"
+        new PollingConditions(timeout: 0.5).eventually {
+            slowPool.acquired == 0
+            slowPool.open == 0
+        }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test only the latency of the first request is recorded, at least until it was cancelled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.urls': [slowServer.getURI().toString(), fastServer.getURI().toString()],
+                'micronaut.http.services.foo.hedging.enabled': true,
+                'micronaut.http.services.foo.hedging.delay': '50ms'
+        )
+        DefaultHttpClient client = (DefaultHttpClient) context.getBean(RxHttpClient, Qualifiers.byName("foo"))
+
+        when:
+        String result = client.retrieve(HttpRequest.GET("/hedging/name")).blockingFirst()
+
+        then:"the slow request is recorded once, with the time until the fast response cancelled it"
+        result == "fast"
+        client.hedgingDelays.size() == 1
+        new PollingConditions(timeout: 0.5).eventually {
+            HedgingDelay delay = client.hedgingDelays.values().first()
+            delay.latencies.count == 1
+            delay.latencies.max >= TimeUnit.MILLISECONDS.toNanos(50)
+        }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test a declarative client method can be hedged"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'spec.name': 'HedgingSpec',
+                'micronaut.http.services.foo.urls': [slowServer.getURI().toString(), fastServer.getURI().toString()]
+        )
+        HedgedClient client = context.getBean(HedgedClient)
+
+        expect:
+        client.hedged() == "fast"
+        client.notHedged() == "slow"
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingSpec')
+    @Controller("/hedging")
+    static class HedgingController {
+
+        private final String server
+        private final long serverDelay
+
+        HedgingController(@Value('${hedging.server}') String server, @Value('${hedging.server-delay:0}') long serverDelay) {
+            this.server = server
+            this.serverDelay = serverDelay
+        }
+
+        @Get(uri = "/name", produces = MediaType.TEXT_PLAIN)
+        Single<String> name() {
+            Single.timer(serverDelay, TimeUnit.MILLISECONDS).map { server }
+        }
+
+        @Post(uri = "/name", produces = MediaType.TEXT_PLAIN)
+        Single<String> postName() {
+            name()
+        }
+    }
+
+    @Requires(property = 'hedging.filter')
+    @Filter("/hedging/**")
+    static class HedgingFilter implements HttpClientFilter {
+
+        final List<MutableHttpRequest<?>> requests = new CopyOnWriteArrayList<>()
+
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(MutableHttpRequest<?> request, ClientFilterChain chain) {
+            requests.add(request)
+            // a filter that modifies the request sees each attempt unmodified by the filtering of the other attempt
+            request.header('X-Hedging-Filter', 'true')
+            chain.proceed(request)
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingSpec')
+    @Client("foo")
+    static interface HedgedClient {
+
+        @Hedged(delay = "50ms")
+        @Get(uri = "/hedging/name", consumes = MediaType.TEXT_PLAIN)
+        String hedged()
+
+        @Get(uri = "/hedging/name", consumes = MediaType.TEXT_PLAIN)
+        String notHedged()
+    }
+}
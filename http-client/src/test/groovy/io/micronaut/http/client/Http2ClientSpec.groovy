@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.server.netty.NettyHttpRequest
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.channel.Channel
+import io.netty.handler.codec.http2.Http2StreamChannel
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class Http2ClientSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run([
+            'spec.name': Http2ClientSpec.simpleName,
+            'micronaut.server.netty.http2.enabled': true,
+            'micronaut.http.client.http2': true,
+            'micronaut.http.client.http2-max-connections': 1
+    ])
+
+    @Shared
+    EmbeddedServer embeddedServer = context.getBean(EmbeddedServer).start()
+
+    @Shared
+    @AutoCleanup
+    RxStreamingHttpClient client = context.createBean(RxStreamingHttpClient, embeddedServer.getURL())
+
+    void "test concurrent requests are multiplexed over a single connection"() {
+        when:
+        List<String> connections = Flowable.range(1, 20)
+                .flatMap({ Integer i -> client.retrieve(HttpRequest.GET("/http2/connection")) })
+                .toList()
+                .blockingGet()
+
+        then:
+        connections.size() == 20
+        connections.every { it.startsWith('h2:') }
+        connections.unique(false).size() == 1
+    }
+
+    void "test exchange a response over HTTP/2"() {
+        when:
+        def response = client.exchange(HttpRequest.GET("/http2/connection"), String).blockingFirst()
+
+        then:
+        response.status().code == 200
+        response.body().startsWith('h2:')
+    }
+
+    void "test data stream over HTTP/2"() {
+        when:
+        List<String> chunks = client.dataStream(HttpRequest.GET("/http2/stream"))
+                .map({ buf -> new String(buf.toByteArray()) })
+                .toList()
+                .blockingGet()
+
+        then:
+        chunks.join('') == 'The StandThe Shining'
+    }
+
+    @Requires(property = 'spec.name', value = 'Http2ClientSpec')
+    @Controller('/http2')
+    static class Http2Controller {
+
+        @Get('/connection')
+        String connection(HttpRequest<?> request) {
+            Channel channel = ((NettyHttpRequest) request).channelHandlerContext.channel()
+            if (channel instanceof Http2StreamChannel) {
+                return "h2:" + channel.parent().id().asShortText()
+            }
+            return "http/1.1:" + channel.id().asShortText()
+        }
+
+        @Get(value = '/stream', produces = 'text/plain')
+        Flowable<byte[]> stream() {
+            Flowable.just('The Stand'.bytes, 'The Shining'.bytes)
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.aop
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Header
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class ClientRequestPlanSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run('spec.name': 'ClientRequestPlanSpec')
+
+    @Shared
+    EmbeddedServer embeddedServer = context.getBean(EmbeddedServer).start()
+
+    void "test plans of a method shared by several clients are not mixed up"() {
+        given:
+        FirstClient first = context.getBean(FirstClient)
+        SecondClient second = context.getBean(SecondClient)
+
+        expect:
+        first.greet("Fred", "Hi") == "first: Hi Fred"
+        second.greet("Bob", "Hello") == "second: Hello Bob"
+        first.greet("Bob", "Hello") == "first: Hello Bob"
+        second.greet("Fred", "Hi") == "second: Hi Fred"
+    }
+
+    void "test arguments are bound on every call"() {
+        given:
+        FirstClient client = context.getBean(FirstClient)
+
+        expect:
+        (1..10).every { client.greet("user$it", "Hi") == "first: Hi user$it" }
+    }
+
+    void "test closing a client compiles the plan again with a new client"() {
+        given:
+        CloseableClient client = context.createBean(CloseableClient)
+
+        expect:
+        client.greet("Fred", "Hi") == "first: Hi Fred"
+
+        when:
+        client.close()
+
+        then:
+        client.greet("Bob", "Hi") == "first: Hi Bob"
+    }
+
+    static interface GreetingApi {
+
+        @Get('/greet{?name}')
+        String greet(@QueryValue String name, @Header('X-Greeting') String greeting)
+    }
+
+    @Requires(property = 'spec.name', value = 'ClientRequestPlanSpec')
+    @Client('/plans/first')
+    static interface FirstClient extends GreetingApi {
+    }
+
+    @Requires(property = 'spec.name', value = 'ClientRequestPlanSpec')
+    @Client('/plans/second')
+    static interface SecondClient extends GreetingApi {
+    }
+
+    @Requires(property = 'spec.name', value = 'ClientRequestPlanSpec')
+    @Client('/plans/first')
+    static interface CloseableClient extends GreetingApi, Closeable {
+    }
+
+    @Requires(property = 'spec.name', value = 'ClientRequestPlanSpec')
+    @Controller('/plans')
+    static class GreetingController {
+
+        @Get('/first/greet{?name}')
+        String first(@QueryValue String name, @Header('X-Greeting') String greeting) {
+            "first: $greeting $name"
+        }
+
+        @Get('/second/greet{?name}')
+        String second(@QueryValue String name, @Header('X-Greeting') String greeting) {
+            "second: $greeting $name"
+        }
+    }
+}
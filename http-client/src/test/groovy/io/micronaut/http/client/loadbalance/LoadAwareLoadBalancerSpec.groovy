@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.discovery.StaticServiceInstanceList
+import io.micronaut.discovery.exceptions.NoAvailableServiceException
+import io.micronaut.health.HealthStatus
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClient
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.ServiceHttpClientConfiguration
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class LoadAwareLoadBalancerSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'LoadAwareLoadBalancerSpec'])
+
+    void "test least outstanding requests selects the least loaded instance"() {
+        given:
+        ServiceInstance a = ServiceInstance.of("foo", new URI("http://a:8080"))
+        ServiceInstance b = ServiceInstance.of("foo", new URI("http://b:8080"))
+        ServiceInstance c = ServiceInstance.of("foo", new URI("http://c:8080"))
+        LeastOutstandingRequestsLoadBalancer loadBalancer = new LeastOutstandingRequestsLoadBalancer(instanceList(a, b, c))
+
+        when:
+        loadBalancer.requestStarted(a)
+        loadBalancer.requestStarted(a)
+        loadBalancer.requestStarted(b)
+
+        then:
+        select(loadBalancer) == c
+
+        when:
+        loadBalancer.requestStarted(c)
+        loadBalancer.requestStarted(c)
+        loadBalancer.requestCompleted(a, 1000, null)
+        loadBalancer.requestCompleted(a, 1000, null)
+
+        then:
+        select(loadBalancer) == a
+        loadBalancer.getLoad(a).outstanding == 0
+        loadBalancer.getLoad(c).outstanding == 2
+    }
+
+    void "test power of two choices only selects available instances"() {
+        given:
+        ServiceInstance up = ServiceInstance.of("foo", new URI("http://a:8080"))
+        ServiceInstance busy = ServiceInstance.of("foo", new URI("http://b:8080"))
+        ServiceInstance down = ServiceInstance.builder("foo", new URI("http://c:8080")).status(HealthStatus.DOWN).build()
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer(instanceList(up, busy, down))
+        loadBalancer.requestStarted(busy)
+
+        expect:
+        (1..20).collect { select(loadBalancer) }.every { it == up }
+    }
+
+    void "test no available service exception when all instances are down"() {
+        given:
+        ServiceInstance down = ServiceInstance.builder("foo", new URI("http://a:8080")).status(HealthStatus.DOWN).build()
+        LoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer(instanceList(down))
+
+        when:
+        select(loadBalancer)
+
+        then:
+        thrown(NoAvailableServiceException)
+    }
+
+    void "test peak EWMA avoids the slow instance"() {
+        given:
+        ServiceInstance fast = ServiceInstance.of("foo", new URI("http://a:8080"))
+        ServiceInstance slow = ServiceInstance.of("foo", new URI("http://b:8080"))
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(instanceList(fast, slow), Duration.ofSeconds(10))
+
+        when:
+        loadBalancer.requestStarted(fast)
+        loadBalancer.requestCompleted(fast, Duration.ofMillis(5).toNanos(), null)
+        loadBalancer.requestStarted(slow)
+        loadBalancer.requestCompleted(slow, Duration.ofMillis(500).toNanos(), null)
+
+        then:
+        (1..20).collect { select(loadBalancer) }.every { it == fast }
+
+        when:"a fast response does not immediately lower the peak of the slow instance"
+        loadBalancer.requestStarted(slow)
+        loadBalancer.requestCompleted(slow, Duration.ofMillis(1).toNanos(), null)
+
+        then:
+        loadBalancer.getLoad(slow).getLatencyEwma(System.nanoTime(), Duration.ofSeconds(10).toNanos()) > Duration.ofMillis(100).toNanos()
+        select(loadBalancer) == fast
+    }
+
+    void "test the latency average decays once per observation"() {
+        given:
+        InstanceLoad load = new InstanceLoad()
+        long decayTime = 1000
+
+        when:
+        load.observe(100, 10, decayTime, false)
+        load.observe(20, 10 + decayTime, decayTime, false)
+        double weight = Math.exp(-1)
+
+        then:
+        Math.abs(load.getLatencyEwma(10 + decayTime, decayTime) - (100 * weight + 20 * (1 - weight))) < 0.000001
+
+        when:"a failed request cannot lower the average"
+        load.observe(1, 10 + 2 * decayTime, decayTime, true)
+
+        then:
+        Math.abs(load.getLatencyEwma(10 + 2 * decayTime, decayTime) - (100 * weight + 20 * (1 - weight)) * weight) < 0.000001
+    }
+
+    void "test the load balancer type is configurable per service"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.url': embeddedServer.getURI(),
+                'micronaut.http.services.foo.load-balancer': 'peak-ewma',
+                'micronaut.http.services.foo.load-balancer-decay-time': '5s',
+                'micronaut.http.services.bar.url': embeddedServer.getURI(),
+                'micronaut.http.services.bar.load-balancer': 'least-outstanding',
+                'micronaut.http.services.baz.url': embeddedServer.getURI()
+        )
+        ServiceInstanceListLoadBalancerFactory factory = context.getBean(ServiceInstanceListLoadBalancerFactory)
+
+        expect:
+        context.getBean(ServiceHttpClientConfiguration, Qualifiers.byName("foo")).loadBalancerDecayTime == Duration.ofSeconds(5)
+        factory.create(context.getBean(StaticServiceInstanceList, Qualifiers.byName("foo"))) instanceof PeakEwmaLoadBalancer
+        factory.create(context.getBean(StaticServiceInstanceList, Qualifiers.byName("bar"))) instanceof LeastOutstandingRequestsLoadBalancer
+        factory.create(context.getBean(StaticServiceInstanceList, Qualifiers.byName("baz"))) instanceof ServiceInstanceListRoundRobinLoadBalancer
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the client reports requests to the load balancer"() {
+        given:
+        ServiceInstanceList instanceList = new StaticServiceInstanceList("foo", [embeddedServer.getURI()])
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(instanceList, Duration.ofSeconds(10))
+        DefaultHttpClient client = new DefaultHttpClient(loadBalancer)
+        ServiceInstance instance = instanceList.instances[0]
+
+        when:
+        String body = client.toBlocking().retrieve(HttpRequest.GET("/load-aware/ok"))
+
+        then:
+        body == "ok"
+        loadBalancer.getLoad(instance).outstanding == 0
+        loadBalancer.getLoad(instance).getLatencyEwma(System.nanoTime(), Duration.ofSeconds(10).toNanos()) > 0
+
+        when:
+        client.toBlocking().retrieve(HttpRequest.GET("/load-aware/error"))
+
+        then:
+        thrown(HttpClientResponseException)
+        loadBalancer.getLoad(instance).outstanding == 0
+
+        cleanup:
+        client.close()
+    }
+
+    private static ServiceInstance select(LoadBalancer loadBalancer) {
+        Flowable.fromPublisher(loadBalancer.select(null)).blockingFirst()
+    }
+
+    private static ServiceInstanceList instanceList(ServiceInstance... instances) {
+        [getID: { "foo" }, getInstances: { instances.toList() }] as ServiceInstanceList
+    }
+
+    @Requires(property = 'spec.name', value = 'LoadAwareLoadBalancerSpec')
+    @Controller("/load-aware")
+    static class LoadAwareController {
+
+        @Get(uri = "/ok", produces = "text/plain")
+        String ok() {
+            "ok"
+        }
+
+        @Get("/error")
+        String error() {
+            throw new IllegalStateException("bad")
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.io.socket.SocketUtils
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.StaticServiceInstanceList
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientException
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.http.client.exceptions.ReadTimeoutException
+import io.micronaut.http.client.health.OutlierDetectionHealthIndicator
+import io.micronaut.http.client.HttpClient
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.management.health.indicator.HealthResult
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class OutlierDetectorSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'OutlierDetectorSpec'])
+
+    void "test an instance is ejected after consecutive failures with exponential back-off"() {
+        given:
+        OutlierDetectionConfiguration configuration = new OutlierDetectionConfiguration(
+                consecutiveFailures: 2,
+                baseEjectionTime: Duration.ofMillis(100),
+                maxEjectionTime: Duration.ofMillis(300),
+                maxEjectionPercent: 50
+        )
+        OutlierDetector detector = new OutlierDetector("foo", configuration)
+        detector.instanceCount = 2
+        ServiceInstance instance = ServiceInstance.of("foo", new URI("http://a:8080"))
+        Throwable error = new HttpClientResponseException("error", io.micronaut.http.HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE))
+
+        when:
+        detector.requestCompleted(instance, error)
+
+        then:
+        !detector.isEjected(instance)
+
+        when:
+        detector.requestCompleted(instance, error)
+        OutlierDetector.InstanceState state = detector.instanceStates[instance.URI]
+
+        then:
+        detector.isEjected(instance)
+        state.ejections == 1
+        state.remainingEjectionTime <= Duration.ofMillis(100)
+
+        when:"the instance fails again once re-admitted"
+        sleep(150)
+        detector.requestCompleted(instance, error)
+        detector.requestCompleted(instance, error)
+
+        then:"the ejection time doubles"
+        detector.isEjected(instance)
+        state.ejections == 2
+        state.remainingEjectionTime > Duration.ofMillis(100)
+
+        when:"the instance succeeds once re-admitted"
+        sleep(250)
+        detector.requestCompleted(instance, null)
+
+        then:"its state is forgotten"
+        !detector.isEjected(instance)
+        detector.instanceStates.isEmpty()
+    }
+
+    void "test only connect errors, 5xx responses and timeouts are outlier failures"() {
+        expect:
+        OutlierDetector.isOutlierFailure(error) == failure
+
+        where:
+        error                                                                                                  | failure
+        null                                                                                                   | false
+        ReadTimeoutException.TIMEOUT_EXCEPTION                                                                 | true
+        new HttpClientException("Connect Error: refused", new ConnectException("refused"))                    | true
+        new HttpClientResponseException("error", io.micronaut.http.HttpResponse.serverError())                | true
+        new HttpClientResponseException("error", io.micronaut.http.HttpResponse.status(HttpStatus.NOT_FOUND)) | false
+        new IllegalStateException("bad")                                                                       | false
+    }
+
+    void "test the maximum ejection percentage is honoured"() {
+        given:
+        OutlierDetector detector = new OutlierDetector("foo", new OutlierDetectionConfiguration(consecutiveFailures: 1, maxEjectionPercent: 50))
+        detector.instanceCount = 3
+        List<ServiceInstance> instances = (1..3).collect { ServiceInstance.of("foo", new URI("http://host$it:8080")) }
+
+        when:
+        instances.each { detector.requestCompleted(it, ReadTimeoutException.TIMEOUT_EXCEPTION) }
+
+        then:
+        instances.count { detector.isEjected(it) } == 1
+    }
+
+    void "test a cancelled request neither resets nor counts towards the consecutive failures"() {
+        given:
+        OutlierDetector detector = new OutlierDetector("foo", new OutlierDetectionConfiguration(consecutiveFailures: 2, maxEjectionPercent: 50))
+        detector.instanceCount = 2
+        ServiceInstance instance = ServiceInstance.of("foo", new URI("http://a:8080"))
+        LeastOutstandingRequestsLoadBalancer loadBalancer = new LeastOutstandingRequestsLoadBalancer(new StaticServiceInstanceList("foo", [instance.URI]))
+        loadBalancer.outlierDetector = detector
+
+        when:
+        loadBalancer.requestStarted(instance)
+        loadBalancer.requestCompleted(instance, 10, ReadTimeoutException.TIMEOUT_EXCEPTION)
+        loadBalancer.requestStarted(instance)
+        loadBalancer.requestCancelled(instance)
+
+        then:
+        !detector.isEjected(instance)
+        detector.instanceStates[instance.URI].consecutiveFailures == 1
+        loadBalancer.getLoad(instance).outstanding == 0
+
+        when:
+        loadBalancer.requestStarted(instance)
+        loadBalancer.requestCompleted(instance, 10, ReadTimeoutException.TIMEOUT_EXCEPTION)
+
+        then:
+        detector.isEjected(instance)
+        loadBalancer.getLoad(instance).outstanding == 0
+    }
+
+    void "test the client ejects an instance that refuses connections"() {
+        given:
+        int deadPort = SocketUtils.findAvailableTcpPort()
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.urls': [embeddedServer.getURI().toString(), "http://localhost:$deadPort".toString()],
+                'micronaut.http.services.foo.outlier-detection.enabled': true,
+                'micronaut.http.services.foo.outlier-detection.consecutive-failures': 2
+        )
+        RxHttpClient client = context.getBean(RxHttpClient, Qualifiers.byName("foo"))
+
+        when:
+        (1..6).each {
+            client.retrieve(HttpRequest.GET("/outlier/ok")).onErrorReturnItem("error").blockingFirst()
+        }
+        List<String> results = (1..6).collect {
+            client.retrieve(HttpRequest.GET("/outlier/ok")).blockingFirst()
+        }
+        OutlierDetector detector = context.getBean(OutlierDetectorRegistry).findOutlierDetector("foo").get()
+
+        then:
+        results.every { it == "ok" }
+        detector.isEjected(ServiceInstance.of("foo", new URI("http://localhost:$deadPort")))
+
+        when:
+        HealthResult result = Flowable.fromPublisher(context.getBean(OutlierDetectionHealthIndicator).result).blockingFirst()
+
+        then:
+        result.name == OutlierDetectionHealthIndicator.NAME
+        result.details.foo.ejected == 1
+
+        cleanup:
+        context.close()
+    }
+
+    void "test no outlier detector is created unless enabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.http.services.foo.url': embeddedServer.getURI()
+        )
+        context.getBean(HttpClient, Qualifiers.byName("foo"))
+
+        expect:
+        context.getBean(OutlierDetectorRegistry).outlierDetectors.isEmpty()
+        Flowable.fromPublisher(context.getBean(OutlierDetectionHealthIndicator).result).toList().blockingGet().isEmpty()
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'OutlierDetectorSpec')
+    @Controller("/outlier")
+    static class OutlierController {
+
+        @Get(uri = "/ok", produces = "text/plain")
+        String ok() {
+            "ok"
+        }
+    }
+}
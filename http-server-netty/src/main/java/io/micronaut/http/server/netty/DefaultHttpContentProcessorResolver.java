@@ -18,12 +18,16 @@ package io.micronaut.http.server.netty;
 import io.micronaut.context.BeanLocator;
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.bind.annotation.Bindable;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpParameters;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
+import io.micronaut.http.cookie.Cookies;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.inject.ExecutionHandle;
 import io.micronaut.web.router.RouteMatch;
@@ -31,6 +35,7 @@ import io.micronaut.web.router.qualifier.ConsumesMediaTypeQualifier;
 
 import javax.annotation.Nonnull;
 import javax.inject.Singleton;
+import java.security.Principal;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -52,6 +57,7 @@ import java.util.function.Supplier;
 class DefaultHttpContentProcessorResolver implements HttpContentProcessorResolver {
 
     private static final Set<Class> RAW_BODY_TYPES = CollectionUtils.setOf(String.class, byte[].class, ByteBuffer.class);
+    private static final Class[] TYPE_BOUND_TYPES = {HttpRequest.class, HttpHeaders.class, HttpParameters.class, Cookies.class, Principal.class};
 
     private final BeanLocator beanLocator;
     private final NettyHttpServerConfiguration serverConfiguration;
@@ -94,26 +100,30 @@ class DefaultHttpContentProcessorResolver implements HttpContentProcessorResolve
                     }
                     return Argument.OBJECT_ARGUMENT;
                 });
-        return resolve(request, bodyType);
+        return resolve(request, bodyType, !bindsBodyParts(route, bodyType));
     }
 
     @Override
     @Nonnull
     public HttpContentProcessor<?> resolve(@Nonnull NettyHttpRequest<?> request, @Nonnull Argument<?> bodyType) {
-        if (bodyType.getType() == HttpRequest.class) {
-            bodyType = bodyType.getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
-        }
-        boolean isRaw = RAW_BODY_TYPES.contains(bodyType.getType());
-        return resolve(request, isRaw);
+        return resolve(request, bodyType, true);
     }
 
     @Override
     @Nonnull
     public HttpContentProcessor<?> resolve(@Nonnull NettyHttpRequest<?> request) {
-        return resolve(request, false);
+        return resolve(request, false, null);
+    }
+
+    private HttpContentProcessor<?> resolve(NettyHttpRequest<?> request, Argument<?> bodyType, boolean bindBody) {
+        if (bodyType.getType() == HttpRequest.class) {
+            bodyType = bodyType.getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
+        }
+        boolean isRaw = RAW_BODY_TYPES.contains(bodyType.getType());
+        return resolve(request, isRaw, bindBody ? bodyType : null);
     }
 
-    private HttpContentProcessor<?> resolve(NettyHttpRequest<?> request, boolean rawBodyType) {
+    private HttpContentProcessor<?> resolve(NettyHttpRequest<?> request, boolean rawBodyType, Argument<?> bodyType) {
         Supplier<DefaultHttpContentProcessor> defaultHttpContentProcessor = () -> new DefaultHttpContentProcessor(request, serverConfiguration);
 
         if (rawBodyType) {
@@ -125,9 +135,45 @@ class DefaultHttpContentProcessorResolver implements HttpContentProcessorResolve
                             beanLocator.findBean(HttpContentSubscriberFactory.class,
                                     new ConsumesMediaTypeQualifier<>(type))
                     ).map(factory ->
-                            factory.build(request)
+                            bodyType != null ? factory.build(request, bodyType) : factory.build(request)
                     ).orElseGet(defaultHttpContentProcessor);
         }
     }
 
+    /**
+     * Arguments bound with {@code @Body("name")} and arguments without a binding annotation that are not bound by
+     * type may be bound from a part of the body, in which case the body cannot be bound to a single type.
+     *
+     * @param route    The route
+     * @param bodyType The argument the entire body is bound to
+     * @return Whether any other argument of the route may bind a part of the body
+     */
+    private boolean bindsBodyParts(RouteMatch<?> route, Argument<?> bodyType) {
+        if (route instanceof ExecutionHandle) {
+            for (Argument<?> argument: ((ExecutionHandle) route).getArguments()) {
+                if (argument.getName().equals(bodyType.getName())) {
+                    continue;
+                }
+                AnnotationMetadata annotationMetadata = argument.getAnnotationMetadata();
+                if (annotationMetadata.hasStereotype(Bindable.class)) {
+                    if (annotationMetadata.stringValue(Body.class).isPresent()) {
+                        return true;
+                    }
+                } else if (!isBoundByType(argument.getType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isBoundByType(Class<?> type) {
+        for (Class<?> boundType : TYPE_BOUND_TYPES) {
+            if (boundType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -15,6 +15,8 @@
  */
 package io.micronaut.http.server.netty;
 
+import io.micronaut.core.type.Argument;
+
 /**
  * Interface that allows plugging into the constructor of the {@link io.netty.handler.codec.http.HttpContent}
  * subscriber.
@@ -32,5 +34,18 @@ public interface HttpContentSubscriberFactory {
      * @return The subscriber
      */
     HttpContentProcessor build(NettyHttpRequest request);
+
+    /**
+     * Build a {@link org.reactivestreams.Subscriber} for the given request, where the entire body is to be bound
+     * to the given type. Implementations may use the type to bind the body directly.
+     *
+     * @param request  The request
+     * @param bodyType The type the body is bound to
+     * @return The subscriber
+     * @since 1.3.0
+     */
+    default HttpContentProcessor build(NettyHttpRequest request, Argument<?> bodyType) {
+        return build(request);
+    }
 }
 
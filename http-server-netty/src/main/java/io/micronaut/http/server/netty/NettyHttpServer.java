@@ -60,12 +60,23 @@ import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http.multipart.DiskFileUpload;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.flow.FlowControlHandler;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AsciiString;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.slf4j.Logger;
@@ -111,6 +122,12 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     public static final String MICRONAUT_HANDLER = "micronaut-inbound-handler";
     @SuppressWarnings("WeakerAccess")
     public static final String OUTBOUND_KEY = "-outbound-";
+    @SuppressWarnings("WeakerAccess")
+    public static final String HTTP2_CODEC = "http2-codec";
+    @SuppressWarnings("WeakerAccess")
+    public static final String HTTP2_PROTOCOL_NEGOTIATOR = "http2-protocol-negotiator";
+    @SuppressWarnings("WeakerAccess")
+    public static final String HTTP2_UPGRADE_LISTENER = "http2-upgrade-listener";
 
     private static final Logger LOG = LoggerFactory.getLogger(NettyHttpServer.class);
 
@@ -270,77 +287,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
             processOptions(serverConfiguration.getChildOptions(), serverBootstrap::childOption);
             serverBootstrap = serverBootstrap.group(parentGroup, workerGroup)
                 .channel(eventLoopGroupFactory.serverSocketChannelClass())
-                .childHandler(new ChannelInitializer() {
-                    final HttpRequestDecoder requestDecoder = new HttpRequestDecoder(NettyHttpServer.this, environment, serverConfiguration);
-                    final HttpRequestCertificateHandler requestCertificateHandler = new HttpRequestCertificateHandler();
-                    final HttpResponseEncoder responseDecoder = new HttpResponseEncoder(mediaTypeCodecRegistry, serverConfiguration);
-                    final RoutingInBoundHandler routingHandler = new RoutingInBoundHandler(
-                        applicationContext,
-                        router,
-                        mediaTypeCodecRegistry,
-                        customizableResponseTypeHandlerRegistry,
-                        staticResourceResolver,
-                        serverConfiguration,
-                        requestArgumentSatisfier,
-                        executorSelector,
-                        ioExecutor,
-                            httpContentProcessorResolver
-                    );
-                    final LoggingHandler loggingHandler = serverConfiguration.getLogLevel().isPresent() ? new LoggingHandler(serverConfiguration.getLogLevel().get()) : null;
-
-                    @Override
-                    protected void initChannel(Channel ch) {
-                        ChannelPipeline pipeline = ch.pipeline();
-
-                        int port = ((InetSocketAddress) ch.localAddress()).getPort();
-                        boolean ssl = sslContext != null && sslConfiguration != null && port == sslConfiguration.getPort();
-                        if (ssl) {
-                            pipeline.addLast(sslContext.newHandler(ch.alloc()));
-                        }
-
-                        if (loggingHandler != null) {
-                            pipeline.addLast(loggingHandler);
-                        }
-
-                        final Duration idleTime = serverConfiguration.getIdleTimeout();
-                        if (!idleTime.isNegative()) {
-                            pipeline.addLast(new IdleStateHandler(
-                                    (int) serverConfiguration.getReadIdleTimeout().getSeconds(),
-                                    (int) serverConfiguration.getWriteIdleTimeout().getSeconds(),
-                                    (int) idleTime.getSeconds()));
-                        }
-
-                        pipeline.addLast(HTTP_CODEC, new HttpServerCodec(
-                                serverConfiguration.getMaxInitialLineLength(),
-                                serverConfiguration.getMaxHeaderSize(),
-                                serverConfiguration.getMaxChunkSize(),
-                                serverConfiguration.isValidateHeaders(),
-                                serverConfiguration.getInitialBufferSize()
-                        ));
-
-                        pipeline.addLast(new FlowControlHandler());
-                        pipeline.addLast(HTTP_KEEP_ALIVE_HANDLER, new HttpServerKeepAliveHandler());
-                        pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor(httpCompressionStrategy));
-                        pipeline.addLast(HTTP_DECOMPRESSOR, new HttpContentDecompressor());
-                        pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
-                        pipeline.addLast(HTTP_CHUNKED_HANDLER, new ChunkedWriteHandler());
-                        pipeline.addLast(HttpRequestDecoder.ID, requestDecoder);
-                        if (ssl) {
-                            pipeline.addLast(requestCertificateHandler);
-                        }
-                        pipeline.addLast(HttpResponseEncoder.ID, responseDecoder);
-                        pipeline.addLast(NettyServerWebSocketUpgradeHandler.ID, new NettyServerWebSocketUpgradeHandler(
-                                getWebSocketSessionRepository(),
-                                router,
-                                requestArgumentSatisfier.getBinderRegistry(),
-                                webSocketBeanRegistry,
-                                mediaTypeCodecRegistry,
-                                applicationContext
-                        ));
-                        pipeline.addLast(MICRONAUT_HANDLER, routingHandler);
-                        registerMicronautChannelHandlers(pipeline);
-                    }
-                });
+                .childHandler(new NettyHttpServerInitializer());
 
             Optional<String> host = serverConfiguration.getHost();
 
@@ -540,7 +487,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         }
     }
 
-    private void registerMicronautChannelHandlers(ChannelPipeline pipeline) {
+    private void registerMicronautChannelHandlers(ChannelPipeline pipeline, String anchor) {
         int i = 0;
         for (ChannelHandler outboundHandlerAdapter : outboundHandlers) {
             String name;
@@ -549,7 +496,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
             } else {
                 name = NettyHttpServer.MICRONAUT_HANDLER + NettyHttpServer.OUTBOUND_KEY + ++i;
             }
-            pipeline.addAfter(NettyHttpServer.HTTP_CODEC, name, outboundHandlerAdapter);
+            pipeline.addAfter(anchor, name, outboundHandlerAdapter);
         }
     }
 
@@ -596,4 +543,172 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     public WebSocketSessionRepository getWebSocketSessionRepository() {
         return this;
     }
+
+    /**
+     * Initializes the pipeline of each connection. When HTTP/2 is enabled the protocol is negotiated with ALPN for SSL
+     * connections, whilst cleartext connections accept both an upgrade from HTTP/1.1 and prior knowledge.
+     */
+    private final class NettyHttpServerInitializer extends ChannelInitializer<Channel> {
+        final HttpRequestDecoder requestDecoder = new HttpRequestDecoder(NettyHttpServer.this, environment, serverConfiguration);
+        final HttpRequestCertificateHandler requestCertificateHandler = new HttpRequestCertificateHandler();
+        final HttpResponseEncoder responseDecoder = new HttpResponseEncoder(mediaTypeCodecRegistry, serverConfiguration);
+        final RoutingInBoundHandler routingHandler = new RoutingInBoundHandler(
+            applicationContext,
+            router,
+            mediaTypeCodecRegistry,
+            customizableResponseTypeHandlerRegistry,
+            staticResourceResolver,
+            serverConfiguration,
+            requestArgumentSatisfier,
+            executorSelector,
+            ioExecutor,
+                httpContentProcessorResolver
+        );
+        final LoggingHandler loggingHandler = serverConfiguration.getLogLevel().isPresent() ? new LoggingHandler(serverConfiguration.getLogLevel().get()) : null;
+        final boolean http2 = serverConfiguration.getHttp2().isEnabled();
+
+        @Override
+        protected void initChannel(Channel ch) {
+            ChannelPipeline pipeline = ch.pipeline();
+
+            int port = ((InetSocketAddress) ch.localAddress()).getPort();
+            boolean ssl = sslContext != null && sslConfiguration != null && port == sslConfiguration.getPort();
+            if (ssl) {
+                pipeline.addLast(sslContext.newHandler(ch.alloc()));
+            }
+
+            if (loggingHandler != null) {
+                pipeline.addLast(loggingHandler);
+            }
+
+            final Duration idleTime = serverConfiguration.getIdleTimeout();
+            if (!idleTime.isNegative()) {
+                pipeline.addLast(new IdleStateHandler(
+                        (int) serverConfiguration.getReadIdleTimeout().getSeconds(),
+                        (int) serverConfiguration.getWriteIdleTimeout().getSeconds(),
+                        (int) idleTime.getSeconds()));
+            }
+
+            if (!http2) {
+                addHttp1Pipeline(pipeline, ssl);
+            } else if (ssl) {
+                pipeline.addLast(HTTP2_PROTOCOL_NEGOTIATOR, new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                    @Override
+                    protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                        if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                            ctx.pipeline().addLast(HTTP2_CODEC, newHttp2Codec(true));
+                        } else {
+                            addHttp1Pipeline(ctx.pipeline(), true);
+                        }
+                    }
+                });
+            } else {
+                HttpServerCodec sourceCodec = newHttpServerCodec();
+                Http2MultiplexCodec http2Codec = newHttp2Codec(false);
+                HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(
+                        sourceCodec,
+                        protocol -> AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ? new Http2ServerUpgradeCodec(http2Codec) : null,
+                        (int) Math.min(serverConfiguration.getMaxRequestSize(), Integer.MAX_VALUE)
+                );
+                pipeline.addLast(new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, http2Codec));
+                pipeline.addLast(HTTP2_UPGRADE_LISTENER, new Http2UpgradeListener());
+                addHttpHandlers(pipeline, false, true);
+                registerMicronautChannelHandlers(pipeline, HTTP2_UPGRADE_LISTENER);
+            }
+        }
+
+        private void addHttp1Pipeline(ChannelPipeline pipeline, boolean ssl) {
+            pipeline.addLast(HTTP_CODEC, newHttpServerCodec());
+            addHttpHandlers(pipeline, ssl, true);
+            registerMicronautChannelHandlers(pipeline, HTTP_CODEC);
+        }
+
+        /**
+         * Adds the handlers that follow the codec. These are shared by HTTP/1.1 connections and HTTP/2 streams, with
+         * the exception of keep alive and WebSocket upgrades which only apply to HTTP/1.1.
+         *
+         * @param pipeline The pipeline
+         * @param ssl      Whether the connection is secure
+         * @param http1    Whether the pipeline belongs to an HTTP/1.1 connection
+         */
+        private void addHttpHandlers(ChannelPipeline pipeline, boolean ssl, boolean http1) {
+            pipeline.addLast(new FlowControlHandler());
+            if (http1) {
+                pipeline.addLast(HTTP_KEEP_ALIVE_HANDLER, new HttpServerKeepAliveHandler());
+            }
+            pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor(httpCompressionStrategy));
+            pipeline.addLast(HTTP_DECOMPRESSOR, new HttpContentDecompressor());
+            pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
+            pipeline.addLast(HTTP_CHUNKED_HANDLER, new ChunkedWriteHandler());
+            pipeline.addLast(HttpRequestDecoder.ID, requestDecoder);
+            if (ssl) {
+                pipeline.addLast(requestCertificateHandler);
+            }
+            pipeline.addLast(HttpResponseEncoder.ID, responseDecoder);
+            if (http1) {
+                pipeline.addLast(NettyServerWebSocketUpgradeHandler.ID, new NettyServerWebSocketUpgradeHandler(
+                        getWebSocketSessionRepository(),
+                        router,
+                        requestArgumentSatisfier.getBinderRegistry(),
+                        webSocketBeanRegistry,
+                        mediaTypeCodecRegistry,
+                        applicationContext
+                ));
+            }
+            pipeline.addLast(MICRONAUT_HANDLER, routingHandler);
+        }
+
+        private HttpServerCodec newHttpServerCodec() {
+            return new HttpServerCodec(
+                    serverConfiguration.getMaxInitialLineLength(),
+                    serverConfiguration.getMaxHeaderSize(),
+                    serverConfiguration.getMaxChunkSize(),
+                    serverConfiguration.isValidateHeaders(),
+                    serverConfiguration.getInitialBufferSize()
+            );
+        }
+
+        private Http2MultiplexCodec newHttp2Codec(boolean ssl) {
+            NettyHttpServerConfiguration.Http2 config = serverConfiguration.getHttp2();
+            Http2Settings settings = Http2Settings.defaultSettings();
+            config.getMaxConcurrentStreams().ifPresent(settings::maxConcurrentStreams);
+            config.getInitialWindowSize().ifPresent(settings::initialWindowSize);
+            config.getMaxFrameSize().ifPresent(settings::maxFrameSize);
+            config.getMaxHeaderListSize().ifPresent(settings::maxHeaderListSize);
+            return Http2MultiplexCodecBuilder.forServer(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    // each stream is a child channel that sees regular HTTP objects
+                    ChannelPipeline pipeline = ch.pipeline();
+                    pipeline.addLast(HTTP_CODEC, new Http2StreamFrameToHttpObjectCodec(true, serverConfiguration.isValidateHeaders()));
+                    addHttpHandlers(pipeline, ssl, false);
+                    registerMicronautChannelHandlers(pipeline, HTTP_CODEC);
+                }
+            }).initialSettings(settings).build();
+        }
+    }
+
+    /**
+     * Removes the HTTP/1.1 handlers from a cleartext connection once it has switched to HTTP/2, since from then on
+     * requests are handled by the pipelines of the individual streams.
+     */
+    private static final class Http2UpgradeListener extends ChannelInboundHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+            if (evt instanceof HttpServerUpgradeHandler.UpgradeEvent || evt instanceof CleartextHttp2ServerUpgradeHandler.PriorKnowledgeUpgradeEvent) {
+                ChannelPipeline pipeline = ctx.pipeline();
+                List<String> names = pipeline.names();
+                for (int i = names.indexOf(ctx.name()) + 1; i < names.size(); i++) {
+                    String name = names.get(i);
+                    if (pipeline.get(name) != null) {
+                        pipeline.remove(name);
+                    }
+                }
+                ctx.fireUserEventTriggered(evt);
+                pipeline.remove(this);
+            } else {
+                ctx.fireUserEventTriggered(evt);
+            }
+        }
+    }
 }
@@ -30,7 +30,9 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -1514,14 +1516,46 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
         // Handle the scheduler to subscribe on
         if (finalPublisher instanceof Flowable) {
-            return ((Flowable<MutableHttpResponse<?>>) finalPublisher)
-                    .subscribeOn(Schedulers.from(executor));
+            return subscribeOn((Flowable<MutableHttpResponse<?>>) finalPublisher, executor);
         } else {
-            return Flowable.fromPublisher(finalPublisher)
-                    .subscribeOn(Schedulers.from(executor));
+            return subscribeOn(Flowable.fromPublisher(finalPublisher), executor);
         }
     }
 
+    /**
+     * Subscribes to the given flowable on the executor. RxJava drops the subscription if the executor rejects it, which
+     * would leave the request without a response, so a rejection of the subscription is emitted as an error instead.
+     * This allows executors that shed load, such as {@link io.micronaut.scheduling.executor.AdaptiveExecutorService},
+     * to be translated into an error response by an exception handler. Only the subscription is scheduled on the
+     * executor, later requests are issued on the requesting thread so that they cannot be rejected.
+     *
+     * @param flowable The flowable
+     * @param executor The executor to subscribe on
+     * @param <T>      The type of the items
+     * @return The flowable that subscribes on the executor
+     */
+    static <T> Flowable<T> subscribeOn(Flowable<T> flowable, ExecutorService executor) {
+        AtomicReference<RejectedExecutionException> rejection = new AtomicReference<>();
+        AtomicBoolean subscribing = new AtomicBoolean(true);
+        Executor rejectionAwareExecutor = command -> {
+            if (subscribing.compareAndSet(true, false)) {
+                try {
+                    executor.execute(command);
+                } catch (RejectedExecutionException e) {
+                    // run the subscription in the calling thread, which only emits the error
+                    rejection.set(e);
+                    command.run();
+                }
+            } else {
+                executor.execute(command);
+            }
+        };
+        return Flowable.defer(() -> {
+            RejectedExecutionException e = rejection.get();
+            return e != null ? Flowable.<T>error(e) : flowable;
+        }).subscribeOn(Schedulers.from(rejectionAwareExecutor), false);
+    }
+
     private void streamHttpContentChunkByChunk(
         ChannelHandlerContext context,
         NettyHttpRequest<?> request,
@@ -96,6 +96,7 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private Map<ChannelOption, Object> options = Collections.emptyMap();
     private Worker worker;
     private Parent parent;
+    private Http2 http2 = new Http2();
     private int maxInitialLineLength = DEFAULT_MAXINITIALLINELENGTH;
     private int maxHeaderSize = DEFAULT_MAXHEADERSIZE;
     private int maxChunkSize = DEFAULT_MAXCHUNKSIZE;
@@ -241,6 +242,13 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return parent;
     }
 
+    /**
+     * @return Configuration for HTTP/2 support
+     */
+    public Http2 getHttp2() {
+        return http2;
+    }
+
     /**
      * Sets the Netty child worker options.
      *
@@ -274,6 +282,16 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.parent = parent;
     }
 
+    /**
+     * Sets the HTTP/2 configuration.
+     * @param http2 The HTTP/2 config
+     */
+    public void setHttp2(Http2 http2) {
+        if (http2 != null) {
+            this.http2 = http2;
+        }
+    }
+
     /**
      * Sets the maximum initial line length for the HTTP request. Default value ({@value #DEFAULT_MAXINITIALLINELENGTH}).
      * @param maxInitialLineLength The max length
@@ -369,6 +387,102 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     public static class Parent extends EventLoopConfig {
     }
 
+    /**
+     * Configuration for HTTP/2. When enabled the protocol is negotiated with ALPN for SSL connections, whilst
+     * cleartext connections support both an upgrade from HTTP/1.1 and prior knowledge (h2c). Each HTTP/2 stream is
+     * handled as a separate request.
+     */
+    @ConfigurationProperties("http2")
+    public static class Http2 {
+
+        /**
+         * The default enabled value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private Long maxConcurrentStreams;
+        private Integer initialWindowSize;
+        private Integer maxFrameSize;
+        private Long maxHeaderListSize;
+
+        /**
+         * @return Whether HTTP/2 is enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether HTTP/2 is enabled. Default value ({@value #DEFAULT_ENABLED}).
+         * @param enabled True if HTTP/2 is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return The maximum number of concurrent streams a client may open on a connection
+         */
+        public Optional<Long> getMaxConcurrentStreams() {
+            return Optional.ofNullable(maxConcurrentStreams);
+        }
+
+        /**
+         * Sets the maximum number of concurrent streams a client may open on a connection.
+         * @param maxConcurrentStreams The maximum number of concurrent streams
+         */
+        public void setMaxConcurrentStreams(Long maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        /**
+         * @return The initial flow control window size of each stream
+         */
+        public Optional<Integer> getInitialWindowSize() {
+            return Optional.ofNullable(initialWindowSize);
+        }
+
+        /**
+         * Sets the initial flow control window size of each stream.
+         * @param initialWindowSize The initial window size
+         */
+        public void setInitialWindowSize(@ReadableBytes Integer initialWindowSize) {
+            this.initialWindowSize = initialWindowSize;
+        }
+
+        /**
+         * @return The maximum size of a frame the server is willing to receive
+         */
+        public Optional<Integer> getMaxFrameSize() {
+            return Optional.ofNullable(maxFrameSize);
+        }
+
+        /**
+         * Sets the maximum size of a frame the server is willing to receive.
+         * @param maxFrameSize The maximum frame size
+         */
+        public void setMaxFrameSize(@ReadableBytes Integer maxFrameSize) {
+            this.maxFrameSize = maxFrameSize;
+        }
+
+        /**
+         * @return The maximum size of the header list the server is willing to accept
+         */
+        public Optional<Long> getMaxHeaderListSize() {
+            return Optional.ofNullable(maxHeaderListSize);
+        }
+
+        /**
+         * Sets the maximum size of the header list the server is willing to accept.
+         * @param maxHeaderListSize The maximum header list size
+         */
+        public void setMaxHeaderListSize(Long maxHeaderListSize) {
+            this.maxHeaderListSize = maxHeaderListSize;
+        }
+    }
+
     /**
      * Abstract class for configuring the Netty event loop.
      */
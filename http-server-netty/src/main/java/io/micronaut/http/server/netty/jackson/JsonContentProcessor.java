@@ -16,16 +16,26 @@
 package io.micronaut.http.server.netty.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.json.async.NonBlockingJsonParser;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
 import io.micronaut.core.async.subscriber.TypedSubscriber;
+import io.micronaut.core.convert.value.ConvertibleValues;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.netty.AbstractHttpContentProcessor;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.jackson.JacksonConfiguration;
 import io.micronaut.jackson.parser.JacksonProcessor;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
@@ -34,12 +44,22 @@ import io.netty.util.ReferenceCountUtil;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * This class will handle subscribing to a JSON stream and binding once the events are complete in a non-blocking
  * manner.
  *
+ * <p>When the body is bound in its entirety to a type that Jackson can bind directly, the incoming chunks are fed
+ * to a {@link NonBlockingJsonParser} whose tokens are recorded in a {@link TokenBuffer}, and the body is bound to
+ * the target type once complete rather than materializing an intermediate {@link JsonNode} tree. Other bodies, such
+ * as {@link JsonNode}, {@link java.util.Map} or streamed bodies, continue to be emitted as {@link JsonNode}
+ * instances.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -47,7 +67,10 @@ import java.util.Optional;
 public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode> {
 
     private final JsonFactory jsonFactory;
+    private final ObjectMapper objectMapper;
+    private final Argument<?> bodyType;
     private JacksonProcessor jacksonProcessor;
+    private BodyBinder bodyBinder;
 
     /**
      * @param nettyHttpRequest The Netty Http request
@@ -55,8 +78,25 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
      * @param jsonFactory      The json factory
      */
     public JsonContentProcessor(NettyHttpRequest<?> nettyHttpRequest, HttpServerConfiguration configuration, Optional<JsonFactory> jsonFactory) {
+        this(nettyHttpRequest, configuration, jsonFactory, null, null);
+    }
+
+    /**
+     * @param nettyHttpRequest The Netty Http request
+     * @param configuration    The Http server configuration
+     * @param jsonFactory      The json factory
+     * @param objectMapper     The object mapper used to bind the body directly, if possible
+     * @param bodyType         The type the entire body is bound to, if known
+     */
+    public JsonContentProcessor(NettyHttpRequest<?> nettyHttpRequest,
+                                HttpServerConfiguration configuration,
+                                Optional<JsonFactory> jsonFactory,
+                                @Nullable ObjectMapper objectMapper,
+                                @Nullable Argument<?> bodyType) {
         super(nettyHttpRequest, configuration);
-        this.jsonFactory = jsonFactory.orElse(new JsonFactory());
+        this.jsonFactory = jsonFactory.orElseGet(() -> objectMapper != null ? objectMapper.getFactory() : new JsonFactory());
+        this.objectMapper = objectMapper;
+        this.bodyType = bodyType;
     }
 
     @Override
@@ -71,6 +111,26 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
                 .map(mediaType -> mediaType.equals(MediaType.APPLICATION_JSON_STREAM_TYPE))
                 .orElse(false);
 
+        if (!isJsonStream && !(subscriber instanceof TypedSubscriber) && isDirectlyBindable(bodyType)) {
+            try {
+                this.bodyBinder = new BodyBinder();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to create non-blocking JSON parser: " + e.getMessage(), e);
+            }
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    parentSubscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    parentSubscription.cancel();
+                }
+            });
+            return;
+        }
+
         if (subscriber instanceof TypedSubscriber) {
             TypedSubscriber typedSubscriber = (TypedSubscriber) subscriber;
             Argument typeArgument = typedSubscriber.getTypeArgument();
@@ -139,8 +199,19 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
     protected void onData(ByteBufHolder message) {
         ByteBuf content = message.content();
         try {
-            byte[] bytes = ByteBufUtil.getBytes(content);
-            jacksonProcessor.onNext(bytes);
+            if (bodyBinder != null) {
+                bodyBinder.feed(content);
+                parentSubscription.request(1);
+            } else {
+                byte[] bytes = ByteBufUtil.getBytes(content);
+                jacksonProcessor.onNext(bytes);
+            }
+        } catch (IOException e) {
+            if (bodyBinder != null) {
+                // the body cannot be bound, so stop reading the remaining chunks
+                parentSubscription.cancel();
+            }
+            onError(e);
         } finally {
             ReferenceCountUtil.release(content);
         }
@@ -148,12 +219,146 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
 
     @Override
     protected void doAfterOnError(Throwable throwable) {
-        jacksonProcessor.onError(throwable);
+        if (jacksonProcessor != null) {
+            jacksonProcessor.onError(throwable);
+        }
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     protected void doOnComplete() {
-        jacksonProcessor.onComplete();
+        if (bodyBinder != null) {
+            Object body;
+            try {
+                body = bodyBinder.bind();
+            } catch (IOException e) {
+                getSubscriber().onError(e);
+                return;
+            }
+            ((Subscriber<Object>) getSubscriber()).onNext(body);
+        } else {
+            jacksonProcessor.onComplete();
+        }
         super.doOnComplete();
     }
+
+    /**
+     * Whether the body can be bound to the given type without an intermediate {@link JsonNode}. Maps, collections,
+     * {@link JsonNode} and {@link ConvertibleValues} are bound directly, the latter two from a tree built from the
+     * recorded tokens. Other JDK types and reactive types are excluded since they are either bound by other means or
+     * require the body to be streamed.
+     *
+     * @param bodyType The body type
+     * @return True if it can
+     */
+    private boolean isDirectlyBindable(@Nullable Argument<?> bodyType) {
+        if (objectMapper == null || bodyType == null) {
+            return false;
+        }
+        Class<?> type = bodyType.getType();
+        if (Map.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type) || isBoundAsTree(type)) {
+            return true;
+        }
+        return !type.isPrimitive() &&
+                !type.isArray() &&
+                !type.getName().startsWith("java.") &&
+                !Publishers.isConvertibleToPublisher(type);
+    }
+
+    private static boolean isBoundAsTree(Class<?> type) {
+        return JsonNode.class.isAssignableFrom(type) || ConvertibleValues.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Records the tokens of a single JSON document as they arrive and binds them to the body type once complete.
+     */
+    private final class BodyBinder {
+        private final NonBlockingJsonParser parser;
+        private final TokenBuffer tokens;
+        private int depth;
+        private boolean complete;
+
+        BodyBinder() throws IOException {
+            this.parser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+            this.tokens = new TokenBuffer(parser);
+        }
+
+        /**
+         * Feeds a chunk of the body to the parser.
+         *
+         * @param content The chunk
+         * @throws IOException If the content is not valid JSON
+         */
+        void feed(ByteBuf content) throws IOException {
+            int length = content.readableBytes();
+            if (complete || length == 0) {
+                return;
+            }
+            ByteArrayFeeder feeder = parser.getNonBlockingInputFeeder();
+            // the parser copies any incomplete token, so a heap buffer can be fed without copying
+            if (content.hasArray()) {
+                feeder.feedInput(content.array(), content.arrayOffset() + content.readerIndex(), content.arrayOffset() + content.readerIndex() + length);
+            } else {
+                feeder.feedInput(ByteBufUtil.getBytes(content), 0, length);
+            }
+            readTokens();
+        }
+
+        /**
+         * Records the tokens available from the parser until the document is complete.
+         *
+         * @throws IOException If the content is not valid JSON
+         */
+        private void readTokens() throws IOException {
+            JsonToken token = parser.nextToken();
+            while (token != null && token != JsonToken.NOT_AVAILABLE) {
+                tokens.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (depth == 0) {
+                    complete = true;
+                    parser.getNonBlockingInputFeeder().endOfInput();
+                    break;
+                }
+                token = parser.nextToken();
+            }
+        }
+
+        /**
+         * Binds the recorded document to the body type. If the document cannot be bound it is returned as a
+         * {@link JsonNode} so that the failure is reported when the argument is converted, as it would have been
+         * had the tree been emitted.
+         *
+         * @return The body
+         * @throws IOException If the document is incomplete
+         */
+        Object bind() throws IOException {
+            try {
+                if (!complete) {
+                    // a scalar root value such as a number is only known to be complete at the end of the input
+                    parser.getNonBlockingInputFeeder().endOfInput();
+                    readTokens();
+                }
+                if (!complete) {
+                    throw new JsonEOFException(parser, JsonToken.NOT_AVAILABLE, "Unexpected end-of-input");
+                }
+                if (isBoundAsTree(bodyType.getType())) {
+                    // converted to the body type by the registered converters, as the emitted tree would have been
+                    return objectMapper.readTree(tokens.asParser(objectMapper));
+                }
+                JavaType javaType = JacksonConfiguration.constructType(bodyType, objectMapper.getTypeFactory());
+                try {
+                    return objectMapper.readValue(tokens.asParser(objectMapper), javaType);
+                } catch (JsonProcessingException e) {
+                    return objectMapper.readTree(tokens.asParser(objectMapper));
+                }
+            } finally {
+                tokens.close();
+                parser.close();
+            }
+        }
+    }
 }
@@ -16,7 +16,9 @@
 package io.micronaut.http.server.netty.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.server.HttpServerConfiguration;
@@ -24,6 +26,8 @@ import io.micronaut.http.server.netty.HttpContentProcessor;
 import io.micronaut.http.server.netty.HttpContentSubscriberFactory;
 import io.micronaut.http.server.netty.NettyHttpRequest;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Optional;
 
@@ -40,18 +44,39 @@ public class JsonHttpContentSubscriberFactory implements HttpContentSubscriberFa
 
     private final HttpServerConfiguration httpServerConfiguration;
     private final Optional<JsonFactory> jsonFactory;
+    private final ObjectMapper objectMapper;
 
     /**
      * @param httpServerConfiguration The Http server configuration
      * @param jsonFactory             The json factory
+     * @deprecated Use {@link #JsonHttpContentSubscriberFactory(HttpServerConfiguration, Optional, ObjectMapper)} instead
      */
+    @Deprecated
     public JsonHttpContentSubscriberFactory(HttpServerConfiguration httpServerConfiguration, Optional<JsonFactory> jsonFactory) {
+        this(httpServerConfiguration, jsonFactory, null);
+    }
+
+    /**
+     * @param httpServerConfiguration The Http server configuration
+     * @param jsonFactory             The json factory
+     * @param objectMapper            The object mapper used to bind bodies directly
+     */
+    @Inject
+    public JsonHttpContentSubscriberFactory(HttpServerConfiguration httpServerConfiguration,
+                                            Optional<JsonFactory> jsonFactory,
+                                            @Nullable ObjectMapper objectMapper) {
         this.httpServerConfiguration = httpServerConfiguration;
         this.jsonFactory = jsonFactory;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public HttpContentProcessor build(NettyHttpRequest request) {
         return new JsonContentProcessor(request, httpServerConfiguration, jsonFactory);
     }
+
+    @Override
+    public HttpContentProcessor build(NettyHttpRequest request, Argument<?> bodyType) {
+        return new JsonContentProcessor(request, httpServerConfiguration, jsonFactory, objectMapper, bodyType);
+    }
 }
@@ -18,11 +18,14 @@ package io.micronaut.http.server.netty.ssl;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.ssl.*;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLException;
 import java.security.KeyStore;
@@ -43,16 +46,30 @@ import static io.micronaut.core.util.StringUtils.TRUE;
 public class CertificateProvidedSslBuilder extends SslBuilder<SslContext> implements ServerSslBuilder {
 
     private final ServerSslConfiguration ssl;
+    private final NettyHttpServerConfiguration serverConfiguration;
     private KeyStore keyStoreCache = null;
     private KeyStore trustStoreCache = null;
 
     /**
      * @param ssl              The ssl configuration
      * @param resourceResolver The resource resolver
+     * @deprecated Use {@link #CertificateProvidedSslBuilder(ServerSslConfiguration, ResourceResolver, NettyHttpServerConfiguration)} instead
      */
+    @Deprecated
     public CertificateProvidedSslBuilder(ServerSslConfiguration ssl, ResourceResolver resourceResolver) {
+        this(ssl, resourceResolver, null);
+    }
+
+    /**
+     * @param ssl                 The ssl configuration
+     * @param resourceResolver    The resource resolver
+     * @param serverConfiguration The server configuration, used to configure HTTP/2 negotiation
+     */
+    @Inject
+    public CertificateProvidedSslBuilder(ServerSslConfiguration ssl, ResourceResolver resourceResolver, @Nullable NettyHttpServerConfiguration serverConfiguration) {
         super(resourceResolver);
         this.ssl = ssl;
+        this.serverConfiguration = serverConfiguration;
     }
 
     @Override
@@ -87,6 +104,8 @@ public class CertificateProvidedSslBuilder extends SslBuilder<SslContext> implem
             }
         }
 
+        Http2SslSupport.configure(sslBuilder, ssl, serverConfiguration);
+
         try {
             return Optional.of(sslBuilder.build());
         } catch (SSLException ex) {
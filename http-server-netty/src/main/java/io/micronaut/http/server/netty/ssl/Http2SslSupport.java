@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.ssl;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
+import io.micronaut.http.ssl.SslConfiguration;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configures an {@link SslContextBuilder} to negotiate HTTP/2 with ALPN when it is enabled.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class Http2SslSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Http2SslSupport.class);
+
+    private Http2SslSupport() {
+    }
+
+    /**
+     * Applies the ALPN configuration to the builder if HTTP/2 is enabled.
+     *
+     * @param sslBuilder        The SSL context builder
+     * @param ssl               The SSL configuration
+     * @param serverConfiguration The server configuration, can be null
+     */
+    static void configure(SslContextBuilder sslBuilder, SslConfiguration ssl, NettyHttpServerConfiguration serverConfiguration) {
+        if (serverConfiguration == null || !serverConfiguration.getHttp2().isEnabled()) {
+            return;
+        }
+        SslProvider provider;
+        if (SslProvider.isAlpnSupported(SslProvider.OPENSSL)) {
+            provider = SslProvider.OPENSSL;
+        } else if (SslProvider.isAlpnSupported(SslProvider.JDK)) {
+            provider = SslProvider.JDK;
+        } else {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("HTTP/2 is enabled but ALPN is not supported by the available SSL providers. Secure connections will only support HTTP/1.1");
+            }
+            return;
+        }
+        sslBuilder.sslProvider(provider);
+        if (!ssl.getCiphers().isPresent()) {
+            sslBuilder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+        }
+        sslBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2,
+                ApplicationProtocolNames.HTTP_1_1
+        ));
+    }
+}
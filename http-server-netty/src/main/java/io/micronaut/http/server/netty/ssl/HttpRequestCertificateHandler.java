@@ -42,7 +42,7 @@ public class HttpRequestCertificateHandler extends ChannelInboundHandlerAdapter
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
         if (msg instanceof HttpMessage) {
             HttpMessage<?> request = (HttpMessage<?>) msg;
-            Optional<Certificate> certificate = getCertificate(ctx.pipeline().get(SslHandler.class));
+            Optional<Certificate> certificate = getCertificate(findSslHandler(ctx));
 
             if (certificate.isPresent()) {
                 request.setAttribute(HttpAttributes.X509_CERTIFICATE, certificate.get());
@@ -53,6 +53,15 @@ public class HttpRequestCertificateHandler extends ChannelInboundHandlerAdapter
         }
     }
 
+    private static SslHandler findSslHandler(final ChannelHandlerContext ctx) {
+        SslHandler handler = ctx.pipeline().get(SslHandler.class);
+        if (handler == null && ctx.channel().parent() != null) {
+            // HTTP/2 streams are child channels of the connection that holds the SSL handler
+            handler = ctx.channel().parent().pipeline().get(SslHandler.class);
+        }
+        return handler;
+    }
+
     private static Optional<Certificate> getCertificate(final SslHandler handler) {
         if (handler == null) {
             return Optional.empty();
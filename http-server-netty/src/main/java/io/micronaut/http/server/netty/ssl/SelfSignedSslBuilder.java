@@ -18,6 +18,7 @@ package io.micronaut.http.server.netty.ssl;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.ssl.ServerSslConfiguration;
 import io.micronaut.http.ssl.SslBuilder;
 import io.micronaut.http.ssl.SslConfiguration;
@@ -26,6 +27,8 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLException;
 import java.security.cert.CertificateException;
@@ -45,14 +48,28 @@ import static io.micronaut.core.util.StringUtils.TRUE;
 public class SelfSignedSslBuilder extends SslBuilder<SslContext> implements ServerSslBuilder {
 
     private final ServerSslConfiguration ssl;
+    private final NettyHttpServerConfiguration serverConfiguration;
 
     /**
      * @param ssl              The SSL configuration
      * @param resourceResolver The resource resolver
+     * @deprecated Use {@link #SelfSignedSslBuilder(ServerSslConfiguration, ResourceResolver, NettyHttpServerConfiguration)} instead
      */
+    @Deprecated
     public SelfSignedSslBuilder(ServerSslConfiguration ssl, ResourceResolver resourceResolver) {
+        this(ssl, resourceResolver, null);
+    }
+
+    /**
+     * @param ssl                 The SSL configuration
+     * @param resourceResolver    The resource resolver
+     * @param serverConfiguration The server configuration, used to configure HTTP/2 negotiation
+     */
+    @Inject
+    public SelfSignedSslBuilder(ServerSslConfiguration ssl, ResourceResolver resourceResolver, @Nullable NettyHttpServerConfiguration serverConfiguration) {
         super(resourceResolver);
         this.ssl = ssl;
+        this.serverConfiguration = serverConfiguration;
     }
 
     @Override
@@ -70,7 +87,9 @@ public class SelfSignedSslBuilder extends SslBuilder<SslContext> implements Serv
     public Optional<SslContext> build(SslConfiguration ssl) {
         try {
             SelfSignedCertificate ssc = new SelfSignedCertificate();
-            return Optional.of(SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build());
+            SslContextBuilder sslBuilder = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey());
+            Http2SslSupport.configure(sslBuilder, ssl, serverConfiguration);
+            return Optional.of(sslBuilder.build());
         } catch (CertificateException | SSLException e) {
             throw new SslConfigurationException("Encountered an error while building a self signed certificate", e);
         }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.executor.AdaptiveExecutorService
+import io.reactivex.Flowable
+import io.reactivex.subscribers.TestSubscriber
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class AdaptiveExecutorSpec extends Specification {
+
+    void "test requests rejected by a saturated IO executor receive 503 with Retry-After"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': AdaptiveExecutorSpec.simpleName,
+                'micronaut.executors.io.type': 'adaptive',
+                'micronaut.executors.io.initial-concurrency': 1,
+                'micronaut.executors.io.min-concurrency': 1,
+                'micronaut.executors.io.max-concurrency': 1,
+                'micronaut.executors.io.max-queue-depth': 0,
+                'micronaut.executors.io.retry-after': '5s'
+        ])
+        RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.getURL())
+        SaturatedController controller = server.applicationContext.getBean(SaturatedController)
+
+        when:"a request occupies the only permit"
+        Future<String> blocked = client.retrieve("/saturated/block").firstElement().toFuture()
+
+        then:
+        controller.started.await(5, TimeUnit.SECONDS)
+
+        when:"another request arrives"
+        client.exchange("/saturated/block", String).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.SERVICE_UNAVAILABLE
+        e.response.header(HttpHeaders.RETRY_AFTER) == '5'
+
+        when:
+        controller.release.countDown()
+
+        then:
+        blocked.get(5, TimeUnit.SECONDS) == 'done'
+
+        cleanup:
+        controller?.release?.countDown()
+        client.close()
+        server.close()
+    }
+
+    void "test requests made after the subscription started are not rejected by a saturated executor"() {
+        given:
+        AdaptiveExecutorService executor = new AdaptiveExecutorService(Executors.newCachedThreadPool(), 1, 1, 1, 0, 2.0, Duration.ofSeconds(1))
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1)
+        CountDownLatch release = new CountDownLatch(1)
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:"the subscription runs on the executor"
+        RoutingInBoundHandler.subscribeOn(Flowable.range(1, 3), executor).subscribe(subscriber)
+
+        then:
+        subscriber.awaitCount(1)
+        conditions.eventually {
+            assert executor.inFlight == 0
+        }
+
+        when:"the executor is saturated before more items are requested"
+        executor.execute({ release.await(5, TimeUnit.SECONDS) })
+        subscriber.request(2)
+
+        then:
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS)
+        subscriber.assertValues(1, 2, 3)
+        subscriber.assertComplete()
+
+        cleanup:
+        release.countDown()
+        executor.shutdownNow()
+    }
+
+    @Requires(property = 'spec.name', value = 'AdaptiveExecutorSpec')
+    @Controller('/saturated')
+    static class SaturatedController {
+
+        final CountDownLatch started = new CountDownLatch(1)
+        final CountDownLatch release = new CountDownLatch(1)
+
+        @Get(value = '/block', produces = 'text/plain')
+        String block() {
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            'done'
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package io.micronaut.http.server.netty.binding
 
+import com.fasterxml.jackson.annotation.JsonCreator
 import com.fasterxml.jackson.core.JsonParseException
+import com.fasterxml.jackson.databind.JsonNode
 import groovy.json.JsonSlurper
 import io.reactivex.Flowable
 import io.reactivex.Single
 import io.reactivex.schedulers.Schedulers
+import io.micronaut.core.convert.value.ConvertibleValues
 import io.micronaut.http.HttpHeaders
 import io.micronaut.http.HttpRequest
 import io.micronaut.http.HttpResponse
@@ -97,6 +100,17 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
         response.body() == "Body: [title:The Stand]"
     }
 
+    void "test tree and convertible values body parsing"() {
+        when:
+        def json = '{"title":"The Stand"}'
+        def tree = rxClient.retrieve(HttpRequest.POST('/json/tree', json), String).blockingFirst()
+        def values = rxClient.retrieve(HttpRequest.POST('/json/values', json), String).blockingFirst()
+
+        then:
+        tree == "Title: The Stand"
+        values == "Title: The Stand"
+    }
+
     void "test simple string-based body parsing"() {
         when:
         def json = '{"title":"The Stand"}'
@@ -153,6 +167,48 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
         response.body() == "Body: Foo(Fred, 10)"
     }
 
+    void "test large POGO body parsing"() {
+        when:
+        def name = "Fred" * 50000
+        def json = '{"name":"' + name + '", "age":10}'
+        def response = rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        response.body() == "Body: Foo($name, 10)"
+    }
+
+    void "test incomplete POGO body"() {
+        when:
+        def json = '{"name":"Fred", "age":10'
+        rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.BAD_REQUEST
+    }
+
+    void "test scalar root body parsing"() {
+        when:
+        def response = rxClient.exchange(
+                HttpRequest.POST('/json/amount', '42'), String
+        ).blockingFirst()
+
+        then:
+        response.body() == "Body: Amount(42)"
+
+        when:
+        response = rxClient.exchange(
+                HttpRequest.POST('/json/colour', '"RED"'), String
+        ).blockingFirst()
+
+        then:
+        response.body() == "Body: RED"
+    }
+
     void "test simple POGO body parse and return"() {
         when:
         def json = '{"name":"Fred","age":10}'
@@ -327,11 +383,31 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
             "Body: ${json}"
         }
 
+        @Post("/tree")
+        String tree(@Body JsonNode json) {
+            "Title: ${json.get('title').asText()}"
+        }
+
+        @Post("/values")
+        String values(@Body ConvertibleValues<Object> json) {
+            "Title: ${json.get('title', String).orElse(null)}"
+        }
+
         @Post("/object")
         String object(@Body Foo foo) {
             "Body: $foo"
         }
 
+        @Post("/amount")
+        String amount(@Body Amount amount) {
+            "Body: $amount"
+        }
+
+        @Post("/colour")
+        String colour(@Body Colour colour) {
+            "Body: $colour"
+        }
+
         @Post("/object-to-object")
         Foo objectToObject(@Body Foo foo) {
             return foo
@@ -420,4 +496,22 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
             "Foo($name, $age)"
         }
     }
+
+    static class Amount {
+        final int value
+
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        Amount(int value) {
+            this.value = value
+        }
+
+        @Override
+        String toString() {
+            "Amount($value)"
+        }
+    }
+
+    static enum Colour {
+        RED, GREEN
+    }
 }
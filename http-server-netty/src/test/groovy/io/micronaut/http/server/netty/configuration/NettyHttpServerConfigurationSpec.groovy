@@ -165,4 +165,37 @@ class NettyHttpServerConfigurationSpec extends Specification {
         beanContext.close()
     }
 
+    void "test http2 configuration"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.server.netty.http2.enabled': true,
+                'micronaut.server.netty.http2.max-concurrent-streams': 100,
+                'micronaut.server.netty.http2.initial-window-size': '128KB',
+                'micronaut.server.netty.http2.max-frame-size': 32768
+        )
+
+        when:
+        NettyHttpServerConfiguration config = ctx.getBean(NettyHttpServerConfiguration)
+
+        then:
+        config.http2.enabled
+        config.http2.maxConcurrentStreams.get() == 100
+        config.http2.initialWindowSize.get() == 128 * 1024
+        config.http2.maxFrameSize.get() == 32768
+        !config.http2.maxHeaderListSize.isPresent()
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test http2 is disabled by default"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run()
+
+        expect:
+        !ctx.getBean(NettyHttpServerConfiguration).http2.enabled
+
+        cleanup:
+        ctx.close()
+    }
 }
@@ -0,0 +1,130 @@
+package io.micronaut.http.server.netty.http2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.bootstrap.Bootstrap
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelInboundHandlerAdapter
+import io.netty.channel.ChannelInitializer
+import io.netty.channel.EventLoopGroup
+import io.netty.channel.SimpleChannelInboundHandler
+import io.netty.channel.nio.NioEventLoopGroup
+import io.netty.channel.socket.nio.NioSocketChannel
+import io.netty.handler.codec.http.DefaultFullHttpRequest
+import io.netty.handler.codec.http.FullHttpResponse
+import io.netty.handler.codec.http.HttpHeaderNames
+import io.netty.handler.codec.http.HttpMethod
+import io.netty.handler.codec.http.HttpObjectAggregator
+import io.netty.handler.codec.http.HttpResponseStatus
+import io.netty.handler.codec.http.HttpVersion
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder
+import io.netty.handler.codec.http2.Http2StreamChannel
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec
+import io.netty.handler.codec.http2.HttpConversionUtil
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class Http2Spec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': Http2Spec.simpleName,
+            'micronaut.server.netty.http2.enabled': true,
+            'micronaut.server.netty.http2.max-concurrent-streams': 50
+    ])
+    @Shared @AutoCleanup RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.getURL())
+
+    void "test HTTP/1.1 requests are still served when HTTP/2 is enabled"() {
+        expect:
+        client.toBlocking().retrieve(HttpRequest.GET('/http2/hello')) == 'Hello HTTP/2'
+    }
+
+    void "test concurrent HTTP/2 streams with prior knowledge"() {
+        given:
+        EventLoopGroup group = new NioEventLoopGroup(1)
+        Channel channel = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(Http2MultiplexCodecBuilder.forClient(new ChannelInboundHandlerAdapter()).build())
+                    }
+                })
+                .connect(server.host, server.port)
+                .sync()
+                .channel()
+
+        when:
+        List<CompletableFuture<FullHttpResponse>> responses = (1..3).collect { int i ->
+            sendRequest(channel, "/http2/hello/$i")
+        }
+
+        then:
+        responses.collect { CompletableFuture<FullHttpResponse> future ->
+            FullHttpResponse response = future.get(10, TimeUnit.SECONDS)
+            assert response.status() == HttpResponseStatus.OK
+            String body = response.content().toString(StandardCharsets.UTF_8)
+            response.release()
+            body
+        } == ['Hello 1', 'Hello 2', 'Hello 3']
+
+        cleanup:
+        channel?.close()
+        group.shutdownGracefully()
+    }
+
+    private CompletableFuture<FullHttpResponse> sendRequest(Channel channel, String uri) {
+        CompletableFuture<FullHttpResponse> future = new CompletableFuture<>()
+        Http2StreamChannel stream = new Http2StreamChannelBootstrap(channel).handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false))
+                ch.pipeline().addLast(new HttpObjectAggregator(1024))
+                ch.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+                        future.complete(msg.retain())
+                    }
+
+                    @Override
+                    void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+                        future.completeExceptionally(cause)
+                    }
+                })
+            }
+        }).open().sync().getNow()
+
+        def request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri)
+        request.headers().set(HttpHeaderNames.HOST, "localhost")
+        request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), "http")
+        stream.writeAndFlush(request)
+        return future
+    }
+
+    @Requires(property = 'spec.name', value = 'Http2Spec')
+    @Controller('/http2')
+    static class Http2Controller {
+
+        @Get('/hello')
+        String hello() {
+            'Hello HTTP/2'
+        }
+
+        @Get('/hello/{id}')
+        String helloId(Integer id) {
+            "Hello $id"
+        }
+    }
+}
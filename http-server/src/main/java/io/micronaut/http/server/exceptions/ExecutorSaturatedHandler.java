@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.exceptions;
+
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.http.hateoas.Link;
+import io.micronaut.scheduling.exceptions.ExecutorSaturatedException;
+
+import javax.inject.Singleton;
+import java.time.Duration;
+
+/**
+ * Default handle for {@link ExecutorSaturatedException} errors, which responds with 503 and a {@code Retry-After}
+ * header so that clients back off whilst the server sheds load.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+@Primary
+@Produces
+public class ExecutorSaturatedHandler implements ExceptionHandler<ExecutorSaturatedException, HttpResponse> {
+
+    @Override
+    public HttpResponse handle(HttpRequest request, ExecutorSaturatedException exception) {
+        JsonError error = new JsonError("Service Unavailable: " + exception.getMessage());
+        error.link(Link.SELF, Link.of(request.getUri()));
+
+        Duration retryAfter = exception.getRetryAfter();
+        long seconds = retryAfter != null ? Math.max(1, (retryAfter.toMillis() + 999) / 1000) : 1;
+        return HttpResponse
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+            .body(error);
+    }
+}
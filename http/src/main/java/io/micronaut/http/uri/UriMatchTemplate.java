@@ -24,6 +24,10 @@ import java.util.stream.Collectors;
  * Extends {@link UriTemplate} and adds the ability to match a URI to a given template using the
  * {@link #match(java.net.URI)} method.
  *
+ * <p>Templates that only consist of raw content and unconstrained variables are matched by scanning the URI
+ * directly. Templates that contain variables constrained by a regular expression are matched with the regular
+ * expression built from the template.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -34,6 +38,9 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
     protected List<UriMatchVariable> variables;
     private final Pattern matchPattern;
     private final boolean isRoot;
+    private final String literalPrefix;
+    private UriSegmentMatcher segmentMatcher;
+    private UriSegmentMatcher.Builder segmentMatcherBuilder;
 
     /**
      * Construct a new URI template for the given template.
@@ -56,8 +63,14 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         String tmpl = templateString.toString();
         int len = tmpl.length();
         this.isRoot = len == 0 || (len == 1 && tmpl.charAt(0) == '/');
+        this.literalPrefix = resolveLiteralPrefix(matchPattern.pattern());
+        if (!PATTERN_SCHEME.matcher(tmpl).matches()) {
+            // full URIs are parsed in several passes, only the regular expression of the last pass is retained
+            this.segmentMatcher = segmentMatcherBuilder != null ? segmentMatcherBuilder.build() : new UriSegmentMatcher.Builder().build();
+        }
         // cleanup / reduce memory consumption
         this.pattern = null;
+        this.segmentMatcherBuilder = null;
     }
 
     /**
@@ -73,6 +86,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         String tmpl = templateString.toString();
         int len = tmpl.length();
         this.isRoot = len == 0 || (len == 1 && tmpl.charAt(0) == '/');
+        this.literalPrefix = resolveLiteralPrefix(matchPattern.pattern());
     }
 
     /**
@@ -100,6 +114,18 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return Collections.unmodifiableList(variables);
     }
 
+    /**
+     * Returns the raw content that precedes the first variable of this template. Any URI matched
+     * by this template starts with this prefix, which allows routers to index templates by their
+     * literal content without evaluating the match expression.
+     *
+     * @return The literal prefix, possibly empty
+     * @since 1.3.0
+     */
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
     /**
      * Returns the path string excluding any query variables.
      *
@@ -133,18 +159,25 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         if (uri == null) {
             throw new IllegalArgumentException("Argument 'uri' cannot be null");
         }
-        if (uri.length() > 1 && uri.charAt(uri.length() - 1) == '/') {
-            uri = uri.substring(0, uri.length() - 1);
+        int len = uri.length();
+        if (len > 1 && uri.charAt(len - 1) == '/') {
+            len--;
         }
 
-        int len = uri.length();
         if (isRoot && (len == 0 || (len == 1 && uri.charAt(0) == '/'))) {
             return Optional.of(new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables));
         }
         //Remove any url parameters before matching
         int parameterIndex = uri.indexOf('?');
         if (parameterIndex > -1) {
-            uri = uri.substring(0, parameterIndex);
+            len = parameterIndex;
+        }
+        UriSegmentMatcher segmentMatcher = this.segmentMatcher;
+        if (segmentMatcher != null) {
+            return segmentMatcher.match(uri, len, variables);
+        }
+        if (len != uri.length()) {
+            uri = uri.substring(0, len);
         }
         Matcher matcher = matchPattern.matcher(uri);
         if (matcher.matches()) {
@@ -183,11 +216,45 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return new UriMatchTemplate(uri);
     }
 
+    /**
+     * Resolves the literal prefix from the leading quoted sections of the match pattern.
+     *
+     * @param regex The match pattern
+     * @return The literal prefix
+     */
+    private static String resolveLiteralPrefix(String regex) {
+        StringBuilder prefix = new StringBuilder();
+        int i = 0;
+        while (regex.startsWith("\\Q", i)) {
+            int end = regex.indexOf("\\E", i + 2);
+            if (end == -1) {
+                break;
+            }
+            prefix.append(regex, i + 2, end);
+            i = end + 2;
+        }
+        return prefix.toString();
+    }
+
     @Override
     protected UriTemplate newUriTemplate(CharSequence uriTemplate, List<PathSegment> newSegments) {
         Pattern newPattern = Pattern.compile(this.matchPattern.toString() + pattern.toString());
         pattern = null;
-        return newUriMatchTemplate(normalizeNested(toString(), uriTemplate), newSegments, newPattern, new ArrayList<>(variables));
+        UriSegmentMatcher newSegmentMatcher = segmentMatcher != null ? segmentMatcher.append(segmentMatcherBuilder) : null;
+        segmentMatcherBuilder = null;
+        UriMatchTemplate newTemplate = newUriMatchTemplate(normalizeNested(toString(), uriTemplate), newSegments, newPattern, new ArrayList<>(variables));
+        newTemplate.segmentMatcher = newSegmentMatcher;
+        return newTemplate;
+    }
+
+    /**
+     * @return The builder for the segment matcher of the template currently being parsed
+     */
+    private UriSegmentMatcher.Builder getSegmentMatcherBuilder() {
+        if (segmentMatcherBuilder == null) {
+            segmentMatcherBuilder = new UriSegmentMatcher.Builder();
+        }
+        return segmentMatcherBuilder;
     }
 
     @Override
@@ -287,6 +354,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         @Override
         protected void addRawContentSegment(List<PathSegment> segments, String value, boolean isQuerySegment) {
             matchTemplate.pattern.append(Pattern.quote(value));
+            matchTemplate.getSegmentMatcherBuilder().addLiteral(value);
             super.addRawContentSegment(segments, value, isQuerySegment);
         }
 
@@ -309,6 +377,7 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             String operatorQuantifier = "";
             String variableQuantifier = "+?)";
             String variablePattern = getVariablePattern(variable, operator);
+            matchTemplate.getSegmentMatcherBuilder().addVariable(variable, variablePattern, modifierStr, modifierChar, operator);
             if (hasModifier) {
                 char firstChar = modifierStr.charAt(0);
                 if (firstChar == '?') {
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.uri;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>Matches a URI against the segments of a {@link UriMatchTemplate} by scanning the characters
+ * of the URI directly rather than evaluating a regular expression.</p>
+ *
+ * <p>Only literal segments and variables that use one of the default variable patterns are supported,
+ * optionally with a prefix operator ({@code /} or {@code .}), a maximum length ({@code {var:3}}) or the
+ * optional modifier ({@code {var:?}}). Query variables do not participate in matching. Templates with
+ * variables constrained by a regular expression are matched by the regular expression of the template.</p>
+ *
+ * <p>The search follows the same order as the equivalent regular expression: variables are reluctant
+ * unless a maximum length is specified, and optional variables are attempted before they are skipped.
+ * This guarantees that the resolved variable values are identical.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class UriSegmentMatcher {
+
+    private static final int CLASS_DEFAULT = 0;
+    private static final int CLASS_NON_WHITESPACE = 1;
+    private static final int CLASS_DIGITS = 2;
+    private static final int CLASS_DECIMAL = 3;
+    private static final int[] NO_CAPTURES = new int[0];
+    private static final String DEFAULT_VARIABLE_PATTERN = "([^\\/\\?#&;\\+]";
+    private static final String NON_WHITESPACE_VARIABLE_PATTERN = "([\\S]";
+    private static final String DIGITS_VARIABLE_PATTERN = "([\\d+]";
+    private static final String DECIMAL_VARIABLE_PATTERN = "([\\d\\.+]";
+
+    private final Segment[] segments;
+    private final String[] variableNames;
+    private final boolean queryVariableSeen;
+
+    /**
+     * @param segments          The segments
+     * @param variableNames     The names of the capturing variables
+     * @param queryVariableSeen Whether the template declares query variables
+     */
+    private UriSegmentMatcher(Segment[] segments, String[] variableNames, boolean queryVariableSeen) {
+        this.segments = segments;
+        this.variableNames = variableNames;
+        this.queryVariableSeen = queryVariableSeen;
+    }
+
+    /**
+     * Matches the given URI up to the given end index.
+     *
+     * @param uri       The URI
+     * @param end       The index to stop matching at. Any remaining characters are ignored
+     * @param variables The variables of the template
+     * @return The match info if the URI matches
+     */
+    Optional<UriMatchInfo> match(String uri, int end, List<UriMatchVariable> variables) {
+        if (segments.length > 0) {
+            String literal = segments[0].literal;
+            if (literal != null && (literal.length() > end || !uri.startsWith(literal))) {
+                return Optional.empty();
+            }
+        }
+        int[] captures = variableNames.length == 0 ? NO_CAPTURES : new int[variableNames.length * 2];
+        if (matchFrom(uri, end, 0, 0, captures)) {
+            String matched = end == uri.length() ? uri : uri.substring(0, end);
+            return Optional.of(new SegmentMatchInfo(matched, variableNames, captures, variables));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a new matcher that matches the segments of this matcher followed by the segments of the given builder.
+     *
+     * @param builder The builder for the nested segments
+     * @return The matcher or {@code null} if the nested segments are not supported
+     */
+    UriSegmentMatcher append(Builder builder) {
+        if (builder == null) {
+            return this;
+        }
+        if (!builder.supported) {
+            return null;
+        }
+        if (queryVariableSeen && !builder.variableNames.isEmpty()) {
+            // the variable values of the regular expression are resolved by position
+            return null;
+        }
+        Builder combined = new Builder();
+        combined.segments.addAll(Arrays.asList(segments));
+        combined.variableNames.addAll(Arrays.asList(variableNames));
+        combined.queryVariableSeen = queryVariableSeen || builder.queryVariableSeen;
+        for (Segment segment : builder.segments) {
+            if (segment.literal != null) {
+                combined.addLiteral(segment.literal);
+            } else {
+                combined.addVariable(segment.name, segment.prefix, segment.charClass, segment.maxLength, segment.optional);
+            }
+        }
+        return combined.build();
+    }
+
+    private boolean matchFrom(String uri, int end, int index, int pos, int[] captures) {
+        if (index == segments.length) {
+            return pos == end;
+        }
+        Segment segment = segments[index];
+        String literal = segment.literal;
+        if (literal != null) {
+            int len = literal.length();
+            return pos + len <= end &&
+                    uri.regionMatches(pos, literal, 0, len) &&
+                    matchFrom(uri, end, index + 1, pos + len, captures);
+        }
+        if (matchVariable(segment, uri, end, index, pos, captures)) {
+            return true;
+        }
+        if (segment.optional) {
+            captures[segment.variableIndex * 2] = -1;
+            captures[segment.variableIndex * 2 + 1] = -1;
+            return matchFrom(uri, end, index + 1, pos, captures);
+        }
+        return false;
+    }
+
+    private boolean matchVariable(Segment segment, String uri, int end, int index, int pos, int[] captures) {
+        int start = pos;
+        if (segment.prefix != 0) {
+            if (pos >= end || uri.charAt(pos) != segment.prefix) {
+                return false;
+            }
+            start++;
+        }
+        int captureIndex = segment.variableIndex * 2;
+        captures[captureIndex] = start;
+        if (segment.maxLength > 0) {
+            // bounded quantifiers are greedy, start with the longest candidate
+            int count = 0;
+            int p = start;
+            while (count < segment.maxLength && p < end) {
+                int cp = uri.codePointAt(p);
+                if (!accepts(segment.charClass, cp)) {
+                    break;
+                }
+                p += Character.charCount(cp);
+                count++;
+            }
+            while (count > 0) {
+                captures[captureIndex + 1] = p;
+                if (matchFrom(uri, end, index + 1, p, captures)) {
+                    return true;
+                }
+                p = previousCodePoint(uri, start, p);
+                count--;
+            }
+        } else {
+            // unbounded quantifiers are reluctant, start with the shortest candidate
+            int p = start;
+            while (p < end) {
+                int cp = uri.codePointAt(p);
+                if (!accepts(segment.charClass, cp)) {
+                    return false;
+                }
+                p += Character.charCount(cp);
+                captures[captureIndex + 1] = p;
+                if (matchFrom(uri, end, index + 1, p, captures)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int previousCodePoint(String uri, int start, int pos) {
+        if (pos - 2 >= start && Character.isLowSurrogate(uri.charAt(pos - 1)) && Character.isHighSurrogate(uri.charAt(pos - 2))) {
+            return pos - 2;
+        }
+        return pos - 1;
+    }
+
+    private static boolean accepts(int charClass, int cp) {
+        switch (charClass) {
+            case CLASS_NON_WHITESPACE:
+                switch (cp) {
+                    case ' ':
+                    case '\t':
+                    case '\n':
+                    case '\u000B':
+                    case '\f':
+                    case '\r':
+                        return false;
+                    default:
+                        return true;
+                }
+            case CLASS_DIGITS:
+                return (cp >= '0' && cp <= '9') || cp == '+';
+            case CLASS_DECIMAL:
+                return (cp >= '0' && cp <= '9') || cp == '+' || cp == '.';
+            default:
+                switch (cp) {
+                    case '/':
+                    case '?':
+                    case '#':
+                    case '&':
+                    case ';':
+                    case '+':
+                        return false;
+                    default:
+                        return true;
+                }
+        }
+    }
+
+    /**
+     * Resolves the character class for the given variable pattern.
+     *
+     * @param variablePattern The variable pattern
+     * @return The character class or -1 if the pattern is not supported
+     */
+    private static int resolveCharClass(String variablePattern) {
+        switch (variablePattern) {
+            case DEFAULT_VARIABLE_PATTERN:
+                return CLASS_DEFAULT;
+            case NON_WHITESPACE_VARIABLE_PATTERN:
+                return CLASS_NON_WHITESPACE;
+            case DIGITS_VARIABLE_PATTERN:
+                return CLASS_DIGITS;
+            case DECIMAL_VARIABLE_PATTERN:
+                return CLASS_DECIMAL;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * A literal or variable segment.
+     */
+    private static final class Segment {
+        final String literal;
+        final String name;
+        final char prefix;
+        final int charClass;
+        final int maxLength;
+        final boolean optional;
+        final int variableIndex;
+
+        Segment(String literal) {
+            this(literal, null, (char) 0, CLASS_DEFAULT, 0, false, -1);
+        }
+
+        Segment(String literal, String name, char prefix, int charClass, int maxLength, boolean optional, int variableIndex) {
+            this.literal = literal;
+            this.name = name;
+            this.prefix = prefix;
+            this.charClass = charClass;
+            this.maxLength = maxLength;
+            this.optional = optional;
+            this.variableIndex = variableIndex;
+        }
+    }
+
+    /**
+     * Builds a matcher from the parsed segments of a template. Receives the same callbacks
+     * as those that build the regular expression in {@link UriMatchTemplate.UriMatchTemplateParser}.
+     */
+    static final class Builder {
+        private final List<Segment> segments = new ArrayList<>();
+        private final List<String> variableNames = new ArrayList<>();
+        private boolean supported = true;
+        private boolean queryVariableSeen = false;
+
+        /**
+         * @param value The raw value
+         */
+        void addLiteral(String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            int last = segments.size() - 1;
+            if (last > -1 && segments.get(last).literal != null) {
+                segments.set(last, new Segment(segments.get(last).literal + value));
+            } else {
+                segments.add(new Segment(value));
+            }
+        }
+
+        /**
+         * @param variable        The variable name
+         * @param variablePattern The pattern resolved for the variable
+         * @param modifierStr     The modifier string
+         * @param modifierChar    The modifier char
+         * @param operator        The operator
+         */
+        void addVariable(String variable, String variablePattern, String modifierStr, char modifierChar, char operator) {
+            if (!supported) {
+                return;
+            }
+            switch (operator) {
+                case '.':
+                case '/':
+                case '+':
+                case '0':
+                    break;
+                default:
+                    // query variables are not considered for matching, however the optional modifier changes the pattern
+                    queryVariableSeen = true;
+                    supported = !"?".equals(modifierStr);
+                    return;
+            }
+            int charClass = resolveCharClass(variablePattern);
+            if (queryVariableSeen || charClass == -1) {
+                supported = false;
+                return;
+            }
+            int maxLength = 0;
+            boolean optionalModifier = false;
+            if (modifierChar == ':' && modifierStr.length() > 0) {
+                if (modifierStr.charAt(0) == '?') {
+                    if (modifierStr.length() > 1) {
+                        supported = false;
+                        return;
+                    }
+                    optionalModifier = true;
+                } else if (modifierStr.chars().allMatch(Character::isDigit)) {
+                    try {
+                        maxLength = Integer.parseInt(modifierStr);
+                    } catch (NumberFormatException e) {
+                        maxLength = 0;
+                    }
+                    if (maxLength < 1) {
+                        supported = false;
+                        return;
+                    }
+                } else {
+                    // constrained by a regular expression
+                    supported = false;
+                    return;
+                }
+            }
+            char prefix = operator == '/' || operator == '.' ? operator : 0;
+            addVariable(variable, prefix, charClass, maxLength, operator == '/' || optionalModifier);
+        }
+
+        private void addVariable(String name, char prefix, int charClass, int maxLength, boolean optional) {
+            segments.add(new Segment(null, name, prefix, charClass, maxLength, optional, variableNames.size()));
+            variableNames.add(name);
+        }
+
+        /**
+         * @return The matcher or {@code null} if the template is not supported
+         */
+        UriSegmentMatcher build() {
+            if (!supported) {
+                return null;
+            }
+            return new UriSegmentMatcher(
+                    segments.toArray(new Segment[0]),
+                    variableNames.toArray(new String[0]),
+                    queryVariableSeen
+            );
+        }
+    }
+
+    /**
+     * A {@link UriMatchInfo} that resolves the variable values from the captured offsets on demand.
+     */
+    private static final class SegmentMatchInfo extends UriMatchTemplate.DefaultUriMatchInfo {
+        private final String[] variableNames;
+        private final int[] captures;
+        private Map<String, Object> variableValues;
+
+        SegmentMatchInfo(String uri, String[] variableNames, int[] captures, List<UriMatchVariable> variables) {
+            super(uri, null, variables);
+            this.variableNames = variableNames;
+            this.captures = captures;
+        }
+
+        @Override
+        public Map<String, Object> getVariableValues() {
+            Map<String, Object> values = this.variableValues;
+            if (values == null) {
+                if (variableNames.length == 0) {
+                    values = Collections.emptyMap();
+                } else {
+                    String uri = getUri();
+                    values = new LinkedHashMap<>(variableNames.length);
+                    for (int i = 0; i < variableNames.length; i++) {
+                        int start = captures[i * 2];
+                        values.put(variableNames[i], start < 0 ? null : uri.substring(start, captures[i * 2 + 1]));
+                    }
+                }
+                this.variableValues = values;
+            }
+            return values;
+        }
+    }
+}
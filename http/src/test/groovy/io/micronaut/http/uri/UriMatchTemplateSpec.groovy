@@ -45,6 +45,24 @@ class UriMatchTemplateSpec extends Specification {
 
     }
 
+    @Unroll
+    void "test literal prefix for #template"() {
+        expect:
+        new UriMatchTemplate(template).getLiteralPrefix() == prefix
+        new UriMatchTemplate(template).nest(nested).getLiteralPrefix() == nestedPrefix
+
+        where:
+        template             | prefix          | nested      | nestedPrefix
+        "/"                  | "/"             | "/books"    | "/books"
+        "/books"             | "/books"        | "{/id}"     | "/books"
+        "/books/{id}"        | "/books/"       | "/authors"  | "/books/"
+        "/books{/id}"        | "/books"        | "/authors"  | "/books"
+        "/books/{id:\\d+}"   | "/books/"       | "/authors"  | "/books/"
+        "/books/list"        | "/books/list"   | "/authors"  | "/books/list/authors"
+        "{+path}"            | ""              | "/authors"  | ""
+        "/books{?max}"       | "/books"        | "/authors"  | "/books/authors"
+    }
+
     @Unroll
     void "Test URI template #template matches #uri when nested with #nested"() {
         given:
@@ -133,6 +151,38 @@ class UriMatchTemplateSpec extends Specification {
         "/books{#hashtag}"               | "/books"                   | true    | [:]
     }
 
+    @Unroll
+    void "Test URI template #template resolves the variables of #uri"() {
+        given:
+        UriMatchTemplate matchTemplate = new UriMatchTemplate(template)
+        Optional<UriMatchInfo> info = matchTemplate.match(uri)
+
+        expect:
+        info.isPresent() == matches
+        info.orElse(null)?.variableValues == variables
+        info.orElse(null)?.uri == matchedUri
+
+        where:
+        template              | uri                  | matches | variables                     | matchedUri
+        "/{name}.{ext}"       | "/foo.bar.json"      | true    | [name: 'foo', ext: 'bar.json'] | "/foo.bar.json"
+        "/{name}.json"        | "/foo.bar.json"      | true    | [name: 'foo.bar']             | "/foo.bar.json"
+        "/{a:2}{b}"           | "/abcd"              | true    | [a: 'ab', b: 'cd']            | "/abcd"
+        "/{a}-{b:2}-{c}"      | "/x-y-z-w"           | true    | [a: 'x', b: 'y', c: 'z-w']    | "/x-y-z-w"
+        "/files/{+path}.json" | "/files/a/b.c.json"  | true    | [path: 'a/b.c']               | "/files/a/b.c.json"
+        "/books/{id}"         | "/books/1?max=10"    | true    | [id: '1']                     | "/books/1"
+        "/books/{id}"         | "/books/1/?max=10"   | false   | null                          | null
+        "/books/{id}"         | "/books/1;x"         | false   | null                          | null
+    }
+
+    void "Test variable values are resolved once"() {
+        given:
+        UriMatchInfo info = new UriMatchTemplate("/books/{id}").match("/books/1").get()
+
+        expect:
+        info.variableValues == [id: '1']
+        info.variableValues.is(info.variableValues)
+    }
+
     @Unroll
     void "Test URI template #template matches #uri with trailing slash"() {
         given:
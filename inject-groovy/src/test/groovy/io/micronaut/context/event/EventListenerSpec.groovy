@@ -19,6 +19,8 @@ import io.micronaut.context.BeanContext
 import spock.lang.Specification
 
 import javax.inject.Singleton
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author Graeme Rocher
@@ -50,10 +52,74 @@ class EventListenerSpec extends Specification {
 
     }
 
+    void "test receive event asynchronously"() {
+        given:
+        BeanContext context = BeanContext.run()
+        MyListener listener = context.getBean(MyListener)
+
+        when:
+        def futures = (1..10).collect { context.publishEventAsync(new FooEvent()) }
+        futures.each { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        listener.count == 10
+
+        cleanup:
+        context.close()
+    }
+
+    void "test stopping the context publishes the queued asynchronous events"() {
+        given:
+        BeanContext context = BeanContext.run()
+        SlowListener listener = new SlowListener()
+        context.registerSingleton(listener)
+
+        when:
+        def futures = (1..5).collect { context.publishEventAsync(new BazEvent()) }
+        context.close()
+
+        then:
+        futures.every { it.isDone() && !it.isCompletedExceptionally() }
+        listener.count.get() == 5
+    }
+
+    void "test the default asynchronous publishing delegates to synchronous publishing"() {
+        given:
+        List<Object> published = Collections.synchronizedList([])
+        ApplicationEventPublisher publisher = { Object event -> published.add(event) } as ApplicationEventPublisher
+        FooEvent event = new FooEvent()
+
+        when:
+        publisher.publishEventAsync(event).get(5, TimeUnit.SECONDS)
+
+        then:
+        published == [event]
+    }
+
+    void "test listeners registered after publishing receive events"() {
+        given:
+        BeanContext context = BeanContext.run()
+        context.publishEvent(new BarEvent())
+        SecondListener second = context.getBean(SecondListener)
+        ThirdListener third = new ThirdListener()
+
+        when:
+        context.registerSingleton(third)
+        context.publishEvent(new BarEvent())
+
+        then:
+        second.count == 2
+        third.count == 1
+
+        cleanup:
+        context.close()
+    }
+
 }
 
 class FooEvent {}
 class BarEvent {}
+class BazEvent {}
 
 @Singleton
 class MyListener implements ApplicationEventListener<FooEvent> {
@@ -76,3 +142,22 @@ class SecondListener implements ApplicationEventListener<BarEvent> {
         event != null
     }
 }
+
+class ThirdListener implements ApplicationEventListener<BarEvent> {
+
+    int count = 0
+    @Override
+    void onApplicationEvent(BarEvent event) {
+        count++
+    }
+}
+
+class SlowListener implements ApplicationEventListener<BazEvent> {
+
+    AtomicInteger count = new AtomicInteger()
+    @Override
+    void onApplicationEvent(BazEvent event) {
+        Thread.sleep(20)
+        count.incrementAndGet()
+    }
+}
@@ -17,9 +17,11 @@ package io.micronaut.inject.concurrency
 
 import io.micronaut.context.BeanContext
 import io.micronaut.context.DefaultBeanContext
+import io.micronaut.context.exceptions.CircularDependencyException
 import spock.lang.Specification
 
 import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
 
 class JavaConcurrentSingleAccessSpec extends Specification {
 
@@ -44,4 +46,76 @@ class JavaConcurrentSingleAccessSpec extends Specification {
         then:
         beans.unique().size() == 1
     }
+
+    void "test that unrelated singletons are created concurrently"() {
+        given:
+        BeanContext context = new DefaultBeanContext()
+        context.start()
+        ConcurrentC.creating = new CountDownLatch(2)
+        ConcurrentD.creating = ConcurrentC.creating
+
+        when:
+        ConcurrentC c = null
+        ConcurrentD d = null
+        def threads = [
+                Thread.start { c = context.getBean(ConcurrentC) },
+                Thread.start { d = context.getBean(ConcurrentD) }
+        ]
+        for(Thread t in threads) {
+            t.join()
+        }
+
+        then:
+        c.concurrent
+        d.concurrent
+        context.getBean(ConcurrentC).is(c)
+        context.getBean(ConcurrentD).is(d)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test that a field injection cycle requested from two threads fails as it would on a single thread"() {
+        given:
+        BeanContext context = new DefaultBeanContext()
+        context.start()
+        ConcurrentE.creating = new CountDownLatch(2)
+        ConcurrentF.creating = ConcurrentE.creating
+
+        when:
+        Collection errors = new ConcurrentLinkedQueue<>()
+        def threads = [
+                Thread.start {
+                    try {
+                        context.getBean(ConcurrentE)
+                    } catch (Throwable e) {
+                        errors.add(e)
+                    }
+                },
+                Thread.start {
+                    try {
+                        context.getBean(ConcurrentF)
+                    } catch (Throwable e) {
+                        errors.add(e)
+                    }
+                }
+        ]
+        for(Thread t in threads) {
+            t.join(10000)
+        }
+
+        then:"the cycle is detected without waiting and each thread fails as it would on its own"
+        threads.every { !it.alive }
+        errors.size() == 2
+        errors.every { it instanceof CircularDependencyException }
+
+        when:"the cycle is resolved on a single thread"
+        context.getBean(ConcurrentE)
+
+        then:"the same error is reported"
+        thrown(CircularDependencyException)
+
+        cleanup:
+        context.close()
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.parallel
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.Specification
+
+class ParallelStartupSpec extends Specification {
+
+    void "test context beans are initialized with parallel startup"() {
+        given:
+        ParallelStartupDependency.CREATED.set(0)
+        ApplicationContext ctx = ApplicationContext.build()
+                .properties('parallel.startup.enabled': true)
+                .parallelStartup(true)
+                .start()
+
+        expect:
+        ctx.getActiveBeanRegistrations(ParallelStartupA).size() == 1
+        ctx.getActiveBeanRegistrations(ParallelStartupB).size() == 1
+        ctx.getBean(ParallelStartupA).dependency.is(ctx.getBean(ParallelStartupB).dependency)
+        ParallelStartupDependency.CREATED.get() == 1
+        ctx.getBean(ParallelStartupA).thread.startsWith('micronaut-startup-')
+
+        cleanup:
+        ctx.close()
+    }
+}
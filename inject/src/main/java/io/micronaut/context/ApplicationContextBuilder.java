@@ -118,6 +118,18 @@ public interface ApplicationContextBuilder {
      */
     @Nonnull ApplicationContextBuilder classLoader(@Nullable ClassLoader classLoader);
 
+    /**
+     * Whether to load bean definitions and initialize eager singletons in parallel on startup. Builders that do not
+     * support parallel startup ignore this setting.
+     *
+     * @param parallelStartup True if startup should be parallel
+     * @return This builder
+     * @since 1.3.0
+     */
+    default @Nonnull ApplicationContextBuilder parallelStartup(boolean parallelStartup) {
+        return this;
+    }
+
     /**
      * Builds the {@link ApplicationContext}, but does not start it.
      *
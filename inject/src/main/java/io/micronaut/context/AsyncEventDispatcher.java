@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.context.exceptions.BeanContextException;
+import io.micronaut.core.annotation.Internal;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatches events published with {@link ApplicationEventPublisher#publishEventAsync(Object)} on an {@link Executor}.
+ *
+ * <p>Events are queued and drained in batches by a single task at a time, so that a burst of events results in a
+ * small number of executor submissions and listeners observe events in the order they were published.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class AsyncEventDispatcher implements Runnable {
+
+    private final ApplicationEventPublisher publisher;
+    private final Executor executor;
+    private final int batchSize;
+    private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * @param publisher The publisher that invokes the listeners
+     * @param executor  The executor to dispatch on
+     * @param batchSize The maximum number of events to dispatch per executor task
+     */
+    AsyncEventDispatcher(ApplicationEventPublisher publisher, Executor executor, int batchSize) {
+        this.publisher = publisher;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues the given event for dispatch.
+     *
+     * @param event The event
+     * @return A future that completes once the event has been published
+     */
+    CompletableFuture<Void> dispatch(Object event) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        queue.offer(new PendingEvent(event, future));
+        schedule();
+        return future;
+    }
+
+    /**
+     * Waits for the events queued so far to be published.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The unit of the timeout
+     * @return Whether the queued events were published within the timeout
+     */
+    boolean drain(long timeout, TimeUnit unit) {
+        // events are published in order, so once the barrier completes every event queued before it has been published
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        queue.offer(new PendingEvent(null, barrier));
+        schedule();
+        try {
+            barrier.get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Removes the events that have not been published yet, failing their futures.
+     *
+     * @return The number of events that were discarded
+     */
+    int discard() {
+        BeanContextException e = new BeanContextException("Bean context stopped before the event could be published");
+        int discarded = 0;
+        PendingEvent pending;
+        while ((pending = queue.poll()) != null) {
+            if (pending.event != null) {
+                discarded++;
+            }
+            pending.future.completeExceptionally(e);
+        }
+        return discarded;
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < batchSize; i++) {
+                PendingEvent pending = queue.poll();
+                if (pending == null) {
+                    break;
+                }
+                try {
+                    if (pending.event != null) {
+                        publisher.publishEvent(pending.event);
+                    }
+                    pending.future.complete(null);
+                } catch (Throwable e) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                PendingEvent pending;
+                while ((pending = queue.poll()) != null) {
+                    pending.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * An event waiting to be dispatched, or a drain barrier if the event is {@code null}.
+     */
+    private static final class PendingEvent {
+        final Object event;
+        final CompletableFuture<Void> future;
+
+        PendingEvent(Object event, CompletableFuture<Void> future) {
+            this.event = event;
+            this.future = future;
+        }
+    }
+}
@@ -33,4 +33,14 @@ public interface BeanContextConfiguration {
     default @Nonnull ClassLoader getClassLoader() {
         return ApplicationContextConfiguration.class.getClassLoader();
     }
+
+    /**
+     * Whether bean definitions should be loaded and eager singletons initialized in parallel on startup.
+     *
+     * @return True if startup should be parallel
+     * @since 1.3.0
+     */
+    default boolean isParallelStartup() {
+        return false;
+    }
 }
@@ -44,6 +44,7 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
     private Boolean deduceEnvironments = null;
     private ClassLoader classLoader = getClass().getClassLoader();
     private boolean envPropertySource = true;
+    private boolean parallelStartup = false;
     private List<String> envVarIncludes = new ArrayList<>();
     private List<String> envVarExcludes = new ArrayList<>();
     private String[] args = new String[0];
@@ -121,6 +122,12 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return this;
     }
 
+    @Override
+    public @Nonnull ApplicationContextBuilder parallelStartup(boolean parallelStartup) {
+        this.parallelStartup = parallelStartup;
+        return this;
+    }
+
     @Override
     public @Nonnull ApplicationContextBuilder environmentVariableIncludes(@Nullable String... environmentVariables) {
         if (environmentVariables != null) {
@@ -152,6 +159,11 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return envPropertySource;
     }
 
+    @Override
+    public boolean isParallelStartup() {
+        return parallelStartup;
+    }
+
     @Override
     public @Nullable List<String> getEnvironmentVariableIncludes() {
         return envVarIncludes.isEmpty() ? null : envVarIncludes;
@@ -59,8 +59,16 @@ import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -95,6 +103,9 @@ public class DefaultBeanContext implements BeanContext {
     private static final String INTRODUCTION_TYPE = "io.micronaut.aop.Introduction";
     private static final String NAMED_MEMBER = "named";
     private static final String NAMED_ATTRIBUTE = Named.class.getName();
+    private static final String EVENT_EXECUTOR = "event";
+    private static final int EVENT_BATCH_SIZE = 64;
+    private static final long EVENT_DRAIN_TIMEOUT_SECONDS = 5;
 
     protected final AtomicBoolean running = new AtomicBoolean(false);
     protected final AtomicBoolean initializing = new AtomicBoolean(false);
@@ -109,6 +120,10 @@ public class DefaultBeanContext implements BeanContext {
     private final Map<String, BeanConfiguration> beanConfigurations = new ConcurrentHashMap<>(4);
     private final Map<BeanKey, Boolean> containsBeanCache = new ConcurrentHashMap<>(30);
     private final Map<CharSequence, Object> attributes = Collections.synchronizedMap(new HashMap<>(5));
+    private final SingletonCreationLocks singletonCreationLocks = new SingletonCreationLocks();
+    private final AtomicInteger registrationGeneration = new AtomicInteger();
+    private final Map<Class, List<ApplicationEventListener>> eventListenerCache = new ConcurrentHashMap<>(20);
+    private final AtomicReference<AsyncEventDispatcher> asyncEventDispatcher = new AtomicReference<>();
 
     private final Map<BeanKey, Collection<Object>> initializedObjectsByType = new ConcurrentLinkedHashMap.Builder<BeanKey, Collection<Object>>().maximumWeightedCapacity(30).build();
     private final Map<BeanKey, Optional<BeanDefinition>> beanConcreteCandidateCache = new ConcurrentLinkedHashMap.Builder<BeanKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
@@ -116,6 +131,7 @@ public class DefaultBeanContext implements BeanContext {
     private final Map<Class, Collection<BeanDefinitionReference>> beanIndex = new ConcurrentHashMap<>(12);
 
     private final ClassLoader classLoader;
+    private final boolean parallelStartup;
     private final Set<Class> thisInterfaces = ReflectionUtils.getAllInterfaces(getClass());
     private final Set<Class> indexedTypes = CollectionUtils.setOf(
             TypeConverter.class,
@@ -177,6 +193,7 @@ public class DefaultBeanContext implements BeanContext {
         // enable classloader logging
         System.setProperty(ClassUtils.PROPERTY_MICRONAUT_CLASSLOADER_LOGGING, "true");
         this.classLoader = contextConfiguration.getClassLoader();
+        this.parallelStartup = contextConfiguration.isParallelStartup();
         this.customScopeRegistry = new DefaultCustomScopeRegistry(this, classLoader);
 
         // startup optimization.. index Jackson modules
@@ -200,7 +217,9 @@ public class DefaultBeanContext implements BeanContext {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Starting BeanContext");
                 }
+                long start = System.nanoTime();
                 readAllBeanConfigurations();
+                logStartupPhase("configurations", start);
                 readAllBeanDefinitionClasses();
                 if (LOG.isDebugEnabled()) {
                     String activeConfigurations = beanConfigurations
@@ -238,6 +257,10 @@ public class DefaultBeanContext implements BeanContext {
                 LOG.debug("Stopping BeanContext");
             }
             publishEvent(new ShutdownEvent(this));
+            AsyncEventDispatcher dispatcher = asyncEventDispatcher.get();
+            if (dispatcher != null && !dispatcher.drain(EVENT_DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS) && LOG.isWarnEnabled()) {
+                LOG.warn("Asynchronous events were not published within {} seconds of stopping the BeanContext", EVENT_DRAIN_TIMEOUT_SECONDS);
+            }
             attributes.clear();
 
             // need to sort registered singletons so that beans with that require other beans appear first
@@ -281,6 +304,14 @@ public class DefaultBeanContext implements BeanContext {
                 }
             }
 
+            eventListenerCache.clear();
+            dispatcher = asyncEventDispatcher.getAndSet(null);
+            if (dispatcher != null) {
+                int discarded = dispatcher.discard();
+                if (discarded > 0 && LOG.isWarnEnabled()) {
+                    LOG.warn("Discarded {} asynchronous events that were not published before the BeanContext stopped", discarded);
+                }
+            }
             terminating.set(false);
             running.set(false);
             ClassLoadingReporter.finish();
@@ -457,7 +488,9 @@ public class DefaultBeanContext implements BeanContext {
         BeanKey<T> beanKey = new BeanKey<>(type, qualifier);
         synchronized (singletonObjects) {
 
+            registrationGeneration.incrementAndGet();
             initializedObjectsByType.clear();
+            eventListenerCache.clear();
             beanCandidateCache.remove(type);
             BeanDefinition<T> beanDefinition = inject ? findConcreteCandidate(type, qualifier, false, false).orElse(null) : null;
             if (beanDefinition != null && beanDefinition.getBeanType().isInstance(singleton)) {
@@ -810,6 +843,10 @@ public class DefaultBeanContext implements BeanContext {
                     singletonObjects.remove(beanKey);
                     BeanKey<?> concreteKey = new BeanKey<>(bean.getClass(), null);
                     singletonObjects.remove(concreteKey);
+                    if (bean instanceof ApplicationEventListener) {
+                        registrationGeneration.incrementAndGet();
+                        eventListenerCache.clear();
+                    }
                 }
             }
         }
@@ -1128,9 +1165,7 @@ public class DefaultBeanContext implements BeanContext {
             if (EVENT_LOGGER.isDebugEnabled()) {
                 EVENT_LOGGER.debug("Publishing event: {}", event);
             }
-            Collection<ApplicationEventListener> eventListeners = getBeansOfType(ApplicationEventListener.class, Qualifiers.byTypeArguments(event.getClass()));
-
-            eventListeners = eventListeners.stream().sorted(OrderUtil.COMPARATOR).collect(Collectors.toList());
+            List<ApplicationEventListener> eventListeners = resolveEventListeners(event.getClass());
 
             if (!eventListeners.isEmpty()) {
                 if (EVENT_LOGGER.isTraceEnabled()) {
@@ -1161,6 +1196,58 @@ public class DefaultBeanContext implements BeanContext {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Events are dispatched in batches on the {@link ExecutorService} named {@code event} if one is configured,
+     * otherwise on the common {@link ForkJoinPool}.</p>
+     */
+    @Override
+    public @Nonnull Future<Void> publishEventAsync(@Nonnull Object event) {
+        ArgumentUtils.requireNonNull("event", event);
+        AsyncEventDispatcher dispatcher = asyncEventDispatcher.get();
+        if (dispatcher == null) {
+            Executor executor = findBean(ExecutorService.class, Qualifiers.byName(EVENT_EXECUTOR))
+                    .map(Executor.class::cast)
+                    .orElse(ForkJoinPool.commonPool());
+            asyncEventDispatcher.compareAndSet(null, new AsyncEventDispatcher(this, executor, EVENT_BATCH_SIZE));
+            dispatcher = asyncEventDispatcher.get();
+        }
+        return dispatcher.dispatch(event);
+    }
+
+    /**
+     * Resolves the listeners for the given event type, sorted by {@link OrderUtil#COMPARATOR}. The result is cached
+     * until beans are registered or destroyed, unless one of the listeners is not a singleton.
+     *
+     * @param eventType The event type
+     * @return The event listeners
+     */
+    private List<ApplicationEventListener> resolveEventListeners(Class<?> eventType) {
+        List<ApplicationEventListener> eventListeners = eventListenerCache.get(eventType);
+        if (eventListeners != null) {
+            return eventListeners;
+        }
+        int generation = registrationGeneration.get();
+        Qualifier<ApplicationEventListener> qualifier = Qualifiers.byTypeArguments(eventType);
+        boolean allSingletons = getBeanDefinitions(ApplicationEventListener.class, qualifier)
+                .stream()
+                .allMatch(BeanDefinition::isSingleton);
+        Collection<ApplicationEventListener> listeners = getBeansOfType(ApplicationEventListener.class, qualifier);
+        if (listeners.isEmpty()) {
+            eventListeners = Collections.emptyList();
+        } else {
+            eventListeners = Collections.unmodifiableList(listeners.stream().sorted(OrderUtil.COMPARATOR).collect(Collectors.toList()));
+        }
+        if (allSingletons) {
+            eventListenerCache.put(eventType, eventListeners);
+            if (generation != registrationGeneration.get()) {
+                eventListenerCache.remove(eventType, eventListeners);
+            }
+        }
+        return eventListeners;
+    }
+
     @Override
     public @Nonnull
     <T> Optional<BeanDefinition<T>> findProxyBeanDefinition(@Nonnull Class<T> beanType, @Nullable Qualifier<T> qualifier) {
@@ -1175,6 +1262,8 @@ public class DefaultBeanContext implements BeanContext {
      * Invalidates the bean caches.
      */
     protected void invalidateCaches() {
+        registrationGeneration.incrementAndGet();
+        eventListenerCache.clear();
         beanCandidateCache.clear();
         initializedObjectsByType.clear();
     }
@@ -1213,6 +1302,10 @@ public class DefaultBeanContext implements BeanContext {
     List<BeanDefinitionReference> resolveBeanDefinitionReferences() {
         final SoftServiceLoader<BeanDefinitionReference> definitions = SoftServiceLoader.load(BeanDefinitionReference.class, classLoader);
         List<BeanDefinitionReference> list = new ArrayList<>(300);
+        if (parallelStartup) {
+            definitions.collectAll(list, null);
+            return list;
+        }
         for (ServiceDefinition<BeanDefinitionReference> definition : definitions) {
             if (definition.isPresent()) {
                 final BeanDefinitionReference ref = definition.load();
@@ -1257,7 +1350,9 @@ public class DefaultBeanContext implements BeanContext {
             @Nonnull List<BeanDefinitionReference> contextScopeBeans,
             @Nonnull List<BeanDefinitionReference> processedBeans) {
 
-        if (CollectionUtils.isNotEmpty(contextScopeBeans)) {
+        if (CollectionUtils.isNotEmpty(contextScopeBeans) && parallelStartup) {
+            initializeContextScopeBeansInParallel(contextScopeBeans);
+        } else if (CollectionUtils.isNotEmpty(contextScopeBeans)) {
             final Collection<BeanDefinition> contextBeans = new ArrayList<>(contextScopeBeans.size());
 
             for (BeanDefinitionReference contextScopeBean : contextScopeBeans) {
@@ -1728,9 +1823,7 @@ public class DefaultBeanContext implements BeanContext {
             parallelBeans.forEach(beanDefinitionReference -> {
                 try {
                     if (isRunning()) {
-                        synchronized (singletonObjects) {
-                            loadContextScopeBean(beanDefinitionReference, parallelDefinitions::add);
-                        }
+                        loadContextScopeBean(beanDefinitionReference, parallelDefinitions::add);
                     }
                 } catch (Throwable e) {
                     LOG.error("Parallel Bean definition [" + beanDefinitionReference.getName() + "] could not be loaded: " + e.getMessage(), e);
@@ -1747,9 +1840,7 @@ public class DefaultBeanContext implements BeanContext {
             parallelDefinitions.forEach(beanDefinition -> ForkJoinPool.commonPool().execute(() -> {
                 try {
                     if (isRunning()) {
-                        synchronized (singletonObjects) {
-                            loadContextScopeBean(beanDefinition);
-                        }
+                        loadContextScopeBean(beanDefinition);
                     }
                 } catch (Throwable e) {
                     LOG.error("Parallel Bean definition [" + beanDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
@@ -1884,6 +1975,89 @@ public class DefaultBeanContext implements BeanContext {
         }
     }
 
+    /**
+     * Evaluates the conditions of the context scope beans and then instantiates them concurrently on a dedicated
+     * executor that is bounded by the number of available processors and shut down once startup completes. Dependencies
+     * shared by several beans are created once since singleton creation is locked per bean definition, hence beans are
+     * effectively initialized in the order of their dependency graph.
+     *
+     * @param contextScopeBeans The context scope beans
+     */
+    private void initializeContextScopeBeansInParallel(List<BeanDefinitionReference> contextScopeBeans) {
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), contextScopeBeans.size()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "micronaut-startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        });
+        try {
+            List<Future<List<BeanDefinition>>> loading = new ArrayList<>(contextScopeBeans.size());
+            for (BeanDefinitionReference contextScopeBean : contextScopeBeans) {
+                loading.add(executor.submit(() -> {
+                    List<BeanDefinition> loaded = new ArrayList<>(1);
+                    try {
+                        loadContextScopeBean(contextScopeBean, loaded::add);
+                    } catch (Throwable e) {
+                        throw new BeanInstantiationException("Bean definition [" + contextScopeBean.getName() + "] could not be loaded: " + e.getMessage(), e);
+                    }
+                    return loaded;
+                }));
+            }
+            final Collection<BeanDefinition> contextBeans = new ArrayList<>(contextScopeBeans.size());
+            for (List<BeanDefinition> loaded : awaitStartupTasks(loading)) {
+                contextBeans.addAll(loaded);
+            }
+            filterProxiedTypes((Collection) contextBeans, true, false);
+            filterReplacedBeans((Collection) contextBeans);
+
+            List<Future<Void>> instantiating = new ArrayList<>(contextBeans.size());
+            for (BeanDefinition contextScopeDefinition : contextBeans) {
+                instantiating.add(executor.submit(() -> {
+                    try {
+                        loadContextScopeBean(contextScopeDefinition);
+                    } catch (Throwable e) {
+                        throw new BeanInstantiationException("Bean definition [" + contextScopeDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
+                    }
+                    return null;
+                }));
+            }
+            awaitStartupTasks(instantiating);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Waits for all of the given startup tasks and rethrows the first failure.
+     *
+     * @param tasks The tasks
+     * @param <R>   The result type
+     * @return The results of the tasks
+     */
+    private <R> List<R> awaitStartupTasks(List<Future<R>> tasks) {
+        List<R> results = new ArrayList<>(tasks.size());
+        BeanInstantiationException failure = null;
+        for (Future<R> task : tasks) {
+            try {
+                results.add(task.get());
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    failure = cause instanceof BeanInstantiationException ? (BeanInstantiationException) cause : new BeanInstantiationException("Error initializing context scope bean: " + cause.getMessage(), cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BeanInstantiationException("Interrupted whilst initializing context scope beans", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
     private void loadContextScopeBean(BeanDefinitionReference contextScopeBean, Consumer<BeanDefinition> beanDefinitionConsumer) {
         if (contextScopeBean.isEnabled(this)) {
             BeanDefinition beanDefinition = contextScopeBean.load(this);
@@ -1951,44 +2125,41 @@ public class DefaultBeanContext implements BeanContext {
             LOG.trace("No existing bean found for bean key: {}", beanKey);
         }
 
-        synchronized (singletonObjects) {
-
-            Optional<BeanDefinition<T>> concreteCandidate = findConcreteCandidate(beanType, qualifier, throwNonUnique, false);
-            T bean;
+        Optional<BeanDefinition<T>> concreteCandidate = findConcreteCandidate(beanType, qualifier, throwNonUnique, false);
+        T bean;
 
-            if (concreteCandidate.isPresent()) {
-                BeanDefinition<T> definition = concreteCandidate.get();
+        if (concreteCandidate.isPresent()) {
+            BeanDefinition<T> definition = concreteCandidate.get();
 
-                bean = findExistingCompatibleSingleton(beanType, qualifier, definition);
-                if (bean != null) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Resolved existing bean [{}] for type [{}] and qualifier [{}]", bean, beanType, qualifier);
-                    }
-                    return bean;
+            bean = findExistingCompatibleSingleton(beanType, qualifier, definition);
+            if (bean != null) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Resolved existing bean [{}] for type [{}] and qualifier [{}]", bean, beanType, qualifier);
                 }
+                return bean;
+            }
 
-                if (definition.isProvided() && beanType == definition.getBeanType()) {
-                    if (throwNoSuchBean) {
-                        throw new NoSuchBeanException(beanType, qualifier);
-                    }
-                    return null;
-                } else {
-                    bean = getBeanForDefinition(resolutionContext, beanType, qualifier, throwNoSuchBean, definition);
-                    if (bean == null && throwNoSuchBean) {
-                        throw new NoSuchBeanException(beanType, qualifier);
-                    } else {
-                        return bean;
-                    }
+            if (definition.isProvided() && beanType == definition.getBeanType()) {
+                if (throwNoSuchBean) {
+                    throw new NoSuchBeanException(beanType, qualifier);
                 }
-
+                return null;
             } else {
-                bean = findExistingCompatibleSingleton(beanType, qualifier, null);
+                bean = getBeanForDefinition(resolutionContext, beanType, qualifier, throwNoSuchBean, definition);
                 if (bean == null && throwNoSuchBean) {
                     throw new NoSuchBeanException(beanType, qualifier);
                 } else {
                     return bean;
                 }
             }
+
+        } else {
+            bean = findExistingCompatibleSingleton(beanType, qualifier, null);
+            if (bean == null && throwNoSuchBean) {
+                throw new NoSuchBeanException(beanType, qualifier);
+            } else {
+                return bean;
+            }
         }
     }
 
@@ -2126,10 +2297,8 @@ public class DefaultBeanContext implements BeanContext {
                             return null;
                         }
                     }
-                    synchronized (singletonObjects) {
-                        bean = (T) reg.bean;
-                        registerSingletonBean(reg.beanDefinition, beanType, bean, qualifier, true);
-                    }
+                    bean = (T) reg.bean;
+                    registerSingletonBean(reg.beanDefinition, beanType, bean, qualifier, true);
                 }
             } else if (key.qualifier == null) {
                 BeanRegistration registration = entry.getValue();
@@ -2137,10 +2306,8 @@ public class DefaultBeanContext implements BeanContext {
                 if (beanType.isInstance(existing)) {
                     Optional<BeanDefinition> candidate = qualifier.reduce(beanType, Stream.of(registration.beanDefinition)).findFirst();
                     if (candidate.isPresent()) {
-                        synchronized (singletonObjects) {
-                            bean = (T) existing;
-                            registerSingletonBean(candidate.get(), beanType, bean, qualifier, true);
-                        }
+                        bean = (T) existing;
+                        registerSingletonBean(candidate.get(), beanType, bean, qualifier, true);
                     }
                 }
             }
@@ -2307,21 +2474,25 @@ public class DefaultBeanContext implements BeanContext {
     }
 
     private <T> T createAndRegisterSingleton(BeanResolutionContext resolutionContext, BeanDefinition<T> definition, Class<T> beanType, Qualifier<T> qualifier) {
-        synchronized (singletonObjects) {
-            if (definition instanceof NoInjectionBeanDefinition) {
-                NoInjectionBeanDefinition<T> manuallyRegistered = (NoInjectionBeanDefinition) definition;
-                BeanRegistration<T> reg = (BeanRegistration<T>) singletonObjects.get(new BeanKey(manuallyRegistered.getBeanType(), manuallyRegistered.getQualifier()));
-                if (reg == null) {
-                    throw new IllegalStateException("Manually registered singleton no longer present in bean context");
-                }
-                registerSingletonBean(definition, beanType, reg.bean, qualifier, true);
-                return reg.bean;
-            } else {
-                T createdBean = doCreateBean(resolutionContext, definition, qualifier, true, null);
-                registerSingletonBean(definition, beanType, createdBean, qualifier, true);
-                return createdBean;
+        if (definition instanceof NoInjectionBeanDefinition) {
+            NoInjectionBeanDefinition<T> manuallyRegistered = (NoInjectionBeanDefinition) definition;
+            BeanRegistration<T> reg = (BeanRegistration<T>) singletonObjects.get(new BeanKey(manuallyRegistered.getBeanType(), manuallyRegistered.getQualifier()));
+            if (reg == null) {
+                throw new IllegalStateException("Manually registered singleton no longer present in bean context");
+            }
+            registerSingletonBean(definition, beanType, reg.bean, qualifier, true);
+            return reg.bean;
+        }
+        return singletonCreationLocks.create(resolutionContext, definition, () -> resolutionContext.getInFlightBean(new BeanKey<>(definition, qualifier)), () -> {
+            // another thread may have created the bean whilst this thread was waiting
+            T existing = findExistingCompatibleSingleton(beanType, qualifier, definition);
+            if (existing != null) {
+                return existing;
             }
-        }
+            T createdBean = doCreateBean(resolutionContext, definition, qualifier, true, null);
+            registerSingletonBean(definition, beanType, createdBean, qualifier, true);
+            return createdBean;
+        });
     }
 
     private void readAllBeanConfigurations() {
@@ -2421,7 +2592,16 @@ public class DefaultBeanContext implements BeanContext {
     private void readAllBeanDefinitionClasses() {
         List<BeanDefinitionReference> contextScopeBeans = new ArrayList<>(20);
         List<BeanDefinitionReference> processedBeans = new ArrayList<>(10);
+        long start = System.nanoTime();
         List<BeanDefinitionReference> beanDefinitionReferences = resolveBeanDefinitionReferences();
+        logStartupPhase("bean-definition-references", start);
+        if (parallelStartup) {
+            // loads the bean classes on the fork-join pool so later lookups find them already resolved
+            start = System.nanoTime();
+            beanDefinitionReferences.parallelStream().forEach(BeanDefinitionReference::isPresent);
+            logStartupPhase("bean-classes", start);
+        }
+        start = System.nanoTime();
         List<BeanDefinitionReference> disabled = new ArrayList<>(20);
         beanDefinitionsClasses.addAll(beanDefinitionReferences);
 
@@ -2455,8 +2635,17 @@ public class DefaultBeanContext implements BeanContext {
 
         beanDefinitionsClasses.removeAll(disabled);
         indexBeanDefinitions();
+        logStartupPhase("index", start);
+        start = System.nanoTime();
         initializeEventListeners();
         initializeContext(contextScopeBeans, processedBeans);
+        logStartupPhase("context-beans", start);
+    }
+
+    private void logStartupPhase(String phase, long start) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Startup phase [{}] completed in {}ms", phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
     }
 
     private void indexBeanDefinitions() {
@@ -2511,92 +2700,90 @@ public class DefaultBeanContext implements BeanContext {
             LOG.trace("No beans found for key: {}", key);
         }
 
-        synchronized (singletonObjects) {
-            existing = (Collection<T>) initializedObjectsByType.get(key);
-            if (existing != null) {
-                logResolvedExisting(beanType, qualifier, hasQualifier, existing);
-                return existing;
+        // beans are resolved without holding a lock so singleton creation is guarded per definition and the result
+        // is only cached if no singletons were registered in the meantime
+        int generation = registrationGeneration.get();
+        HashSet<T> beansOfTypeList;
+        boolean allCandidatesAreSingleton = false;
+        Collection<T> beans;
+        Collection<BeanDefinition<T>> candidates = new ArrayList<>(findBeanCandidatesInternal(beanType));
+        filterProxiedTypes(candidates, true, false);
+        boolean hasCandidates = !candidates.isEmpty();
+        if (hasQualifier && hasCandidates) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Qualifying bean [{}] from candidates {} for qualifier: {} ", beanType.getName(), candidates, qualifier);
             }
+            Stream<BeanDefinition<T>> candidateStream = candidates.stream();
+            candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream);
 
-            HashSet<T> beansOfTypeList;
-            boolean allCandidatesAreSingleton = false;
-            Collection<T> beans;
-            Collection<BeanDefinition<T>> candidates = findBeanCandidatesInternal(beanType);
-            filterProxiedTypes(candidates, true, false);
-            boolean hasCandidates = !candidates.isEmpty();
-            if (hasQualifier && hasCandidates) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Qualifying bean [{}] from candidates {} for qualifier: {} ", beanType.getName(), candidates, qualifier);
-                }
-                Stream<BeanDefinition<T>> candidateStream = candidates.stream();
-                candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream);
-
-                List<BeanDefinition<T>> reduced = qualifier.reduce(beanType, candidateStream)
-                        .collect(Collectors.toList());
-                if (!reduced.isEmpty()) {
-                    beansOfTypeList = new HashSet<>(reduced.size());
-                    for (BeanDefinition<T> definition : reduced) {
-                        if (definition.isSingleton()) {
-                            allCandidatesAreSingleton = true;
-                        }
-                        addCandidateToList(resolutionContext, beanType, definition, beansOfTypeList, qualifier, reduced.size() == 1);
-                    }
-                    beans = beansOfTypeList;
-                } else {
-
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Found no matching beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
-                    }
-                    allCandidatesAreSingleton = true;
-                    beans = Collections.emptySet();
-                }
-            } else if (hasCandidates) {
-                boolean hasNonSingletonCandidate = false;
-                int candidateCount = candidates.size();
-                Stream<BeanDefinition<T>> candidateStream = candidates.stream();
-                candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream);
-
-                List<BeanDefinition<T>> candidateList = candidateStream.collect(Collectors.toList());
-                beansOfTypeList = new HashSet<>(candidateCount);
-                for (BeanDefinition<T> candidate : candidateList) {
-                    if (!hasNonSingletonCandidate && !candidate.isSingleton()) {
-                        hasNonSingletonCandidate = true;
+            List<BeanDefinition<T>> reduced = qualifier.reduce(beanType, candidateStream)
+                    .collect(Collectors.toList());
+            if (!reduced.isEmpty()) {
+                beansOfTypeList = new HashSet<>(reduced.size());
+                for (BeanDefinition<T> definition : reduced) {
+                    if (definition.isSingleton()) {
+                        allCandidatesAreSingleton = true;
                     }
-                    addCandidateToList(resolutionContext, beanType, candidate, beansOfTypeList, qualifier, candidateCount == 1);
-                }
-                if (!hasNonSingletonCandidate) {
-                    allCandidatesAreSingleton = true;
+                    addCandidateToList(resolutionContext, beanType, definition, beansOfTypeList, qualifier, reduced.size() == 1);
                 }
                 beans = beansOfTypeList;
             } else {
+
                 if (LOG.isDebugEnabled()) {
-                    LOG.debug("Found no possible candidate beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
+                    LOG.debug("Found no matching beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
                 }
                 allCandidatesAreSingleton = true;
                 beans = Collections.emptySet();
             }
+        } else if (hasCandidates) {
+            boolean hasNonSingletonCandidate = false;
+            int candidateCount = candidates.size();
+            Stream<BeanDefinition<T>> candidateStream = candidates.stream();
+            candidateStream = applyBeanResolutionFilters(resolutionContext, candidateStream);
 
-            if (beans != Collections.EMPTY_SET) {
-                if (Ordered.class.isAssignableFrom(beanType)) {
-                    beans = beans.stream().sorted(OrderUtil.COMPARATOR).collect(StreamUtils.toImmutableCollection());
-                } else {
-                    beans = Collections.unmodifiableCollection(beans);
+            List<BeanDefinition<T>> candidateList = candidateStream.collect(Collectors.toList());
+            beansOfTypeList = new HashSet<>(candidateCount);
+            for (BeanDefinition<T> candidate : candidateList) {
+                if (!hasNonSingletonCandidate && !candidate.isSingleton()) {
+                    hasNonSingletonCandidate = true;
                 }
+                addCandidateToList(resolutionContext, beanType, candidate, beansOfTypeList, qualifier, candidateCount == 1);
             }
-
-            if (allCandidatesAreSingleton) {
-                initializedObjectsByType.put(key, (Collection<Object>) beans);
+            if (!hasNonSingletonCandidate) {
+                allCandidatesAreSingleton = true;
             }
-            if (LOG.isDebugEnabled() && !beans.isEmpty()) {
-                if (hasQualifier) {
-                    LOG.debug("Found {} beans for type [{} {}]: {} ", beans.size(), qualifier, beanType.getName(), beans);
-                } else {
-                    LOG.debug("Found {} beans for type [{}]: {} ", beans.size(), beanType.getName(), beans);
-                }
+            beans = beansOfTypeList;
+        } else {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Found no possible candidate beans of type [{}] for qualifier: {} ", beanType.getName(), qualifier);
+            }
+            allCandidatesAreSingleton = true;
+            beans = Collections.emptySet();
+        }
+
+        if (beans != Collections.EMPTY_SET) {
+            if (Ordered.class.isAssignableFrom(beanType)) {
+                beans = beans.stream().sorted(OrderUtil.COMPARATOR).collect(StreamUtils.toImmutableCollection());
+            } else {
+                beans = Collections.unmodifiableCollection(beans);
             }
+        }
 
-            return beans;
+        if (allCandidatesAreSingleton) {
+            initializedObjectsByType.put(key, (Collection<Object>) beans);
+            if (generation != registrationGeneration.get()) {
+                initializedObjectsByType.remove(key, beans);
+            }
         }
+        if (LOG.isDebugEnabled() && !beans.isEmpty()) {
+            if (hasQualifier) {
+                LOG.debug("Found {} beans for type [{} {}]: {} ", beans.size(), qualifier, beanType.getName(), beans);
+            } else {
+                LOG.debug("Found {} beans for type [{}]: {} ", beans.size(), beanType.getName(), beans);
+            }
+        }
+
+        return beans;
     }
 
     private <T> void logResolvedExisting(Class<T> beanType, Qualifier<T> qualifier, boolean hasQualifier, Collection<T> existing) {
@@ -2638,11 +2825,12 @@ public class DefaultBeanContext implements BeanContext {
             boolean singleCandidate) {
         T bean;
         if (candidate.isSingleton()) {
-            synchronized (singletonObjects) {
-                try (BeanResolutionContext context = newResolutionContext(candidate, resolutionContext)) {
-                    bean = doCreateBean(context, candidate, qualifier, true, null);
-                    registerSingletonBean(candidate, beanType, bean, qualifier, singleCandidate);
-                }
+            try (BeanResolutionContext context = newResolutionContext(candidate, resolutionContext)) {
+                bean = singletonCreationLocks.create(context, candidate, () -> context.getInFlightBean(new BeanKey<>(candidate, qualifier)), () -> {
+                    T created = doCreateBean(context, candidate, qualifier, true, null);
+                    registerSingletonBean(candidate, beanType, created, qualifier, singleCandidate);
+                    return created;
+                });
             }
         } else {
             try (BeanResolutionContext context = newResolutionContext(candidate, resolutionContext)) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.exceptions.BeanInstantiationException;
+import io.micronaut.context.exceptions.CircularDependencyException;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.inject.BeanDefinition;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes the creation of singletons per {@link BeanDefinition} so that unrelated singletons can be created
+ * concurrently by different threads whilst the same singleton is never created twice.
+ *
+ * <p>Since each thread may hold the locks of several definitions whilst resolving dependencies, a thread that has to
+ * wait for another thread first checks whether the owning threads are in turn waiting on it. Such a cycle means that
+ * two threads have started creating the singletons of a dependency cycle from different ends. Unless the bean is
+ * already available as an in-flight bean, the thread fails straight away with the {@link CircularDependencyException}
+ * a single thread would have thrown for the same cycle, which releases its locks and lets the other thread
+ * complete.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class SingletonCreationLocks {
+
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private final Map<BeanDefinition<?>, CreationLock> locks = new ConcurrentHashMap<>();
+    private final Map<Thread, CreationLock> waiting = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a singleton whilst holding the lock for the given definition.
+     *
+     * @param resolutionContext The resolution context
+     * @param definition        The bean definition
+     * @param inFlight          Resolves the bean if it became available as an in-flight bean whilst waiting
+     * @param creator           Creates the bean
+     * @param <T>               The bean type
+     * @return The bean
+     * @throws CircularDependencyException If waiting for the lock would close a cycle with other threads
+     */
+    <T> T create(
+            BeanResolutionContext resolutionContext,
+            BeanDefinition<T> definition,
+            Supplier<T> inFlight,
+            Supplier<T> creator) {
+        CreationLock lock = locks.computeIfAbsent(definition, d -> new CreationLock());
+        if (!lock.tryLock()) {
+            T bean = await(resolutionContext, definition, lock, inFlight);
+            if (bean != null) {
+                return bean;
+            }
+        }
+        try {
+            return creator.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Clears the locks.
+     */
+    void clear() {
+        locks.clear();
+    }
+
+    private <T> T await(
+            BeanResolutionContext resolutionContext,
+            BeanDefinition<T> definition,
+            CreationLock lock,
+            Supplier<T> inFlight) {
+        Thread current = Thread.currentThread();
+        boolean interrupted = false;
+        // registered before checking for a cycle so that of two threads closing a cycle at least one sees it
+        waiting.put(current, lock);
+        try {
+            while (true) {
+                T bean = inFlight.get();
+                if (bean != null) {
+                    return bean;
+                }
+                if (isDeadlocked(current, lock)) {
+                    throw circularDependency(resolutionContext, definition);
+                }
+                try {
+                    if (lock.tryLock(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return null;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            waiting.remove(current);
+            if (interrupted) {
+                current.interrupt();
+            }
+        }
+    }
+
+    private boolean isDeadlocked(Thread current, CreationLock lock) {
+        Set<Thread> visited = new HashSet<>(4);
+        CreationLock next = lock;
+        while (next != null) {
+            Thread owner = next.owner();
+            if (owner == null || !visited.add(owner)) {
+                return false;
+            }
+            if (owner == current) {
+                return true;
+            }
+            next = waiting.get(owner);
+        }
+        return false;
+    }
+
+    private static RuntimeException circularDependency(BeanResolutionContext resolutionContext, BeanDefinition<?> definition) {
+        String message = "Circular dependency detected. Bean [" + definition.getBeanType().getName() + "] is being created by another thread that is waiting for a bean created by this thread";
+        BeanResolutionContext.Segment segment = resolutionContext.getPath().peek();
+        if (segment == null) {
+            return new BeanInstantiationException(resolutionContext, message);
+        }
+        return new CircularDependencyException(resolutionContext, segment.getArgument(), message);
+    }
+
+    /**
+     * A re-entrant lock that exposes its owner for deadlock detection.
+     */
+    private static final class CreationLock extends ReentrantLock {
+        Thread owner() {
+            return getOwner();
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package io.micronaut.context.event;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 /**
  * <p>Interface for classes that publish events received by {@link ApplicationEventListener} instances.</p>
@@ -34,4 +36,17 @@ public interface ApplicationEventPublisher {
      * @param event The event to publish
      */
     void publishEvent(@Nonnull Object event);
+
+    /**
+     * Publish the given event asynchronously. Listeners are invoked on a separate thread and the returned future
+     * completes once all listeners have consumed the event. By default the event is published with
+     * {@link #publishEvent(Object)} on the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param event The event to publish
+     * @return A future that completes when the event has been published
+     * @since 1.3.0
+     */
+    default @Nonnull Future<Void> publishEventAsync(@Nonnull Object event) {
+        return CompletableFuture.runAsync(() -> publishEvent(event));
+    }
 }
@@ -19,6 +19,7 @@ package io.micronaut.management.endpoint.caches;
 import io.micronaut.cache.Cache;
 import io.micronaut.cache.CacheInfo;
 import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.CacheStatistics;
 import io.micronaut.cache.SyncCache;
 import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.core.async.publisher.Publishers;
@@ -50,6 +51,11 @@ public class CachesEndpoint {
      */
     public static final String NAME = "caches";
 
+    /**
+     * The path segment of the statistics of a cache.
+     */
+    public static final String STATS = "stats";
+
     private final CacheManager<Object> cacheManager;
 
     /**
@@ -95,6 +101,28 @@ public class CachesEndpoint {
         }
     }
 
+    /**
+     * Returns the statistics of the cache as a {@link Maybe}, which is empty if the cache does not exist or does not
+     * record statistics. Exposed as {@code /caches/{name}/stats}.
+     *
+     * @param name    The name of the cache
+     * @param section The section of the cache to retrieve, only {@value #STATS} is supported
+     * @return The statistics as a {@link Maybe}
+     */
+    @Read
+    public Maybe<Map<String, Object>> getCacheStatistics(@NotBlank @Selector String name, @NotBlank @Selector String section) {
+        if (!STATS.equals(section)) {
+            return Maybe.empty();
+        }
+        try {
+            final SyncCache<Object> cache = cacheManager.getCache(name);
+            return Maybe.fromCallable(() -> cache.getStatistics().map(CacheStatistics::toMap).orElse(null));
+        } catch (ConfigurationException e) {
+            // no cache exists
+            return Maybe.empty();
+        }
+    }
+
     /**
      * Invalidates all the caches.
      *
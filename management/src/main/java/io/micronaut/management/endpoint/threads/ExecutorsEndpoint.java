@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.threads;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.management.endpoint.annotation.Delete;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Selector;
+import io.micronaut.scheduling.instrument.ExecutorMetrics;
+import io.micronaut.scheduling.instrument.ExecutorMetricsRegistry;
+
+import javax.validation.constraints.NotBlank;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the pool gauges, task counters and queue wait and execution time
+ * histograms of the application executors. Requires {@value ExecutorMetricsRegistry#PROPERTY_ENABLED} to be set.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Endpoint(ExecutorsEndpoint.NAME)
+@Requires(beans = ExecutorMetricsRegistry.class)
+public class ExecutorsEndpoint {
+
+    /**
+     * Endpoint name.
+     */
+    public static final String NAME = "executors";
+
+    private final ExecutorMetricsRegistry registry;
+
+    /**
+     * @param registry The executor metrics registry
+     */
+    public ExecutorsEndpoint(ExecutorMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return The metrics of all executors by name
+     */
+    @Read
+    public Map<String, Object> getExecutors() {
+        Map<String, Object> executors = new LinkedHashMap<>();
+        for (ExecutorMetrics metrics : registry.getExecutorMetrics()) {
+            executors.put(metrics.getName(), metrics.toMap());
+        }
+        return Collections.singletonMap(NAME, executors);
+    }
+
+    /**
+     * @param name The name of the executor
+     * @return The metrics of the executor or null if it does not exist
+     */
+    @Read
+    public Map<String, Object> getExecutor(@NotBlank @Selector String name) {
+        return registry.findExecutorMetrics(name).map(ExecutorMetrics::toMap).orElse(null);
+    }
+
+    /**
+     * Resets the histograms and counters of all executors.
+     */
+    @Delete
+    public void resetExecutors() {
+        registry.getExecutorMetrics().forEach(ExecutorMetrics::reset);
+    }
+
+    /**
+     * Resets the histograms and counters of the executor.
+     *
+     * @param name The name of the executor
+     * @return True if the executor exists
+     */
+    @Delete
+    public Boolean resetExecutor(@NotBlank @Selector String name) {
+        return registry.findExecutorMetrics(name).map(metrics -> {
+            metrics.reset();
+            return true;
+        }).orElse(null);
+    }
+}
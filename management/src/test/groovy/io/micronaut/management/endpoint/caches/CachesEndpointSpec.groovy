@@ -22,6 +22,7 @@ import io.micronaut.context.env.Environment
 import io.micronaut.http.HttpRequest
 import io.micronaut.http.HttpStatus
 import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
 import io.micronaut.runtime.server.EmbeddedServer
 import spock.lang.Specification
 
@@ -122,6 +123,53 @@ class CachesEndpointSpec extends Specification {
         embeddedServer?.close()
     }
 
+    void "test cache statistics are returned from caches endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer,
+                [
+                        "endpoints.caches.enabled": true,
+                        "endpoints.caches.sensitive": false,
+                        "micronaut.caches.foo-cache.maximumWeight": 10,
+                        "micronaut.caches.foo-cache.recordStats": true,
+                        "micronaut.caches.foo-cache.testMode": true,
+                        "micronaut.caches.bar-cache.maximumSize": 10
+                ],Environment.TEST)
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        CacheManager cacheManager = embeddedServer.applicationContext.getBean(CacheManager)
+
+        SyncCache fooCache = cacheManager.getCache("foo-cache")
+        fooCache.put("foo1", "value1")
+        fooCache.get("foo1", Object)
+        fooCache.get("foo2", Object)
+        fooCache.get("foo3", Object, { "value3" })
+
+        when:
+        def response = rxClient.exchange("/caches/foo-cache/stats", Map).blockingFirst()
+        Map result = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        result.requestCount == 3
+        result.hitCount == 1
+        result.missCount == 2
+        result.loadSuccessCount == 1
+        result.loadFailureCount == 0
+        result.averageLoadPenalty > 0
+        result.estimatedSize == 2
+        result.weightedSize == 2
+
+        when:"the cache does not record statistics"
+        rxClient.exchange("/caches/bar-cache/stats", Map).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.NOT_FOUND
+
+        cleanup:
+        rxClient.close()
+        embeddedServer?.close()
+    }
+
     void "test invalidate single cache"() {
         given:
         EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer,
@@ -0,0 +1,82 @@
+package io.micronaut.management.endpoint.threads
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.scheduling.TaskExecutors
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutorService
+
+class ExecutorsEndpointSpec extends Specification {
+
+    void "test executors endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'endpoints.executors.sensitive': false,
+                'micronaut.scheduling.metrics.enabled': true
+        ], "test")
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+        ExecutorService io = embeddedServer.applicationContext.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO))
+        io.submit({ Thread.sleep(5) } as Runnable).get()
+
+        when:
+        def response = rxClient.exchange(HttpRequest.GET("/executors"), Map).blockingFirst()
+        Map result = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        result.executors.containsKey(TaskExecutors.IO)
+
+        when:
+        Map executor = rxClient.retrieve(HttpRequest.GET("/executors/io"), Map).blockingFirst()
+
+        then:
+        executor.pool.poolSize >= 1
+        executor.tasks.completed >= 1
+        executor.executionTime.count >= 1
+        executor.executionTime.max >= 5
+        executor.queueWaitTime.count >= 1
+
+        when:
+        rxClient.exchange(HttpRequest.DELETE("/executors/io")).blockingFirst()
+        executor = rxClient.retrieve(HttpRequest.GET("/executors/io"), Map).blockingFirst()
+
+        then:
+        executor.tasks.completed == 0
+        executor.executionTime.count == 0
+
+        when:
+        rxClient.exchange(HttpRequest.GET("/executors/missing"), Map).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.NOT_FOUND
+
+        cleanup:
+        rxClient.close()
+        embeddedServer?.close()
+    }
+
+    void "test executors endpoint is not available unless metrics are enabled"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': getClass().simpleName, 'endpoints.executors.sensitive': false], "test")
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        rxClient.exchange(HttpRequest.GET("/executors"), Map).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.status == HttpStatus.NOT_FOUND
+
+        cleanup:
+        rxClient.close()
+        embeddedServer?.close()
+    }
+}
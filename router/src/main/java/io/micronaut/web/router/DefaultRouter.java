@@ -15,8 +15,8 @@
  */
 package io.micronaut.web.router;
 
-import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
@@ -36,7 +36,9 @@ import java.util.stream.Stream;
 
 /**
  * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * route discovery, however routes are indexed by the literal prefix of their URI template at construction time
+ * so that only routes that can possibly match a URI are evaluated. The filters that apply to each route are
+ * resolved once per route and cached.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -45,9 +47,11 @@ import java.util.stream.Stream;
 public class DefaultRouter implements Router {
 
     private final Map<String, List<UriRoute>> routesByMethod = new HashMap<>();
+    private final Map<String, UriRouteIndex> routeIndexByMethod = new HashMap<>();
     private final Set<StatusRoute> statusRoutes = new HashSet<>();
     private final Collection<FilterRoute> filterRoutes = new ArrayList<>();
     private final Set<ErrorRoute> errorRoutes = new HashSet<>();
+    private final FilterRouteIndex filterRouteIndex;
 
     /**
      * Construct a new router for the given route builders.
@@ -68,7 +72,11 @@ public class DefaultRouter implements Router {
             this.filterRoutes.addAll(builder.getFilterRoutes());
         }
 
-        routesByMethod.values().forEach(this::finalizeRoutes);
+        routesByMethod.forEach((method, routes) -> {
+            finalizeRoutes(routes);
+            routeIndexByMethod.put(method, new UriRouteIndex(routes));
+        });
+        this.filterRouteIndex = new FilterRouteIndex(filterRoutes);
     }
 
     /**
@@ -176,15 +184,14 @@ public class DefaultRouter implements Router {
     @Nonnull
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(@Nonnull HttpMethod httpMethod, @Nonnull CharSequence uri) {
-        List<UriRoute> routes = routesByMethod.getOrDefault(httpMethod.name(), Collections.emptyList());
-        Optional<UriRouteMatch> result = routes.stream()
-            .map((route -> route.match(uri.toString())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst();
-
-        UriRouteMatch match = result.orElse(null);
-        return Optional.ofNullable(match);
+        String uriString = uri.toString();
+        for (UriRoute route : findCandidates(httpMethod.name(), uriString)) {
+            Optional<UriRouteMatch> match = route.match(uriString);
+            if (match.isPresent()) {
+                return Optional.of(match.get());
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -239,19 +246,8 @@ public class DefaultRouter implements Router {
     @Nonnull
     @Override
     public List<HttpFilter> findFilters(@Nonnull HttpRequest<?> request) {
-        List<HttpFilter> httpFilters = new ArrayList<>();
-        HttpMethod method = request.getMethod();
-        URI uri = request.getUri();
-        for (FilterRoute filterRoute : filterRoutes) {
-            Optional<HttpFilter> match = filterRoute.match(method, uri);
-            match.ifPresent(httpFilters::add);
-        }
-        if (!httpFilters.isEmpty()) {
-            OrderUtil.sort(httpFilters);
-            return Collections.unmodifiableList(httpFilters);
-        } else {
-            return Collections.emptyList();
-        }
+        UriRoute route = request.getAttribute(HttpAttributes.ROUTE, UriRoute.class).orElse(null);
+        return filterRouteIndex.find(request.getMethod(), request.getUri(), route);
     }
 
     @SuppressWarnings("unchecked")
@@ -274,13 +270,21 @@ public class DefaultRouter implements Router {
     }
 
     private <T, R> Stream<UriRouteMatch<T, R>> find(String httpMethodName, CharSequence uri) {
-        List<UriRoute> routes = routesByMethod.getOrDefault(httpMethodName, Collections.emptyList());
-        return routes.stream()
-                .map((route -> route.match(uri.toString())))
+        String uriString = uri.toString();
+        return findCandidates(httpMethodName, uriString).stream()
+                .map((route -> route.match(uriString)))
                 .filter(Optional::isPresent)
                 .map(Optional::get);
     }
 
+    private List<UriRoute> findCandidates(String httpMethodName, String uri) {
+        UriRouteIndex index = routeIndexByMethod.get(httpMethodName);
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        return index.find(uri);
+    }
+
     private UriRoute[] finalizeRoutes(List<UriRoute> routes) {
         Collections.sort(routes);
         return routes.toArray(new UriRoute[0]);
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.order.OrderUtil;
+import io.micronaut.core.util.PathMatcher;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.filter.HttpFilter;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the filters that apply to a request from a set of {@link FilterRoute} instances.
+ *
+ * <p>The HTTP method restrictions and the shape of the patterns of each filter route are analysed once at
+ * construction time. The resulting ordered filter chain is then computed once per {@link UriRoute} and cached.
+ * A filter route whose patterns are of the form {@code /**} or {@code /literal/path/**} can be decided from the
+ * literal prefix of the route's URI template alone, whilst any other pattern is evaluated against each request.
+ * Requests that have not been matched to a route use a small LRU cache keyed by path.</p>
+ *
+ * <p>Filters that implement {@link Toggleable} are always checked on each request, since they may be
+ * enabled or disabled at runtime.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class FilterRouteIndex {
+
+    private static final int PATH_CACHE_SIZE = 100;
+    private static final String MATCH_ALL_PATTERN = "/**";
+
+    private final Map<HttpMethod, FilterRouteCandidate[]> candidatesByMethod = new EnumMap<>(HttpMethod.class);
+    private final Map<HttpMethod, Map<String, FilterChain>> chainsByPath = new EnumMap<>(HttpMethod.class);
+    private final Map<UriRoute, FilterChain> chainsByRoute = new ConcurrentHashMap<>();
+
+    /**
+     * @param filterRoutes The filter routes, in registration order
+     */
+    FilterRouteIndex(Collection<FilterRoute> filterRoutes) {
+        List<FilterRouteCandidate> all = new ArrayList<>(filterRoutes.size());
+        for (FilterRoute filterRoute : filterRoutes) {
+            all.add(new FilterRouteCandidate(filterRoute));
+        }
+        for (HttpMethod method : HttpMethod.values()) {
+            List<FilterRouteCandidate> candidates = new ArrayList<>(all.size());
+            for (FilterRouteCandidate candidate : all) {
+                if (candidate.permits(method)) {
+                    candidates.add(candidate);
+                }
+            }
+            if (!candidates.isEmpty()) {
+                candidatesByMethod.put(method, candidates.toArray(new FilterRouteCandidate[0]));
+                chainsByPath.put(method, new ConcurrentLinkedHashMap.Builder<String, FilterChain>()
+                        .maximumWeightedCapacity(PATH_CACHE_SIZE)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Finds the filters for the given request.
+     *
+     * @param method The HTTP method
+     * @param uri    The URI
+     * @param route  The route the request was matched to, if any
+     * @return The ordered filters
+     */
+    List<HttpFilter> find(HttpMethod method, URI uri, @Nullable UriRoute route) {
+        FilterRouteCandidate[] candidates = candidatesByMethod.get(method);
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        String path = uri.getPath();
+        FilterChain chain = null;
+        if (route != null && route.getHttpMethod() == method && path != null) {
+            String literalPrefix = route.getUriMatchTemplate().getLiteralPrefix();
+            if (path.startsWith(literalPrefix)) {
+                chain = chainsByRoute.get(route);
+                if (chain == null) {
+                    chain = chainsByRoute.computeIfAbsent(route, r -> newRouteChain(candidates, literalPrefix));
+                }
+            }
+        }
+        if (chain == null) {
+            String key = path != null ? path : "";
+            Map<String, FilterChain> pathCache = chainsByPath.get(method);
+            chain = pathCache.get(key);
+            if (chain == null) {
+                chain = newPathChain(candidates, method, key);
+                pathCache.put(key, chain);
+            }
+        }
+        return chain.resolve(method, uri);
+    }
+
+    private FilterChain newRouteChain(FilterRouteCandidate[] candidates, String literalPrefix) {
+        String[] tokens = completeTokens(literalPrefix);
+        List<FilterRoute> routes = new ArrayList<>(candidates.length);
+        List<Boolean> dynamic = new ArrayList<>(candidates.length);
+        for (FilterRouteCandidate candidate : candidates) {
+            Boolean matches = tokens != null ? candidate.matchesPrefix(tokens) : null;
+            if (matches == null) {
+                routes.add(candidate.filterRoute);
+                dynamic.add(Boolean.TRUE);
+            } else if (matches) {
+                routes.add(candidate.filterRoute);
+                dynamic.add(Boolean.FALSE);
+            }
+        }
+        return new FilterChain(routes, dynamic);
+    }
+
+    private FilterChain newPathChain(FilterRouteCandidate[] candidates, HttpMethod method, String path) {
+        List<FilterRoute> routes = new ArrayList<>(candidates.length);
+        List<Boolean> dynamic = new ArrayList<>(candidates.length);
+        for (FilterRouteCandidate candidate : candidates) {
+            if (candidate.patterns == null) {
+                routes.add(candidate.filterRoute);
+                dynamic.add(Boolean.TRUE);
+            } else if (candidate.matchesPath(path)) {
+                routes.add(candidate.filterRoute);
+                dynamic.add(Boolean.FALSE);
+            }
+        }
+        return new FilterChain(routes, dynamic);
+    }
+
+    /**
+     * Splits the literal prefix of a URI template into the path segments that are known to be complete,
+     * that is the ones followed by a slash. Any request path starting with the prefix contains the same
+     * leading segments.
+     *
+     * @param literalPrefix The literal prefix
+     * @return The complete segments or {@code null} if the prefix cannot be reasoned about
+     */
+    private static String[] completeTokens(String literalPrefix) {
+        if (!literalPrefix.startsWith("/") || literalPrefix.contains("//") || containsWhitespace(literalPrefix)) {
+            return null;
+        }
+        int last = literalPrefix.lastIndexOf('/');
+        if (last == 0) {
+            return new String[0];
+        }
+        return literalPrefix.substring(1, last).split("/");
+    }
+
+    private static boolean containsWhitespace(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.isWhitespace(str.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEnabled(HttpFilter filter) {
+        return !(filter instanceof Toggleable) || ((Toggleable) filter).isEnabled();
+    }
+
+    /**
+     * A filter route together with the information that can be derived from it ahead of time.
+     */
+    private static final class FilterRouteCandidate {
+        private final FilterRoute filterRoute;
+        private final List<String> patterns;
+        private final String[][] prefixTokens;
+
+        FilterRouteCandidate(FilterRoute filterRoute) {
+            this.filterRoute = filterRoute;
+            if (filterRoute instanceof DefaultFilterRoute) {
+                this.patterns = ((DefaultFilterRoute) filterRoute).patterns;
+                this.prefixTokens = resolvePrefixTokens(patterns);
+            } else {
+                this.patterns = null;
+                this.prefixTokens = null;
+            }
+        }
+
+        /**
+         * @param method The method
+         * @return Whether the filter route may apply to requests with the given method
+         */
+        boolean permits(HttpMethod method) {
+            if (filterRoute instanceof DefaultFilterRoute) {
+                Collection<HttpMethod> httpMethods = ((DefaultFilterRoute) filterRoute).httpMethods;
+                return httpMethods == null || httpMethods.contains(method);
+            }
+            return true;
+        }
+
+        /**
+         * @param path The request path
+         * @return Whether any of the patterns match the path
+         */
+        boolean matchesPath(String path) {
+            for (String pattern : patterns) {
+                if (PathMatcher.ANT.matches(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Decides whether the filter route matches all paths that start with the given complete segments.
+         *
+         * @param tokens The complete leading segments of the path
+         * @return {@code true} if every such path matches, {@code false} if none do, otherwise {@code null}
+         */
+        Boolean matchesPrefix(String[] tokens) {
+            if (prefixTokens == null) {
+                return null;
+            }
+            boolean undecided = false;
+            for (String[] patternTokens : prefixTokens) {
+                int common = Math.min(tokens.length, patternTokens.length);
+                boolean diverged = false;
+                for (int i = 0; i < common; i++) {
+                    if (!tokens[i].equals(patternTokens[i])) {
+                        diverged = true;
+                        break;
+                    }
+                }
+                if (!diverged) {
+                    if (tokens.length >= patternTokens.length) {
+                        return Boolean.TRUE;
+                    }
+                    undecided = true;
+                }
+            }
+            return undecided ? null : Boolean.FALSE;
+        }
+
+        /**
+         * Resolves the literal segments of patterns of the form {@code /**} and {@code /literal/path/**}.
+         *
+         * @param patterns The patterns
+         * @return The segments of each pattern or {@code null} if any pattern has a different form
+         */
+        private static String[][] resolvePrefixTokens(List<String> patterns) {
+            String[][] tokens = new String[patterns.size()][];
+            for (int i = 0; i < tokens.length; i++) {
+                String pattern = patterns.get(i);
+                if (pattern.equals(MATCH_ALL_PATTERN)) {
+                    tokens[i] = new String[0];
+                } else if (pattern.endsWith(MATCH_ALL_PATTERN)) {
+                    String prefix = pattern.substring(0, pattern.length() - MATCH_ALL_PATTERN.length());
+                    if (!isLiteralPath(prefix)) {
+                        return null;
+                    }
+                    tokens[i] = prefix.substring(1).split("/");
+                } else {
+                    return null;
+                }
+            }
+            return tokens;
+        }
+
+        private static boolean isLiteralPath(String path) {
+            if (path.length() < 2 || path.charAt(0) != '/' || path.contains("//")) {
+                return false;
+            }
+            for (int i = 0; i < path.length(); i++) {
+                char c = path.charAt(i);
+                if (c == '*' || c == '?' || c == '{' || c == '}' || Character.isWhitespace(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The filter routes that may apply to a route or a path, in registration order, together with the
+     * pre-sorted filters of those that are known to apply.
+     */
+    private static final class FilterChain {
+        private final FilterRoute[] routes;
+        private final boolean[] dynamic;
+        private final boolean hasDynamic;
+        private final boolean hasToggleable;
+        private final List<HttpFilter> filters;
+
+        FilterChain(List<FilterRoute> routes, List<Boolean> dynamic) {
+            this.routes = routes.toArray(new FilterRoute[0]);
+            this.dynamic = new boolean[this.routes.length];
+            List<HttpFilter> filters = new ArrayList<>(this.routes.length);
+            boolean hasDynamic = false;
+            boolean hasToggleable = false;
+            for (int i = 0; i < this.routes.length; i++) {
+                if (dynamic.get(i)) {
+                    this.dynamic[i] = true;
+                    hasDynamic = true;
+                } else {
+                    HttpFilter filter = this.routes[i].getFilter();
+                    hasToggleable |= filter instanceof Toggleable;
+                    filters.add(filter);
+                }
+            }
+            this.hasDynamic = hasDynamic;
+            this.hasToggleable = hasToggleable;
+            if (filters.isEmpty()) {
+                this.filters = Collections.emptyList();
+            } else {
+                OrderUtil.sort(filters);
+                this.filters = Collections.unmodifiableList(filters);
+            }
+        }
+
+        /**
+         * @param method The HTTP method
+         * @param uri    The URI
+         * @return The ordered filters
+         */
+        List<HttpFilter> resolve(HttpMethod method, URI uri) {
+            if (hasDynamic) {
+                HttpFilter[] dynamicMatches = null;
+                for (int i = 0; i < routes.length; i++) {
+                    if (dynamic[i]) {
+                        HttpFilter filter = routes[i].match(method, uri).orElse(null);
+                        if (filter != null) {
+                            if (dynamicMatches == null) {
+                                dynamicMatches = new HttpFilter[routes.length];
+                            }
+                            dynamicMatches[i] = filter;
+                        }
+                    }
+                }
+                if (dynamicMatches != null) {
+                    // merge in registration order so that filters with the same order keep their relative position
+                    List<HttpFilter> matched = new ArrayList<>(routes.length);
+                    for (int i = 0; i < routes.length; i++) {
+                        if (dynamic[i]) {
+                            if (dynamicMatches[i] != null) {
+                                matched.add(dynamicMatches[i]);
+                            }
+                        } else {
+                            HttpFilter filter = routes[i].getFilter();
+                            if (isEnabled(filter)) {
+                                matched.add(filter);
+                            }
+                        }
+                    }
+                    OrderUtil.sort(matched);
+                    return Collections.unmodifiableList(matched);
+                }
+            }
+            if (!hasToggleable) {
+                return filters;
+            }
+            List<HttpFilter> enabled = new ArrayList<>(filters.size());
+            for (HttpFilter filter : filters) {
+                if (isEnabled(filter)) {
+                    enabled.add(filter);
+                }
+            }
+            return enabled.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(enabled);
+        }
+    }
+}
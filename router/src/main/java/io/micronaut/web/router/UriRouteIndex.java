@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A radix tree of {@link UriRoute} instances keyed by the literal prefix of their
+ * {@link io.micronaut.http.uri.UriMatchTemplate}. Looking up a URI descends the tree
+ * character by character and only returns the routes whose literal prefix the URI starts with,
+ * so that the match expression is evaluated for a small set of candidates rather than every route.
+ *
+ * <p>Candidates are returned in the order of the routes supplied to the constructor, which
+ * preserves the precedence defined by {@link io.micronaut.http.uri.UriTemplate#compareTo(io.micronaut.http.uri.UriTemplate)}.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class UriRouteIndex {
+
+    private static final int[] NO_ROUTES = new int[0];
+
+    private final UriRoute[] routes;
+    private final Node root = new Node("");
+
+    /**
+     * @param routes The routes, sorted by precedence
+     */
+    UriRouteIndex(List<UriRoute> routes) {
+        this.routes = routes.toArray(new UriRoute[0]);
+        for (int i = 0; i < this.routes.length; i++) {
+            String prefix = this.routes[i].getUriMatchTemplate().getLiteralPrefix();
+            insert(prefix, startOffset(prefix), i);
+        }
+    }
+
+    /**
+     * Finds the routes that may match the given URI.
+     *
+     * @param uri The URI
+     * @return The candidate routes, in order of precedence
+     */
+    List<UriRoute> find(String uri) {
+        if (routes.length == 0) {
+            return Collections.emptyList();
+        }
+        int[] found = NO_ROUTES;
+        int count = 0;
+        int len = uri.length();
+        int pos = startOffset(uri);
+        Node node = root;
+        while (node != null) {
+            int[] nodeRoutes = node.routes;
+            if (nodeRoutes.length > 0) {
+                if (count + nodeRoutes.length > found.length) {
+                    found = Arrays.copyOf(found, Math.max(found.length * 2, count + nodeRoutes.length));
+                }
+                System.arraycopy(nodeRoutes, 0, found, count, nodeRoutes.length);
+                count += nodeRoutes.length;
+            }
+            if (pos == len) {
+                break;
+            }
+            Node child = node.child(uri.charAt(pos));
+            if (child == null || !uri.regionMatches(pos, child.label, 0, child.label.length())) {
+                break;
+            }
+            pos += child.label.length();
+            node = child;
+        }
+
+        switch (count) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(routes[found[0]]);
+            default:
+                Arrays.sort(found, 0, count);
+                List<UriRoute> candidates = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    candidates.add(routes[found[i]]);
+                }
+                return candidates;
+        }
+    }
+
+    private void insert(String key, int pos, int routeIndex) {
+        Node node = root;
+        int len = key.length();
+        while (pos < len) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                Node leaf = new Node(key.substring(pos));
+                leaf.addRoute(routeIndex);
+                node.addChild(leaf);
+                return;
+            }
+            String label = child.label;
+            int common = 1;
+            int max = Math.min(label.length(), len - pos);
+            while (common < max && label.charAt(common) == key.charAt(pos + common)) {
+                common++;
+            }
+            if (common < label.length()) {
+                child = node.split(child, common);
+            }
+            pos += common;
+            node = child;
+        }
+        node.addRoute(routeIndex);
+    }
+
+    /**
+     * A leading slash is not significant for the purposes of indexing since some templates
+     * and URIs may omit it.
+     *
+     * @param str The string
+     * @return The offset to start at
+     */
+    private static int startOffset(String str) {
+        return !str.isEmpty() && str.charAt(0) == '/' ? 1 : 0;
+    }
+
+    /**
+     * A node within the tree.
+     */
+    private static final class Node {
+        private String label;
+        private Node[] children = new Node[0];
+        private int[] routes = NO_ROUTES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+        }
+
+        void addRoute(int routeIndex) {
+            routes = Arrays.copyOf(routes, routes.length + 1);
+            routes[routes.length - 1] = routeIndex;
+        }
+
+        /**
+         * Splits the given child at the given label offset, inserting a new intermediate node.
+         *
+         * @param child The child
+         * @param at    The offset within the child label
+         * @return The intermediate node
+         */
+        Node split(Node child, int at) {
+            Node intermediate = new Node(child.label.substring(0, at));
+            child.label = child.label.substring(at);
+            intermediate.children = new Node[] {child};
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = intermediate;
+                    break;
+                }
+            }
+            return intermediate;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.DefaultApplicationContext
+import io.micronaut.context.annotation.Executable
+import io.micronaut.core.util.Toggleable
+import io.micronaut.http.HttpAttributes
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.filter.FilterChain
+import io.micronaut.http.filter.HttpFilter
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.inject.Singleton
+import java.util.stream.Collectors
+
+class DefaultRouterSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = new DefaultApplicationContext("test").start()
+    @Shared IndexedRoutes routes = new IndexedRoutes(context, context.getBean(IndexedController))
+    @Shared Router router = new DefaultRouter(routes)
+
+    @Unroll
+    void "test find #uri returns routes in order of precedence"() {
+        expect:
+        router.find(HttpMethod.GET, uri)
+                .map({ UriRouteMatch match -> match.route.uriMatchTemplate.toString() })
+                .collect(Collectors.toList()) == templates
+        router.route(HttpMethod.GET, uri)
+                .map({ UriRouteMatch match -> match.route.uriMatchTemplate.toString() })
+                .orElse(null) == templates[0]
+
+        where:
+        uri                     | templates
+        "/"                     | ["/"]
+        "/indexed"              | ["/indexed{/id}"]
+        "/indexed/list"         | ["/indexed/list", "/indexed/{name}", "/indexed{/id}"]
+        "/indexed/list/"        | ["/indexed/list", "/indexed/{name}", "/indexed{/id}"]
+        "/indexed/foo"          | ["/indexed/{name}", "/indexed{/id}"]
+        "/indexed/foo/items"    | ["/indexed/{name}/items"]
+        "/indexed/foo?max=10"   | ["/indexed/{name}", "/indexed{/id}"]
+        "/indexes"              | []
+        "/other"                | ["/other"]
+        "/missing"              | []
+    }
+
+    void "test find ignores routes for other HTTP methods"() {
+        expect:
+        router.find(HttpMethod.POST, "/indexed/list").count() == 0
+        !router.route(HttpMethod.DELETE, "/other").isPresent()
+    }
+
+    @Unroll
+    void "test find filters for #method #uri matched to #template"() {
+        given:
+        UriRoute route = template ? router.uriRoutes().filter({ UriRoute r -> r.uriMatchTemplate.toString() == template }).findFirst().get() : null
+        HttpRequest request = Stub(HttpRequest) {
+            getMethod() >> method
+            getUri() >> URI.create(uri)
+            getAttribute(HttpAttributes.ROUTE, UriRoute) >> Optional.ofNullable(route)
+        }
+
+        expect: "the result is the same on repeated requests"
+        router.findFilters(request)*.name == filters
+        router.findFilters(request)*.name == filters
+
+        where:
+        method          | uri                   | template                  | filters
+        HttpMethod.GET  | "/indexed/foo"        | "/indexed/{name}"         | ["indexed", "all"]
+        HttpMethod.GET  | "/indexed/foo/items"  | "/indexed/{name}/items"   | ["indexed", "all", "items"]
+        HttpMethod.GET  | "/indexed/list"       | "/indexed/list"           | ["indexed", "all"]
+        HttpMethod.GET  | "/other"              | "/other"                  | ["all"]
+        HttpMethod.GET  | "/missing"            | null                      | ["all"]
+        HttpMethod.GET  | "/indexed/missing/x"  | null                      | ["indexed", "all"]
+        HttpMethod.POST | "/indexed/foo"        | null                      | ["all"]
+    }
+
+    void "test find filters excludes disabled filters"() {
+        given:
+        HttpRequest request = Stub(HttpRequest) {
+            getMethod() >> HttpMethod.GET
+            getUri() >> URI.create("/other")
+            getAttribute(HttpAttributes.ROUTE, UriRoute) >> Optional.empty()
+        }
+
+        when:
+        routes.toggled.enabled = false
+
+        then:
+        router.findFilters(request)*.name == []
+
+        when:
+        routes.toggled.enabled = true
+
+        then:
+        router.findFilters(request)*.name == ["all"]
+    }
+
+    static class IndexedRoutes extends GroovyRouteBuilder {
+
+        final NamedFilter toggled = new NamedFilter(name: "all", order: 0)
+
+        IndexedRoutes(ApplicationContext beanContext, IndexedController controller) {
+            super(beanContext)
+            GET("/", controller.&list)
+            GET("/indexed/{name}", controller.&show)
+            GET("/indexed/list", controller.&list)
+            GET("/indexed{/id}", controller.&show)
+            GET("/indexed/{name}/items", controller.&show)
+            GET("/other", controller.&list)
+            addFilter("/**", { toggled } )
+            addFilter("/**/items", { new NamedFilter(name: "items", order: 10) } )
+            addFilter("/indexed/**", { new NamedFilter(name: "indexed", order: -10) } ).methods(HttpMethod.GET)
+        }
+    }
+
+    static class NamedFilter implements HttpFilter, Toggleable {
+        String name
+        int order
+        boolean enabled = true
+
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(HttpRequest<?> request, FilterChain chain) {
+            return null
+        }
+    }
+
+    @Singleton
+    @Executable
+    static class IndexedController {
+
+        List list() { [] }
+
+        String show(String name) { name }
+    }
+}
@@ -17,6 +17,9 @@ package io.micronaut.cache;
 
 import io.micronaut.core.type.Argument;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
@@ -80,6 +83,43 @@ public interface AsyncCache<C> extends Cache<C> {
      */
     CompletableFuture<Boolean> invalidate(Object key);
 
+    /**
+     * Resolve the values for the given keys. Keys that are not present in the cache or whose value cannot be
+     * converted to the required type are absent from the resulting map. Implementations that support bulk retrieval
+     * should override this method to retrieve the values in a single operation.
+     *
+     * @param keys         The cache keys
+     * @param requiredType The required type
+     * @param <T>          The concrete type
+     * @return A future with a map of the keys that were found to their values
+     * @since 1.3.0
+     */
+    default <T> CompletableFuture<Map<Object, T>> getAll(Collection<?> keys, Argument<T> requiredType) {
+        Map<Object, CompletableFuture<Optional<T>>> futures = new LinkedHashMap<>(keys.size());
+        for (Object key : keys) {
+            futures.put(key, get(key, requiredType));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(aVoid -> {
+            Map<Object, T> values = new LinkedHashMap<>(futures.size());
+            futures.forEach((key, future) -> future.join().ifPresent(value -> values.put(key, value)));
+            return values;
+        });
+    }
+
+    /**
+     * <p>Cache the specified values using the keys of the given map.</p>
+     *
+     * @param values The keys and values to cache
+     * @return A future with a boolean indicating whether the operation was successful or not
+     * @since 1.3.0
+     */
+    default CompletableFuture<Boolean> putAll(Map<?, ?> values) {
+        CompletableFuture[] futures = values.entrySet().stream()
+                .map(entry -> put(entry.getKey(), entry.getValue()))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).thenApply(aVoid -> true);
+    }
+
     /**
      * Invalidate all cached values within this cache.
      *
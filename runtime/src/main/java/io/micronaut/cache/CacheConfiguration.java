@@ -49,6 +49,12 @@ public class CacheConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_TESTMODE = false;
 
+    /**
+     * The default load timeout.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_LOAD_TIMEOUT = Duration.ofSeconds(30);
+
     protected Charset charset;
 
     private Integer initialCapacity;
@@ -56,6 +62,8 @@ public class CacheConfiguration {
     private Long maximumWeight;
     private Duration expireAfterWrite;
     private Duration expireAfterAccess;
+    private Duration refreshAfterWrite;
+    private Duration loadTimeout = DEFAULT_LOAD_TIMEOUT;
     private boolean recordStats = DEFAULT_RECORD_STATS;
     private boolean testMode = DEFAULT_TESTMODE;
     private final String cacheName;
@@ -117,6 +125,27 @@ public class CacheConfiguration {
         return Optional.ofNullable(expireAfterAccess);
     }
 
+    /**
+     * Specifies that each entry should be refreshed once a fixed duration has elapsed after the entry's creation or
+     * the most recent replacement of its value. The stale value continues to be returned whilst the entry is refreshed
+     * in the background.
+     *
+     * @return The {@link Duration}
+     */
+    public Optional<Duration> getRefreshAfterWrite() {
+        return Optional.ofNullable(refreshAfterWrite);
+    }
+
+    /**
+     * The maximum duration concurrent cache misses of a key join a pending load of the key before invoking the method
+     * themselves. Default value ({@link #DEFAULT_LOAD_TIMEOUT}).
+     *
+     * @return The {@link Duration}
+     */
+    public Duration getLoadTimeout() {
+        return loadTimeout;
+    }
+
     /**
      * Some caches support recording statistics. For example to record hit and miss ratio's fine tune the cache characteristics.
      *
@@ -172,6 +201,20 @@ public class CacheConfiguration {
         this.expireAfterAccess = expireAfterAccess;
     }
 
+    /**
+     * @param refreshAfterWrite The duration after writing a value after which the value is refreshed
+     */
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    /**
+     * @param loadTimeout The maximum duration concurrent cache misses of a key join a pending load of the key
+     */
+    public void setLoadTimeout(Duration loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
     /**
      * Set whether record stats is enabled. Default value ({@value #DEFAULT_RECORD_STATS}).
      *
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A snapshot of the statistics of a cache, as returned by {@link SyncCache#getStatistics()}. Statistics are only
+ * recorded by caches configured to do so, for example with {@link CacheConfiguration#isRecordStats()}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+    private final long estimatedSize;
+    private final Long weightedSize;
+
+    /**
+     * @param hitCount         The number of lookups that found a value
+     * @param missCount        The number of lookups that did not find a value
+     * @param loadSuccessCount The number of values loaded successfully
+     * @param loadFailureCount The number of loads that failed
+     * @param totalLoadTime    The total time spent loading values in nanoseconds
+     * @param evictionCount    The number of entries evicted
+     * @param estimatedSize    The approximate number of entries
+     * @param weightedSize     The total weight of the entries if the cache is bounded by weight
+     */
+    public CacheStatistics(
+            long hitCount,
+            long missCount,
+            long loadSuccessCount,
+            long loadFailureCount,
+            long totalLoadTime,
+            long evictionCount,
+            long estimatedSize,
+            @Nullable Long weightedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.estimatedSize = estimatedSize;
+        this.weightedSize = weightedSize;
+    }
+
+    /**
+     * @return The number of lookups that found a value
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of lookups that did not find a value
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of lookups
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return The ratio of lookups that found a value, 1.0 if there were no lookups
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return The ratio of lookups that did not find a value, 0.0 if there were no lookups
+     */
+    public double getMissRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 0.0 : (double) missCount / requestCount;
+    }
+
+    /**
+     * @return The number of values loaded successfully
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return The number of loads that failed
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return The total time spent loading values in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return The average time spent loading a value in nanoseconds
+     */
+    public double getAverageLoadPenalty() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * @return The number of entries evicted
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The approximate number of entries
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * @return The total weight of the entries if the cache is bounded by weight
+     */
+    @Nullable
+    public Long getWeightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * @return The statistics as a map
+     */
+    @Nonnull
+    public Map<String, Object> toMap() {
+        Map<String, Object> values = new LinkedHashMap<>(13);
+        values.put("requestCount", getRequestCount());
+        values.put("hitCount", hitCount);
+        values.put("hitRate", getHitRate());
+        values.put("missCount", missCount);
+        values.put("missRate", getMissRate());
+        values.put("loadSuccessCount", loadSuccessCount);
+        values.put("loadFailureCount", loadFailureCount);
+        values.put("totalLoadTime", totalLoadTime);
+        values.put("averageLoadPenalty", getAverageLoadPenalty());
+        values.put("evictionCount", evictionCount);
+        values.put("estimatedSize", estimatedSize);
+        values.put("weightedSize", weightedSize);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics" + toMap();
+    }
+}
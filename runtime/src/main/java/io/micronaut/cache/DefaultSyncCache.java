@@ -16,12 +16,16 @@
 package io.micronaut.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.github.benmanes.caffeine.cache.Weigher;
 import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.annotation.EachBean;
+import io.micronaut.core.convert.ArgumentConversionContext;
 import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.type.Argument;
@@ -32,9 +36,12 @@ import org.reactivestreams.Publisher;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -44,6 +51,11 @@ import java.util.function.Supplier;
  * <p>Since Caffeine is a non-blocking in-memory cache the {@link #async()} method will return an implementation that
  * runs operations in the current thread.</p>
  *
+ * <p>If {@link CacheConfiguration#getRefreshAfterWrite()} is configured the supplier that loaded a value through
+ * {@link #get(Object, Argument, Supplier)} is retained and used to refresh the value in the background once it is
+ * due for refresh, whilst the current value continues to be returned. Suppliers passed for keys that are already
+ * present are not retained.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -54,6 +66,8 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
     private final com.github.benmanes.caffeine.cache.Cache cache;
     private final ApplicationContext applicationContext;
     private final ConversionService<?> conversionService;
+    private final Map<Object, Supplier<?>> refreshSuppliers = new ConcurrentHashMap<>();
+    private final boolean refreshing;
 
     /**
      * Construct a sync cache implementation with given configurations.
@@ -84,6 +98,7 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         this.cacheConfiguration = cacheConfiguration;
         this.applicationContext = applicationContext;
         this.conversionService = conversionService;
+        this.refreshing = cacheConfiguration.getRefreshAfterWrite().isPresent();
         this.cache = buildCache(cacheConfiguration);
     }
 
@@ -117,6 +132,29 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         return cache;
     }
 
+    @Override
+    public Optional<CacheStatistics> getStatistics() {
+        Policy<?, ?> policy = cache.policy();
+        if (!policy.isRecordingStats()) {
+            return Optional.empty();
+        }
+        CacheStats stats = cache.stats();
+        Long weightedSize = policy.eviction()
+                .filter(Policy.Eviction::isWeighted)
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(null);
+        return Optional.of(new CacheStatistics(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.loadSuccessCount(),
+                stats.loadFailureCount(),
+                stats.totalLoadTime(),
+                stats.evictionCount(),
+                cache.estimatedSize(),
+                weightedSize
+        ));
+    }
+
     @Override
     public <T> Optional<T> get(Object key, Argument<T> requiredType) {
         Object value = cache.getIfPresent(key);
@@ -128,7 +166,13 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
 
     @Override
     public <T> T get(Object key, Argument<T> requiredType, Supplier<T> supplier) {
-        Object value = cache.get(key, o -> supplier.get());
+        Object value = cache.get(key, o -> {
+            T loaded = supplier.get();
+            if (refreshing && loaded != null) {
+                refreshSuppliers.put(key, supplier);
+            }
+            return loaded;
+        });
         if (value != null) {
             Optional<T> converted = conversionService.convert(value, ConversionContext.of(requiredType));
             return converted.orElseThrow(() ->
@@ -138,6 +182,34 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         return (T) value;
     }
 
+    @Override
+    public <T> Map<Object, T> getAll(Collection<?> keys, Argument<T> requiredType) {
+        Map<Object, Object> present = cache.getAllPresent(keys);
+        Map<Object, T> values = new LinkedHashMap<>(present.size());
+        ArgumentConversionContext<T> conversionContext = ConversionContext.of(requiredType);
+        for (Map.Entry<Object, Object> entry : present.entrySet()) {
+            conversionService.convert(entry.getValue(), conversionContext).ifPresent(value ->
+                    values.put(entry.getKey(), value)
+            );
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void putAll(Map<?, ?> values) {
+        Map<Object, Object> nonNullValues = new LinkedHashMap<>(values.size());
+        values.forEach((key, value) -> {
+            if (value == null) {
+                // null is the same as removal
+                cache.invalidate(key);
+            } else {
+                nonNullValues.put(key, value);
+            }
+        });
+        cache.putAll(nonNullValues);
+    }
+
     @Override
     public void invalidate(Object key) {
         cache.invalidate(key);
@@ -192,10 +264,34 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         if (cacheConfiguration.isRecordStats()) {
             builder.recordStats();
         }
+        builder.ticker(findTicker());
         if (cacheConfiguration.isTestMode()) {
             // run commands on same thread
             builder.executor(Runnable::run);
         }
+        Optional<Duration> refreshAfterWrite = cacheConfiguration.getRefreshAfterWrite();
+        if (refreshAfterWrite.isPresent()) {
+            builder.refreshAfterWrite(refreshAfterWrite.get().toMillis(), TimeUnit.MILLISECONDS);
+            builder.removalListener((key, value, cause) -> {
+                if (key != null && cause != RemovalCause.REPLACED) {
+                    refreshSuppliers.remove(key);
+                }
+            });
+            return builder.build(new CacheLoader<Object, Object>() {
+                @Override
+                public Object load(@Nonnull Object key) {
+                    Supplier<?> supplier = refreshSuppliers.get(key);
+                    return supplier != null ? supplier.get() : null;
+                }
+
+                @Override
+                public Object reload(@Nonnull Object key, @Nonnull Object oldValue) {
+                    // values that were put without a supplier cannot be reloaded so keep the current value
+                    Supplier<?> supplier = refreshSuppliers.get(key);
+                    return supplier != null ? supplier.get() : oldValue;
+                }
+            });
+        }
         return builder.build();
     }
 
@@ -206,12 +302,19 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
                         .orElse(Weigher.singletonWeigher()));
     }
 
+    private Ticker findTicker() {
+        return applicationContext.findBean(Ticker.class, Qualifiers.byName(cacheConfiguration.getCacheName()))
+                .orElseGet(() -> applicationContext.findBean(Ticker.class)
+                        .orElse(Ticker.systemTicker()));
+    }
+
     private Map<String, Object> getCaffeineCacheData(Cache caffeineCache) {
 
         Policy policy = caffeineCache.policy();
         Optional<Policy.Eviction> eviction = policy.eviction();
         Policy.Expiration expireAfterAccess = (Policy.Expiration) policy.expireAfterAccess().orElse(null);
         Policy.Expiration expireAfterWrite = (Policy.Expiration) policy.expireAfterWrite().orElse(null);
+        Policy.Expiration refreshAfterWrite = (Policy.Expiration) policy.refreshAfterWrite().orElse(null);
         Long maximumSize = eviction.filter(e -> !e.isWeighted()).map(e -> e.getMaximum()).orElse(null);
         Long maximumWeight = eviction.filter(e -> e.isWeighted()).map(e -> e.getMaximum()).orElse(null);
         Long weightedSize = eviction.flatMap(e -> e.weightedSize().isPresent() ? Optional.of(e.weightedSize().getAsLong()) : Optional.empty()).orElse(null);
@@ -225,10 +328,11 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         values.put("weightedSize", weightedSize);
         values.put("expireAfterAccess", getExpiresAfter(expireAfterAccess));
         values.put("expireAfterWrite", getExpiresAfter(expireAfterWrite));
+        values.put("refreshAfterWrite", getExpiresAfter(refreshAfterWrite));
         values.put("recordingStats", isRecordingStats);
 
         if (isRecordingStats) {
-            values.put("stats", getStatsData(caffeineCache.stats()));
+            getStatistics().ifPresent(statistics -> values.put("stats", getStatsData(statistics, caffeineCache.stats())));
         }
 
         return values;
@@ -238,18 +342,9 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         return expiration != null ? expiration.getExpiresAfter(TimeUnit.MILLISECONDS) : null;
     }
 
-    private Map<String, Object> getStatsData(CacheStats stats) {
-
-        Map<String, Object> values = new LinkedHashMap<>(13);
-
-        values.put("requestCount", stats.requestCount());
-        values.put("hitCount", stats.hitCount());
-        values.put("hitRate", stats.hitRate());
-        values.put("missCount", stats.missCount());
-        values.put("missRate", stats.missRate());
-        values.put("evictionCount", stats.evictionCount());
+    private Map<String, Object> getStatsData(CacheStatistics statistics, CacheStats stats) {
+        Map<String, Object> values = statistics.toMap();
         values.put("evictionWeight", stats.evictionWeight());
-
         return values;
     }
 }
@@ -18,6 +18,8 @@ package io.micronaut.cache;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.type.Argument;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
@@ -99,6 +101,25 @@ public class DelegatingAsyncBlockingCache<C> implements AsyncCache<C> {
         }
     }
 
+    @Override
+    public <T> CompletableFuture<Map<Object, T>> getAll(Collection<?> keys, Argument<T> requiredType) {
+        try {
+            return CompletableFuture.completedFuture(delegate.getAll(keys, requiredType));
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putAll(Map<?, ?> values) {
+        try {
+            delegate.putAll(values);
+            return CompletableFuture.completedFuture(true);
+        } catch (Exception e) {
+            return handleException(e);
+        }
+    }
+
     @Override
     public CompletableFuture<Boolean> invalidateAll() {
         try {
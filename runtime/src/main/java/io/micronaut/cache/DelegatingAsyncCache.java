@@ -18,6 +18,8 @@ package io.micronaut.cache;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.type.Argument;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -87,6 +89,19 @@ public class DelegatingAsyncCache<C> implements AsyncCache<C> {
         }, executorService);
     }
 
+    @Override
+    public <T> CompletableFuture<Map<Object, T>> getAll(Collection<?> keys, Argument<T> requiredType) {
+        return CompletableFuture.supplyAsync(() -> delegate.getAll(keys, requiredType), executorService);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putAll(Map<?, ?> values) {
+        return CompletableFuture.supplyAsync(() -> {
+            delegate.putAll(values);
+            return true;
+        }, executorService);
+    }
+
     @Override
     public CompletableFuture<Boolean> invalidateAll() {
         return CompletableFuture.supplyAsync(() -> {
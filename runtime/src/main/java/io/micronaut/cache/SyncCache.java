@@ -19,6 +19,9 @@ import io.micronaut.core.type.Argument;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
@@ -90,6 +93,36 @@ public interface SyncCache<C> extends Cache<C> {
      */
     void invalidate(@Nonnull Object key);
 
+    /**
+     * Resolve the values for the given keys. Keys that are not present in the cache or whose value cannot be
+     * converted to the required type are absent from the returned map. Implementations that support bulk retrieval
+     * should override this method to retrieve the values in a single operation.
+     *
+     * @param keys         The cache keys
+     * @param requiredType The required type
+     * @param <T>          The concrete type
+     * @return A map of the keys that were found to their values
+     * @since 1.3.0
+     */
+    @Nonnull
+    default <T> Map<Object, T> getAll(@Nonnull Collection<?> keys, @Nonnull Argument<T> requiredType) {
+        Map<Object, T> values = new LinkedHashMap<>(keys.size());
+        for (Object key : keys) {
+            get(key, requiredType).ifPresent(value -> values.put(key, value));
+        }
+        return values;
+    }
+
+    /**
+     * <p>Cache the specified values using the keys of the given map.</p>
+     *
+     * @param values The keys and values to cache
+     * @since 1.3.0
+     */
+    default void putAll(@Nonnull Map<?, ?> values) {
+        values.forEach(this::put);
+    }
+
     /**
      * Invalidate all cached values within this cache.
      */
@@ -122,6 +155,18 @@ public interface SyncCache<C> extends Cache<C> {
         return get(key, Argument.of(requiredType));
     }
 
+    /**
+     * Returns a snapshot of the statistics of the cache. Caches that do not record statistics, which is the default,
+     * return an empty optional.
+     *
+     * @return The statistics of the cache
+     * @since 1.3.0
+     */
+    @Nonnull
+    default Optional<CacheStatistics> getStatistics() {
+        return Optional.empty();
+    }
+
     /**
      * @return The executor service used to construct the default
      * asynchronous cache.
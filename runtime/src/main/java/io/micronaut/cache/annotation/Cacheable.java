@@ -15,6 +15,7 @@
  */
 package io.micronaut.cache.annotation;
 
+import io.micronaut.cache.interceptor.BulkKeyExtractor;
 import io.micronaut.cache.interceptor.CacheInterceptor;
 import io.micronaut.cache.interceptor.CacheKeyGenerator;
 import io.micronaut.cache.interceptor.DefaultCacheKeyGenerator;
@@ -89,4 +90,47 @@ public @interface Cacheable {
      * @return True if an atomic operation should be attempted
      */
     boolean atomic() default false;
+
+    /**
+     * <p>The duration after which a cached value is considered stale, for example "30s". When a stale value is found
+     * in the cache it is returned to the caller and the method is invoked again on the I/O executor to refresh the
+     * cached value, so that callers do not wait for the value to be recomputed.</p>
+     *
+     * <p>The duration should be shorter than the expiry configured for the cache, otherwise values expire before they
+     * are refreshed. By default values are never considered stale.</p>
+     *
+     * @return The duration after which a cached value is refreshed in the background
+     * @since 1.3.0
+     */
+    String staleWhileRevalidate() default "";
+
+    /**
+     * <p>Whether the method loads values in bulk. The first {@link java.util.Collection} parameter that makes up the
+     * key is split into its elements and each element is cached under its own key, with the remaining key parameters
+     * unchanged. Values for the elements found in the cache are retrieved in a single bulk operation and the method is
+     * invoked with a collection containing only the missing elements.</p>
+     *
+     * <p>The method must return either a {@link java.util.Map} keyed by the elements or a {@link java.util.Collection}
+     * of values together with a {@link #bulkKeyExtractor()} that resolves the element of each value. The result
+     * returned to the caller merges the cached and loaded values in the order of the original collection, omitting
+     * elements without a value. If the result of the method cannot be correlated with the missing elements it is
+     * returned as is and not cached.</p>
+     *
+     * <p>Bulk operations use the first cache name specified and are supported for synchronous and
+     * {@link java.util.concurrent.CompletionStage} return types.</p>
+     *
+     * @return True if values should be cached per element of the collection parameter
+     * @since 1.3.0
+     */
+    boolean bulk() default false;
+
+    /**
+     * The {@link BulkKeyExtractor} that resolves the element of the collection parameter of a {@link #bulk()} method
+     * that each value of a {@link java.util.Collection} result was loaded for. Not required for methods that return a
+     * {@link java.util.Map} keyed by the elements.
+     *
+     * @return The bulk key extractor class
+     * @since 1.3.0
+     */
+    Class<? extends BulkKeyExtractor> bulkKeyExtractor() default BulkKeyExtractor.class;
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.interceptor;
+
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.type.MutableArgumentValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.convert.ConversionService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The state of a single invocation of a {@link io.micronaut.cache.annotation.Cacheable#bulk()} method.
+ *
+ * <p>The elements of the collection parameter are each mapped to a cache key. Once the values present in the cache
+ * are known the collection parameter is restricted to the missing elements, the method is invoked and the values it
+ * returns are correlated with the missing elements, either by the keys of a map or through a
+ * {@link BulkKeyExtractor}, so that they can be cached individually and merged with the cached values in the order
+ * of the original collection.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class BulkCacheLoad {
+
+    private final MutableArgumentValue<Object> parameter;
+    private final BulkKeyExtractor keyExtractor;
+    private final Collection<?> elements;
+    private final Map<Object, Object> keys;
+    private Map<Object, ?> hits = Collections.emptyMap();
+    private List<Object> missing;
+
+    /**
+     * @param context        The invocation context
+     * @param parameterIndex The index of the collection parameter
+     * @param keyPosition    The position of the collection parameter within the key parameters
+     * @param keyGenerator   The key generator
+     * @param keyParameters  The key parameters
+     * @param keyExtractor   Resolves the elements of the values of a collection result, null if the result is a map
+     */
+    @SuppressWarnings("unchecked")
+    BulkCacheLoad(
+            MethodInvocationContext<?, ?> context,
+            int parameterIndex,
+            int keyPosition,
+            CacheKeyGenerator keyGenerator,
+            Object[] keyParameters,
+            BulkKeyExtractor keyExtractor) {
+        this.parameter = (MutableArgumentValue<Object>) context.getParameters().get(context.getArguments()[parameterIndex].getName());
+        this.keyExtractor = keyExtractor;
+        Object value = parameter.getValue();
+        this.elements = value instanceof Collection ? (Collection<?>) value : Collections.emptyList();
+        this.keys = new LinkedHashMap<>(elements.size());
+        Object[] elementParameters = keyParameters.clone();
+        for (Object element : elements) {
+            if (!keys.containsKey(element)) {
+                elementParameters[keyPosition] = element;
+                keys.put(element, keyGenerator.generateKey(context, elementParameters));
+            }
+        }
+    }
+
+    /**
+     * @return The cache keys of the distinct elements
+     */
+    Collection<Object> getKeys() {
+        return keys.values();
+    }
+
+    /**
+     * Records the values found in the cache.
+     *
+     * @param hits The cached values by key
+     * @return True if values are missing for some of the elements
+     */
+    boolean resolveMissing(Map<Object, ?> hits) {
+        this.hits = hits;
+        this.missing = new ArrayList<>(keys.size() - hits.size());
+        for (Map.Entry<Object, Object> entry : keys.entrySet()) {
+            if (!hits.containsKey(entry.getValue())) {
+                missing.add(entry.getKey());
+            }
+        }
+        return !missing.isEmpty();
+    }
+
+    /**
+     * Restricts the collection parameter to the elements whose values are missing from the cache.
+     *
+     * @return False if the collection parameter could not be restricted
+     */
+    boolean restrictToMissing() {
+        Object restricted = toCollection(missing, parameter.getType());
+        if (restricted == null) {
+            return false;
+        }
+        parameter.setValue(restricted);
+        return true;
+    }
+
+    /**
+     * Restores the original collection parameter.
+     */
+    void restore() {
+        parameter.setValue(elements);
+    }
+
+    /**
+     * Correlates the result of invoking the method for the missing elements with their keys. The result is either a
+     * map keyed by the elements or a collection of values whose elements are resolved by the {@link BulkKeyExtractor}.
+     *
+     * @param result The result of the method
+     * @return The loaded values by key or null if the result cannot be correlated with the missing elements
+     */
+    Map<Object, Object> loaded(Object result) {
+        Map<Object, Object> loaded = new LinkedHashMap<>(missing.size());
+        if (result instanceof Map) {
+            Map<?, ?> values = (Map<?, ?>) result;
+            for (Object element : missing) {
+                Object value = values.get(element);
+                if (value != null) {
+                    loaded.put(keys.get(element), value);
+                }
+            }
+        } else if (result instanceof Collection && keyExtractor != null) {
+            Set<Object> pending = new HashSet<>(missing);
+            for (Object value : (Collection<?>) result) {
+                if (value == null) {
+                    continue;
+                }
+                Object element = keyExtractor.extractKey(value);
+                if (!pending.remove(element)) {
+                    // not a missing element or a second value for the same element
+                    return null;
+                }
+                loaded.put(keys.get(element), value);
+            }
+        } else {
+            return null;
+        }
+        return loaded;
+    }
+
+    /**
+     * Merges the cached and loaded values in the order of the original elements.
+     *
+     * @param loaded     The loaded values by key
+     * @param resultType The type of the result
+     * @return The result
+     */
+    Object merge(Map<Object, Object> loaded, Class<?> resultType) {
+        if (Map.class.isAssignableFrom(resultType)) {
+            Map<Object, Object> merged = new LinkedHashMap<>(keys.size());
+            for (Map.Entry<Object, Object> entry : keys.entrySet()) {
+                Object value = valueOf(entry.getValue(), loaded);
+                if (value != null) {
+                    merged.put(entry.getKey(), value);
+                }
+            }
+            return resultType.isInstance(merged) ? merged : ConversionService.SHARED.convert(merged, resultType).orElse(null);
+        } else {
+            List<Object> merged = new ArrayList<>(elements.size());
+            for (Object element : elements) {
+                Object value = valueOf(keys.get(element), loaded);
+                if (value != null) {
+                    merged.add(value);
+                }
+            }
+            return toCollection(merged, resultType);
+        }
+    }
+
+    private Object valueOf(Object key, Map<Object, Object> loaded) {
+        Object value = hits.get(key);
+        return value != null ? value : loaded.get(key);
+    }
+
+    private static Object toCollection(List<Object> values, Class<?> type) {
+        if (type.isInstance(values)) {
+            return values;
+        }
+        if (type.isAssignableFrom(LinkedHashSet.class)) {
+            return new LinkedHashSet<>(values);
+        }
+        return ConversionService.SHARED.convert(values, type).orElse(null);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.interceptor;
+
+/**
+ * <p>Resolves the element of the collection parameter of a {@link io.micronaut.cache.annotation.Cacheable#bulk()}
+ * method that a value returned by the method was loaded for, so that values returned in a
+ * {@link java.util.Collection} can be cached under the key of their element.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface BulkKeyExtractor {
+
+    /**
+     * Resolve the element the given value was loaded for.
+     *
+     * @param value The value returned by the method
+     * @return The element of the collection parameter
+     */
+    Object extractKey(Object value);
+}
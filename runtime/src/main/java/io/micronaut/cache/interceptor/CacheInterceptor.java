@@ -15,6 +15,7 @@
  */
 package io.micronaut.cache.interceptor;
 
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.micronaut.aop.InterceptPhase;
 import io.micronaut.aop.MethodInterceptor;
 import io.micronaut.aop.MethodInvocationContext;
@@ -28,18 +29,19 @@ import io.micronaut.context.BeanContext;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.async.annotation.SingleResult;
 import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
-import io.micronaut.core.type.MutableArgumentValue;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.scheduling.TaskExecutors;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.Maybe;
-import io.reactivex.Single;
 import io.reactivex.functions.Function;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
@@ -47,7 +49,11 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -55,7 +61,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * <p>An AOP {@link MethodInterceptor} implementation for the Cache annotations {@link Cacheable},
@@ -78,9 +86,14 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     private static final String MEMBER_PARAMETERS = "parameters";
     private static final String MEMBER_ALL = "all";
     private static final String MEMBER_KEY_GENERATOR = "keyGenerator";
+    private static final String MEMBER_STALE_WHILE_REVALIDATE = "staleWhileRevalidate";
+    private static final String MEMBER_BULK = "bulk";
+    private static final String MEMBER_BULK_KEY_EXTRACTOR = "bulkKeyExtractor";
 
     private final CacheManager cacheManager;
     private final Map<Class<? extends CacheKeyGenerator>, CacheKeyGenerator> keyGenerators = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod<?, ?>, CacheOperation> cacheOperations = new ConcurrentHashMap<>(30);
+    private final Map<ParametersKey, PendingLoad> inFlightLoads = new ConcurrentHashMap<>();
     private final BeanContext beanContext;
     private final ExecutorService ioExecutor;
     private final CacheErrorHandler errorHandler;
@@ -139,26 +152,23 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
      */
     protected Object interceptSync(MethodInvocationContext context, ReturnType returnTypeObject, Class returnType) {
         final ValueWrapper wrapper = new ValueWrapper();
-        CacheOperation cacheOperation = new CacheOperation(context, returnType);
+        CacheOperation cacheOperation = resolveCacheOperation(context, returnType);
 
-        if (cacheOperation.cacheable) {
-            CacheKeyGenerator defaultKeyGenerator = cacheOperation.defaultKeyGenerator;
-            CacheKeyGenerator keyGenerator = resolveKeyGenerator(defaultKeyGenerator, context.classValue(Cacheable.class, MEMBER_KEY_GENERATOR).orElse(null));
-            Object[] parameterValues = resolveParams(context, context.stringValues(Cacheable.class, MEMBER_PARAMETERS));
-            Object key = keyGenerator.generateKey(context, parameterValues);
+        if (cacheOperation.cacheable && cacheOperation.bulk) {
+            wrapper.value = interceptBulkSync(context, cacheOperation, returnTypeObject.asArgument());
+        } else if (cacheOperation.cacheable) {
+            Object key = cacheOperation.generateCacheableKey(context);
             Argument returnArgument = returnTypeObject.asArgument();
-            if (context.isTrue(Cacheable.class, MEMBER_ATOMIC)) {
-                SyncCache syncCache = cacheManager.getCache(cacheOperation.cacheableCacheName);
+            if (cacheOperation.atomic) {
+                SyncCache syncCache = cacheOperation.getCacheableCache();
 
                 try {
-                    wrapper.value = syncCache.get(key, returnArgument, () -> {
-                        try {
-                            doProceed(context, wrapper);
-                            return wrapper.value;
-                        } catch (RuntimeException e) {
-                            throw new ValueSupplierException(key, e);
-                        }
-                    });
+                    wrapper.value = syncCache.get(key, returnArgument, new AtomicLoad(context, wrapper, key));
+                    if (wrapper.loaded) {
+                        cacheOperation.written(key);
+                    } else {
+                        revalidate(context, cacheOperation, key);
+                    }
                 } catch (ValueSupplierException e) {
                     throw e.getCause();
                 } catch (RuntimeException e) {
@@ -166,18 +176,18 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     throw e;
                 }
             } else {
-                String[] cacheNames = resolveCacheNames(cacheOperation.defaultCacheNames, context.stringValues(Cacheable.class, MEMBER_CACHE_NAMES));
+                SyncCache[] caches = cacheOperation.cacheableCaches;
                 boolean cacheHit = false;
-                for (String cacheName : cacheNames) {
-                    SyncCache syncCache = cacheManager.getCache(cacheName);
+                for (SyncCache syncCache : caches) {
                     try {
                         Optional optional = syncCache.get(key, returnArgument);
                         if (optional.isPresent()) {
                             if (LOG.isDebugEnabled()) {
-                                LOG.debug("Value found in cache [" + cacheName + "] for invocation: " + context);
+                                LOG.debug("Value found in cache [" + syncCache.getName() + "] for invocation: " + context);
                             }
                             cacheHit = true;
                             wrapper.value = optional.get();
+                            revalidate(context, cacheOperation, key);
                             break;
                         }
                     } catch (RuntimeException e) {
@@ -191,7 +201,8 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                         LOG.debug("Value not found in cache for invocation: " + context);
                     }
                     doProceed(context, wrapper);
-                    syncPut(cacheNames, key, wrapper.value);
+                    syncPut(caches, key, wrapper.value);
+                    cacheOperation.written(key);
                 }
             }
         } else {
@@ -248,13 +259,14 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
      * @return The value from the cache
      */
     protected Object interceptCompletableFuture(MethodInvocationContext<Object, Object> context, ReturnType<?> returnTypeObject, Class returnType) {
-        CacheOperation cacheOperation = new CacheOperation(context, returnType);
+        CacheOperation cacheOperation = resolveCacheOperation(context, returnType);
         CompletableFuture<Object> returnFuture;
-        if (cacheOperation.cacheable) {
-            AsyncCache<?> asyncCache = cacheManager.getCache(cacheOperation.cacheableCacheName).async();
-            CacheKeyGenerator keyGenerator = resolveKeyGenerator(cacheOperation.defaultKeyGenerator, context.classValue(Cacheable.class, MEMBER_KEY_GENERATOR).orElse(null));
-            Object[] params = resolveParams(context, context.stringValues(Cacheable.class, MEMBER_PARAMETERS));
-            Object key = keyGenerator.generateKey(context, params);
+        if (cacheOperation.cacheable && cacheOperation.bulk) {
+            Argument<?> resultArgument = returnTypeObject.getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
+            returnFuture = interceptBulkCompletableFuture(context, cacheOperation, resultArgument);
+        } else if (cacheOperation.cacheable) {
+            AsyncCache<?> asyncCache = cacheOperation.getCacheableAsyncCache();
+            Object key = cacheOperation.generateCacheableKey(context);
             CompletableFuture<Object> thisFuture = new CompletableFuture<>();
             Argument<?> firstTypeVariable = returnTypeObject.getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
             asyncCache.get(key, firstTypeVariable).whenComplete((BiConsumer<Optional<?>, Throwable>) (o, throwable) -> {
@@ -264,6 +276,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                         LOG.debug("Value found in cache [" + asyncCache.getName() + "] for invocation: " + context);
                     }
                     thisFuture.complete(o.get());
+                    revalidate(context, cacheOperation, key);
                 } else {
                     // cache miss proceed with original future
                     try {
@@ -273,31 +286,42 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                                 return;
                             }
                         }
-                        CompletableFuture<?> completableFuture = (CompletableFuture) context.proceed();
-                        if (completableFuture == null) {
-                            thisFuture.complete(null);
-                        } else {
-                            completableFuture.whenComplete((BiConsumer<Object, Throwable>) (o1, t2) -> {
-                                if (t2 != null) {
-                                    thisFuture.completeExceptionally(t2);
-                                } else {
-                                    // new cacheable result, cache it
-                                    BiConsumer<Boolean, Throwable> completionHandler = (aBoolean, throwable1) -> {
-                                        if (throwable1 == null) {
-                                            thisFuture.complete(o1);
+                        coalesceLoad(context, cacheOperation, key, () -> {
+                            CompletableFuture<Object> loadFuture = new CompletableFuture<>();
+                            CompletableFuture<?> completableFuture = (CompletableFuture) context.proceed();
+                            if (completableFuture == null) {
+                                loadFuture.complete(null);
+                            } else {
+                                completableFuture.whenComplete((BiConsumer<Object, Throwable>) (o1, t2) -> {
+                                    if (t2 != null) {
+                                        loadFuture.completeExceptionally(t2);
+                                    } else {
+                                        // new cacheable result, cache it
+                                        BiConsumer<Boolean, Throwable> completionHandler = (aBoolean, throwable1) -> {
+                                            if (throwable1 == null) {
+                                                cacheOperation.written(key);
+                                                loadFuture.complete(o1);
+                                            } else {
+                                                loadFuture.completeExceptionally(throwable1);
+                                            }
+                                        };
+                                        if (o1 != null) {
+                                            asyncCache.put(key, o1).whenComplete(completionHandler);
                                         } else {
-                                            thisFuture.completeExceptionally(throwable1);
+                                            asyncCache.invalidate(key).whenComplete(completionHandler);
                                         }
-                                    };
-                                    if (o1 != null) {
-                                        asyncCache.put(key, o1).whenComplete(completionHandler);
-                                    } else {
-                                        asyncCache.invalidate(key).whenComplete(completionHandler);
-                                    }
 
-                                }
-                            });
-                        }
+                                    }
+                                });
+                            }
+                            return loadFuture;
+                        }).whenComplete((value, t2) -> {
+                            if (t2 != null) {
+                                thisFuture.completeExceptionally(t2);
+                            } else {
+                                thisFuture.complete(value);
+                            }
+                        });
                     } catch (RuntimeException e) {
                         thisFuture.completeExceptionally(e);
                     }
@@ -337,7 +361,10 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         if (!Publishers.isSingle(returnType) && !context.isAnnotationPresent(SingleResult.class)) {
             throw new CacheSystemException("Only Reactive types that emit a single result can currently be cached. Use either Single, Maybe or Mono for operations that cache.");
         }
-        CacheOperation cacheOperation = new CacheOperation(context, returnType);
+        CacheOperation cacheOperation = resolveCacheOperation(context, returnType);
+        if (cacheOperation.bulk) {
+            throw new CacheSystemException("Bulk cache operations are not supported for reactive return types: " + context);
+        }
         if (cacheOperation.cacheable) {
             Publisher<Object> publisher = buildCacheablePublisher(context, returnTypeObject, cacheOperation);
             return Publishers.convertPublisher(publisher, returnType);
@@ -384,8 +411,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                             }
                         } else {
                             CacheKeyGenerator keyGenerator = cacheOperation.getCacheInvalidateKeyGenerator(invalidateOperation);
-                            String[] parameterNames = invalidateOperation.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY);
-                            Object[] parameterValues = resolveParams(context, parameterNames);
+                            Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(invalidateOperation));
                             Object key = keyGenerator.generateKey(context, parameterValues);
                             for (String cacheName : cacheNames) {
                                 AsyncCache<?> asyncCache = cacheManager.getCache(cacheName).async();
@@ -417,8 +443,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                                 }, ioExecutor);
                             } else {
                                 CacheKeyGenerator keyGenerator = cacheOperation.getCacheInvalidateKeyGenerator(invalidateOperation);
-                                String[] parameterNames = invalidateOperation.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY);
-                                Object[] parameterValues = resolveParams(context, parameterNames);
+                                Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(invalidateOperation));
                                 Object key = keyGenerator.generateKey(context, parameterValues);
                                 final CompletableFuture<Void> allFutures = buildInvalidateFutures(cacheNames, key);
                                 allFutures.whenCompleteAsync((aBoolean, throwable) -> {
@@ -463,7 +488,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     } else {
                         final Flowable<Object> cachePutFlowable = Flowable.create(emitter -> {
                             CacheKeyGenerator keyGenerator = cacheOperation.getCachePutKeyGenerator(putOperation);
-                            Object[] parameterValues = resolveParams(context, putOperation.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY));
+                            Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(putOperation));
                             Object key = keyGenerator.generateKey(context, parameterValues);
                             CompletableFuture<Void> putOperationFuture = buildPutFutures(cacheNames, o, key);
                             putOperationFuture.whenComplete((aVoid, throwable) -> {
@@ -498,10 +523,8 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
             MethodInvocationContext<Object, Object> context,
             ReturnType returnTypeObject,
             CacheOperation cacheOperation) {
-        AsyncCache<?> asyncCache = cacheManager.getCache(cacheOperation.cacheableCacheName).async();
-        CacheKeyGenerator keyGenerator = resolveKeyGenerator(cacheOperation.defaultKeyGenerator, context.classValue(Cacheable.class, MEMBER_KEY_GENERATOR).orElse(null));
-        Object[] params = resolveParams(context, context.stringValues(Cacheable.class, MEMBER_PARAMETERS));
-        Object key = keyGenerator.generateKey(context, params);
+        AsyncCache<?> asyncCache = cacheOperation.getCacheableAsyncCache();
+        Object key = cacheOperation.generateCacheableKey(context);
         Argument<?> firstTypeVariable = returnTypeObject.getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT);
 
         Maybe<Object> maybe = Maybe.create(emitter -> {
@@ -518,6 +541,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                        LOG.debug("Value found in cache [" + asyncCache.getName() + "] for invocation: " + context);
                    }
                    emitter.onSuccess(opt.get());
+                   revalidate(context, cacheOperation, key);
                } else {
                    emitter.onComplete();
                }
@@ -526,24 +550,31 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
 
         return maybe.isEmpty().flatMapPublisher(empty -> {
             if (empty) {
-               return Publishers.convertPublisher(
-                       context.proceed(), Flowable.class)
-                       .flatMap(o -> {
-                           return Single.create(emitter -> {
+               CompletableFuture<Object> load = coalesceLoad(context, cacheOperation, key, () -> {
+                   CompletableFuture<Object> loadFuture = new CompletableFuture<>();
+                   // the load is not bound to the subscriber so that it completes for any joined callers if the subscriber cancels
+                   Flowable<Object> flowable = Publishers.convertPublisher(context.proceed(), Flowable.class);
+                   flowable.firstElement()
+                           .subscribe(o -> {
                                BiConsumer<Boolean, Throwable> completionHandler = (aBoolean, throwable1) -> {
                                    if (throwable1 == null) {
-                                       emitter.onSuccess(o);
-                                   } else {
-                                       emitter.onSuccess(o);
+                                       cacheOperation.written(key);
                                    }
+                                   loadFuture.complete(o);
                                };
-                               if (o != null) {
-                                   asyncCache.put(key, o).whenComplete(completionHandler);
-                               } else {
-                                   asyncCache.invalidate(key).whenComplete(completionHandler);
-                               }
-                           }).toFlowable();
-                       });
+                               asyncCache.put(key, o).whenComplete(completionHandler);
+                           }, loadFuture::completeExceptionally, () -> loadFuture.complete(null));
+                   return loadFuture;
+               });
+               return Maybe.create(emitter -> load.whenComplete((value, throwable) -> {
+                   if (throwable != null) {
+                       emitter.onError(throwable);
+                   } else if (value != null) {
+                       emitter.onSuccess(value);
+                   } else {
+                       emitter.onComplete();
+                   }
+               })).toFlowable();
             } else {
                 return maybe.toFlowable();
             }
@@ -564,7 +595,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                             if (throwable == null) {
                                 try {
                                     CacheKeyGenerator keyGenerator = cacheOperation.getCachePutKeyGenerator(putOperation);
-                                    Object[] parameterValues = resolveParams(context, putOperation.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY));
+                                    Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(putOperation));
                                     Object key = keyGenerator.generateKey(context, parameterValues);
                                     CompletableFuture<Void> putOperationFuture = buildPutFutures(cacheNames, result, key);
 
@@ -604,7 +635,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     private void putResultAsync(MethodInvocationContext<Object, Object> context, CacheOperation cacheOperation, AnnotationValue<CachePut> putOperation, String[] cacheNames, Object result) {
         try {
             CacheKeyGenerator keyGenerator = cacheOperation.getCachePutKeyGenerator(putOperation);
-            Object[] parameterValues = resolveParams(context, putOperation.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY));
+            Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(putOperation));
             Object key = keyGenerator.generateKey(context, parameterValues);
             CompletableFuture<Void> putOperationFuture = buildPutFutures(cacheNames, result, key);
 
@@ -696,13 +727,14 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     }
 
     private void doProceed(MethodInvocationContext context, ValueWrapper wrapper) {
-        Object result = context.proceed();
+        wrapValue(wrapper, context.proceed());
+    }
+
+    private void wrapValue(ValueWrapper wrapper, Object result) {
         if (result instanceof Optional) {
             Optional optional = (Optional) result;
             wrapper.optional = true;
-            if (optional.isPresent()) {
-                wrapper.value = optional.get();
-            }
+            wrapper.value = optional.orElse(null);
         } else {
             wrapper.value = result;
         }
@@ -711,8 +743,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     private void processCachePut(MethodInvocationContext<?, ?> context, ValueWrapper wrapper, AnnotationValue<CachePut> cacheConfig, CacheOperation cacheOperation) {
         String[] cacheNames = cacheOperation.getCachePutNames(cacheConfig);
         CacheKeyGenerator keyGenerator = cacheOperation.getCachePutKeyGenerator(cacheConfig);
-        String[] parameterNames = cacheConfig.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY);
-        Object[] parameterValues = resolveParams(context, parameterNames);
+        Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(cacheConfig));
         boolean isAsync = cacheConfig.get(MEMBER_ASYNC, Boolean.class, false);
 
 
@@ -748,8 +779,15 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     }
 
     private void syncPut(String[] cacheNames, Object key, Object value) {
-        for (String cacheName : cacheNames) {
-            SyncCache syncCache = cacheManager.getCache(cacheName);
+        SyncCache[] caches = new SyncCache[cacheNames.length];
+        for (int i = 0; i < cacheNames.length; i++) {
+            caches[i] = cacheManager.getCache(cacheNames[i]);
+        }
+        syncPut(caches, key, value);
+    }
+
+    private void syncPut(SyncCache[] caches, Object key, Object value) {
+        for (SyncCache syncCache : caches) {
             try {
                 if (value != null) {
                     syncCache.put(key, value);
@@ -774,8 +812,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         CacheKeyGenerator keyGenerator = cacheOperation.getCacheInvalidateKeyGenerator(cacheConfig);
         boolean invalidateAll = cacheConfig.getRequiredValue(MEMBER_ALL, Boolean.class);
         Object key = null;
-        String[] parameterNames = cacheConfig.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY);
-        Object[] parameterValues = resolveParams(context, parameterNames);
+        Object[] parameterValues = resolveParams(context, cacheOperation.getParameterIndexes(cacheConfig));
 
         if (!invalidateAll) {
             key = keyGenerator.generateKey(context, parameterValues);
@@ -833,36 +870,321 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         }
     }
 
-    private Object[] resolveParams(MethodInvocationContext<?, ?> context, String[] parameterNames) {
-        Object[] parameterValues;
-        if (ArrayUtils.isEmpty(parameterNames)) {
-            parameterValues = context.getParameterValues();
+    private Object[] resolveParams(MethodInvocationContext<?, ?> context, int[] parameterIndexes) {
+        Object[] parameterValues = context.getParameterValues();
+        if (parameterIndexes == null) {
+            return parameterValues;
+        }
+        Object[] values = new Object[parameterIndexes.length];
+        for (int i = 0; i < parameterIndexes.length; i++) {
+            values[i] = parameterValues[parameterIndexes[i]];
+        }
+        return values;
+    }
+
+    /**
+     * Refreshes the cached value for the given key in the background if the value is stale.
+     *
+     * @param context        The invocation context
+     * @param cacheOperation The cache operation
+     * @param key            The key
+     */
+    private void revalidate(MethodInvocationContext<?, ?> context, CacheOperation cacheOperation, Object key) {
+        RevalidationTracker tracker = cacheOperation.revalidationTracker;
+        if (tracker == null || !tracker.startRevalidation(key)) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Revalidating stale value of cache [" + cacheOperation.cacheableCacheName + "] for invocation: " + context);
+        }
+        // the invocation completes before the revalidation runs, so invoke the method again rather than proceeding
+        Supplier<Object> invocation = reinvocation(context);
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    Object result = invocation.get();
+                    if (result instanceof CompletionStage) {
+                        ((CompletionStage<?>) result).whenComplete((value, throwable) ->
+                                completeRevalidation(context, cacheOperation, key, value, throwable, false)
+                        );
+                    } else if (Publishers.isConvertibleToPublisher(result)) {
+                        Publisher<Object> publisher = Publishers.convertPublisher(result, Publisher.class);
+                        Flowable.fromPublisher(publisher)
+                                .firstElement()
+                                .subscribe(
+                                        value -> completeRevalidation(context, cacheOperation, key, value, null, false),
+                                        throwable -> completeRevalidation(context, cacheOperation, key, null, throwable, false),
+                                        () -> completeRevalidation(context, cacheOperation, key, null, null, false)
+                                );
+                    } else {
+                        if (result instanceof Optional) {
+                            result = ((Optional<?>) result).orElse(null);
+                        }
+                        completeRevalidation(context, cacheOperation, key, result, null, true);
+                    }
+                } catch (RuntimeException e) {
+                    completeRevalidation(context, cacheOperation, key, null, e, true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            tracker.revalidated(key, false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> reinvocation(MethodInvocationContext<?, ?> context) {
+        ExecutableMethod<Object, Object> method = (ExecutableMethod<Object, Object>) context.getExecutableMethod();
+        Object target = context.getTarget();
+        Object[] arguments = context.getParameterValues().clone();
+        return () -> method.invoke(target, arguments);
+    }
+
+    private void completeRevalidation(MethodInvocationContext<?, ?> context, CacheOperation cacheOperation, Object key, Object value, Throwable throwable, boolean sync) {
+        RevalidationTracker tracker = cacheOperation.revalidationTracker;
+        if (throwable != null) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error revalidating stale cache value for invocation: " + context, throwable);
+            }
+            tracker.revalidated(key, false);
+        } else if (sync) {
+            boolean written = false;
+            try {
+                syncPut(cacheOperation.atomic ? new SyncCache[] {cacheOperation.getCacheableCache()} : cacheOperation.cacheableCaches, key, value);
+                written = true;
+            } finally {
+                tracker.revalidated(key, written);
+            }
         } else {
-            List list = new ArrayList();
-            Map<String, MutableArgumentValue<?>> parameters = context.getParameters();
-            for (String name : parameterNames) {
-                list.add(parameters.get(name).getValue());
+            AsyncCache<?> asyncCache = cacheOperation.getCacheableAsyncCache();
+            CompletableFuture<Boolean> future = value != null ? asyncCache.put(key, value) : asyncCache.invalidate(key);
+            future.whenComplete((aBoolean, t) -> {
+                if (t != null) {
+                    asyncCacheErrorHandler.handlePutError(asyncCache, key, value, asRuntimeException(t));
+                }
+                tracker.revalidated(key, t == null);
+            });
+        }
+    }
+
+    private Object interceptBulkSync(MethodInvocationContext<?, ?> context, CacheOperation cacheOperation, Argument<?> resultArgument) {
+        SyncCache<?> syncCache = cacheOperation.getCacheableCache();
+        BulkCacheLoad load = cacheOperation.newBulkLoad(context);
+        Map<Object, ?> hits;
+        try {
+            hits = syncCache.getAll(load.getKeys(), bulkValueArgument(resultArgument));
+        } catch (RuntimeException e) {
+            if (errorHandler.handleLoadError(syncCache, load.getKeys(), e)) {
+                throw e;
+            }
+            hits = Collections.emptyMap();
+        }
+        Map<Object, Object> loaded = Collections.emptyMap();
+        if (load.resolveMissing(hits)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Values not found in cache [" + syncCache.getName() + "] for " + (load.getKeys().size() - hits.size()) + " of " + load.getKeys().size() + " keys for invocation: " + context);
+            }
+            if (!load.restrictToMissing()) {
+                return context.proceed();
+            }
+            Object result;
+            try {
+                result = context.proceed();
+            } finally {
+                load.restore();
+            }
+            loaded = load.loaded(result);
+            if (loaded == null) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Unable to correlate the result of bulk cache operation with the requested keys. Returning the result without caching: " + context);
+                }
+                return result;
+            }
+            try {
+                syncCache.putAll(loaded);
+            } catch (RuntimeException e) {
+                if (errorHandler.handlePutError(syncCache, loaded.keySet(), loaded, e)) {
+                    throw e;
+                }
+            }
+        }
+        return load.merge(loaded, resultArgument.getType());
+    }
+
+    private CompletableFuture<Object> interceptBulkCompletableFuture(MethodInvocationContext<Object, Object> context, CacheOperation cacheOperation, Argument<?> resultArgument) {
+        AsyncCache<?> asyncCache = cacheOperation.getCacheableAsyncCache();
+        BulkCacheLoad load = cacheOperation.newBulkLoad(context);
+        CompletableFuture<Object> returnFuture = new CompletableFuture<>();
+        asyncCache.getAll(load.getKeys(), bulkValueArgument(resultArgument)).whenComplete((cached, throwable) -> {
+            Map<Object, ?> hits = cached;
+            if (throwable != null) {
+                if (errorHandler.handleLoadError(asyncCache, load.getKeys(), asRuntimeException(throwable))) {
+                    returnFuture.completeExceptionally(throwable);
+                    return;
+                }
+                hits = Collections.emptyMap();
+            }
+            if (!load.resolveMissing(hits)) {
+                returnFuture.complete(load.merge(Collections.emptyMap(), resultArgument.getType()));
+                return;
+            }
+            try {
+                if (!load.restrictToMissing()) {
+                    completeWith(returnFuture, (CompletableFuture<?>) context.proceed());
+                    return;
+                }
+                CompletableFuture<?> future;
+                try {
+                    future = (CompletableFuture<?>) context.proceed();
+                } finally {
+                    load.restore();
+                }
+                if (future == null) {
+                    returnFuture.complete(null);
+                    return;
+                }
+                future.whenComplete((result, t) -> {
+                    if (t != null) {
+                        returnFuture.completeExceptionally(t);
+                        return;
+                    }
+                    Map<Object, Object> loaded = load.loaded(result);
+                    if (loaded == null) {
+                        if (LOG.isWarnEnabled()) {
+                            LOG.warn("Unable to correlate the result of bulk cache operation with the requested keys. Returning the result without caching: " + context);
+                        }
+                        returnFuture.complete(result);
+                        return;
+                    }
+                    asyncCache.putAll(loaded).whenComplete((aBoolean, t2) -> {
+                        if (t2 != null) {
+                            asyncCacheErrorHandler.handlePutError(asyncCache, loaded.keySet(), loaded, asRuntimeException(t2));
+                        }
+                        returnFuture.complete(load.merge(loaded, resultArgument.getType()));
+                    });
+                });
+            } catch (RuntimeException e) {
+                returnFuture.completeExceptionally(e);
             }
-            parameterValues = list.toArray();
+        });
+        return returnFuture;
+    }
+
+    private Argument<?> bulkValueArgument(Argument<?> resultArgument) {
+        Argument[] typeParameters = resultArgument.getTypeParameters();
+        if (Map.class.isAssignableFrom(resultArgument.getType())) {
+            return typeParameters.length == 2 ? typeParameters[1] : Argument.OBJECT_ARGUMENT;
+        }
+        return typeParameters.length == 1 ? typeParameters[0] : Argument.OBJECT_ARGUMENT;
+    }
+
+    private void completeWith(CompletableFuture<Object> returnFuture, CompletableFuture<?> future) {
+        if (future == null) {
+            returnFuture.complete(null);
+        } else {
+            future.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    returnFuture.completeExceptionally(throwable);
+                } else {
+                    returnFuture.complete(value);
+                }
+            });
         }
-        return parameterValues;
     }
 
     /**
+     * Loads the value for the given key unless a load of the same key for the same cache is already in progress, in
+     * which case the pending load is joined so that concurrent cache misses invoke the method only once.
+     *
+     * <p>A pending load that has not completed within the {@link CacheConfiguration#getLoadTimeout() load timeout} of
+     * the cache is no longer joined. The next caller
+     * replaces it with a load of its own, which also completes the callers that joined the abandoned load, so that a
+     * load that hangs does not block every later caller of the key.</p>
      *
+     * @param context        The invocation context
+     * @param cacheOperation The cache operation
+     * @param key            The key
+     * @param loader         Invokes the method and caches the result
+     * @return A future that completes with the loaded value
+     */
+    private CompletableFuture<Object> coalesceLoad(
+            MethodInvocationContext<?, ?> context,
+            CacheOperation cacheOperation,
+            Object key,
+            Supplier<CompletableFuture<Object>> loader) {
+        ParametersKey loadKey = new ParametersKey(cacheOperation.cacheableCacheName, key);
+        PendingLoad load = new PendingLoad(cacheOperation.loadTimeoutNanos);
+        PendingLoad existing = inFlightLoads.putIfAbsent(loadKey, load);
+        if (existing != null) {
+            if (!existing.isOverdue()) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Joining pending load of cache [" + cacheOperation.cacheableCacheName + "] for invocation: " + context);
+                }
+                return existing.future;
+            }
+            if (!inFlightLoads.replace(loadKey, existing, load)) {
+                return coalesceLoad(context, cacheOperation, key, loader);
+            }
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Pending load of cache [" + cacheOperation.cacheableCacheName + "] did not complete in time, loading again for invocation: " + context);
+            }
+            load.future.whenComplete((value, throwable) -> existing.complete(value, throwable));
+        }
+        CompletableFuture<Object> loadFuture;
+        try {
+            loadFuture = loader.get();
+        } catch (RuntimeException e) {
+            loadFuture = new CompletableFuture<>();
+            loadFuture.completeExceptionally(e);
+        }
+        loadFuture.whenComplete((value, throwable) -> {
+            // remove before completing so that callers arriving later read the cache instead
+            inFlightLoads.remove(loadKey, load);
+            load.complete(value, throwable);
+        });
+        return load.future;
+    }
+
+    private CacheOperation resolveCacheOperation(MethodInvocationContext<?, ?> context, Class returnType) {
+        ExecutableMethod<?, ?> method = context.getExecutableMethod();
+        CacheOperation cacheOperation = cacheOperations.get(method);
+        if (cacheOperation == null) {
+            cacheOperation = new CacheOperation(context, returnType);
+            CacheOperation existing = cacheOperations.putIfAbsent(method, cacheOperation);
+            if (existing != null) {
+                cacheOperation = existing;
+            }
+        }
+        return cacheOperation;
+    }
+
+    /**
+     * The cache operations of a method, computed on the first invocation of the method and reused thereafter.
      */
     private class CacheOperation {
         final Class returnType;
-        final MethodInvocationContext<?, ?> context;
         final CacheKeyGenerator defaultKeyGenerator;
         final String[] defaultCacheNames;
         final boolean cacheable;
-        String cacheableCacheName;
-        List<AnnotationValue<CachePut>> putOperations;
-        List<AnnotationValue<CacheInvalidate>> invalidateOperations;
+        final String cacheableCacheName;
+        final boolean atomic;
+        final SyncCache[] cacheableCaches;
+        final RevalidationTracker revalidationTracker;
+        final long loadTimeoutNanos;
+        final boolean bulk;
+        private final int bulkParameterIndex;
+        private final int bulkKeyPosition;
+        private final BulkKeyExtractor bulkKeyExtractor;
+        final List<AnnotationValue<CachePut>> putOperations;
+        final List<AnnotationValue<CacheInvalidate>> invalidateOperations;
+        private final CacheKeyGenerator cacheableKeyGenerator;
+        private final int[] cacheableParameterIndexes;
+        private final SyncCache<?> cacheableCache;
+        private final AsyncCache<?> cacheableAsyncCache;
+        private final Map<AnnotationValue<?>, String[]> writeCacheNames = new HashMap<>(4);
+        private final Map<AnnotationValue<?>, CacheKeyGenerator> writeKeyGenerators = new HashMap<>(4);
+        private final Map<AnnotationValue<?>, int[]> writeParameterIndexes = new HashMap<>(4);
 
         CacheOperation(MethodInvocationContext<?, ?> context, Class returnType) {
-            this.context = context;
             this.returnType = returnType;
 
             this.defaultKeyGenerator = resolveKeyGenerator(context.classValue(CacheConfig.class, MEMBER_KEY_GENERATOR).orElse(null));
@@ -871,15 +1193,73 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
             this.invalidateOperations = invalidateOperations(context);
             this.defaultCacheNames = context.stringValues(CacheConfig.class, MEMBER_CACHE_NAMES);
             this.cacheable = context.hasStereotype(Cacheable.class);
+            String cacheName = null;
             if (!isVoid && cacheable) {
                 if (ArrayUtils.isNotEmpty(defaultCacheNames)) {
-                    this.cacheableCacheName = defaultCacheNames[0];
+                    cacheName = defaultCacheNames[0];
                 } else {
                     if (LOG.isWarnEnabled()) {
                         LOG.warn("No cache names defined for invocation [{}]. Skipping cache read operations.", context);
                     }
                 }
             }
+            this.cacheableCacheName = cacheName;
+            this.loadTimeoutNanos = (cacheName != null ? beanContext.findBean(CacheConfiguration.class, Qualifiers.byName(cacheName))
+                    .map(CacheConfiguration::getLoadTimeout)
+                    .orElse(CacheConfiguration.DEFAULT_LOAD_TIMEOUT) : CacheConfiguration.DEFAULT_LOAD_TIMEOUT).toNanos();
+            if (cacheable) {
+                this.atomic = context.isTrue(Cacheable.class, MEMBER_ATOMIC);
+                this.cacheableKeyGenerator = resolveKeyGenerator(defaultKeyGenerator, context.classValue(Cacheable.class, MEMBER_KEY_GENERATOR).orElse(null));
+                this.cacheableParameterIndexes = resolveParameterIndexes(context, context.stringValues(Cacheable.class, MEMBER_PARAMETERS));
+                String[] cacheNames = resolveCacheNames(defaultCacheNames, context.stringValues(Cacheable.class, MEMBER_CACHE_NAMES));
+                this.cacheableCaches = new SyncCache[cacheNames.length];
+                for (int i = 0; i < cacheNames.length; i++) {
+                    cacheableCaches[i] = cacheManager.getCache(cacheNames[i]);
+                }
+                this.cacheableCache = cacheName != null ? cacheManager.getCache(cacheName) : null;
+                this.cacheableAsyncCache = cacheableCache != null ? cacheableCache.async() : null;
+                this.revalidationTracker = cacheName != null ? resolveRevalidationTracker(context, cacheName) : null;
+                this.bulk = cacheName != null && context.isTrue(Cacheable.class, MEMBER_BULK);
+            } else {
+                this.atomic = false;
+                this.cacheableKeyGenerator = null;
+                this.cacheableParameterIndexes = null;
+                this.cacheableCaches = new SyncCache[0];
+                this.cacheableCache = null;
+                this.cacheableAsyncCache = null;
+                this.revalidationTracker = null;
+                this.bulk = false;
+            }
+            int bulkKeyPosition = -1;
+            BulkKeyExtractor bulkKeyExtractor = null;
+            if (bulk) {
+                Argument[] arguments = context.getArguments();
+                int keyParameterCount = cacheableParameterIndexes != null ? cacheableParameterIndexes.length : arguments.length;
+                for (int i = 0; i < keyParameterCount; i++) {
+                    int index = cacheableParameterIndexes != null ? cacheableParameterIndexes[i] : i;
+                    if (Collection.class.isAssignableFrom(arguments[index].getType())) {
+                        bulkKeyPosition = i;
+                        break;
+                    }
+                }
+                if (bulkKeyPosition == -1) {
+                    throw new CacheSystemException("Bulk cache operations require a Collection parameter that is part of the key: " + context);
+                }
+                bulkKeyExtractor = resolveBulkKeyExtractor(context);
+            }
+            this.bulkKeyPosition = bulkKeyPosition;
+            this.bulkKeyExtractor = bulkKeyExtractor;
+            this.bulkParameterIndex = bulkKeyPosition == -1 || cacheableParameterIndexes == null ? bulkKeyPosition : cacheableParameterIndexes[bulkKeyPosition];
+            if (putOperations != null) {
+                for (AnnotationValue<CachePut> putOperation : putOperations) {
+                    compileWriteOperation(context, putOperation);
+                }
+            }
+            if (invalidateOperations != null) {
+                for (AnnotationValue<CacheInvalidate> invalidateOperation : invalidateOperations) {
+                    compileWriteOperation(context, invalidateOperation);
+                }
+            }
         }
 
         boolean hasWriteOperations() {
@@ -890,24 +1270,110 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
             return void.class == returnType;
         }
 
+        void written(Object key) {
+            if (revalidationTracker != null) {
+                revalidationTracker.written(key);
+            }
+        }
+
+        BulkCacheLoad newBulkLoad(MethodInvocationContext<?, ?> context) {
+            Object[] keyParameters = resolveParams(context, cacheableParameterIndexes);
+            return new BulkCacheLoad(context, bulkParameterIndex, bulkKeyPosition, cacheableKeyGenerator, keyParameters, bulkKeyExtractor);
+        }
+
+        Object generateCacheableKey(MethodInvocationContext<?, ?> context) {
+            return cacheableKeyGenerator.generateKey(context, resolveParams(context, cacheableParameterIndexes));
+        }
+
+        SyncCache<?> getCacheableCache() {
+            return cacheableCache != null ? cacheableCache : cacheManager.getCache(cacheableCacheName);
+        }
+
+        AsyncCache<?> getCacheableAsyncCache() {
+            return cacheableAsyncCache != null ? cacheableAsyncCache : getCacheableCache().async();
+        }
+
         String[] getCachePutNames(AnnotationValue<CachePut> cacheConfig) {
-            return getCacheNames(cacheConfig.get(MEMBER_CACHE_NAMES, String[].class).orElse(StringUtils.EMPTY_STRING_ARRAY));
+            return writeCacheNames.get(cacheConfig);
         }
 
         String[] getCacheInvalidateNames(AnnotationValue<CacheInvalidate> cacheConfig) {
-            return getCacheNames(cacheConfig.get(MEMBER_CACHE_NAMES, String[].class).orElse(StringUtils.EMPTY_STRING_ARRAY));
+            return writeCacheNames.get(cacheConfig);
         }
 
         CacheKeyGenerator getCacheInvalidateKeyGenerator(AnnotationValue<CacheInvalidate> cacheConfig) {
-            return cacheConfig.get(MEMBER_KEY_GENERATOR, CacheKeyGenerator.class).orElseGet(() ->
-                getKeyGenerator(cacheConfig.get(MEMBER_KEY_GENERATOR, Class.class).orElse(null))
-            );
+            return writeKeyGenerators.get(cacheConfig);
         }
 
         CacheKeyGenerator getCachePutKeyGenerator(AnnotationValue<CachePut> cacheConfig) {
-            return cacheConfig.get(MEMBER_KEY_GENERATOR, CacheKeyGenerator.class).orElseGet(() ->
+            return writeKeyGenerators.get(cacheConfig);
+        }
+
+        int[] getParameterIndexes(AnnotationValue<?> cacheConfig) {
+            return writeParameterIndexes.get(cacheConfig);
+        }
+
+        private void compileWriteOperation(MethodInvocationContext<?, ?> context, AnnotationValue<?> cacheConfig) {
+            writeCacheNames.put(cacheConfig, getCacheNames(cacheConfig.get(MEMBER_CACHE_NAMES, String[].class).orElse(StringUtils.EMPTY_STRING_ARRAY)));
+            writeKeyGenerators.put(cacheConfig, cacheConfig.get(MEMBER_KEY_GENERATOR, CacheKeyGenerator.class).orElseGet(() ->
                 getKeyGenerator(cacheConfig.get(MEMBER_KEY_GENERATOR, Class.class).orElse(null))
+            ));
+            writeParameterIndexes.put(cacheConfig, resolveParameterIndexes(context, cacheConfig.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY)));
+        }
+
+        @SuppressWarnings("unchecked")
+        private BulkKeyExtractor resolveBulkKeyExtractor(MethodInvocationContext<?, ?> context) {
+            Class<?> type = context.classValue(Cacheable.class, MEMBER_BULK_KEY_EXTRACTOR).orElse(null);
+            if (type != null && BulkKeyExtractor.class != type && BulkKeyExtractor.class.isAssignableFrom(type)) {
+                Class<BulkKeyExtractor> extractorType = (Class<BulkKeyExtractor>) type;
+                if (beanContext.containsBean(extractorType)) {
+                    return beanContext.getBean(extractorType);
+                }
+                return InstantiationUtils.instantiate(extractorType);
+            }
+            Class<?> resultType = returnType;
+            if (CompletionStage.class.isAssignableFrom(resultType)) {
+                resultType = context.getReturnType().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT).getType();
+            }
+            if (!Map.class.isAssignableFrom(resultType)) {
+                throw new CacheSystemException("Bulk cache operations require a Map result or a bulkKeyExtractor to correlate the values with the elements: " + context);
+            }
+            return null;
+        }
+
+        private RevalidationTracker resolveRevalidationTracker(MethodInvocationContext<?, ?> context, String cacheName) {
+            String staleWhileRevalidate = context.stringValue(Cacheable.class, MEMBER_STALE_WHILE_REVALIDATE).orElse(null);
+            if (StringUtils.isEmpty(staleWhileRevalidate)) {
+                return null;
+            }
+            Duration staleAfter = ConversionService.SHARED.convert(staleWhileRevalidate, Duration.class).orElseThrow(() ->
+                    new CacheSystemException("Invalid staleWhileRevalidate duration [" + staleWhileRevalidate + "] specified for method: " + context)
             );
+            Ticker ticker = beanContext.findBean(Ticker.class, Qualifiers.byName(cacheName))
+                    .orElseGet(() -> beanContext.findBean(Ticker.class)
+                            .orElse(Ticker.systemTicker()));
+            return new RevalidationTracker(staleAfter, ticker);
+        }
+
+        private int[] resolveParameterIndexes(MethodInvocationContext<?, ?> context, String[] parameterNames) {
+            if (ArrayUtils.isEmpty(parameterNames)) {
+                return null;
+            }
+            Argument[] arguments = context.getArguments();
+            int[] indexes = new int[parameterNames.length];
+            for (int i = 0; i < parameterNames.length; i++) {
+                indexes[i] = -1;
+                for (int j = 0; j < arguments.length; j++) {
+                    if (arguments[j].getName().equals(parameterNames[i])) {
+                        indexes[i] = j;
+                        break;
+                    }
+                }
+                if (indexes[i] == -1) {
+                    throw new CacheSystemException("No parameter named [" + parameterNames[i] + "] found for cache operation on method: " + context);
+                }
+            }
+            return indexes;
         }
 
         private String[] getCacheNames(String[] cacheNames) {
@@ -930,8 +1396,73 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
     /**
      * The value wrapper.
      */
+    /**
+     * Loads the value of an atomic {@link Cacheable} operation. The first invocation proceeds with the intercepted
+     * invocation, whilst caches that refresh values invoke the supplier again later and re-invoke the method with a
+     * copy of the arguments so that the completed invocation is not retained.
+     */
+    private final class AtomicLoad implements Supplier<Object> {
+        private final Object key;
+        private final Supplier<Object> reinvocation;
+        private MethodInvocationContext<?, ?> context;
+        private ValueWrapper wrapper;
+
+        AtomicLoad(MethodInvocationContext<?, ?> context, ValueWrapper wrapper, Object key) {
+            this.key = key;
+            this.reinvocation = reinvocation(context);
+            this.context = context;
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public Object get() {
+            MethodInvocationContext<?, ?> context = this.context;
+            ValueWrapper wrapper = this.wrapper;
+            this.context = null;
+            this.wrapper = null;
+            try {
+                if (context != null) {
+                    wrapper.loaded = true;
+                    wrapValue(wrapper, context.proceed(CacheInterceptor.this));
+                    return wrapper.value;
+                }
+                ValueWrapper refreshed = new ValueWrapper();
+                wrapValue(refreshed, reinvocation.get());
+                return refreshed.value;
+            } catch (RuntimeException e) {
+                throw new ValueSupplierException(key, e);
+            }
+        }
+    }
+
+    /**
+     * A load that callers missing the same key may join.
+     */
+    private static final class PendingLoad {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final long startNanos = System.nanoTime();
+        final long timeoutNanos;
+
+        PendingLoad(long timeoutNanos) {
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        boolean isOverdue() {
+            return System.nanoTime() - startNanos >= timeoutNanos;
+        }
+
+        void complete(Object value, Throwable throwable) {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(value);
+            }
+        }
+    }
+
     private class ValueWrapper {
         Object value;
         boolean optional;
+        boolean loaded;
     }
 }
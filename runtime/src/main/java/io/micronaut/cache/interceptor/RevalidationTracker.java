@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.interceptor;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks when the values of a {@link io.micronaut.cache.annotation.Cacheable} method were last written in order to
+ * implement {@link io.micronaut.cache.annotation.Cacheable#staleWhileRevalidate()}.
+ *
+ * <p>The write times of a bounded number of recently written keys are retained. A key without a known write time is
+ * considered stale, so at worst an untracked value is revalidated once more than necessary.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class RevalidationTracker {
+
+    private static final int MAX_TRACKED_KEYS = 10000;
+
+    private final long staleAfterNanos;
+    private final Ticker ticker;
+    private final Map<Object, Long> writeTimes = new ConcurrentLinkedHashMap.Builder<Object, Long>()
+            .maximumWeightedCapacity(MAX_TRACKED_KEYS)
+            .build();
+    private final Set<Object> revalidating = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param staleAfter The duration after which a written value is considered stale
+     * @param ticker     The time source
+     */
+    RevalidationTracker(Duration staleAfter, Ticker ticker) {
+        this.staleAfterNanos = staleAfter.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Records that a fresh value was written for the given key.
+     *
+     * @param key The key
+     */
+    void written(Object key) {
+        writeTimes.put(key, ticker.read());
+    }
+
+    /**
+     * Claims the revalidation of the given key if its value is stale and no other revalidation is in progress.
+     *
+     * @param key The key
+     * @return True if the caller should revalidate the value
+     */
+    boolean startRevalidation(Object key) {
+        Long writeTime = writeTimes.get(key);
+        if (writeTime != null && ticker.read() - writeTime < staleAfterNanos) {
+            return false;
+        }
+        return revalidating.add(key);
+    }
+
+    /**
+     * Releases the revalidation of the given key.
+     *
+     * @param key     The key
+     * @param written Whether a fresh value was written
+     */
+    void revalidated(Object key, boolean written) {
+        if (written) {
+            written(key);
+        }
+        revalidating.remove(key);
+    }
+}
@@ -22,6 +22,10 @@ import io.micronaut.core.util.ArgumentUtils;
 
 import javax.annotation.Nonnull;
 import javax.cache.Cache;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
@@ -94,6 +98,33 @@ class JCacheSyncCache implements SyncCache<Cache> {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Map<Object, T> getAll(Collection<?> keys, Argument<T> requiredType) {
+        ArgumentUtils.requireNonNull("keys", keys);
+        final Map<Object, Object> present = nativeCache.getAll(new LinkedHashSet<>(keys));
+        final Map<Object, T> values = new LinkedHashMap<>(present.size());
+        for (Map.Entry<Object, Object> entry : present.entrySet()) {
+            conversionService.convert(entry.getValue(), requiredType).ifPresent(value ->
+                    values.put(entry.getKey(), value)
+            );
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void putAll(Map<?, ?> values) {
+        ArgumentUtils.requireNonNull("values", values);
+        final Map<Object, Object> nonNullValues = new LinkedHashMap<>(values.size());
+        values.forEach((key, value) -> {
+            if (value != null) {
+                nonNullValues.put(key, value);
+            }
+        });
+        nativeCache.putAll(nonNullValues);
+    }
+
     @Override
     public void invalidate(Object key) {
         ArgumentUtils.requireNonNull("key", key);
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.near;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A {@link NearCacheTransport} that delivers invalidations to the listeners subscribed to the same instance in the
+ * calling thread. Sharing an instance between several application contexts in the same JVM simulates a cluster,
+ * which is useful for testing.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class InMemoryNearCacheTransport implements NearCacheTransport {
+
+    private final List<Consumer<NearCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(@Nonnull NearCacheInvalidation invalidation) {
+        for (Consumer<NearCacheInvalidation> listener : listeners) {
+            listener.accept(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(@Nonnull Consumer<NearCacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unsubscribe(@Nonnull Consumer<NearCacheInvalidation> listener) {
+        listeners.remove(listener);
+    }
+}
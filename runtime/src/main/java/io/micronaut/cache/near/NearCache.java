@@ -0,0 +1,513 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.near;
+
+import io.micronaut.cache.AsyncCache;
+import io.micronaut.cache.CacheConfiguration;
+import io.micronaut.cache.CacheInfo;
+import io.micronaut.cache.CacheStatistics;
+import io.micronaut.cache.DefaultSyncCache;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.runtime.ApplicationConfiguration;
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>A two-tier {@link SyncCache} that keeps recently used values of another cache, typically a distributed cache,
+ * in a small in-process {@link DefaultSyncCache}. Reads are served from the local tier when possible and otherwise
+ * read through to the remote cache, whilst writes are written through to the remote cache before updating the local
+ * tier.</p>
+ *
+ * <p>Values changed or invalidated by this node are announced to the other nodes via the {@link NearCacheTransport}
+ * bean, if present, so that they remove the values from their local tier. Since messages may be delayed or lost the
+ * expiry of the local tier, configured via {@link NearCacheConfiguration#getExpireAfterWrite()}, bounds how long a
+ * stale value can be returned. The expiry must therefore be shorter than the expiry of the remote cache, which is
+ * verified when the remote cache is configured as a {@link CacheConfiguration}.</p>
+ *
+ * <p>The native cache is the remote cache. Operations performed on it directly bypass the local tier.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@EachBean(NearCacheConfiguration.class)
+public class NearCache implements SyncCache<SyncCache> {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final String name;
+    private final String source = UUID.randomUUID().toString();
+    private final SyncCache<?> localCache;
+    private final SyncCache<?> remoteCache;
+    private final NearCacheTransport transport;
+    private final Consumer<NearCacheInvalidation> listener = this::onInvalidation;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * @param configuration            The near cache configuration
+     * @param applicationContext       The application context
+     * @param applicationConfiguration The application configuration
+     * @param conversionService        The conversion service
+     * @param transport                The transport used to broadcast invalidations, if any
+     */
+    public NearCache(
+            NearCacheConfiguration configuration,
+            ApplicationContext applicationContext,
+            ApplicationConfiguration applicationConfiguration,
+            ConversionService<?> conversionService,
+            @Nullable NearCacheTransport transport) {
+        this.name = configuration.getCacheName();
+        String remoteName = configuration.getRemoteCache();
+        if (remoteName == null || remoteName.equals(name)) {
+            throw new ConfigurationException("Near cache [" + name + "] must specify a remote-cache other than itself");
+        }
+        this.remoteCache = applicationContext.findBean(SyncCache.class, Qualifiers.byName(remoteName))
+                .orElseThrow(() -> new ConfigurationException("Remote cache [" + remoteName + "] of near cache [" + name + "] does not exist"));
+        applicationContext.findBean(CacheConfiguration.class, Qualifiers.byName(remoteName))
+                .ifPresent(remoteConfiguration -> verifyExpiry(configuration, remoteConfiguration));
+
+        CacheConfiguration localConfiguration = new CacheConfiguration(name, applicationConfiguration);
+        localConfiguration.setMaximumSize(configuration.getMaximumSize());
+        localConfiguration.setExpireAfterWrite(configuration.getExpireAfterWrite());
+        localConfiguration.setRecordStats(configuration.isRecordStats());
+        this.localCache = new DefaultSyncCache(localConfiguration, applicationContext, conversionService);
+
+        this.transport = transport;
+        if (transport != null) {
+            transport.subscribe(listener);
+        }
+    }
+
+    /**
+     * @return The in-process cache
+     */
+    public SyncCache<?> getLocalCache() {
+        return localCache;
+    }
+
+    /**
+     * @return The remote cache
+     */
+    public SyncCache<?> getRemoteCache() {
+        return remoteCache;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public SyncCache getNativeCache() {
+        return remoteCache;
+    }
+
+    @Override
+    public Publisher<CacheInfo> getCacheInfo() {
+        return Flowable.fromPublisher(localCache.getCacheInfo()).map(localInfo -> new CacheInfo() {
+            @Nonnull
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Nonnull
+            @Override
+            public Map<String, Object> get() {
+                Map<String, Object> data = new LinkedHashMap<>(3);
+                data.put("implementationClass", NearCache.class.getName());
+                data.put("remoteCache", remoteCache.getName());
+                data.put("local", localInfo.get());
+                return data;
+            }
+        });
+    }
+
+    /**
+     * Returns the statistics of the local tier, if {@link NearCacheConfiguration#isRecordStats()} is enabled, which
+     * reflect how many lookups are served without accessing the remote cache.
+     *
+     * @return The statistics of the local tier
+     */
+    @Override
+    public Optional<CacheStatistics> getStatistics() {
+        return localCache.getStatistics();
+    }
+
+    @Override
+    public <T> Optional<T> get(Object key, Argument<T> requiredType) {
+        Optional<T> value = localCache.get(key, requiredType);
+        if (value.isPresent()) {
+            return value;
+        }
+        long generation = generation(key);
+        value = remoteCache.get(key, requiredType);
+        value.ifPresent(v -> populate(key, v, generation));
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Argument<T> requiredType, Supplier<T> supplier) {
+        Optional<T> value = localCache.get(key, requiredType);
+        if (value.isPresent()) {
+            return value.get();
+        }
+        long generation = generation(key);
+        T loaded = remoteCache.get(key, requiredType, supplier);
+        if (loaded != null) {
+            populate(key, loaded, generation);
+        }
+        return loaded;
+    }
+
+    @Override
+    public <T> Map<Object, T> getAll(Collection<?> keys, Argument<T> requiredType) {
+        Map<Object, T> values = localCache.getAll(keys, requiredType);
+        if (values.size() == keys.size()) {
+            return values;
+        }
+        List<Object> missing = missing(keys, values);
+        long[] generations = generations();
+        Map<Object, T> loaded = remoteCache.getAll(missing, requiredType);
+        populateAll(loaded, generations);
+        return merge(keys, values, loaded);
+    }
+
+    @Override
+    public <T> Optional<T> putIfAbsent(Object key, T value) {
+        invalidated(key);
+        Optional<T> existing = remoteCache.putIfAbsent(key, value);
+        localCache.put(key, existing.isPresent() ? existing.get() : value);
+        publish(Collections.singletonList(key));
+        return existing;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        invalidated(key);
+        remoteCache.put(key, value);
+        localCache.put(key, value);
+        publish(Collections.singletonList(key));
+    }
+
+    @Override
+    public void putAll(Map<?, ?> values) {
+        invalidatedKeys(values.keySet());
+        remoteCache.putAll(values);
+        localCache.putAll(values);
+        publish(new ArrayList<>(values.keySet()));
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        invalidated(key);
+        remoteCache.invalidate(key);
+        localCache.invalidate(key);
+        publish(Collections.singletonList(key));
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidatedAll();
+        remoteCache.invalidateAll();
+        localCache.invalidateAll();
+        publish(null);
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return remoteCache.getExecutorService();
+    }
+
+    @Nonnull
+    @Override
+    public AsyncCache<SyncCache> async() {
+        return new NearAsyncCache(remoteCache.async());
+    }
+
+    /**
+     * Stops listening for invalidations.
+     */
+    @PreDestroy
+    public void close() {
+        if (transport != null) {
+            transport.unsubscribe(listener);
+        }
+    }
+
+    /**
+     * Invoked when an invalidation is received from the transport.
+     *
+     * @param invalidation The invalidation
+     */
+    protected void onInvalidation(NearCacheInvalidation invalidation) {
+        if (!name.equals(invalidation.getCacheName()) || source.equals(invalidation.getSource())) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            invalidatedAll();
+            localCache.invalidateAll();
+        } else {
+            invalidatedKeys(invalidation.getKeys());
+            for (Object key : invalidation.getKeys()) {
+                localCache.invalidate(key);
+            }
+        }
+    }
+
+    private void publish(@Nullable Collection<Object> keys) {
+        if (transport != null) {
+            transport.publish(new NearCacheInvalidation(name, source, keys));
+        }
+    }
+
+    /**
+     * Stores a value read from the remote cache in the local tier unless a write or invalidation of a key in the same
+     * stripe happened since the read started, in which case the value read may already be stale.
+     */
+    private void populate(Object key, Object value, long generation) {
+        if (generation(key) == generation) {
+            localCache.put(key, value);
+        }
+    }
+
+    private void populateAll(Map<Object, ?> values, long[] generations) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Map<Object, Object> unchanged = new LinkedHashMap<>(values.size());
+        for (Map.Entry<Object, ?> entry : values.entrySet()) {
+            int stripe = stripe(entry.getKey());
+            if (this.generations.get(stripe) == generations[stripe]) {
+                unchanged.put(entry.getKey(), entry.getValue());
+            }
+        }
+        localCache.putAll(unchanged);
+    }
+
+    private long generation(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    private long[] generations() {
+        long[] snapshot = new long[GENERATION_STRIPES];
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            snapshot[i] = generations.get(i);
+        }
+        return snapshot;
+    }
+
+    private void invalidated(Object key) {
+        generations.incrementAndGet(stripe(key));
+    }
+
+    private void invalidatedKeys(Collection<?> keys) {
+        for (Object key : keys) {
+            invalidated(key);
+        }
+    }
+
+    private void invalidatedAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private static void verifyExpiry(NearCacheConfiguration configuration, CacheConfiguration remoteConfiguration) {
+        Duration remoteExpiry = shortest(remoteConfiguration.getExpireAfterWrite().orElse(null), remoteConfiguration.getExpireAfterAccess().orElse(null));
+        if (remoteExpiry == null) {
+            return;
+        }
+        Duration localExpiry = configuration.getExpireAfterWrite();
+        if (localExpiry == null || localExpiry.compareTo(remoteExpiry) >= 0) {
+            throw new ConfigurationException("Near cache [" + configuration.getCacheName() + "] must expire values after less than the " + remoteExpiry
+                    + " expiry of its remote cache [" + remoteConfiguration.getCacheName() + "], but expire-after-write is " + localExpiry);
+        }
+    }
+
+    private static Duration shortest(@Nullable Duration first, @Nullable Duration second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static List<Object> missing(Collection<?> keys, Map<Object, ?> present) {
+        List<Object> missing = new ArrayList<>(keys.size() - present.size());
+        for (Object key : keys) {
+            if (!present.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+
+    private static <T> Map<Object, T> merge(Collection<?> keys, Map<Object, T> local, Map<Object, T> remote) {
+        Map<Object, T> values = new LinkedHashMap<>(keys.size());
+        for (Object key : keys) {
+            T value = local.get(key);
+            if (value == null) {
+                value = remote.get(key);
+            }
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * An {@link AsyncCache} that serves hits from the local tier synchronously and otherwise delegates to the
+     * asynchronous version of the remote cache.
+     */
+    private final class NearAsyncCache implements AsyncCache<SyncCache> {
+
+        private final AsyncCache<?> remote;
+
+        NearAsyncCache(AsyncCache<?> remote) {
+            this.remote = remote;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public SyncCache getNativeCache() {
+            return remoteCache;
+        }
+
+        @Override
+        public <T> CompletableFuture<Optional<T>> get(Object key, Argument<T> requiredType) {
+            Optional<T> value = localCache.get(key, requiredType);
+            if (value.isPresent()) {
+                return CompletableFuture.completedFuture(value);
+            }
+            long generation = generation(key);
+            return remote.get(key, requiredType).thenApply(loaded -> {
+                loaded.ifPresent(v -> populate(key, v, generation));
+                return loaded;
+            });
+        }
+
+        @Override
+        public <T> CompletableFuture<T> get(Object key, Argument<T> requiredType, Supplier<T> supplier) {
+            Optional<T> value = localCache.get(key, requiredType);
+            if (value.isPresent()) {
+                return CompletableFuture.completedFuture(value.get());
+            }
+            long generation = generation(key);
+            return remote.get(key, requiredType, supplier).thenApply(loaded -> {
+                if (loaded != null) {
+                    populate(key, loaded, generation);
+                }
+                return loaded;
+            });
+        }
+
+        @Override
+        public <T> CompletableFuture<Map<Object, T>> getAll(Collection<?> keys, Argument<T> requiredType) {
+            Map<Object, T> values = localCache.getAll(keys, requiredType);
+            if (values.size() == keys.size()) {
+                return CompletableFuture.completedFuture(values);
+            }
+            long[] generations = generations();
+            return remote.getAll(missing(keys, values), requiredType).thenApply(loaded -> {
+                populateAll(loaded, generations);
+                return merge(keys, values, loaded);
+            });
+        }
+
+        @Override
+        public <T> CompletableFuture<Optional<T>> putIfAbsent(Object key, T value) {
+            invalidated(key);
+            return remote.putIfAbsent(key, value).thenApply(existing -> {
+                localCache.put(key, existing.isPresent() ? existing.get() : value);
+                publish(Collections.singletonList(key));
+                return existing;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Boolean> put(Object key, Object value) {
+            invalidated(key);
+            return remote.put(key, value).thenApply(result -> {
+                localCache.put(key, value);
+                publish(Collections.singletonList(key));
+                return result;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Boolean> putAll(Map<?, ?> values) {
+            invalidatedKeys(values.keySet());
+            return remote.putAll(values).thenApply(result -> {
+                localCache.putAll(values);
+                publish(new ArrayList<>(values.keySet()));
+                return result;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Boolean> invalidate(Object key) {
+            invalidated(key);
+            return remote.invalidate(key).thenApply(result -> {
+                localCache.invalidate(key);
+                publish(Collections.singletonList(key));
+                return result;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Boolean> invalidateAll() {
+            invalidatedAll();
+            return remote.invalidateAll().thenApply(result -> {
+                localCache.invalidateAll();
+                publish(null);
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.near;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * Configuration of a {@link NearCache} that keeps the recently used values of another cache in process.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@EachProperty(NearCacheConfiguration.PREFIX)
+public class NearCacheConfiguration {
+
+    /**
+     * The prefix for near cache configuration.
+     */
+    public static final String PREFIX = "micronaut.near-caches";
+
+    /**
+     * The default maximum size of the local cache.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    /**
+     * The default expiry of values in the local cache.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofSeconds(30);
+
+    private final String cacheName;
+    private String remoteCache;
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Duration expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+    private boolean recordStats;
+
+    /**
+     * @param cacheName The name of the near cache
+     */
+    public NearCacheConfiguration(@Parameter String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * @return The name of the near cache
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return The name of the cache whose values are kept in process
+     */
+    @Nullable
+    public String getRemoteCache() {
+        return remoteCache;
+    }
+
+    /**
+     * @param remoteCache The name of the cache whose values are kept in process
+     */
+    public void setRemoteCache(@Nullable String remoteCache) {
+        this.remoteCache = remoteCache;
+    }
+
+    /**
+     * @return The maximum number of entries of the local cache
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAXIMUM_SIZE}).
+     *
+     * @param maximumSize The maximum number of entries of the local cache
+     */
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * The duration after which values expire from the local cache. This should be shorter than the expiry of the
+     * remote cache since it bounds how long a node may return a stale value if an invalidation message is lost.
+     *
+     * @return The expiry of values in the local cache
+     */
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * Default value (30 seconds).
+     *
+     * @param expireAfterWrite The expiry of values in the local cache
+     */
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        if (expireAfterWrite != null) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+    }
+
+    /**
+     * @return Whether statistics are recorded for the local cache
+     */
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    /**
+     * @param recordStats Whether statistics are recorded for the local cache
+     */
+    public void setRecordStats(boolean recordStats) {
+        this.recordStats = recordStats;
+    }
+}
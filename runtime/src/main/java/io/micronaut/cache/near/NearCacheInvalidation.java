@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.near;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A message sent between nodes to invalidate the values that a {@link NearCache} holds in process.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class NearCacheInvalidation implements Serializable {
+
+    private final String cacheName;
+    private final String source;
+    private final Collection<Object> keys;
+
+    /**
+     * @param cacheName The name of the near cache
+     * @param source    The identifier of the near cache instance that sent the message
+     * @param keys      The keys to invalidate or null to invalidate all keys
+     */
+    public NearCacheInvalidation(@Nonnull String cacheName, @Nonnull String source, @Nullable Collection<Object> keys) {
+        this.cacheName = cacheName;
+        this.source = source;
+        this.keys = keys != null ? Collections.unmodifiableCollection(keys) : null;
+    }
+
+    /**
+     * @return The name of the near cache
+     */
+    @Nonnull
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return The identifier of the near cache instance that sent the message
+     */
+    @Nonnull
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return The keys to invalidate
+     */
+    @Nonnull
+    public Collection<Object> getKeys() {
+        return keys != null ? keys : Collections.emptyList();
+    }
+
+    /**
+     * @return Whether all keys should be invalidated
+     */
+    public boolean isAll() {
+        return keys == null;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheInvalidation{cacheName=" + cacheName + ", keys=" + (isAll() ? "*" : keys) + "}";
+    }
+}
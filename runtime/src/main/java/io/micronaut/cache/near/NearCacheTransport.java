@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.near;
+
+import javax.annotation.Nonnull;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link NearCacheInvalidation} messages between nodes so that values changed by one node are removed
+ * from the near caches of the other nodes. Register an implementation as a bean to enable broadcasting, for example
+ * on top of a message broker or the publish/subscribe facility of the remote cache.
+ *
+ * @author agent
+ * @since 1.3.0
+ * @see InMemoryNearCacheTransport
+ */
+public interface NearCacheTransport {
+
+    /**
+     * Publishes the given invalidation to all subscribers, including those of the publishing node.
+     *
+     * @param invalidation The invalidation
+     */
+    void publish(@Nonnull NearCacheInvalidation invalidation);
+
+    /**
+     * Subscribes to invalidations.
+     *
+     * @param listener The listener
+     */
+    void subscribe(@Nonnull Consumer<NearCacheInvalidation> listener);
+
+    /**
+     * Removes a listener previously passed to {@link #subscribe(Consumer)}.
+     *
+     * @param listener The listener
+     */
+    void unsubscribe(@Nonnull Consumer<NearCacheInvalidation> listener);
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.offheap;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.serialize.JdkSerializer;
+import io.micronaut.core.serialize.ObjectSerializer;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Configuration of an {@link OffHeapSyncCache}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@EachProperty(OffHeapCacheConfiguration.PREFIX)
+public class OffHeapCacheConfiguration {
+
+    /**
+     * The prefix for off-heap cache configuration.
+     */
+    public static final String PREFIX = "micronaut.off-heap-caches";
+
+    /**
+     * The default maximum memory in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAXIMUM_MEMORY = 64 * 1024 * 1024;
+
+    /**
+     * The default block size in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    /**
+     * The default number of segments.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_SEGMENTS = 16;
+
+    private final String cacheName;
+    private long maximumMemory = DEFAULT_MAXIMUM_MEMORY;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private int segments = DEFAULT_SEGMENTS;
+    private Long maximumSize;
+    private Duration expireAfterWrite;
+    private Class<? extends ObjectSerializer> valueSerializer = JdkSerializer.class;
+    private boolean recordStats;
+
+    /**
+     * @param cacheName The name of the cache
+     */
+    public OffHeapCacheConfiguration(@Parameter String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * @return The name of the cache
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @return The maximum number of bytes of memory used to store values
+     */
+    public long getMaximumMemory() {
+        return maximumMemory;
+    }
+
+    /**
+     * Default value (64MB).
+     *
+     * @param maximumMemory The maximum number of bytes of memory used to store values, for example "512MB"
+     */
+    public void setMaximumMemory(@ReadableBytes long maximumMemory) {
+        this.maximumMemory = maximumMemory;
+    }
+
+    /**
+     * @return The size in bytes of the blocks that memory is allocated in
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Values occupy a whole number of blocks, so smaller blocks waste less memory for small values whilst larger
+     * blocks reduce the bookkeeping per value. Default value ({@value #DEFAULT_BLOCK_SIZE}).
+     *
+     * @param blockSize The size in bytes of the blocks that memory is allocated in
+     */
+    public void setBlockSize(@ReadableBytes int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return The number of independently locked segments the memory is divided into
+     */
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_SEGMENTS}).
+     *
+     * @param segments The number of independently locked segments the memory is divided into
+     */
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * @return The maximum number of entries of the cache
+     */
+    public OptionalLong getMaximumSize() {
+        return maximumSize == null ? OptionalLong.empty() : OptionalLong.of(maximumSize);
+    }
+
+    /**
+     * @param maximumSize The maximum number of entries of the cache
+     */
+    public void setMaximumSize(Long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return The expiry to use after the value is written
+     */
+    public Optional<Duration> getExpireAfterWrite() {
+        return Optional.ofNullable(expireAfterWrite);
+    }
+
+    /**
+     * @param expireAfterWrite The expiry to use after the value is written
+     */
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    /**
+     * @return The serializer used to serialize values
+     */
+    public Class<? extends ObjectSerializer> getValueSerializer() {
+        return valueSerializer;
+    }
+
+    /**
+     * Default value ({@link JdkSerializer}).
+     *
+     * @param valueSerializer The serializer used to serialize values
+     */
+    public void setValueSerializer(Class<? extends ObjectSerializer> valueSerializer) {
+        if (valueSerializer != null) {
+            this.valueSerializer = valueSerializer;
+        }
+    }
+
+    /**
+     * @return Whether statistics are recorded
+     */
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    /**
+     * @param recordStats Whether statistics are recorded
+     */
+    public void setRecordStats(boolean recordStats) {
+        this.recordStats = recordStats;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Stores byte arrays outside of the Java heap with least recently used eviction. This is the native cache of an
+ * {@link OffHeapSyncCache}.</p>
+ *
+ * <p>The memory is divided into segments, each a direct {@link ByteBuffer} guarded by its own lock. Every segment is
+ * divided into fixed size blocks and a value occupies as many blocks as it needs, which need not be contiguous, so
+ * the memory never fragments. Only the keys and the block indexes of the values are kept on the heap. When a segment
+ * does not have enough free blocks for a value the least recently used entries of the segment are evicted.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class OffHeapStore {
+
+    private final Segment[] segments;
+    private final int blockSize;
+    private final long expireAfterWriteNanos;
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param maximumMemory         The maximum number of bytes used to store values
+     * @param blockSize             The size of a block in bytes
+     * @param segmentCount          The number of segments
+     * @param maximumSize           The maximum number of entries or a negative value for no limit
+     * @param expireAfterWriteNanos The expiry after write in nanoseconds or a negative value for no expiry
+     */
+    OffHeapStore(long maximumMemory, int blockSize, int segmentCount, long maximumSize, long expireAfterWriteNanos) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        if (segmentCount <= 0) {
+            throw new IllegalArgumentException("Number of segments must be positive: " + segmentCount);
+        }
+        long blocksPerSegment = maximumMemory / segmentCount / blockSize;
+        if (blocksPerSegment == 0) {
+            throw new IllegalArgumentException("Maximum memory of " + maximumMemory + " bytes is too small for " + segmentCount + " segments of blocks of " + blockSize + " bytes");
+        }
+        if (blocksPerSegment * blockSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segments cannot exceed " + Integer.MAX_VALUE + " bytes, increase the number of segments");
+        }
+        int entriesPerSegment = maximumSize < 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, Math.max(1, (maximumSize + segmentCount - 1) / segmentCount));
+        this.blockSize = blockSize;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment((int) blocksPerSegment, entriesPerSegment);
+        }
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return The number of bytes allocated to entries
+     */
+    public long usedMemory() {
+        long used = 0;
+        for (Segment segment : segments) {
+            used += (long) segment.usedBlocks() * blockSize;
+        }
+        return used;
+    }
+
+    /**
+     * @return The number of bytes available to store values
+     */
+    public long maximumMemory() {
+        return (long) segments.length * segments[0].blockCount * blockSize;
+    }
+
+    /**
+     * @return The number of entries evicted to make room for other entries
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @param key The key
+     * @return The stored bytes or null
+     */
+    byte[] get(Object key) {
+        return segmentFor(key).get(key, System.nanoTime());
+    }
+
+    /**
+     * Stores the given bytes, replacing any existing value. Values larger than a segment are not stored.
+     *
+     * @param key   The key
+     * @param value The bytes
+     * @return Whether the value was stored
+     */
+    boolean put(Object key, byte[] value) {
+        return segmentFor(key).put(key, value, System.nanoTime());
+    }
+
+    /**
+     * Stores the given bytes unless a value is present.
+     *
+     * @param key   The key
+     * @param value The bytes
+     * @return The bytes already present or null
+     */
+    byte[] putIfAbsent(Object key, byte[] value) {
+        Segment segment = segmentFor(key);
+        long now = System.nanoTime();
+        segment.lock.lock();
+        try {
+            byte[] existing = segment.get(key, now);
+            if (existing == null) {
+                segment.put(key, value, now);
+            }
+            return existing;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * @param key The key to remove
+     */
+    void remove(Object key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return A description of the usage of the store
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> data = new LinkedHashMap<>(6);
+        data.put("size", size());
+        data.put("usedMemory", usedMemory());
+        data.put("maximumMemory", maximumMemory());
+        data.put("evictionCount", evictionCount());
+        data.put("segments", segments.length);
+        data.put("blockSize", blockSize);
+        return data;
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[(h & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * An independently locked region of memory.
+     */
+    private final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final ByteBuffer memory;
+        final int blockCount;
+        final int maximumEntries;
+        final int[] freeBlocks;
+        int freeCount;
+        final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(int blockCount, int maximumEntries) {
+            this.blockCount = blockCount;
+            this.maximumEntries = maximumEntries;
+            this.memory = ByteBuffer.allocateDirect(blockCount * blockSize);
+            this.freeBlocks = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                freeBlocks[i] = blockCount - 1 - i;
+            }
+            this.freeCount = blockCount;
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int usedBlocks() {
+            lock.lock();
+            try {
+                return blockCount - freeCount;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        byte[] get(Object key, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (expireAfterWriteNanos >= 0 && now - entry.writeTime >= expireAfterWriteNanos) {
+                    release(entries.remove(key));
+                    return null;
+                }
+                byte[] value = new byte[entry.length];
+                int offset = 0;
+                for (int block : entry.blocks) {
+                    int length = Math.min(blockSize, value.length - offset);
+                    memory.position(block * blockSize);
+                    memory.get(value, offset, length);
+                    offset += length;
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean put(Object key, byte[] value, long now) {
+            int required = (value.length + blockSize - 1) / blockSize;
+            lock.lock();
+            try {
+                release(entries.remove(key));
+                if (required > blockCount) {
+                    return false;
+                }
+                Iterator<Entry> eldest = entries.values().iterator();
+                while ((freeCount < required || entries.size() >= maximumEntries) && eldest.hasNext()) {
+                    release(eldest.next());
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+                int[] blocks = new int[required];
+                int offset = 0;
+                for (int i = 0; i < required; i++) {
+                    int block = freeBlocks[--freeCount];
+                    int length = Math.min(blockSize, value.length - offset);
+                    memory.position(block * blockSize);
+                    memory.put(value, offset, length);
+                    offset += length;
+                    blocks[i] = block;
+                }
+                entries.put(key, new Entry(blocks, value.length, now));
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Object key) {
+            lock.lock();
+            try {
+                release(entries.remove(key));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                for (Entry entry : entries.values()) {
+                    release(entry);
+                }
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release(Entry entry) {
+            if (entry != null) {
+                for (int block : entry.blocks) {
+                    freeBlocks[freeCount++] = block;
+                }
+            }
+        }
+    }
+
+    /**
+     * The location of a value within a segment.
+     */
+    private static final class Entry {
+        final int[] blocks;
+        final int length;
+        final long writeTime;
+
+        Entry(int[] blocks, int length, long writeTime) {
+            this.blocks = blocks;
+            this.length = length;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.offheap;
+
+import io.micronaut.cache.CacheInfo;
+import io.micronaut.cache.CacheStatistics;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.convert.ConversionContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.serialize.ObjectSerializer;
+import io.micronaut.core.type.Argument;
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>A {@link SyncCache} that stores values serialized outside of the Java heap, so that large caches do not
+ * increase the size of the old generation and the duration of garbage collection pauses. Values are serialized with
+ * the configured {@link ObjectSerializer} on write and deserialized on every read, after which they are converted to
+ * the required type like with {@link io.micronaut.cache.DefaultSyncCache}.</p>
+ *
+ * <p>Off-heap caches are configured under {@value OffHeapCacheConfiguration#PREFIX} instead of
+ * {@value io.micronaut.cache.CacheConfiguration#PREFIX}.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@EachBean(OffHeapCacheConfiguration.class)
+public class OffHeapSyncCache implements SyncCache<OffHeapStore> {
+
+    private final OffHeapCacheConfiguration configuration;
+    private final OffHeapStore store;
+    private final ObjectSerializer serializer;
+    private final ConversionService<?> conversionService;
+    private final Map<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private final StatisticsCounter statistics;
+
+    /**
+     * @param configuration     The cache configuration
+     * @param beanContext       The bean context used to resolve the value serializer
+     * @param conversionService To convert the value from the cache into given required type
+     */
+    public OffHeapSyncCache(
+            OffHeapCacheConfiguration configuration,
+            BeanContext beanContext,
+            ConversionService<?> conversionService) {
+        this.configuration = configuration;
+        this.conversionService = conversionService;
+        this.statistics = configuration.isRecordStats() ? new StatisticsCounter() : null;
+        Class<? extends ObjectSerializer> serializerType = configuration.getValueSerializer();
+        this.serializer = beanContext.findOrInstantiateBean(serializerType)
+                .orElseThrow(() -> new ConfigurationException("Cannot instantiate value serializer [" + serializerType.getName() + "] of cache [" + configuration.getCacheName() + "]"));
+        try {
+            this.store = new OffHeapStore(
+                    configuration.getMaximumMemory(),
+                    configuration.getBlockSize(),
+                    configuration.getSegments(),
+                    configuration.getMaximumSize().orElse(-1),
+                    configuration.getExpireAfterWrite().map(Duration::toNanos).orElse(-1L)
+            );
+        } catch (IllegalArgumentException e) {
+            throw new ConfigurationException("Invalid configuration for off-heap cache [" + configuration.getCacheName() + "]: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return configuration.getCacheName();
+    }
+
+    @Override
+    public OffHeapStore getNativeCache() {
+        return store;
+    }
+
+    @Override
+    public Publisher<CacheInfo> getCacheInfo() {
+        return Flowable.just(new CacheInfo() {
+            @Nonnull
+            @Override
+            public String getName() {
+                return configuration.getCacheName();
+            }
+
+            @Nonnull
+            @Override
+            public Map<String, Object> get() {
+                Map<String, Object> data = new LinkedHashMap<>(4);
+                data.put("implementationClass", OffHeapSyncCache.class.getName());
+                data.put("valueSerializer", serializer.getClass().getName());
+                data.put("offHeap", store.describe());
+                getStatistics().ifPresent(statistics -> data.put("stats", statistics.toMap()));
+                return data;
+            }
+        });
+    }
+
+    @Override
+    public Optional<CacheStatistics> getStatistics() {
+        if (statistics == null) {
+            return Optional.empty();
+        }
+        return Optional.of(statistics.snapshot(store.evictionCount(), store.size()));
+    }
+
+    @Override
+    public <T> Optional<T> get(Object key, Argument<T> requiredType) {
+        byte[] bytes = store.get(key);
+        if (statistics != null) {
+            statistics.record(bytes != null);
+        }
+        if (bytes != null) {
+            return deserialize(bytes, requiredType);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public <T> T get(Object key, Argument<T> requiredType, Supplier<T> supplier) {
+        Optional<T> existing = get(key, requiredType);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loads.putIfAbsent(key, load);
+        Object value;
+        if (inFlight != null) {
+            try {
+                value = inFlight.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+        } else {
+            long start = System.nanoTime();
+            try {
+                byte[] bytes = store.get(key);
+                if (bytes != null) {
+                    value = deserialize(bytes, requiredType).orElse(null);
+                } else {
+                    value = supplier.get();
+                    put(key, value);
+                    if (statistics != null) {
+                        statistics.loaded(true, System.nanoTime() - start);
+                    }
+                }
+                load.complete(value);
+            } catch (RuntimeException e) {
+                if (statistics != null) {
+                    statistics.loaded(false, System.nanoTime() - start);
+                }
+                load.completeExceptionally(e);
+                throw e;
+            } finally {
+                loads.remove(key, load);
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        return conversionService.convert(value, ConversionContext.of(requiredType)).orElseThrow(() ->
+                new IllegalArgumentException("Cache supplier returned a value that cannot be converted to type: " + requiredType.getName())
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Optional<T> putIfAbsent(Object key, T value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        byte[] bytes = serialize(value);
+        if (bytes == null) {
+            return Optional.empty();
+        }
+        byte[] existing = store.putIfAbsent(key, bytes);
+        if (existing != null) {
+            return (Optional<T>) deserialize(existing, Argument.of(value.getClass()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * <p>Cache the specified value using the specified key. If the value is null, it will call
+     * {@link #invalidate(Object)} passing the key</p>
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     */
+    @Override
+    public void put(Object key, Object value) {
+        byte[] bytes = value != null ? serialize(value) : null;
+        if (bytes == null || !store.put(key, bytes)) {
+            // null and values too large to store are the same as removal
+            store.remove(key);
+        }
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        store.clear();
+    }
+
+    private byte[] serialize(Object value) {
+        return serializer.serialize(value).orElse(null);
+    }
+
+    private <T> Optional<T> deserialize(byte[] bytes, Argument<T> requiredType) {
+        Optional<T> value = serializer.deserialize(bytes, requiredType.getType());
+        return value.flatMap(v -> conversionService.convert(v, ConversionContext.of(requiredType)));
+    }
+
+    /**
+     * Records the statistics of the cache.
+     */
+    private static final class StatisticsCounter {
+        final LongAdder hitCount = new LongAdder();
+        final LongAdder missCount = new LongAdder();
+        final LongAdder loadSuccessCount = new LongAdder();
+        final LongAdder loadFailureCount = new LongAdder();
+        final LongAdder totalLoadTime = new LongAdder();
+
+        void record(boolean hit) {
+            (hit ? hitCount : missCount).increment();
+        }
+
+        void loaded(boolean success, long loadTime) {
+            (success ? loadSuccessCount : loadFailureCount).increment();
+            totalLoadTime.add(loadTime);
+        }
+
+        CacheStatistics snapshot(long evictionCount, long size) {
+            return new CacheStatistics(
+                    hitCount.sum(),
+                    missCount.sum(),
+                    loadSuccessCount.sum(),
+                    loadFailureCount.sum(),
+                    totalLoadTime.sum(),
+                    evictionCount,
+                    size,
+                    null
+            );
+        }
+    }
+}
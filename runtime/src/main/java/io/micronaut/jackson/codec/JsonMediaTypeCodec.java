@@ -24,6 +24,7 @@ import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.http.codec.CodecConfiguration;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.codec.CodecException;
@@ -179,8 +180,23 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T> ByteBuffer encode(T object, ByteBufferFactory allocator) throws CodecException {
-        byte[] bytes = encode(object);
-        return allocator.copiedBuffer(bytes);
+        if (object instanceof byte[]) {
+            return allocator.copiedBuffer((byte[]) object);
+        }
+        // serialize straight into the target buffer rather than into an intermediate byte[] that is then copied
+        ByteBuffer buffer = allocator.buffer();
+        boolean encoded = false;
+        try {
+            objectMapper.writeValue(buffer.toOutputStream(), object);
+            encoded = true;
+            return buffer;
+        } catch (IOException e) {
+            throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage(), e);
+        } finally {
+            if (!encoded && buffer instanceof ReferenceCounted) {
+                ((ReferenceCounted) buffer).release();
+            }
+        }
     }
 
     private <T> JavaType constructJavaType(Argument<T> type) {
@@ -92,4 +92,11 @@ public @interface CircuitBreaker {
      * @return The {@link java.time.Duration} of time before reset
      */
     String reset() default "20s";
+
+    /**
+     * @return The name of the {@link io.micronaut.retry.budget.RetryBudget} the retries are drawn from
+     * @since 1.3.0
+     */
+    @AliasFor(annotation = Retryable.class, member = "budget")
+    String budget() default "";
 }
@@ -80,4 +80,14 @@ public @interface Retryable {
      */
     @Digits(integer = 2, fraction = 2)
     String multiplier() default "1.0";
+
+    /**
+     * The name of the {@link io.micronaut.retry.budget.RetryBudget} the retries are drawn from. Retries that exceed
+     * the budget are not attempted and the original exception is rethrown. Use the ID of the target service to share
+     * the budget with the hedged requests of its HTTP client.
+     *
+     * @return The name of the retry budget, by default retries are not limited by a budget
+     * @since 1.3.0
+     */
+    String budget() default "";
 }
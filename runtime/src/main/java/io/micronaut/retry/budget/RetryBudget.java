@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.budget;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A token bucket that limits the retries made to a service to a fraction of the calls made to it.
+ *
+ * <p>Every call deposits a fraction of a token and every retry withdraws a whole token, so that over time retries
+ * cannot exceed the configured ratio of the calls. The bucket holds at most a fixed number of tokens, which are
+ * available immediately and allow a burst of retries when the traffic is low. Once the bucket is empty further
+ * retries are rejected until enough calls have been made, which prevents retries from multiplying the load on a
+ * service that is already failing.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final String name;
+    private final double ratio;
+    private final int maxTokens;
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name      The name of the budget
+     * @param ratio     The fraction of a token deposited by each call
+     * @param maxTokens The maximum number of tokens
+     */
+    public RetryBudget(String name, double ratio, int maxTokens) {
+        this.name = name;
+        this.ratio = Math.max(0, ratio);
+        this.maxTokens = Math.max(0, maxTokens);
+        this.deposit = (long) (this.ratio * TOKEN);
+        this.capacity = this.maxTokens * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * @param configuration The configuration of the budget
+     */
+    public RetryBudget(RetryBudgetConfiguration configuration) {
+        this(configuration.getName(), configuration.getRatio(), configuration.getMaxTokens());
+    }
+
+    /**
+     * Records a call, depositing a fraction of a token.
+     */
+    public void deposit() {
+        calls.increment();
+        if (balance.get() < capacity) {
+            balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+        }
+    }
+
+    /**
+     * Attempts to withdraw a token for a retry.
+     *
+     * @return True if the retry is within the budget, false if it should not be made
+     */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                rejected.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                retries.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return The name of the budget
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The fraction of a token deposited by each call
+     */
+    public double getRatio() {
+        return ratio;
+    }
+
+    /**
+     * @return The maximum number of tokens
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * @return The number of tokens currently available
+     */
+    public double getBalance() {
+        return (double) balance.get() / TOKEN;
+    }
+
+    /**
+     * @return The number of calls recorded
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return The number of retries that were within the budget
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * @return The number of retries that were rejected because the budget was exhausted
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget{name=" + name + ", balance=" + getBalance() + ", calls=" + getCalls() + ", retries=" + getRetries() + ", rejected=" + getRejected() + "}";
+    }
+}
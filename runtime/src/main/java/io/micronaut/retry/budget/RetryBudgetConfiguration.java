@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.budget;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+/**
+ * Configuration of a {@link RetryBudget}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@EachProperty(RetryBudgetConfiguration.PREFIX)
+public class RetryBudgetConfiguration {
+
+    /**
+     * The prefix for retry budget configuration.
+     */
+    public static final String PREFIX = "micronaut.retry.budgets";
+
+    /**
+     * The default fraction of a token deposited by each call.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_RATIO = 0.2;
+
+    /**
+     * The default maximum number of tokens.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAX_TOKENS = 10;
+
+    private final String name;
+    private double ratio = DEFAULT_RATIO;
+    private int maxTokens = DEFAULT_MAX_TOKENS;
+
+    /**
+     * @param name The name of the budget
+     */
+    public RetryBudgetConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the budget
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The fraction of a token deposited by each call, which is the maximum ratio of retries to calls over time.
+     *
+     * @return The ratio of retries to calls
+     */
+    public double getRatio() {
+        return ratio;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_RATIO}).
+     *
+     * @param ratio The ratio of retries to calls
+     */
+    public void setRatio(double ratio) {
+        this.ratio = Math.max(0, ratio);
+    }
+
+    /**
+     * The maximum number of tokens, which is the number of retries that can be made in a burst.
+     *
+     * @return The maximum number of tokens
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Default value ({@value #DEFAULT_MAX_TOKENS}).
+     *
+     * @param maxTokens The maximum number of tokens
+     */
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = Math.max(0, maxTokens);
+    }
+}
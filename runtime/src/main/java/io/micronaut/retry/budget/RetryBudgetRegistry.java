@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.budget;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link RetryBudget} of each name, so that retries of different methods and hedged HTTP client requests
+ * targeting the same service draw from the same budget. Budgets without configuration use the defaults of
+ * {@link RetryBudgetConfiguration}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+public class RetryBudgetRegistry {
+
+    private final Map<String, RetryBudgetConfiguration> configurations;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry without configured budgets.
+     */
+    public RetryBudgetRegistry() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * @param configurations The configured budgets
+     */
+    @Inject
+    public RetryBudgetRegistry(Collection<RetryBudgetConfiguration> configurations) {
+        this.configurations = new HashMap<>(configurations.size());
+        for (RetryBudgetConfiguration configuration : configurations) {
+            this.configurations.put(configuration.getName(), configuration);
+        }
+    }
+
+    /**
+     * Returns the budget of the given name, creating it if necessary.
+     *
+     * @param name The name of the budget
+     * @return The budget
+     */
+    public RetryBudget getRetryBudget(String name) {
+        RetryBudget budget = budgets.get(name);
+        if (budget == null) {
+            budget = budgets.computeIfAbsent(name, n -> {
+                RetryBudgetConfiguration configuration = configurations.get(n);
+                return configuration != null ? new RetryBudget(configuration) : new RetryBudget(n, RetryBudgetConfiguration.DEFAULT_RATIO, RetryBudgetConfiguration.DEFAULT_MAX_TOKENS);
+            });
+        }
+        return budget;
+    }
+
+    /**
+     * @param name The name of the budget
+     * @return The budget of the given name, if it has been used
+     */
+    public Optional<RetryBudget> findRetryBudget(String name) {
+        return Optional.ofNullable(budgets.get(name));
+    }
+
+    /**
+     * @return The budgets that have been used
+     */
+    public Collection<RetryBudget> getRetryBudgets() {
+        return Collections.unmodifiableCollection(budgets.values());
+    }
+}
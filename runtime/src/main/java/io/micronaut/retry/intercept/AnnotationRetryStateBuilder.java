@@ -17,9 +17,14 @@ package io.micronaut.retry.intercept;
 
 import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.util.StringUtils;
 import io.micronaut.retry.RetryState;
 import io.micronaut.retry.RetryStateBuilder;
 import io.micronaut.retry.annotation.Retryable;
+import io.micronaut.retry.budget.RetryBudget;
+import io.micronaut.retry.budget.RetryBudgetRegistry;
+
+import javax.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.Arrays;
@@ -40,9 +45,11 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
     private static final String MAX_DELAY = "maxDelay";
     private static final String INCLUDES = "includes";
     private static final String EXCLUDES = "excludes";
+    private static final String BUDGET = "budget";
     private static final int DEFAULT_RETRY_ATTEMPTS = 3;
 
     private final AnnotationMetadata annotationMetadata;
+    private final RetryBudgetRegistry retryBudgetRegistry;
 
     /**
      * Build the meta data for the given element with retry.
@@ -50,7 +57,18 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
      * @param annotationMetadata Allows the inspection of annotation metadata and stereotypes (meta-annotations)
      */
     AnnotationRetryStateBuilder(AnnotationMetadata annotationMetadata) {
+        this(annotationMetadata, null);
+    }
+
+    /**
+     * Build the meta data for the given element with retry.
+     *
+     * @param annotationMetadata  Allows the inspection of annotation metadata and stereotypes (meta-annotations)
+     * @param retryBudgetRegistry The registry of the retry budgets
+     */
+    AnnotationRetryStateBuilder(AnnotationMetadata annotationMetadata, @Nullable RetryBudgetRegistry retryBudgetRegistry) {
         this.annotationMetadata = annotationMetadata;
+        this.retryBudgetRegistry = retryBudgetRegistry;
     }
 
     @Override
@@ -61,6 +79,13 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
         Duration delay = retry.get(DELAY, Duration.class).orElse(Duration.ofSeconds(1));
         Set<Class<? extends Throwable>> includes = resolveIncludes(retry, INCLUDES);
         Set<Class<? extends Throwable>> excludes = resolveIncludes(retry, EXCLUDES);
+        RetryBudget budget = null;
+        if (retryBudgetRegistry != null) {
+            String budgetName = retry.stringValue(BUDGET).orElse(null);
+            if (StringUtils.isNotEmpty(budgetName)) {
+                budget = retryBudgetRegistry.getRetryBudget(budgetName);
+            }
+        }
 
         return new SimpleRetry(
             attempts,
@@ -68,7 +93,8 @@ class AnnotationRetryStateBuilder implements RetryStateBuilder {
             delay,
             retry.get(MAX_DELAY, Duration.class).orElse(null),
             includes,
-            excludes
+            excludes,
+            budget
         );
     }
 
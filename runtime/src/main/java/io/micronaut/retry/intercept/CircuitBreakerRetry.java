@@ -97,6 +97,7 @@ class CircuitBreakerRetry implements MutableRetryState {
                 throw new CircuitOpenException("Circuit Open: " + lastError.getMessage(), lastError);
             }
         }
+        childState.open();
     }
 
     @Override
@@ -28,6 +28,7 @@ import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.retry.RetryState;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
+import io.micronaut.retry.budget.RetryBudgetRegistry;
 import io.micronaut.retry.event.RetryEvent;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.executor.ExecutorType;
@@ -38,6 +39,7 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -62,6 +64,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
 
     private final ApplicationEventPublisher eventPublisher;
     private final ScheduledExecutorService executorService;
+    private final RetryBudgetRegistry retryBudgetRegistry;
     private final Map<ExecutableMethod, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
 
     /**
@@ -75,6 +78,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         this.eventPublisher = eventPublisher;
         UserExecutorConfiguration configuration = UserExecutorConfiguration.of(ExecutorType.SCHEDULED);
         this.executorService = Executors.newScheduledThreadPool(configuration.getCorePoolSize());
+        this.retryBudgetRegistry = null;
     }
 
     /**
@@ -83,10 +87,26 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
      * @param eventPublisher The event publisher to publish retry events
      * @param executorService The executor service to use for completable futures
      */
-    @Inject
     public DefaultRetryInterceptor(ApplicationEventPublisher eventPublisher, @Named(TaskExecutors.SCHEDULED) ExecutorService executorService) {
+        this(eventPublisher, executorService, null);
+    }
+
+    /**
+     * Construct a default retry method interceptor with the event publisher.
+     *
+     * @param eventPublisher The event publisher to publish retry events
+     * @param executorService The executor service to use for completable futures
+     * @param retryBudgetRegistry The registry of the budgets that limit retries
+     * @since 1.3.0
+     */
+    @Inject
+    public DefaultRetryInterceptor(
+            ApplicationEventPublisher eventPublisher,
+            @Named(TaskExecutors.SCHEDULED) ExecutorService executorService,
+            @Nullable RetryBudgetRegistry retryBudgetRegistry) {
         this.eventPublisher = eventPublisher;
         this.executorService = (ScheduledExecutorService) executorService;
+        this.retryBudgetRegistry = retryBudgetRegistry;
     }
 
     @Override
@@ -105,7 +125,8 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         boolean isCircuitBreaker = context.hasStereotype(CircuitBreaker.class);
         MutableRetryState retryState;
         AnnotationRetryStateBuilder retryStateBuilder = new AnnotationRetryStateBuilder(
-            context
+            context,
+            retryBudgetRegistry
         );
 
         if (isCircuitBreaker) {
@@ -17,6 +17,9 @@ package io.micronaut.retry.intercept;
 
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.retry.RetryState;
+import io.micronaut.retry.budget.RetryBudget;
+
+import javax.annotation.Nullable;
 
 import java.time.Duration;
 import java.util.Collections;
@@ -44,6 +47,7 @@ class SimpleRetry implements RetryState, MutableRetryState {
     private AtomicLong overallDelay = new AtomicLong(0);
     private final Set<Class<? extends Throwable>> includes;
     private final Set<Class<? extends Throwable>> excludes;
+    private final RetryBudget budget;
 
     /**
      * @param maxAttempts The maximum number of attemps
@@ -60,7 +64,28 @@ class SimpleRetry implements RetryState, MutableRetryState {
         Duration maxDelay,
         Set<Class<? extends Throwable>> includes,
         Set<Class<? extends Throwable>> excludes) {
+        this(maxAttempts, multiplier, delay, maxDelay, includes, excludes, null);
+    }
 
+    /**
+     * @param maxAttempts The maximum number of attemps
+     * @param multiplier The multiplier to use between delays
+     * @param delay The overall delay so far
+     * @param maxDelay The maximum overall delay
+     * @param includes Classes to include for retry
+     * @param excludes Classes to exclude for retry
+     * @param budget The budget the retries are drawn from
+     */
+    SimpleRetry(
+        int maxAttempts,
+        double multiplier,
+        Duration delay,
+        Duration maxDelay,
+        Set<Class<? extends Throwable>> includes,
+        Set<Class<? extends Throwable>> excludes,
+        @Nullable RetryBudget budget) {
+
+        this.budget = budget;
         this.maxAttempts = maxAttempts;
         this.multiplier = multiplier;
         this.delay = delay;
@@ -107,7 +132,15 @@ class SimpleRetry implements RetryState, MutableRetryState {
         } else if (hasExcludes && excludes.contains(exceptionClass)) {
             return false;
         } else {
-            return this.attemptNumber.incrementAndGet() < (maxAttempts + 1) && ((maxDelay == null) || overallDelay.get() < maxDelay.toMillis());
+            return this.attemptNumber.incrementAndGet() < (maxAttempts + 1) && ((maxDelay == null) || overallDelay.get() < maxDelay.toMillis())
+                && (budget == null || budget.tryWithdraw());
+        }
+    }
+
+    @Override
+    public void open() {
+        if (budget != null) {
+            budget.deposit();
         }
     }
 
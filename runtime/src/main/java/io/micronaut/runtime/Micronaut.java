@@ -201,6 +201,11 @@ public class Micronaut extends DefaultApplicationContextBuilder implements Appli
         return (Micronaut) super.environmentPropertySource(environmentPropertySource);
     }
 
+    @Override
+    public @Nonnull Micronaut parallelStartup(boolean parallelStartup) {
+        return (Micronaut) super.parallelStartup(parallelStartup);
+    }
+
     @Override
     public @Nonnull Micronaut environmentVariableIncludes(@Nullable String... environmentVariables) {
         return (Micronaut) super.environmentVariableIncludes(environmentVariables);
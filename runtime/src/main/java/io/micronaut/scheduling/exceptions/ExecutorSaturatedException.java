@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.exceptions;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown when an executor rejects a task because it is saturated, that is its concurrency limit is reached and its
+ * queue is full. Unlike other rejections the task may succeed if submitted again later, which the HTTP server
+ * signals to clients with a 503 response and a {@code Retry-After} header.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class ExecutorSaturatedException extends RejectedExecutionException {
+
+    private final Duration retryAfter;
+
+    /**
+     * @param message    The message
+     * @param retryAfter The duration after which the task may be submitted again
+     */
+    public ExecutorSaturatedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return The duration after which the task may be submitted again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.scheduling.exceptions.ExecutorSaturatedException;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>An {@link ExecutorService} that bounds the number of concurrently running tasks with a limit that adapts to the
+ * observed execution latency, queues tasks up to a maximum depth once the limit is reached and rejects further tasks
+ * with an {@link ExecutorSaturatedException}.</p>
+ *
+ * <p>The limit follows an additive increase, multiplicative decrease scheme driven by the gradient between a short
+ * term and a long term moving average of the execution time. When the short term average exceeds the long term
+ * average multiplied by the latency tolerance a downstream resource is considered congested. The limit is adjusted
+ * at most once per window of as many completed tasks as the limit: it is reduced by 10% if the downstream resource
+ * is congested at the end of the window, and otherwise increased by one provided that at least half of the limit is
+ * in use. The moving averages are updated without locking on every completed task. Since the long term average
+ * slowly follows a permanent change in latency the limit is probed upwards again once the latency stabilises. Tasks run on the delegate executor, which is typically an
+ * unbounded cached thread pool whose size is effectively bounded by the maximum limit.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public class AdaptiveExecutorService extends AbstractExecutorService {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SHORT_TERM_WEIGHT = 0.2;
+    private static final double LONG_TERM_WEIGHT = 0.01;
+
+    private final ExecutorService delegate;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueDepth;
+    private final double latencyTolerance;
+    private final Duration retryAfter;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile boolean shutdown;
+    private final AtomicInteger windowSamples = new AtomicInteger();
+    private final AtomicLong shortTermLatency = new AtomicLong(Double.doubleToLongBits(-1));
+    private final AtomicLong longTermLatency = new AtomicLong(Double.doubleToLongBits(-1));
+
+    /**
+     * @param delegate         The executor that runs the tasks
+     * @param initialLimit     The initial concurrency limit
+     * @param minLimit         The minimum concurrency limit
+     * @param maxLimit         The maximum concurrency limit
+     * @param maxQueueDepth    The maximum number of tasks waiting for the limit
+     * @param latencyTolerance The factor by which the latency may exceed the baseline before the limit is reduced
+     * @param retryAfter       The duration after which rejected tasks may be submitted again
+     */
+    public AdaptiveExecutorService(
+            ExecutorService delegate,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            int maxQueueDepth,
+            double latencyTolerance,
+            Duration retryAfter) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min " + minLimit + ", max " + maxLimit);
+        }
+        this.delegate = delegate;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueDepth = Math.max(0, maxQueueDepth);
+        this.latencyTolerance = Math.max(1.0, latencyTolerance);
+        this.retryAfter = retryAfter;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+    }
+
+    /**
+     * @return The current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of running tasks
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The number of tasks waiting for the limit
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return The maximum number of tasks waiting for the limit
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        if (tryAcquire()) {
+            dispatch(command);
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueueDepth) {
+            queued.decrementAndGet();
+            throw new ExecutorSaturatedException("Executor saturated: " + inFlight.get() + " tasks running with a limit of " + limit + " and " + maxQueueDepth + " tasks queued", retryAfter);
+        }
+        queue.offer(command);
+        // a task may have completed between the failed acquire and the offer
+        drain();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (queued.get() == 0) {
+            delegate.shutdown();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<>(queued.get());
+        Runnable next;
+        while ((next = queue.poll()) != null) {
+            queued.decrementAndGet();
+            pending.add(next);
+        }
+        pending.addAll(delegate.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void dispatch(Runnable command) {
+        try {
+            delegate.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    command.run();
+                } finally {
+                    release(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(long latency) {
+        inFlight.decrementAndGet();
+        onSample(latency);
+        drain();
+        if (shutdown && queued.get() == 0) {
+            delegate.shutdown();
+        }
+    }
+
+    private void drain() {
+        while (queued.get() > 0 && tryAcquire()) {
+            Runnable next = queue.poll();
+            if (next == null) {
+                // the task has been counted but not yet offered, the submitting thread drains it
+                inFlight.decrementAndGet();
+                return;
+            }
+            queued.decrementAndGet();
+            try {
+                dispatch(next);
+            } catch (RejectedExecutionException e) {
+                // the delegate has been shut down
+                return;
+            }
+        }
+    }
+
+    private void onSample(long latency) {
+        double shortTerm = average(shortTermLatency, latency, SHORT_TERM_WEIGHT);
+        double longTerm = average(longTermLatency, latency, LONG_TERM_WEIGHT);
+        int current = limit;
+        int samples = windowSamples.incrementAndGet();
+        if (samples < current || !windowSamples.compareAndSet(samples, 0)) {
+            return;
+        }
+        // only the task that completes the window adjusts the limit
+        if (shortTerm > longTerm * latencyTolerance) {
+            limit = Math.max(minLimit, (int) (current * BACKOFF_RATIO));
+        } else if (current < maxLimit && inFlight.get() >= current / 2) {
+            limit = current + 1;
+        }
+    }
+
+    private static double average(AtomicLong average, double sample, double weight) {
+        while (true) {
+            long bits = average.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = current < 0 ? sample : current + (sample - current) * weight;
+            if (average.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return next;
+            }
+        }
+    }
+}
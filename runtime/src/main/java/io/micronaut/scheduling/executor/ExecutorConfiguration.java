@@ -16,6 +16,7 @@
 package io.micronaut.scheduling.executor;
 
 import javax.validation.constraints.Min;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
@@ -45,6 +46,31 @@ public interface ExecutorConfiguration {
      */
     String PREFIX_CONSUMER = PREFIX + ".consumer";
 
+    /**
+     * The default minimum concurrency of an {@link ExecutorType#ADAPTIVE} executor.
+     */
+    int DEFAULT_MIN_CONCURRENCY = 1;
+
+    /**
+     * The default maximum concurrency of an {@link ExecutorType#ADAPTIVE} executor.
+     */
+    int DEFAULT_MAX_CONCURRENCY = 200;
+
+    /**
+     * The default maximum queue depth of an {@link ExecutorType#ADAPTIVE} executor.
+     */
+    int DEFAULT_MAX_QUEUE_DEPTH = 1000;
+
+    /**
+     * The default latency tolerance of an {@link ExecutorType#ADAPTIVE} executor.
+     */
+    double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+    /**
+     * The default duration after which clients may retry tasks rejected by an {@link ExecutorType#ADAPTIVE} executor.
+     */
+    Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
     /**
      * @return The {@link io.micronaut.scheduling.executor.ExecutorType}
      */
@@ -69,4 +95,48 @@ public interface ExecutorConfiguration {
      * @return The class to use as the {@link ThreadFactory}
      */
     Optional<Class<? extends ThreadFactory>> getThreadFactoryClass();
+
+    /**
+     * @return The initial concurrency limit for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
+     */
+    default Integer getInitialConcurrency() {
+        return getNumberOfThreads();
+    }
+
+    /**
+     * @return The minimum concurrency limit for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
+     */
+    default Integer getMinConcurrency() {
+        return DEFAULT_MIN_CONCURRENCY;
+    }
+
+    /**
+     * @return The maximum concurrency limit for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
+     */
+    default Integer getMaxConcurrency() {
+        return DEFAULT_MAX_CONCURRENCY;
+    }
+
+    /**
+     * @return The maximum number of queued tasks for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
+     */
+    default Integer getMaxQueueDepth() {
+        return DEFAULT_MAX_QUEUE_DEPTH;
+    }
+
+    /**
+     * @return The factor by which the recent task latency may exceed the long term latency before the concurrency
+     * limit of an {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE} executor is reduced
+     */
+    default Double getLatencyTolerance() {
+        return DEFAULT_LATENCY_TOLERANCE;
+    }
+
+    /**
+     * @return The duration after which tasks rejected by an {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
+     * executor may be retried
+     */
+    default Duration getRetryAfter() {
+        return DEFAULT_RETRY_AFTER;
+    }
 }
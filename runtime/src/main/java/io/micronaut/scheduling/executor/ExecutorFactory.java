@@ -19,7 +19,10 @@ import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.EachBean;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.core.reflect.InstantiationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Optional;
 import java.util.concurrent.*;
 
 /**
@@ -31,6 +34,8 @@ import java.util.concurrent.*;
 @Factory
 public class ExecutorFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutorFactory.class);
+
     private final ThreadFactory threadFactory;
 
     /**
@@ -76,6 +81,36 @@ public class ExecutorFactory {
             case WORK_STEALING:
                 return Executors.newWorkStealingPool(executorConfiguration.getParallelism());
 
+            case VIRTUAL:
+                Optional<ExecutorService> virtualExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+                if (virtualExecutor.isPresent()) {
+                    return virtualExecutor.get();
+                }
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Virtual threads are not supported by the current JDK, falling back to a cached thread pool");
+                }
+                return executorConfiguration
+                    .getThreadFactoryClass()
+                    .flatMap(InstantiationUtils::tryInstantiate)
+                    .map(Executors::newCachedThreadPool)
+                    .orElse(Executors.newCachedThreadPool(threadFactory));
+
+            case ADAPTIVE:
+                ExecutorService delegate = executorConfiguration
+                    .getThreadFactoryClass()
+                    .flatMap(InstantiationUtils::tryInstantiate)
+                    .map(Executors::newCachedThreadPool)
+                    .orElse(Executors.newCachedThreadPool(threadFactory));
+                return new AdaptiveExecutorService(
+                    delegate,
+                    executorConfiguration.getInitialConcurrency(),
+                    executorConfiguration.getMinConcurrency(),
+                    executorConfiguration.getMaxConcurrency(),
+                    executorConfiguration.getMaxQueueDepth(),
+                    executorConfiguration.getLatencyTolerance(),
+                    executorConfiguration.getRetryAfter()
+                );
+
             default:
                 throw new IllegalStateException("Could not create Executor service for enum value: " + executorType);
         }
@@ -42,5 +42,24 @@ public enum ExecutorType {
     /**
      * @see java.util.concurrent.Executors#newWorkStealingPool()
      */
-    WORK_STEALING
+    WORK_STEALING,
+
+    /**
+     * An executor that runs each task in a new virtual thread, which suits tasks that mostly block on I/O such as
+     * {@link io.micronaut.scheduling.TaskExecutors#IO}. On JDKs without virtual threads a {@link #CACHED} thread
+     * pool is created instead. Not suitable for executors that schedule tasks.
+     *
+     * @since 1.3.0
+     */
+    VIRTUAL,
+
+    /**
+     * An executor that bounds the number of concurrently running tasks with a limit that adapts to the observed
+     * latency, queues tasks up to a maximum depth and rejects further tasks. Suited to {@link
+     * io.micronaut.scheduling.TaskExecutors#IO} to shed load when a downstream resource becomes slow.
+     *
+     * @see AdaptiveExecutorService
+     * @since 1.3.0
+     */
+    ADAPTIVE
 }
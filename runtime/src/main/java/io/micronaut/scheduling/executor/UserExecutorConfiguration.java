@@ -20,6 +20,7 @@ import io.micronaut.core.util.ArgumentUtils;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.Min;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
@@ -44,6 +45,12 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
     private Integer parallelism = AVAILABLE_PROCESSORS;
     private Integer corePoolSize = AVAILABLE_PROCESSORS * 2;
     private Class<? extends ThreadFactory> threadFactoryClass;
+    private Integer initialConcurrency;
+    private Integer minConcurrency = DEFAULT_MIN_CONCURRENCY;
+    private Integer maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private Integer maxQueueDepth = DEFAULT_MAX_QUEUE_DEPTH;
+    private Double latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+    private Duration retryAfter = DEFAULT_RETRY_AFTER;
 
 
     /**
@@ -125,6 +132,105 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
         }
     }
 
+    @Override
+    public Integer getInitialConcurrency() {
+        return initialConcurrency != null ? initialConcurrency : nThreads;
+    }
+
+    @Override
+    @Min(1L)
+    public Integer getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    @Override
+    @Min(1L)
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    @Min(0L)
+    public Integer getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    @Override
+    public Double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    @Override
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Sets the initial concurrency limit for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}. Default value (the number of threads).
+     *
+     * @param initialConcurrency The initial concurrency limit
+     */
+    public void setInitialConcurrency(Integer initialConcurrency) {
+        this.initialConcurrency = initialConcurrency;
+    }
+
+    /**
+     * Sets the minimum concurrency limit for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}. Default value ({@value ExecutorConfiguration#DEFAULT_MIN_CONCURRENCY}).
+     *
+     * @param minConcurrency The minimum concurrency limit
+     */
+    public void setMinConcurrency(Integer minConcurrency) {
+        if (minConcurrency != null) {
+            this.minConcurrency = minConcurrency;
+        }
+    }
+
+    /**
+     * Sets the maximum concurrency limit for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}. Default value ({@value ExecutorConfiguration#DEFAULT_MAX_CONCURRENCY}).
+     *
+     * @param maxConcurrency The maximum concurrency limit
+     */
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    /**
+     * Sets the maximum number of queued tasks for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}. Default value ({@value ExecutorConfiguration#DEFAULT_MAX_QUEUE_DEPTH}).
+     *
+     * @param maxQueueDepth The maximum number of queued tasks
+     */
+    public void setMaxQueueDepth(Integer maxQueueDepth) {
+        if (maxQueueDepth != null) {
+            this.maxQueueDepth = maxQueueDepth;
+        }
+    }
+
+    /**
+     * Sets the factor by which the recent task latency may exceed the long term latency before the concurrency limit
+     * of an {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE} executor is reduced. Default value ({@value ExecutorConfiguration#DEFAULT_LATENCY_TOLERANCE}).
+     *
+     * @param latencyTolerance The latency tolerance
+     */
+    public void setLatencyTolerance(Double latencyTolerance) {
+        if (latencyTolerance != null) {
+            this.latencyTolerance = latencyTolerance;
+        }
+    }
+
+    /**
+     * Sets the duration after which tasks rejected by an {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
+     * executor may be retried, which is sent to HTTP clients as the {@code Retry-After} header. Default value (1 second).
+     *
+     * @param retryAfter The duration after which rejected tasks may be retried
+     */
+    public void setRetryAfter(Duration retryAfter) {
+        if (retryAfter != null) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
     /**
      * Sets the thread factory class.
      *
@@ -153,6 +259,7 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
      * @param type The type
      * @param num  The number of threads for {@link io.micronaut.scheduling.executor.ExecutorType#FIXED} or the parallelism for
      *             {@link io.micronaut.scheduling.executor.ExecutorType#WORK_STEALING} or the core pool size for {@link io.micronaut.scheduling.executor.ExecutorType#SCHEDULED}
+     *             or the maximum concurrency for {@link io.micronaut.scheduling.executor.ExecutorType#ADAPTIVE}
      * @return The configuration
      */
     public static UserExecutorConfiguration of(ExecutorType type, int num) {
@@ -169,6 +276,9 @@ public class UserExecutorConfiguration implements ExecutorConfiguration {
             case WORK_STEALING:
                 configuration.parallelism = num;
                 break;
+            case ADAPTIVE:
+                configuration.maxConcurrency = num;
+                break;
             default:
         }
         return configuration;
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.scheduling.executor.AdaptiveExecutorService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded for a named executor by {@link ExecutorMetricsRegistry}.
+ *
+ * <p>The time tasks spend waiting to run and the time they take to run are recorded in histograms, together with
+ * counters of the tasks that completed, failed or were rejected. The pool gauges are read from the underlying executor
+ * when they are requested.</p>
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+public final class ExecutorMetrics {
+
+    private final String name;
+    private final Executor executor;
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name     The name of the executor
+     * @param executor The executor, which is unwrapped if it is an {@link InstrumentedExecutor}
+     */
+    ExecutorMetrics(String name, Executor executor) {
+        this.name = name;
+        Executor target = executor;
+        while (target instanceof InstrumentedExecutor) {
+            target = ((InstrumentedExecutor) target).getTarget();
+        }
+        this.executor = target;
+    }
+
+    /**
+     * @return The name of the executor
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The time tasks waited between being submitted, or becoming due for scheduled tasks, and starting
+     */
+    public LatencyHistogram getQueueWaitTime() {
+        return queueWaitTime;
+    }
+
+    /**
+     * @return The time tasks took to run
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * @return The number of tasks currently running
+     */
+    public long getRunning() {
+        return Math.max(0, started.sum() - completed.sum() - failed.sum());
+    }
+
+    /**
+     * @return The number of tasks that completed normally
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * @return The number of tasks that threw an exception
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The number of tasks rejected by the executor
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the gauges of the underlying pool, such as the number of threads and the size of the queue. The gauges
+     * available depend on the type of the executor and are empty for executors that do not expose them.
+     *
+     * @return The pool gauges
+     */
+    public Map<String, Number> getPoolGauges() {
+        Map<String, Number> gauges = new LinkedHashMap<>(8);
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            gauges.put("poolSize", pool.getPoolSize());
+            gauges.put("corePoolSize", pool.getCorePoolSize());
+            gauges.put("maximumPoolSize", pool.getMaximumPoolSize());
+            gauges.put("largestPoolSize", pool.getLargestPoolSize());
+            gauges.put("activeCount", pool.getActiveCount());
+            gauges.put("queueSize", pool.getQueue().size());
+            gauges.put("completedTaskCount", pool.getCompletedTaskCount());
+        } else if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            gauges.put("parallelism", pool.getParallelism());
+            gauges.put("poolSize", pool.getPoolSize());
+            gauges.put("activeCount", pool.getActiveThreadCount());
+            gauges.put("runningCount", pool.getRunningThreadCount());
+            gauges.put("queueSize", pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount());
+            gauges.put("stealCount", pool.getStealCount());
+        } else if (executor instanceof AdaptiveExecutorService) {
+            AdaptiveExecutorService pool = (AdaptiveExecutorService) executor;
+            gauges.put("limit", pool.getLimit());
+            gauges.put("activeCount", pool.getInFlight());
+            gauges.put("queueSize", pool.getQueueDepth());
+            gauges.put("maximumQueueSize", pool.getMaxQueueDepth());
+        }
+        return gauges;
+    }
+
+    /**
+     * Clears the histograms and counters, the pool gauges are unaffected.
+     */
+    public void reset() {
+        queueWaitTime.reset();
+        executionTime.reset();
+        // running tasks are still counted when they complete
+        long running = getRunning();
+        started.reset();
+        completed.reset();
+        failed.reset();
+        rejected.reset();
+        started.add(running);
+    }
+
+    /**
+     * @return The metrics as a map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> tasks = new LinkedHashMap<>(4);
+        tasks.put("running", getRunning());
+        tasks.put("completed", getCompleted());
+        tasks.put("failed", getFailed());
+        tasks.put("rejected", getRejected());
+
+        Map<String, Object> data = new LinkedHashMap<>(5);
+        data.put("type", executor.getClass().getName());
+        data.put("pool", getPoolGauges());
+        data.put("tasks", tasks);
+        data.put("queueWaitTime", queueWaitTime.toMap());
+        data.put("executionTime", executionTime.toMap());
+        return data;
+    }
+
+    /**
+     * Wraps a task so that its queue wait and execution time are recorded.
+     *
+     * @param task The task
+     * @param due  The {@link System#nanoTime()} at which the task is due to run
+     * @return The timed task
+     */
+    Runnable timed(Runnable task, long due) {
+        return () -> {
+            long start = begin(due);
+            boolean success = false;
+            try {
+                task.run();
+                success = true;
+            } finally {
+                end(start, success);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that its queue wait and execution time are recorded.
+     *
+     * @param task The task
+     * @param due  The {@link System#nanoTime()} at which the task is due to run
+     * @param <T>  The result type
+     * @return The timed task
+     */
+    <T> Callable<T> timed(Callable<T> task, long due) {
+        return () -> {
+            long start = begin(due);
+            boolean success = false;
+            try {
+                T result = task.call();
+                success = true;
+                return result;
+            } finally {
+                end(start, success);
+            }
+        };
+    }
+
+    /**
+     * Records the start of a task.
+     *
+     * @param due The {@link System#nanoTime()} at which the task was due to run
+     * @return The {@link System#nanoTime()} at which the task started
+     */
+    long begin(long due) {
+        long start = System.nanoTime();
+        started.increment();
+        queueWaitTime.record(start - due);
+        return start;
+    }
+
+    /**
+     * Records the end of a task.
+     *
+     * @param start   The {@link System#nanoTime()} at which the task started
+     * @param success Whether the task completed normally
+     * @return The {@link System#nanoTime()} at which the task ended
+     */
+    long end(long start, boolean success) {
+        long end = System.nanoTime();
+        executionTime.record(end - start);
+        if (success) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+        return end;
+    }
+
+    /**
+     * Records a rejected task.
+     */
+    void rejected() {
+        rejected.increment();
+    }
+}
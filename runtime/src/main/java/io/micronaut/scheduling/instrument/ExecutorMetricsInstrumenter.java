@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.naming.NameResolver;
+import io.micronaut.inject.BeanDefinition;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Instruments {@link ExecutorService} beans to record {@link ExecutorMetrics} under the name of the bean, for example
+ * {@link io.micronaut.scheduling.TaskExecutors#IO}.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+@Requires(beans = ExecutorMetricsRegistry.class)
+public class ExecutorMetricsInstrumenter implements BeanCreatedEventListener<ExecutorService> {
+
+    private final ExecutorMetricsRegistry registry;
+
+    /**
+     * @param registry The registry to record the metrics in
+     */
+    public ExecutorMetricsInstrumenter(ExecutorMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ExecutorService onCreated(BeanCreatedEvent<ExecutorService> event) {
+        return registry.instrument(nameOf(event.getBeanDefinition()), event.getBean());
+    }
+
+    private static String nameOf(BeanDefinition<ExecutorService> definition) {
+        Optional<String> name = Optional.empty();
+        if (definition instanceof NameResolver) {
+            name = ((NameResolver) definition).resolveName();
+        }
+        if (!name.isPresent()) {
+            name = definition.getValue(Named.class, String.class);
+        }
+        return name.orElseGet(() -> definition.getBeanType().getSimpleName());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Holds the {@link ExecutorMetrics} of the named executors. When enabled with {@value #PROPERTY_ENABLED} every
+ * {@link ExecutorService} bean is instrumented by {@link ExecutorMetricsInstrumenter} to record its metrics.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Singleton
+@Requires(property = ExecutorMetricsRegistry.PROPERTY_ENABLED, value = StringUtils.TRUE, defaultValue = StringUtils.FALSE)
+public class ExecutorMetricsRegistry {
+
+    /**
+     * Whether to record executor metrics.
+     */
+    public static final String PROPERTY_ENABLED = "micronaut.scheduling.metrics.enabled";
+
+    private final Map<String, ExecutorMetrics> metrics = new ConcurrentSkipListMap<>();
+
+    /**
+     * @return The metrics of the executors ordered by name
+     */
+    public Collection<ExecutorMetrics> getExecutorMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    /**
+     * @param name The name of the executor
+     * @return The metrics of the executor if it is instrumented
+     */
+    public Optional<ExecutorMetrics> findExecutorMetrics(String name) {
+        return Optional.ofNullable(metrics.get(name));
+    }
+
+    /**
+     * Instruments the given executor to record metrics under the given name.
+     *
+     * @param name            The name of the executor
+     * @param executorService The executor
+     * @return The instrumented executor
+     */
+    public ExecutorService instrument(String name, ExecutorService executorService) {
+        ExecutorMetrics executorMetrics = new ExecutorMetrics(name, executorService);
+        metrics.put(name, executorMetrics);
+        if (executorService instanceof ScheduledExecutorService) {
+            return new MetricsScheduledExecutorService((ScheduledExecutorService) executorService, executorMetrics);
+        }
+        return new MetricsExecutorService(executorService, executorMetrics);
+    }
+}
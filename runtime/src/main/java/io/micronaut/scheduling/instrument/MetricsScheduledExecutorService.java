@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.core.annotation.Internal;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link InstrumentedScheduledExecutorService} that records {@link ExecutorMetrics} for the tasks it runs. The
+ * queue wait of scheduled tasks is measured from the time they become due rather than the time they are submitted.
+ *
+ * @author agent
+ * @since 1.3.0
+ */
+@Internal
+final class MetricsScheduledExecutorService extends MetricsExecutorService implements InstrumentedScheduledExecutorService {
+
+    private final ScheduledExecutorService target;
+
+    /**
+     * @param target  The target executor
+     * @param metrics The metrics to record
+     */
+    MetricsScheduledExecutorService(ScheduledExecutorService target, ExecutorMetrics metrics) {
+        super(target, metrics);
+        this.target = target;
+    }
+
+    @Override
+    public ScheduledExecutorService getTarget() {
+        return target;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(@Nonnull Runnable command, long delay, @Nonnull TimeUnit unit) {
+        try {
+            return target.schedule(metrics.timed(command, dueIn(delay, unit)), delay, unit);
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            throw e;
+        }
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(@Nonnull Callable<V> callable, long delay, @Nonnull TimeUnit unit) {
+        try {
+            return target.schedule(metrics.timed(callable, dueIn(delay, unit)), delay, unit);
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            throw e;
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(@Nonnull Runnable command, long initialDelay, long period, @Nonnull TimeUnit unit) {
+        try {
+            return target.scheduleAtFixedRate(new PeriodicTask(command, dueIn(initialDelay, unit), unit.toNanos(period), true), initialDelay, period, unit);
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            throw e;
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(@Nonnull Runnable command, long initialDelay, long delay, @Nonnull TimeUnit unit) {
+        try {
+            return target.scheduleWithFixedDelay(new PeriodicTask(command, dueIn(initialDelay, unit), unit.toNanos(delay), false), initialDelay, delay, unit);
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            throw e;
+        }
+    }
+
+    private static long dueIn(long delay, TimeUnit unit) {
+        return System.nanoTime() + Math.max(0, unit.toNanos(delay));
+    }
+
+    /**
+     * A periodic task that tracks when its next execution is due. Executions of a periodic task never overlap.
+     */
+    private final class PeriodicTask implements Runnable {
+        private final Runnable task;
+        private final long interval;
+        private final boolean fixedRate;
+        private long due;
+
+        PeriodicTask(Runnable task, long due, long interval, boolean fixedRate) {
+            this.task = task;
+            this.due = due;
+            this.interval = interval;
+            this.fixedRate = fixedRate;
+        }
+
+        @Override
+        public void run() {
+            long start = metrics.begin(due);
+            boolean success = false;
+            try {
+                task.run();
+                success = true;
+            } finally {
+                long end = metrics.end(start, success);
+                due = fixedRate ? due + interval : end + interval;
+            }
+        }
+    }
+}
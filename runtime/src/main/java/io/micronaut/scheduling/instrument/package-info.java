@@ -14,7 +14,8 @@
  * limitations under the License.
  */
 /**
- * Interfaces for simplifying instrumentation of {@link java.util.concurrent.ExecutorService} instances.
+ * Interfaces for simplifying instrumentation of {@link java.util.concurrent.ExecutorService} instances and recording
+ * their metrics.
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache
+
+import io.micronaut.cache.annotation.CacheConfig
+import io.micronaut.cache.annotation.Cacheable
+import io.micronaut.cache.exceptions.CacheSystemException
+import io.micronaut.cache.interceptor.BulkKeyExtractor
+import io.micronaut.context.ApplicationContext
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class BulkCacheSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext applicationContext = ApplicationContext.run(
+            'micronaut.caches.books.maximumSize': 100,
+            'micronaut.caches.book-map.maximumSize': 100,
+            'micronaut.caches.book-future.maximumSize': 100
+    )
+
+    void "test bulk cacheable method returning a list only loads missing elements"() {
+        given:
+        BookRepository repository = applicationContext.getBean(BookRepository)
+
+        expect:
+        repository.findByIds([1L, 2L]) == ['Book 1', 'Book 2']
+        repository.requested == [[1L, 2L]]
+
+        when:
+        repository.requested.clear()
+
+        then:
+        repository.findByIds([3L, 2L, 1L, 4L]) == ['Book 3', 'Book 2', 'Book 1', 'Book 4']
+        repository.requested == [[3L, 4L]]
+
+        when:
+        repository.requested.clear()
+
+        then:
+        repository.findByIds([4L, 1L]) == ['Book 4', 'Book 1']
+        repository.requested.isEmpty()
+        applicationContext.getBean(CacheManager).getCache("books").get(3L, String).get() == 'Book 3'
+    }
+
+    void "test bulk cacheable method returning a map"() {
+        given:
+        BookRepository repository = applicationContext.getBean(BookRepository)
+        repository.requested.clear()
+
+        expect:
+        repository.findMapByIds([1L, 2L]) == [1L: 'Book 1', 2L: 'Book 2']
+        repository.findMapByIds([2L, 5L, 1L]) == [2L: 'Book 2', 5L: 'Book 5', 1L: 'Book 1']
+        repository.requested == [[1L, 2L], [5L]]
+    }
+
+    void "test bulk cacheable method returning a CompletableFuture"() {
+        given:
+        BookRepository repository = applicationContext.getBean(BookRepository)
+        repository.requested.clear()
+
+        expect:
+        repository.findFutureByIds([1L, 2L]).get() == ['Book 1', 'Book 2']
+        repository.findFutureByIds([2L, 3L]).get() == ['Book 2', 'Book 3']
+        repository.requested == [[1L, 2L], [3L]]
+    }
+
+    void "test elements without a value are omitted"() {
+        given:
+        BookRepository repository = applicationContext.getBean(BookRepository)
+        repository.requested.clear()
+
+        expect:
+        repository.findExistingByIds([10L, -1L]) == ['Book 10']
+        repository.findExistingByIds([10L, -1L]) == ['Book 10']
+        repository.requested == [[10L, -1L], [-1L]]
+    }
+
+    void "test result that cannot be correlated is returned as is and not cached"() {
+        given:
+        BookRepository repository = applicationContext.getBean(BookRepository)
+        repository.requested.clear()
+
+        expect:
+        repository.findRenumberedByIds([20L]) == ['Book 120']
+        repository.requested == [[20L]]
+        repository.findRenumberedByIds([20L]) == ['Book 120']
+        repository.requested == [[20L], [20L]]
+    }
+
+    void "test bulk cacheable method returning a list without a key extractor fails"() {
+        given:
+        BookRepository repository = applicationContext.getBean(BookRepository)
+
+        when:
+        repository.findUncorrelatedByIds([1L])
+
+        then:
+        def e = thrown(CacheSystemException)
+        e.message.startsWith("Bulk cache operations require a Map result or a bulkKeyExtractor")
+    }
+
+    @Singleton
+    static class BookRepository {
+        List<List<Long>> requested = []
+
+        @Cacheable(value = 'books', bulk = true, bulkKeyExtractor = BookIdExtractor)
+        List<String> findByIds(List<Long> ids) {
+            requested << new ArrayList<>(ids)
+            return ids.collect { "Book $it".toString() }
+        }
+
+        @Cacheable(value = 'book-map', bulk = true)
+        Map<Long, String> findMapByIds(Collection<Long> ids) {
+            requested << new ArrayList<>(ids)
+            return ids.collectEntries { [(it): "Book $it".toString()] }
+        }
+
+        @Cacheable(value = 'book-future', bulk = true, bulkKeyExtractor = BookIdExtractor)
+        CompletableFuture<List<String>> findFutureByIds(List<Long> ids) {
+            requested << new ArrayList<>(ids)
+            return CompletableFuture.completedFuture(ids.collect { "Book $it".toString() })
+        }
+
+        @Cacheable(value = 'books', bulk = true, bulkKeyExtractor = BookIdExtractor)
+        List<String> findExistingByIds(List<Long> ids) {
+            requested << new ArrayList<>(ids)
+            return ids.findAll { it > 0 }.collect { "Book $it".toString() }
+        }
+
+        @Cacheable(value = 'books', bulk = true, bulkKeyExtractor = BookIdExtractor)
+        List<String> findRenumberedByIds(List<Long> ids) {
+            requested << new ArrayList<>(ids)
+            return ids.collect { "Book ${it + 100}".toString() }
+        }
+
+        @Cacheable(value = 'books', bulk = true)
+        List<String> findUncorrelatedByIds(List<Long> ids) {
+            return ids.collect { "Book $it".toString() }
+        }
+    }
+
+    static class BookIdExtractor implements BulkKeyExtractor {
+        @Override
+        Object extractKey(Object value) {
+            return Long.valueOf(value.toString().substring('Book '.length()))
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache
+
+import io.micronaut.cache.annotation.CacheConfig
+import io.micronaut.cache.annotation.Cacheable
+import io.micronaut.context.ApplicationContext
+import io.reactivex.Single
+import io.reactivex.subjects.SingleSubject
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class CacheCoalescingSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext applicationContext = ApplicationContext.run(
+            'micronaut.caches.coalescing.maximumSize': 20,
+            'micronaut.caches.hanging.maximumSize': 20,
+            'micronaut.caches.hanging.loadTimeout': '0s'
+    )
+
+    void "test concurrent misses of a CompletableFuture method share a single invocation"() {
+        given:
+        CoalescingService service = applicationContext.getBean(CoalescingService)
+        service.pendingFuture = new CompletableFuture<>()
+
+        when:
+        List<CompletableFuture<Integer>> futures = (1..5).collect { service.futureValue("one") }
+
+        then:
+        service.futureCount.get() == 1
+        futures.every { !it.isDone() }
+
+        when:
+        service.pendingFuture.complete(10)
+
+        then:
+        futures*.get() == [10] * 5
+
+        when:
+        CompletableFuture<Integer> cached = service.futureValue("one")
+
+        then:
+        cached.get() == 10
+        service.futureCount.get() == 1
+    }
+
+    void "test errors are propagated to all callers sharing a load"() {
+        given:
+        CoalescingService service = applicationContext.getBean(CoalescingService)
+        service.pendingFuture = new CompletableFuture<>()
+
+        when:
+        List<CompletableFuture<Integer>> futures = (1..3).collect { service.futureValue("two") }
+        service.pendingFuture.completeExceptionally(new IllegalStateException("Bad things"))
+
+        then:
+        futures.every { it.isCompletedExceptionally() }
+
+        when:
+        futures[1].get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause.message == "Bad things"
+
+        when:"the failed load is not retained"
+        service.pendingFuture = CompletableFuture.completedFuture(20)
+
+        then:
+        service.futureValue("two").get() == 20
+    }
+
+    void "test concurrent misses of a reactive method share a single invocation"() {
+        given:
+        CoalescingService service = applicationContext.getBean(CoalescingService)
+        service.pendingSingle = SingleSubject.create()
+
+        when:
+        List<Single<Integer>> singles = (1..5).collect { service.singleValue("three").cache() }
+        singles*.subscribe()
+        def cancelled = service.singleValue("three").subscribe()
+        cancelled.dispose()
+
+        then:
+        service.singleCount.get() == 1
+
+        when:
+        service.pendingSingle.onSuccess(30)
+
+        then:
+        singles*.blockingGet() == [30] * 5
+        service.singleValue("three").blockingGet() == 30
+        service.singleCount.get() == 1
+    }
+
+    void "test a load that does not complete within the load timeout is not joined"() {
+        given:
+        CoalescingService service = applicationContext.getBean(CoalescingService)
+        service.pendingFuture = new CompletableFuture<>()
+
+        when:
+        CompletableFuture<Integer> hanging = service.hangingValue("four")
+        service.pendingFuture = CompletableFuture.completedFuture(40)
+        CompletableFuture<Integer> loaded = service.hangingValue("four")
+
+        then:"the method is invoked again and the callers of the abandoned load receive the new value"
+        service.hangingCount.get() == 2
+        loaded.get() == 40
+        hanging.get() == 40
+    }
+
+    @Singleton
+    @CacheConfig('coalescing')
+    static class CoalescingService {
+        AtomicInteger futureCount = new AtomicInteger()
+        AtomicInteger singleCount = new AtomicInteger()
+        AtomicInteger hangingCount = new AtomicInteger()
+        CompletableFuture<Integer> pendingFuture
+        SingleSubject<Integer> pendingSingle
+
+        @Cacheable
+        CompletableFuture<Integer> futureValue(String name) {
+            futureCount.incrementAndGet()
+            return pendingFuture
+        }
+
+        @Cacheable('hanging')
+        CompletableFuture<Integer> hangingValue(String name) {
+            hangingCount.incrementAndGet()
+            return pendingFuture
+        }
+
+        @Cacheable
+        Single<Integer> singleValue(String name) {
+            singleCount.incrementAndGet()
+            return pendingSingle
+        }
+    }
+}
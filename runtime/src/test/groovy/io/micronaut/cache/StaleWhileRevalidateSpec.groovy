@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache
+
+import com.github.benmanes.caffeine.cache.Ticker
+import io.micronaut.cache.annotation.CacheConfig
+import io.micronaut.cache.annotation.Cacheable
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.reactivex.Single
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class StaleWhileRevalidateSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext applicationContext = ApplicationContext.run(
+            'spec.name': StaleWhileRevalidateSpec.simpleName,
+            'micronaut.caches.revalidating.maximumSize': 20,
+            'micronaut.caches.refreshing.maximumSize': 20,
+            'micronaut.caches.refreshing.refreshAfterWrite': '10ms',
+            'micronaut.caches.refreshing.testMode': true
+    )
+
+    PollingConditions conditions = new PollingConditions(timeout: 5, delay: 0.1)
+
+    void "test stale value is returned and revalidated for a sync method"() {
+        given:
+        RevalidatingService service = applicationContext.getBean(RevalidatingService)
+        ManualTicker ticker = applicationContext.getBean(ManualTicker)
+
+        expect:
+        service.value("sync") == 1
+
+        when:
+        ticker.advance(Duration.ofMillis(50))
+
+        then:
+        service.value("sync") == 1
+        conditions.eventually {
+            assert service.value("sync") == 2
+        }
+    }
+
+    void "test stale value is returned and revalidated for a CompletableFuture method"() {
+        given:
+        RevalidatingService service = applicationContext.getBean(RevalidatingService)
+        ManualTicker ticker = applicationContext.getBean(ManualTicker)
+
+        expect:
+        service.futureValue("future").get() == 1
+
+        when:
+        ticker.advance(Duration.ofMillis(50))
+
+        then:
+        service.futureValue("future").get() == 1
+        conditions.eventually {
+            assert service.futureValue("future").get() == 2
+        }
+    }
+
+    void "test stale value is returned and revalidated for a reactive method"() {
+        given:
+        RevalidatingService service = applicationContext.getBean(RevalidatingService)
+        ManualTicker ticker = applicationContext.getBean(ManualTicker)
+
+        expect:
+        service.singleValue("single").blockingGet() == 1
+
+        when:
+        ticker.advance(Duration.ofMillis(50))
+
+        then:
+        service.singleValue("single").blockingGet() == 1
+        conditions.eventually {
+            assert service.singleValue("single").blockingGet() == 2
+        }
+    }
+
+    void "test value is refreshed with refresh after write"() {
+        given:
+        RevalidatingService service = applicationContext.getBean(RevalidatingService)
+        ManualTicker ticker = applicationContext.getBean(ManualTicker)
+        SyncCache cache = applicationContext.getBean(CacheManager).getCache("refreshing")
+
+        expect:
+        service.refreshedValue("refresh") == 1
+        cache.nativeCache.policy().refreshAfterWrite().isPresent()
+
+        when:"the value is read again before it is due for refresh"
+        service.refreshedValue("refresh")
+
+        then:"the method is not invoked again"
+        service.refreshedValue("refresh") == 1
+        service.refreshedNames == ["refresh"]
+
+        when:"the value is due for refresh"
+        ticker.advance(Duration.ofMillis(50))
+
+        then:"the current value is returned and the method is invoked again with the same arguments"
+        service.refreshedValue("refresh") == 1
+        service.refreshedValue("refresh") == 2
+        service.refreshedNames == ["refresh", "refresh"]
+    }
+
+    @Singleton
+    @CacheConfig('revalidating')
+    static class RevalidatingService {
+        AtomicInteger syncCount = new AtomicInteger()
+        AtomicInteger futureCount = new AtomicInteger()
+        AtomicInteger singleCount = new AtomicInteger()
+        AtomicInteger refreshCount = new AtomicInteger()
+        List<String> refreshedNames = new CopyOnWriteArrayList<>()
+
+        @Cacheable(staleWhileRevalidate = '20ms')
+        int value(String name) {
+            return syncCount.incrementAndGet()
+        }
+
+        @Cacheable(staleWhileRevalidate = '20ms')
+        CompletableFuture<Integer> futureValue(String name) {
+            return CompletableFuture.completedFuture(futureCount.incrementAndGet())
+        }
+
+        @Cacheable(staleWhileRevalidate = '20ms')
+        Single<Integer> singleValue(String name) {
+            return Single.fromCallable({ -> singleCount.incrementAndGet() })
+        }
+
+        @Cacheable(value = 'refreshing', atomic = true)
+        int refreshedValue(String name) {
+            refreshedNames.add(name)
+            return refreshCount.incrementAndGet()
+        }
+    }
+
+    @Singleton
+    @Requires(property = 'spec.name', value = 'StaleWhileRevalidateSpec')
+    static class ManualTicker implements Ticker {
+        private final AtomicLong nanos = new AtomicLong()
+
+        @Override
+        long read() {
+            return nanos.get()
+        }
+
+        void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos())
+        }
+    }
+}
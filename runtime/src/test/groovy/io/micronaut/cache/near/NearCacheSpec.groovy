@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.near
+
+import io.micronaut.cache.CacheManager
+import io.micronaut.cache.SyncCache
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.BeanInstantiationException
+import io.micronaut.core.type.Argument
+import io.micronaut.inject.qualifiers.Qualifiers
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Supplier
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class NearCacheSpec extends Specification {
+
+    static final Map<String, Object> CONFIG = [
+            'micronaut.caches.books.maximumSize'           : 100,
+            'micronaut.near-caches.near-books.remote-cache': 'books',
+            'micronaut.near-caches.near-books.maximum-size': 10
+    ]
+
+    @Shared InMemoryNearCacheTransport transport = new InMemoryNearCacheTransport()
+    @Shared @AutoCleanup ApplicationContext nodeA = ApplicationContext.build(CONFIG).singletons(transport).start()
+    @Shared @AutoCleanup ApplicationContext nodeB = ApplicationContext.build(CONFIG).singletons(transport).start()
+
+    void cleanup() {
+        nearCache(nodeA).invalidateAll()
+        nearCache(nodeB).invalidateAll()
+    }
+
+    void "test near cache is registered with the cache manager"() {
+        expect:
+        nodeA.getBean(CacheManager).getCache('near-books') instanceof NearCache
+        nearCache(nodeA).remoteCache.is(remoteCache(nodeA))
+    }
+
+    void "test reads go through to the remote cache and are kept locally"() {
+        given:
+        NearCache near = nearCache(nodeA)
+        SyncCache remote = remoteCache(nodeA)
+
+        when:
+        remote.put('one', 'One')
+
+        then:
+        !near.localCache.get('one', String).isPresent()
+        near.get('one', String).get() == 'One'
+        near.localCache.get('one', String).get() == 'One'
+
+        when:"the remote cache changes without an invalidation"
+        remote.put('one', 'Uno')
+
+        then:"the local value is returned"
+        near.get('one', String).get() == 'One'
+    }
+
+    void "test writes go through to the remote cache"() {
+        given:
+        NearCache near = nearCache(nodeA)
+
+        when:
+        near.put('two', 'Two')
+        near.putAll(three: 'Three', four: 'Four')
+
+        then:
+        remoteCache(nodeA).get('two', String).get() == 'Two'
+        remoteCache(nodeA).getAll(['three', 'four'], String) == [three: 'Three', four: 'Four']
+        near.localCache.get('two', String).get() == 'Two'
+
+        when:
+        near.invalidate('two')
+
+        then:
+        !remoteCache(nodeA).get('two', String).isPresent()
+        !near.get('two', String).isPresent()
+    }
+
+    void "test changes on one node invalidate the local values of other nodes"() {
+        given:
+        NearCache nearA = nearCache(nodeA)
+        NearCache nearB = nearCache(nodeB)
+        remoteCache(nodeB).put('five', 'Five')
+
+        expect:
+        nearB.get('five', String).get() == 'Five'
+
+        when:"another node writes the value to the shared remote cache"
+        remoteCache(nodeB).put('five', 'Cinco')
+        nearA.put('five', 'Cinco')
+
+        then:
+        !nearB.localCache.get('five', String).isPresent()
+        nearB.get('five', String).get() == 'Cinco'
+        nearA.localCache.get('five', String).get() == 'Cinco'
+
+        when:
+        nearA.invalidateAll()
+
+        then:
+        !nearB.localCache.get('five', String).isPresent()
+    }
+
+    void "test async operations use the local values"() {
+        given:
+        NearCache near = nearCache(nodeA)
+        remoteCache(nodeA).put('six', 'Six')
+
+        expect:
+        near.async().get('six', String).get().get() == 'Six'
+        near.localCache.get('six', String).get() == 'Six'
+        near.async().getAll(['six', 'seven'], String).get() == [six: 'Six']
+
+        when:
+        near.async().put('seven', 'Seven').get()
+
+        then:
+        remoteCache(nodeA).get('seven', String).get() == 'Seven'
+        near.async().getAll(['six', 'seven'], String).get() == [six: 'Six', seven: 'Seven']
+    }
+
+    void "test a near cache requires an existing remote cache"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('micronaut.near-caches.orphan.remote-cache': 'missing')
+
+        when:
+        context.getBean(SyncCache, Qualifiers.byName('orphan'))
+
+        then:
+        def e = thrown(BeanInstantiationException)
+        e.message.contains('Remote cache [missing] of near cache [orphan] does not exist')
+
+        cleanup:
+        context.close()
+    }
+
+    void "test a near cache must expire values before its remote cache"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.caches.short-lived.expire-after-write': '10s',
+                'micronaut.near-caches.near-short-lived.remote-cache': 'short-lived'
+        )
+
+        when:
+        context.getBean(SyncCache, Qualifiers.byName('near-short-lived'))
+
+        then:
+        def e = thrown(BeanInstantiationException)
+        e.message.contains('Near cache [near-short-lived] must expire values after less than the PT10S expiry of its remote cache [short-lived]')
+
+        cleanup:
+        context.close()
+    }
+
+    void "test writes during a read only keep the value read out of the local tier for the same key"() {
+        given:
+        HookedCache remote = new HookedCache()
+        ApplicationContext context = ApplicationContext.run('micronaut.near-caches.near-hooked.remote-cache': 'hooked')
+        context.registerSingleton(SyncCache, remote, Qualifiers.byName('hooked'))
+        NearCache near = context.getBean(NearCache, Qualifiers.byName('near-hooked'))
+        remote.store.a = 'A'
+
+        when:"another key is written whilst the value is read"
+        remote.afterRead = { near.put('b', 'B') }
+
+        then:
+        near.get('a', String).get() == 'A'
+        near.localCache.get('a', String).get() == 'A'
+
+        when:"the same key is written whilst the value is read"
+        near.localCache.invalidate('a')
+        remote.afterRead = { near.put('a', 'Changed') }
+
+        then:"the value read is not kept"
+        near.get('a', String).get() == 'A'
+        near.localCache.get('a', String).get() == 'Changed'
+
+        cleanup:
+        context.close()
+    }
+
+    private static NearCache nearCache(ApplicationContext context) {
+        context.getBean(NearCache, Qualifiers.byName('near-books'))
+    }
+
+    private static SyncCache remoteCache(ApplicationContext context) {
+        context.getBean(SyncCache, Qualifiers.byName('books'))
+    }
+
+    static class HookedCache implements SyncCache<Map<Object, Object>> {
+        final Map<Object, Object> store = new ConcurrentHashMap<>()
+        Closure afterRead
+
+        @Override
+        String getName() {
+            return 'hooked'
+        }
+
+        @Override
+        Map<Object, Object> getNativeCache() {
+            return store
+        }
+
+        @Override
+        def <T> Optional<T> get(Object key, Argument<T> requiredType) {
+            Object value = store.get(key)
+            afterRead?.call()
+            return Optional.ofNullable((T) value)
+        }
+
+        @Override
+        def <T> T get(Object key, Argument<T> requiredType, Supplier<T> supplier) {
+            return (T) store.computeIfAbsent(key, { supplier.get() })
+        }
+
+        @Override
+        def <T> Optional<T> putIfAbsent(Object key, T value) {
+            return Optional.ofNullable((T) store.putIfAbsent(key, value))
+        }
+
+        @Override
+        void put(Object key, Object value) {
+            store.put(key, value)
+        }
+
+        @Override
+        void invalidate(Object key) {
+            store.remove(key)
+        }
+
+        @Override
+        void invalidateAll() {
+            store.clear()
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache.offheap
+
+import io.micronaut.cache.CacheManager
+import io.micronaut.cache.CacheStatistics
+import io.micronaut.cache.SyncCache
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.type.Argument
+import io.micronaut.inject.qualifiers.Qualifiers
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class OffHeapSyncCacheSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext applicationContext = ApplicationContext.run(
+            'micronaut.off-heap-caches.products.maximum-memory': '1MB',
+            'micronaut.off-heap-caches.products.block-size': 64,
+            'micronaut.off-heap-caches.recent.segments': 1,
+            'micronaut.off-heap-caches.recent.maximum-size': 3,
+            'micronaut.off-heap-caches.small.maximum-memory': '4KB',
+            'micronaut.off-heap-caches.small.segments': 1,
+            'micronaut.off-heap-caches.small.block-size': 64,
+            'micronaut.off-heap-caches.expiring.expire-after-write': '100ms',
+            'micronaut.off-heap-caches.recorded.record-stats': true
+    )
+
+    void "test off-heap caches are registered with the cache manager"() {
+        expect:
+        applicationContext.getBean(CacheManager).getCache('products') instanceof OffHeapSyncCache
+    }
+
+    void "test values are serialized and converted to the required type"() {
+        given:
+        SyncCache cache = cache('products')
+
+        when:
+        cache.put('one', new Product(name: 'One', tags: ['a', 'b']))
+        cache.put(2, 2)
+
+        then:
+        cache.get('one', Product).get() == new Product(name: 'One', tags: ['a', 'b'])
+        !cache.get('one', Product).get().is(cache.get('one', Product).get())
+        cache.get(2, String).get() == '2'
+        cache.getAll(['one', 2, 3], Argument.of(Object)).keySet() == ['one', 2] as Set
+        !cache.get('three', Product).isPresent()
+
+        when:
+        cache.put('one', null)
+
+        then:
+        !cache.get('one', Product).isPresent()
+
+        when:
+        Optional<Integer> existing = cache.putIfAbsent(2, 3)
+
+        then:
+        existing.get() == 2
+        !cache.putIfAbsent(3, 3).isPresent()
+        cache.get(3, Integer).get() == 3
+
+        when:
+        cache.invalidateAll()
+
+        then:
+        !cache.get(2, Integer).isPresent()
+        cache.nativeCache.size() == 0
+        cache.nativeCache.usedMemory() == 0
+    }
+
+    void "test the least recently used entry is evicted when the maximum size is reached"() {
+        given:
+        SyncCache cache = cache('recent')
+
+        when:
+        cache.put('a', 'A')
+        cache.put('b', 'B')
+        cache.put('c', 'C')
+        cache.get('a', String)
+        cache.put('d', 'D')
+
+        then:
+        !cache.get('b', String).isPresent()
+        cache.get('a', String).isPresent()
+        cache.get('c', String).isPresent()
+        cache.get('d', String).isPresent()
+        cache.nativeCache.evictionCount() == 1
+    }
+
+    void "test entries are evicted to stay within the maximum memory"() {
+        given:
+        SyncCache cache = cache('small')
+        OffHeapStore store = cache.nativeCache
+
+        when:
+        (1..20).each { cache.put(it, new byte[500]) }
+
+        then:
+        store.maximumMemory() == 4096
+        store.usedMemory() <= store.maximumMemory()
+        store.evictionCount() > 0
+        cache.get(20, byte[]).get().length == 500
+        !cache.get(1, byte[]).isPresent()
+
+        when:"a value larger than the memory is stored"
+        cache.put(20, new byte[8192])
+
+        then:"it is not cached"
+        !cache.get(20, byte[]).isPresent()
+    }
+
+    void "test entries expire after write"() {
+        given:
+        SyncCache cache = cache('expiring')
+        PollingConditions conditions = new PollingConditions(timeout: 2)
+
+        when:
+        cache.put('one', 'One')
+
+        then:
+        cache.get('one', String).get() == 'One'
+        conditions.eventually {
+            assert !cache.get('one', String).isPresent()
+        }
+    }
+
+    void "test the supplier is invoked once on a miss"() {
+        given:
+        SyncCache cache = cache('products')
+        AtomicInteger invocations = new AtomicInteger()
+
+        when:
+        String first = cache.get('loaded', String, { invocations.incrementAndGet(); 'Loaded' })
+        String second = cache.get('loaded', String, { invocations.incrementAndGet(); 'Reloaded' })
+
+        then:
+        first == 'Loaded'
+        second == 'Loaded'
+        invocations.get() == 1
+    }
+
+    void "test statistics are recorded when enabled"() {
+        given:
+        SyncCache cache = cache('recorded')
+
+        when:
+        cache.put('one', 'One')
+        cache.get('one', String)
+        cache.get('two', String)
+        cache.get('three', String, { 'Three' })
+
+        then:
+        !cache('products').statistics.isPresent()
+
+        when:
+        CacheStatistics statistics = cache.statistics.get()
+
+        then:
+        statistics.hitCount == 1
+        statistics.missCount == 2
+        statistics.loadSuccessCount == 1
+        statistics.estimatedSize == 2
+        statistics.hitRate == 1 / 3
+    }
+
+    void "test cache info describes the store"() {
+        when:
+        Map<String, Object> info = cache('recent').cacheInfo.blockingFirst().get()
+
+        then:
+        info.implementationClass == OffHeapSyncCache.name
+        info.offHeap.segments == 1
+    }
+
+    private SyncCache cache(String name) {
+        applicationContext.getBean(SyncCache, Qualifiers.byName(name))
+    }
+
+    static class Product implements Serializable {
+        String name
+        List<String> tags
+
+        @Override
+        boolean equals(Object o) {
+            o instanceof Product && name == o.name && tags == o.tags
+        }
+
+        @Override
+        int hashCode() {
+            Objects.hash(name, tags)
+        }
+    }
+}
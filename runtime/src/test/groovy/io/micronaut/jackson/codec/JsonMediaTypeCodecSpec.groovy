@@ -16,7 +16,11 @@
 package io.micronaut.jackson.codec
 
 import io.micronaut.context.ApplicationContext
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.core.io.buffer.ByteBufferFactory
+import io.micronaut.core.io.buffer.ReferenceCounted
 import io.micronaut.http.MediaType
+import io.micronaut.http.codec.CodecException
 import spock.lang.Specification
 
 class JsonMediaTypeCodecSpec extends Specification {
@@ -38,4 +42,55 @@ class JsonMediaTypeCodecSpec extends Specification {
         cleanup:
         ctx.close()
     }
+
+    void "test encode writes directly to the allocated buffer"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run()
+        JsonMediaTypeCodec codec = ctx.getBean(JsonMediaTypeCodec)
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        ByteBuffer buffer = Mock(ByteBuffer)
+        ByteBufferFactory allocator = Mock(ByteBufferFactory)
+
+        when:
+        ByteBuffer result = codec.encode([title: "The Stand"], allocator)
+
+        then:
+        1 * allocator.buffer() >> buffer
+        1 * buffer.toOutputStream() >> out
+        0 * allocator.copiedBuffer(_)
+        result.is(buffer)
+        new String(out.toByteArray(), "UTF-8") == '{"title":"The Stand"}'
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test encode releases the allocated buffer on failure"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run()
+        JsonMediaTypeCodec codec = ctx.getBean(JsonMediaTypeCodec)
+        ByteBuffer buffer = Mock(ReferenceCountedByteBuffer)
+        ByteBufferFactory allocator = Mock(ByteBufferFactory)
+
+        when:
+        codec.encode(new Unserializable(), allocator)
+
+        then:
+        1 * allocator.buffer() >> buffer
+        1 * buffer.toOutputStream() >> new ByteArrayOutputStream()
+        1 * buffer.release()
+        thrown(CodecException)
+
+        cleanup:
+        ctx.close()
+    }
+
+    static interface ReferenceCountedByteBuffer extends ByteBuffer, ReferenceCounted {
+    }
+
+    static class Unserializable {
+        String getValue() {
+            throw new IllegalStateException("Bad value")
+        }
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.budget
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.retry.annotation.Retryable
+import spock.lang.Specification
+
+import javax.inject.Singleton
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class RetryBudgetSpec extends Specification {
+
+    void "test retries are limited to the ratio of calls once the tokens are spent"() {
+        given:
+        RetryBudget budget = new RetryBudget("foo", 0.5, 2)
+
+        expect:"the initial tokens allow a burst of retries"
+        budget.tryWithdraw()
+        budget.tryWithdraw()
+        !budget.tryWithdraw()
+        budget.rejected == 1
+
+        when:"calls are made"
+        3.times { budget.deposit() }
+
+        then:"a token is available for every two calls"
+        budget.balance == 1.5d
+        budget.tryWithdraw()
+        !budget.tryWithdraw()
+
+        when:"many calls are made"
+        100.times { budget.deposit() }
+
+        then:"the balance is capped at the maximum number of tokens"
+        budget.balance == 2d
+        budget.calls == 103
+        budget.retries == 3
+    }
+
+    void "test the registry creates configured and default budgets"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.retry.budgets.foo.ratio': 0.1,
+                'micronaut.retry.budgets.foo.max-tokens': 3
+        )
+        RetryBudgetRegistry registry = context.getBean(RetryBudgetRegistry)
+
+        expect:
+        !registry.findRetryBudget("foo").isPresent()
+        registry.getRetryBudget("foo").ratio == 0.1d
+        registry.getRetryBudget("foo").maxTokens == 3
+        registry.getRetryBudget("bar").ratio == RetryBudgetConfiguration.DEFAULT_RATIO
+        registry.getRetryBudget("bar").maxTokens == RetryBudgetConfiguration.DEFAULT_MAX_TOKENS
+        registry.getRetryBudget("foo").is(registry.findRetryBudget("foo").get())
+        registry.retryBudgets.size() == 2
+
+        cleanup:
+        context.close()
+    }
+
+    void "test @Retryable stops retrying once the budget is exhausted"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'spec.name': 'RetryBudgetSpec',
+                'micronaut.retry.budgets.flaky.ratio': 0,
+                'micronaut.retry.budgets.flaky.max-tokens': 4
+        )
+        FlakyService flakyService = context.getBean(FlakyService)
+        RetryBudget budget = context.getBean(RetryBudgetRegistry).getRetryBudget("flaky")
+
+        when:"the method fails and is retried within the budget"
+        flakyService.fail()
+
+        then:"all attempts are made"
+        thrown(IllegalStateException)
+        flakyService.invocations == 4
+        budget.retries == 3
+
+        when:"the method fails again"
+        flakyService.invocations = 0
+        flakyService.fail()
+
+        then:"only the remaining token is spent"
+        thrown(IllegalStateException)
+        flakyService.invocations == 2
+        budget.retries == 4
+        budget.rejected == 1
+        budget.calls == 2
+
+        cleanup:
+        context.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'RetryBudgetSpec')
+    @Singleton
+    static class FlakyService {
+        int invocations
+
+        @Retryable(attempts = "3", delay = "1ms", budget = "flaky")
+        void fail() {
+            invocations++
+            throw new IllegalStateException("failed")
+        }
+    }
+}
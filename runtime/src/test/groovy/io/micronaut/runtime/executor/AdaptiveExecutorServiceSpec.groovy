@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.runtime.executor
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.scheduling.TaskExecutors
+import io.micronaut.scheduling.exceptions.ExecutorSaturatedException
+import io.micronaut.scheduling.executor.AdaptiveExecutorService
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class AdaptiveExecutorServiceSpec extends Specification {
+
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "test tasks beyond the limit are queued and rejected once the queue is full"() {
+        given:
+        AdaptiveExecutorService executor = new AdaptiveExecutorService(Executors.newCachedThreadPool(), 2, 2, 2, 1, 2.0, Duration.ofSeconds(3))
+        CountDownLatch release = new CountDownLatch(1)
+        Runnable blocking = { release.await(5, TimeUnit.SECONDS) }
+
+        when:
+        2.times { executor.execute(blocking) }
+        executor.execute(blocking)
+
+        then:
+        executor.inFlight == 2
+        executor.queueDepth == 1
+
+        when:
+        executor.execute(blocking)
+
+        then:
+        def e = thrown(ExecutorSaturatedException)
+        e.retryAfter == Duration.ofSeconds(3)
+
+        when:
+        release.countDown()
+
+        then:
+        conditions.eventually {
+            assert executor.inFlight == 0
+            assert executor.queueDepth == 0
+        }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    void "test the limit is reduced when latency increases"() {
+        given:
+        AdaptiveExecutorService executor = new AdaptiveExecutorService(Executors.newCachedThreadPool(), 10, 1, 10, 100, 2.0, Duration.ofSeconds(1))
+
+        when:"tasks are fast"
+        20.times { executor.submit({ Thread.sleep(1) } as Runnable).get() }
+
+        then:
+        executor.limit == 10
+
+        when:"tasks become slow for a window of as many tasks as the limit"
+        10.times { executor.submit({ Thread.sleep(50) } as Runnable).get() }
+
+        then:"the limit is reduced once"
+        conditions.eventually {
+            assert executor.limit == 9
+        }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    void "test queued tasks run after shutdown"() {
+        given:
+        AdaptiveExecutorService executor = new AdaptiveExecutorService(Executors.newCachedThreadPool(), 1, 1, 1, 10, 2.0, Duration.ofSeconds(1))
+        CountDownLatch release = new CountDownLatch(1)
+        CountDownLatch completed = new CountDownLatch(3)
+
+        when:
+        executor.execute({ release.await(5, TimeUnit.SECONDS); completed.countDown() })
+        2.times { executor.execute({ completed.countDown() }) }
+        executor.shutdown()
+        release.countDown()
+
+        then:
+        completed.await(5, TimeUnit.SECONDS)
+        executor.awaitTermination(5, TimeUnit.SECONDS)
+        executor.terminated
+    }
+
+    void "test configure an adaptive IO executor"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.executors.io.type': 'adaptive',
+                'micronaut.executors.io.initial-concurrency': 4,
+                'micronaut.executors.io.max-concurrency': 8,
+                'micronaut.executors.io.max-queue-depth': 16
+        )
+
+        when:
+        ExecutorService executorService = ctx.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO))
+
+        then:
+        executorService instanceof AdaptiveExecutorService
+        executorService.limit == 4
+        executorService.maxQueueDepth == 16
+
+        cleanup:
+        ctx.close()
+    }
+}
@@ -23,6 +23,7 @@ import io.micronaut.scheduling.executor.UserExecutorConfiguration
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.Callable
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.ForkJoinPool
 import java.util.concurrent.ScheduledExecutorService
@@ -188,4 +189,21 @@ class ExecutorServiceConfigSpec extends Specification {
         true            | "test"
         false           | "test"
     }
+
+    void "test configure virtual IO executor"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.executors.io.type':'virtual'
+        )
+        ExecutorService executorService = ctx.getBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.IO))
+
+        when:
+        Thread thread = executorService.submit({ Thread.currentThread() } as Callable<Thread>).get()
+
+        then:"virtual threads are used if supported by the JDK, otherwise a cached thread pool"
+        executorService instanceof ThreadPoolExecutor || thread.virtual
+
+        cleanup:
+        ctx.close()
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2019 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.instrument
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.scheduling.TaskExecutors
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * @author agent
+ * @since 1.3.0
+ */
+class ExecutorMetricsSpec extends Specification {
+
+    void "test histogram percentiles are within the bucket precision"() {
+        given:
+        LatencyHistogram histogram = new LatencyHistogram()
+
+        when:
+        (1..1000).each { histogram.record(TimeUnit.MICROSECONDS.toNanos(it)) }
+
+        then:
+        histogram.count == 1000
+        histogram.max == TimeUnit.MICROSECONDS.toNanos(1000)
+        Math.abs(histogram.getPercentile(50) - 500_000) <= 500_000 * 0.125
+        Math.abs(histogram.getPercentile(99) - 990_000) <= 990_000 * 0.125
+        histogram.toMap().p50 > 0.4d
+
+        when:
+        histogram.reset()
+
+        then:
+        histogram.count == 0
+        histogram.getPercentile(50) == 0
+    }
+
+    void "test executors are not instrumented by default"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run()
+
+        expect:
+        !ctx.containsBean(ExecutorMetricsRegistry)
+        !(ctx.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO)) instanceof InstrumentedExecutorService)
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test metrics are recorded per named executor"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.scheduling.metrics.enabled': true,
+                'micronaut.executors.bounded.type': 'fixed',
+                'micronaut.executors.bounded.nThreads': 1
+        )
+        ExecutorMetricsRegistry registry = ctx.getBean(ExecutorMetricsRegistry)
+        ExecutorService io = ctx.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.IO))
+        ExecutorService bounded = ctx.getBean(ExecutorService, Qualifiers.byName("bounded"))
+
+        when:
+        io.submit({ Thread.sleep(10) } as Runnable).get()
+        io.submit({ throw new IllegalStateException() } as Runnable)
+        bounded.submit({ Thread.sleep(50) } as Runnable)
+        bounded.submit({ 'done' } as java.util.concurrent.Callable).get()
+        ExecutorMetrics ioMetrics = registry.findExecutorMetrics(TaskExecutors.IO).get()
+        ExecutorMetrics boundedMetrics = registry.findExecutorMetrics("bounded").get()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert ioMetrics.completed == 1
+            assert ioMetrics.failed == 1
+            assert ioMetrics.running == 0
+        }
+        ioMetrics.executionTime.max >= TimeUnit.MILLISECONDS.toNanos(10)
+        boundedMetrics.completed == 2
+        boundedMetrics.queueWaitTime.max >= TimeUnit.MILLISECONDS.toNanos(40)
+        boundedMetrics.poolGauges.maximumPoolSize == 1
+        boundedMetrics.toMap().keySet() == ['type', 'pool', 'tasks', 'queueWaitTime', 'executionTime'] as Set
+
+        when:
+        bounded.shutdown()
+        bounded.execute({ } as Runnable)
+
+        then:
+        thrown(RejectedExecutionException)
+        boundedMetrics.rejected == 1
+
+        cleanup:
+        ctx.close()
+    }
+
+    void "test the queue wait of scheduled tasks is measured from when they are due"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run('micronaut.scheduling.metrics.enabled': true)
+        ExecutorService scheduled = ctx.getBean(ExecutorService, Qualifiers.byName(TaskExecutors.SCHEDULED))
+
+        when:
+        ((ScheduledExecutorService) scheduled).schedule({ } as Runnable, 100, TimeUnit.MILLISECONDS).get()
+        ExecutorMetrics metrics = ctx.getBean(ExecutorMetricsRegistry).findExecutorMetrics(TaskExecutors.SCHEDULED).get()
+
+        then:
+        scheduled instanceof ScheduledExecutorService
+        metrics.completed == 1
+        metrics.queueWaitTime.max < TimeUnit.MILLISECONDS.toNanos(100)
+
+        cleanup:
+        ctx.close()
+    }
+}